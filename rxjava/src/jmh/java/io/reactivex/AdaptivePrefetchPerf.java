@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.functions.*;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Compares the fixed and the adaptive prefetch of observeOn, flatMap and runOn
+ * with consumers that alternate between fast and slow phases.
+ * <p>
+ * Run with {@code -prof gc} to compare the allocation rates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class AdaptivePrefetchPerf {
+
+    @Param({ "100000" })
+    public int count;
+
+    /** Tokens of CPU work per item in the slow phases of the consumer. */
+    @Param({ "0", "100" })
+    public int work;
+
+    @Param({ "fixed", "adaptive" })
+    public String mode;
+
+    Flowable<Integer> observeOn;
+
+    Flowable<Integer> flatMap;
+
+    Flowable<Integer> runOn;
+
+    @Setup
+    public void setup() {
+        boolean adaptive = "adaptive".equals(mode);
+        int min = Flowable.bufferSize();
+        int max = adaptive ? 16 * min : min;
+
+        // slow for every other block of 1000 items
+        Predicate<Integer> phased = new Predicate<Integer>() {
+            @Override
+            public boolean test(Integer v) throws Exception {
+                if (((v / 1000) & 1) == 0) {
+                    Blackhole.consumeCPU(work);
+                }
+                return true;
+            }
+        };
+
+        observeOn = Flowable.range(1, count)
+                .observeOn(Schedulers.single(), false, min, max)
+                .filter(phased);
+
+        final int inners = 10;
+        flatMap = Flowable.range(0, inners)
+                .flatMap(new Function<Integer, Publisher<Integer>>() {
+                    @Override
+                    public Publisher<Integer> apply(Integer v) throws Exception {
+                        return Flowable.range(v * (count / inners), count / inners)
+                                .subscribeOn(Schedulers.computation());
+                    }
+                }, false, inners, min, max)
+                .filter(phased);
+
+        // rail 0 gets the even items and is slow, rail 1 the odd ones and is fast
+        runOn = Flowable.range(1, count)
+                .parallel(2)
+                .runOn(Schedulers.computation(), min, max)
+                .filter(new Predicate<Integer>() {
+                    @Override
+                    public boolean test(Integer v) throws Exception {
+                        if ((v & 1) == 0) {
+                            Blackhole.consumeCPU(work);
+                        }
+                        return true;
+                    }
+                })
+                .sequential();
+    }
+
+    @Benchmark
+    public Object observeOn(Blackhole bh) {
+        return observeOn.subscribeWith(new PerfAsyncConsumer(bh)).await(count);
+    }
+
+    @Benchmark
+    public Object flatMap(Blackhole bh) {
+        return flatMap.subscribeWith(new PerfAsyncConsumer(bh)).await(count);
+    }
+
+    @Benchmark
+    public Object runOn(Blackhole bh) {
+        return runOn.subscribeWith(new PerfAsyncConsumer(bh)).await(count);
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.processors.BehaviorProcessor;
+import io.reactivex.subjects.BehaviorSubject;
+
+/**
+ * Measures a single emitter racing subscribe-cancel cycles on a BehaviorProcessor and a BehaviorSubject
+ * that already have {@code standing} subscribers.
+ * <p>
+ * The emitter is one thread as the onXXX calls have to be serialized; vary the subscribing threads with
+ * {@code -tg 1,1}, {@code -tg 1,3}, {@code -tg 1,7}, {@code -tg 1,15} and {@code -tg 1,31} for 2 to 32 threads
+ * in total, the {@code *Alone} benchmarks give the single threaded baselines.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1)
+@State(Scope.Group)
+public class BehaviorConcurrentPerf {
+
+    @Param({ "1", "100" })
+    public int standing;
+
+    BehaviorProcessor<Integer> processor;
+
+    BehaviorSubject<Integer> subject;
+
+    @Setup
+    public void setup(Blackhole bh) {
+        processor = BehaviorProcessor.createDefault(0);
+        subject = BehaviorSubject.createDefault(0);
+
+        for (int i = 0; i < standing; i++) {
+            processor.subscribe(new PerfConsumer(bh));
+            subject.subscribe(new PerfConsumer(bh));
+        }
+    }
+
+    @Benchmark
+    @Group("processor")
+    public void processorEmit() {
+        processor.onNext(1);
+    }
+
+    @Benchmark
+    @Group("processor")
+    public void processorSubscribe(Blackhole bh) {
+        CancellingSubscriber s = new CancellingSubscriber(bh);
+        processor.subscribe(s);
+        s.upstream.cancel();
+    }
+
+    @Benchmark
+    @Group("subject")
+    public void subjectEmit() {
+        subject.onNext(1);
+    }
+
+    @Benchmark
+    @Group("subject")
+    public void subjectSubscribe(Blackhole bh) {
+        CancellingSubscriber s = new CancellingSubscriber(bh);
+        subject.subscribe(s);
+        s.upstream2.dispose();
+    }
+
+    @Benchmark
+    @Group("processorAlone")
+    public void processorEmitAlone() {
+        processor.onNext(1);
+    }
+
+    @Benchmark
+    @Group("subjectAlone")
+    public void subjectEmitAlone() {
+        subject.onNext(1);
+    }
+
+    static final class CancellingSubscriber implements FlowableSubscriber<Integer>, Observer<Integer> {
+
+        final Blackhole bh;
+
+        Subscription upstream;
+
+        Disposable upstream2;
+
+        CancellingSubscriber(Blackhole bh) {
+            this.bh = bh;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            upstream = s;
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onSubscribe(Disposable d) {
+            upstream2 = d;
+        }
+
+        @Override
+        public void onNext(Integer t) {
+            bh.consume(t);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            t.printStackTrace();
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares buffer(count) with growing, pre-sized and reused lists;
+ * run with {@code -prof gc} to see the per-buffer allocation difference.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class BufferReusePerf {
+
+    @Param({ "16", "256", "1000" })
+    public int size;
+
+    @Param({ "growing", "presized", "reuse" })
+    public String mode;
+
+    static final int ITEMS = 1000000;
+
+    Flowable<List<Integer>> flowable;
+
+    @Setup
+    public void setup() {
+        Flowable<Integer> source = Flowable.range(0, ITEMS);
+
+        if ("growing".equals(mode)) {
+            flowable = source.buffer(size, new Callable<List<Integer>>() {
+                @Override
+                public List<Integer> call() throws Exception {
+                    return new ArrayList<Integer>();
+                }
+            });
+        } else {
+            flowable = source.buffer(size, "reuse".equals(mode));
+        }
+    }
+
+    @Benchmark
+    public Object buffers(Blackhole bh) {
+        return flowable.subscribeWith(new PerfConsumer(bh));
+    }
+}
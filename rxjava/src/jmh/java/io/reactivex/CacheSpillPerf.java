@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares cache() with cacheWithSpill() filling the cache and replaying it to a late consumer;
+ * run {@link #main(String[])} to compare the heap retained by the cached items.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class CacheSpillPerf {
+
+    @Param({ "100000", "1000000" })
+    public int count;
+
+    /** heap: cache(); spill: cacheWithSpill() with 1024 item segments, 4 of them in memory. */
+    @Param({ "heap", "spill" })
+    public String mode;
+
+    static final SpillSerializer<Integer> SERIALIZER = new SpillSerializer<Integer>() {
+        @Override
+        public void serialize(Integer value, DataOutput output) throws Exception {
+            output.writeInt(value);
+        }
+
+        @Override
+        public Integer deserialize(DataInput input) throws Exception {
+            return input.readInt();
+        }
+    };
+
+    static final File TMP = new File(System.getProperty("java.io.tmpdir"));
+
+    Flowable<Integer> filled;
+
+    @Setup
+    public void setup() {
+        filled = create(mode, count);
+        filled.subscribe();
+    }
+
+    static Flowable<Integer> create(String mode, int count) {
+        Flowable<Integer> source = Flowable.range(0, count);
+        if ("heap".equals(mode)) {
+            return source.cache();
+        }
+        return source.cacheWithSpill(1024, 4, SERIALIZER, TMP);
+    }
+
+    @Benchmark
+    public Object fill(Blackhole bh) {
+        return create(mode, count).subscribeWith(new PerfConsumer(bh));
+    }
+
+    @Benchmark
+    public Object replay(Blackhole bh) {
+        return filled.subscribeWith(new PerfConsumer(bh));
+    }
+
+    static long memoryUse() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    static void retained(String mode, int count) throws Exception {
+        System.gc();
+        Thread.sleep(100);
+
+        long before = memoryUse();
+
+        Flowable<Integer> f = create(mode, count);
+        f.subscribe();
+
+        System.gc();
+        Thread.sleep(100);
+
+        long after = memoryUse();
+
+        double use = Math.max(0.0, (after - before) / 1024.0 / 1024.0);
+
+        System.out.printf("CacheSpillPerf.retained %s %d thrpt 1 %.3f 0.000 MB (%d items)%n",
+                mode, count, use, f.count().blockingGet());
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int i = 0; i < 2; i++) {
+            for (int count : new int[] { 1000000, 5000000 }) {
+                retained("heap", count);
+                retained("spill", count);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Compares the timed and sized buffer with coalesce on a hot synchronous source
+ * where the lists fill up long before the latency bound.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class CoalescePerf {
+
+    @Param({ "16", "256" })
+    public int size;
+
+    @Param({ "buffer", "coalesce" })
+    public String mode;
+
+    @Param({ "true", "false" })
+    public boolean hide;
+
+    static final int ITEMS = 1000000;
+
+    Flowable<List<Integer>> flowable;
+
+    @Setup
+    public void setup() {
+        Flowable<Integer> source = Flowable.range(0, ITEMS);
+        if (hide) {
+            source = source.hide();
+        }
+
+        if ("coalesce".equals(mode)) {
+            flowable = source.coalesce(size, 1, TimeUnit.MILLISECONDS, Schedulers.single());
+        } else {
+            flowable = source.buffer(1, TimeUnit.MILLISECONDS, Schedulers.single(), size);
+        }
+    }
+
+    @Benchmark
+    public Object batches(Blackhole bh) {
+        return flowable.subscribeWith(new PerfConsumer(bh));
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.functions.Function;
+import io.reactivex.internal.schedulers.*;
+
+/**
+ * Compares the round-robin and the work-stealing ComputationScheduler under
+ * a skewed observeOn load: every streams-per-core-th stream is heavy so that
+ * the round-robin assignment piles the heavy streams onto the same thread.
+ * <p>
+ * The SampleTime mode reports the p0.99 latency of a full round.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class ComputationSchedulerWorkStealingPerf {
+
+    @Param({ "false", "true" })
+    public boolean workStealing;
+
+    @Param({ "1000" })
+    public int count;
+
+    @Param({ "4" })
+    public int streamsPerCore;
+
+    @Param({ "100", "1000" })
+    public int heavyWork;
+
+    Scheduler scheduler;
+
+    Flowable<Integer>[] streams;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setup() {
+        scheduler = new ComputationScheduler(new RxThreadFactory("RxComputationPerf"), workStealing);
+
+        final int cores = Runtime.getRuntime().availableProcessors();
+
+        Integer[] ints = new Integer[count];
+        Arrays.fill(ints, 777);
+
+        Flowable<Integer> source = Flowable.fromArray(ints);
+
+        streams = new Flowable[cores * streamsPerCore];
+
+        for (int i = 0; i < streams.length; i++) {
+            final int work = i % cores == 0 ? heavyWork : 1;
+            streams[i] = source.observeOn(scheduler).map(new Function<Integer, Integer>() {
+                @Override
+                public Integer apply(Integer v) throws Exception {
+                    Blackhole.consumeCPU(work);
+                    return v;
+                }
+            });
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    public void skewedObserveOn(Blackhole bh) {
+        Flowable<Integer>[] a = streams;
+        PerfAsyncConsumer[] consumers = new PerfAsyncConsumer[a.length];
+
+        for (int i = 0; i < a.length; i++) {
+            PerfAsyncConsumer c = new PerfAsyncConsumer(bh);
+            consumers[i] = c;
+            a[i].subscribe(c);
+        }
+
+        for (PerfAsyncConsumer c : consumers) {
+            c.await(count);
+        }
+    }
+}
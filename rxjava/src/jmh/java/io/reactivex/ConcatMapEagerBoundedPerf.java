@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.functions.Function;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+
+/**
+ * Compares the throughput of concatMapEager and concatMapEagerBounded with asynchronous inner
+ * sources; run {@link #main(String[])} to compare the heap retained by stalled subscriptions.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class ConcatMapEagerBoundedPerf {
+
+    @Param({ "10", "1000" })
+    public int innerCount;
+
+    @Param({ "eager", "bounded" })
+    public String mode;
+
+    static final int SOURCES = 64;
+
+    static final int PREFETCH = 128;
+
+    static final int MAX_BUFFERED = 256;
+
+    Flowable<Integer> flowable;
+
+    @Setup
+    public void setup() {
+        final int n = innerCount;
+        Function<Integer, Publisher<Integer>> mapper = new Function<Integer, Publisher<Integer>>() {
+            @Override
+            public Publisher<Integer> apply(Integer v) throws Exception {
+                return Flowable.range(v * n, n).subscribeOn(Schedulers.computation());
+            }
+        };
+
+        flowable = create(Flowable.range(0, SOURCES), mapper, "bounded".equals(mode));
+    }
+
+    static Flowable<Integer> create(Flowable<Integer> source, Function<Integer, Publisher<Integer>> mapper, boolean bounded) {
+        if (bounded) {
+            return source.concatMapEagerBounded(mapper, SOURCES, PREFETCH, MAX_BUFFERED);
+        }
+        return source.concatMapEager(mapper, SOURCES, PREFETCH);
+    }
+
+    @Benchmark
+    public Object concat(Blackhole bh) {
+        return flowable.subscribeWith(new PerfAsyncConsumer(bh)).await(SOURCES * innerCount);
+    }
+
+    static long memoryUse() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    static void retained(boolean bounded, int subscriptions) throws Exception {
+        Function<Integer, Publisher<Integer>> mapper = new Function<Integer, Publisher<Integer>>() {
+            @Override
+            public Publisher<Integer> apply(Integer v) throws Exception {
+                return Flowable.range(v * 1000, 1000).hide();
+            }
+        };
+
+        Flowable<Integer> f = create(Flowable.range(0, SOURCES), mapper, bounded);
+
+        Object[] array = new Object[subscriptions];
+
+        System.gc();
+        Thread.sleep(100);
+
+        long before = memoryUse();
+
+        // the consumers take one item and then stall, everything prefetched stays in the heap
+        for (int i = 0; i < subscriptions; i++) {
+            array[i] = f.subscribeWith(new TestSubscriber<Integer>(1L));
+        }
+
+        System.gc();
+        Thread.sleep(100);
+
+        long after = memoryUse();
+
+        double use = Math.max(0.0, (after - before) / 1024.0 / 1024.0);
+
+        System.out.printf("ConcatMapEagerBoundedPerf.retained %s %d thrpt 1 %.3f 0.000 MB%n",
+                bounded ? "bounded" : "eager", subscriptions, use);
+
+        if (array.hashCode() == 1) {
+            System.out.print("");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int i = 0; i < 2; i++) {
+            retained(false, 1000);
+            retained(true, 1000);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivestreams.Subscription;
+
+import io.reactivex.flowables.GroupedFlowable;
+import io.reactivex.functions.Function;
+import io.reactivex.internal.functions.Functions;
+
+/**
+ * Compares the default groupBy with the bounded (maxGroups) groupBy over many distinct keys;
+ * run {@link #main(String[])} to compare the heap retained by the active groups.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class GroupByHighCardinalityPerf {
+
+    @Param({ "10000", "100000", "1000000" })
+    public int keys;
+
+    /** map: the default groupBy; bounded: maxGroups = keys; evicting: maxGroups = 1024. */
+    @Param({ "map", "bounded", "evicting" })
+    public String mode;
+
+    static final int ITEMS = 1000000;
+
+    Flowable<GroupedFlowable<Integer, Integer>> flowable;
+
+    @Setup
+    public void setup() {
+        final int k = keys;
+        Flowable<Integer> source = Flowable.range(0, ITEMS).map(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer v) throws Exception {
+                return v % k;
+            }
+        });
+
+        flowable = create(source, mode, k);
+    }
+
+    static Flowable<GroupedFlowable<Integer, Integer>> create(Flowable<Integer> source, String mode, int keys) {
+        if ("map".equals(mode)) {
+            return source.groupBy(Functions.<Integer>identity());
+        }
+        int maxGroups = "bounded".equals(mode) ? keys : 1024;
+        return source.groupBy(Functions.<Integer>identity(), Functions.<Integer>identity(), false, Flowable.bufferSize(), maxGroups);
+    }
+
+    @Benchmark
+    public Object groupBy(Blackhole bh) {
+        return flowable.subscribeWith(new GroupConsumer(new PerfConsumer(bh)));
+    }
+
+    /**
+     * Subscribes the same consumer to each group; unlike flatMap, it doesn't track the groups.
+     */
+    static final class GroupConsumer implements FlowableSubscriber<GroupedFlowable<Integer, Integer>> {
+
+        final FlowableSubscriber<Object> inner;
+
+        Subscription upstream;
+
+        GroupConsumer(FlowableSubscriber<Object> inner) {
+            this.inner = inner;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            upstream = s;
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(GroupedFlowable<Integer, Integer> g) {
+            g.subscribe(inner);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            t.printStackTrace();
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+    static long memoryUse() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    static void retained(String mode, int keys) throws Exception {
+        // every key gets one item and all groups stay active
+        Flowable<GroupedFlowable<Integer, Integer>> f = create(Flowable.range(0, keys).concatWith(Flowable.<Integer>never()), mode, keys);
+
+        System.gc();
+        Thread.sleep(100);
+
+        long before = memoryUse();
+
+        final AtomicLong count = new AtomicLong();
+
+        GroupConsumer gc = f.subscribeWith(new GroupConsumer(new FlowableSubscriber<Object>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Object t) {
+                count.lazySet(count.get() + 1);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                t.printStackTrace();
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        }));
+
+        System.gc();
+        Thread.sleep(100);
+
+        long after = memoryUse();
+
+        double use = Math.max(0.0, (after - before) / 1024.0 / 1024.0);
+
+        System.out.printf("GroupByHighCardinalityPerf.retained %s %d thrpt 1 %.3f 0.000 MB (%d items)%n",
+                mode, keys, use, count.get());
+
+        gc.upstream.cancel();
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int i = 0; i < 2; i++) {
+            for (int keys : new int[] { 10000, 100000, 1000000 }) {
+                retained("map", keys);
+                retained("bounded", keys);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.functions.*;
+import io.reactivex.internal.functions.Functions;
+import io.reactivex.internal.operators.flowable.*;
+import io.reactivex.internal.operators.observable.*;
+
+/**
+ * Compares chains of 1 to 10 alternating map, filter and doOnNext stages assembled
+ * by the fluent API, which collapses adjacent stages into a single subscriber, with
+ * the same chains built from the separate operators.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class MapFilterChainPerf {
+
+    @Param({ "1", "2", "3", "4", "5", "6", "7", "8", "9", "10" })
+    public int stages;
+
+    @Param({ "1000" })
+    public int count;
+
+    @Param({ "fused", "separate" })
+    public String assembly;
+
+    Flowable<Integer> flowable;
+
+    Flowable<Integer> flowableHidden;
+
+    Observable<Integer> observable;
+
+    static final Function<Integer, Integer> MAPPER = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer v) throws Exception {
+            return v + 1;
+        }
+    };
+
+    static final Predicate<Integer> FILTER = new Predicate<Integer>() {
+        @Override
+        public boolean test(Integer v) throws Exception {
+            return v != 0;
+        }
+    };
+
+    @Setup
+    public void setup() {
+        boolean fused = "fused".equals(assembly);
+        flowable = flowableChain(Flowable.range(1, count), fused);
+        flowableHidden = flowableChain(Flowable.range(1, count).hide(), fused);
+        observable = observableChain(Observable.range(1, count), fused);
+    }
+
+    Flowable<Integer> flowableChain(Flowable<Integer> f, boolean fused) {
+        Consumer<Integer> peek = Functions.emptyConsumer();
+        for (int i = 0; i < stages; i++) {
+            switch (i % 3) {
+            case 0:
+                f = fused ? f.map(MAPPER) : new FlowableMap<Integer, Integer>(f, MAPPER);
+                break;
+            case 1:
+                f = fused ? f.filter(FILTER) : new FlowableFilter<Integer>(f, FILTER);
+                break;
+            default:
+                f = fused ? f.doOnNext(peek)
+                        : new FlowableDoOnEach<Integer>(f, peek, Functions.emptyConsumer(), Functions.EMPTY_ACTION, Functions.EMPTY_ACTION);
+            }
+        }
+        return f;
+    }
+
+    Observable<Integer> observableChain(Observable<Integer> o, boolean fused) {
+        Consumer<Integer> peek = Functions.emptyConsumer();
+        for (int i = 0; i < stages; i++) {
+            switch (i % 3) {
+            case 0:
+                o = fused ? o.map(MAPPER) : new ObservableMap<Integer, Integer>(o, MAPPER);
+                break;
+            case 1:
+                o = fused ? o.filter(FILTER) : new ObservableFilter<Integer>(o, FILTER);
+                break;
+            default:
+                o = fused ? o.doOnNext(peek)
+                        : new ObservableDoOnEach<Integer>(o, peek, Functions.emptyConsumer(), Functions.EMPTY_ACTION, Functions.EMPTY_ACTION);
+            }
+        }
+        return o;
+    }
+
+    @Benchmark
+    public void flowable(Blackhole bh) {
+        flowable.subscribe(new PerfConsumer(bh));
+    }
+
+    @Benchmark
+    public void flowableHidden(Blackhole bh) {
+        flowableHidden.subscribe(new PerfConsumer(bh));
+    }
+
+    @Benchmark
+    public void observable(Blackhole bh) {
+        observable.subscribe(new PerfConsumer(bh));
+    }
+}
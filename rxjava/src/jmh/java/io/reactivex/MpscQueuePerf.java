@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.internal.functions.Functions;
+import io.reactivex.internal.fuseable.SimplePlainQueue;
+import io.reactivex.internal.queue.*;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Compares the node-per-element MpscLinkedQueue with the chunked MpscLinkedArrayQueue,
+ * and measures an Executor-based worker and a timed window that use the latter.
+ * <p>
+ * Run with the GC profiler ({@code -prof gc}) to see the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class MpscQueuePerf {
+
+    static final Integer ITEM = 1;
+
+    @Param({ "16", "1000" })
+    public int count;
+
+    ExecutorService executor;
+
+    Scheduler.Worker worker;
+
+    Flowable<Flowable<Integer>> window;
+
+    @Setup
+    public void setup() {
+        executor = Executors.newSingleThreadExecutor();
+        worker = Schedulers.from(executor).createWorker();
+
+        window = Flowable.range(1, count).window(1, TimeUnit.MINUTES, Schedulers.single(), count);
+    }
+
+    @TearDown
+    public void teardown() {
+        worker.dispose();
+        executor.shutdownNow();
+    }
+
+    @State(Scope.Thread)
+    public static class QueueState {
+        @Param({ "linked", "chunked" })
+        public String queue;
+
+        SimplePlainQueue<Integer> q;
+
+        @Setup
+        public void setup() {
+            if ("linked".equals(queue)) {
+                q = new MpscLinkedQueue<Integer>();
+            } else {
+                q = new MpscLinkedArrayQueue<Integer>();
+            }
+        }
+    }
+
+    @Benchmark
+    public void offerPoll(QueueState state, Blackhole bh) {
+        SimplePlainQueue<Integer> q = state.q;
+        int n = count;
+        for (int i = 0; i < n; i++) {
+            q.offer(ITEM);
+        }
+        for (int i = 0; i < n; i++) {
+            bh.consume(q.poll());
+        }
+    }
+
+    @Benchmark
+    public void executorWorker() throws InterruptedException {
+        final CountDownLatch cdl = new CountDownLatch(count);
+        Runnable r = new Runnable() {
+            @Override
+            public void run() {
+                cdl.countDown();
+            }
+        };
+        Scheduler.Worker w = worker;
+        for (int i = 0; i < count; i++) {
+            w.schedule(r);
+        }
+        cdl.await();
+    }
+
+    @Benchmark
+    public void windowTimed(Blackhole bh) {
+        window.flatMap(Functions.<Flowable<Integer>>identity()).subscribe(new PerfConsumer(bh));
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.processors.ReplayProcessor;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Compares the linked-node and the chunked size/time-bound ReplayProcessor buffers;
+ * run {@link #main(String[])} to compare the heap retained by a full buffer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class ReplayChunkedPerf {
+
+    @Param({ "1000", "100000" })
+    public int maxSize;
+
+    /** node: the linked-node buffers; chunked: the array-chunked buffers. */
+    @Param({ "node", "chunked" })
+    public String mode;
+
+    /** size: size-bound only; timeAndSize: size and (unexpiring) time bound. */
+    @Param({ "size", "timeAndSize" })
+    public String bound;
+
+    static final int ITEMS = 1000000;
+
+    ReplayProcessor<Integer> filled;
+
+    @Setup
+    public void setup() {
+        filled = create(mode, bound, maxSize);
+        Integer v = 1;
+        for (int i = 0; i < maxSize; i++) {
+            filled.onNext(v);
+        }
+    }
+
+    static ReplayProcessor<Integer> create(String mode, String bound, int maxSize) {
+        if ("node".equals(mode)) {
+            if ("size".equals(bound)) {
+                return ReplayProcessor.createWithSize(maxSize);
+            }
+            return ReplayProcessor.createWithTimeAndSize(1, TimeUnit.DAYS, Schedulers.trampoline(), maxSize);
+        }
+        if ("size".equals(bound)) {
+            return ReplayProcessor.createWithSizeChunked(maxSize);
+        }
+        return ReplayProcessor.createWithTimeAndSizeChunked(1, TimeUnit.DAYS, Schedulers.trampoline(), maxSize);
+    }
+
+    @Benchmark
+    public Object emit(Blackhole bh) {
+        ReplayProcessor<Integer> rp = create(mode, bound, maxSize);
+        rp.subscribe(new PerfConsumer(bh));
+        Integer v = 1;
+        for (int i = 0; i < ITEMS; i++) {
+            rp.onNext(v);
+        }
+        rp.onComplete();
+        return rp;
+    }
+
+    @Benchmark
+    public Object replay(Blackhole bh) {
+        return filled.subscribeWith(new PerfConsumer(bh));
+    }
+
+    static long memoryUse() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    static void retained(String mode, String bound, int maxSize) throws Exception {
+        System.gc();
+        Thread.sleep(100);
+
+        long before = memoryUse();
+
+        ReplayProcessor<Integer> rp = create(mode, bound, maxSize);
+        Integer v = 1;
+        for (int i = 0; i < maxSize; i++) {
+            rp.onNext(v);
+        }
+
+        System.gc();
+        Thread.sleep(100);
+
+        long after = memoryUse();
+
+        double use = Math.max(0.0, (after - before) / 1024.0 / 1024.0);
+
+        System.out.printf("ReplayChunkedPerf.retained %s %s %d thrpt 1 %.3f 0.000 MB (%d items)%n",
+                mode, bound, maxSize, use, rp.getValues().length);
+    }
+
+    public static void main(String[] args) throws Exception {
+        for (int i = 0; i < 2; i++) {
+            for (String bound : new String[] { "size", "timeAndSize" }) {
+                retained("node", bound, 1000000);
+                retained("chunked", bound, 1000000);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.flowables.ConnectableFlowable;
+import io.reactivex.processors.ReplayProcessor;
+import io.reactivex.subjects.ReplaySubject;
+
+/**
+ * Measures filling the unbounded replay buffers of replay(), ReplayProcessor and
+ * ReplaySubject and replaying a filled buffer to a late consumer; filling replay()
+ * includes emitting to the one consumer that drives its upstream requests.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class ReplayUnboundedPerf {
+
+    @Param({ "1000", "1000000" })
+    public int count;
+
+    @Param({ "replay", "processor", "subject" })
+    public String type;
+
+    Integer[] values;
+
+    ConnectableFlowable<Integer> filledReplay;
+
+    ReplayProcessor<Integer> filledProcessor;
+
+    ReplaySubject<Integer> filledSubject;
+
+    @Setup
+    public void setup() {
+        values = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = i;
+        }
+
+        // replay() only requests from upstream on behalf of its subscribers
+        filledReplay = Flowable.fromArray(values).replay();
+        filledReplay.subscribe();
+        filledReplay.connect();
+
+        filledProcessor = ReplayProcessor.create();
+        filledSubject = ReplaySubject.create();
+        for (Integer v : values) {
+            filledProcessor.onNext(v);
+            filledSubject.onNext(v);
+        }
+    }
+
+    @Benchmark
+    public Object fill(Blackhole bh) {
+        if ("replay".equals(type)) {
+            ConnectableFlowable<Integer> cf = Flowable.fromArray(values).replay();
+            cf.subscribe(new PerfConsumer(bh));
+            cf.connect();
+            return cf;
+        }
+        if ("processor".equals(type)) {
+            ReplayProcessor<Integer> rp = ReplayProcessor.create();
+            for (Integer v : values) {
+                rp.onNext(v);
+            }
+            return rp;
+        }
+        ReplaySubject<Integer> rs = ReplaySubject.create();
+        for (Integer v : values) {
+            rs.onNext(v);
+        }
+        return rs;
+    }
+
+    @Benchmark
+    public Object replay(Blackhole bh) {
+        PerfConsumer pc = new PerfConsumer(bh);
+        if ("replay".equals(type)) {
+            filledReplay.subscribe(pc);
+        } else
+        if ("processor".equals(type)) {
+            filledProcessor.subscribe(pc);
+        } else {
+            filledSubject.subscribe((Observer<Object>)pc);
+        }
+        return pc;
+    }
+}
@@ -20,7 +20,8 @@ import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
 import org.reactivestreams.Publisher;
 
-import io.reactivex.functions.Function;
+import io.reactivex.flowables.FlowableInt;
+import io.reactivex.functions.*;
 
 @BenchmarkMode(Mode.Throughput)
 @Warmup(iterations = 5)
@@ -46,6 +47,16 @@ public class RxVsStreamPerf {
 
     List<Integer> values;
 
+    Single<Integer> rangeSum;
+
+    Single<Integer> rangeIntSum;
+
+    Single<Integer> rangeMapFilterSum;
+
+    Single<Integer> rangeIntMapFilterSum;
+
+    Flowable<Integer> rangeIntBoxed;
+
     @Setup
     public void setup() {
         range = Flowable.range(1, times);
@@ -81,6 +92,49 @@ public class RxVsStreamPerf {
         });
 
         values = range.toList().blockingGet();
+
+        BiFunction<Integer, Integer, Integer> sum = new BiFunction<Integer, Integer, Integer>() {
+            @Override
+            public Integer apply(Integer a, Integer b) {
+                return a + b;
+            }
+        };
+
+        rangeSum = range.reduce(0, sum);
+
+        rangeMapFilterSum = range.map(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer v) {
+                return v * 3;
+            }
+        })
+        .filter(new Predicate<Integer>() {
+            @Override
+            public boolean test(Integer v) {
+                return (v & 1) == 0;
+            }
+        })
+        .reduce(0, sum);
+
+        FlowableInt rangeInt = FlowableInt.range(1, times);
+
+        rangeIntSum = rangeInt.sum();
+
+        rangeIntMapFilterSum = rangeInt.map(new IntUnaryOperator() {
+            @Override
+            public int apply(int v) {
+                return v * 3;
+            }
+        })
+        .filter(new IntPredicate() {
+            @Override
+            public boolean test(int v) {
+                return (v & 1) == 0;
+            }
+        })
+        .sum();
+
+        rangeIntBoxed = rangeInt.boxed();
     }
 
     @Benchmark
@@ -113,4 +167,28 @@ public class RxVsStreamPerf {
         rangeObservableFlatMapJust.subscribe(new PerfObserver(bh));
     }
 
+    @Benchmark
+    public void rangeSum(Blackhole bh) {
+        rangeSum.subscribe(new PerfConsumer(bh));
+    }
+
+    @Benchmark
+    public void rangeIntSum(Blackhole bh) {
+        rangeIntSum.subscribe(new PerfConsumer(bh));
+    }
+
+    @Benchmark
+    public void rangeMapFilterSum(Blackhole bh) {
+        rangeMapFilterSum.subscribe(new PerfConsumer(bh));
+    }
+
+    @Benchmark
+    public void rangeIntMapFilterSum(Blackhole bh) {
+        rangeIntMapFilterSum.subscribe(new PerfConsumer(bh));
+    }
+
+    @Benchmark
+    public void rangeIntBoxed(Blackhole bh) {
+        rangeIntBoxed.subscribe(new PerfSubscriber(bh));
+    }
 }
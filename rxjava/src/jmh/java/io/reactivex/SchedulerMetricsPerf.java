@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.schedulers.*;
+
+/**
+ * Measures observeOn over the computation scheduler without and with a
+ * {@link SchedulerMetricsListener} set.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class SchedulerMetricsPerf {
+
+    @Param({ "false", "true" })
+    public boolean metrics;
+
+    @Param({ "1", "1000" })
+    public int count;
+
+    Flowable<Integer> flowable;
+
+    @Setup
+    public void setup() {
+        if (metrics) {
+            RxJavaPlugins.setSchedulerMetricsListener(new SchedulerMetricsListener() {
+                long total;
+
+                @Override
+                public void onTaskRun(long waitNanos, long runNanos, int queueDepth) {
+                    total += waitNanos + runNanos + queueDepth;
+                }
+            });
+        }
+
+        flowable = Flowable.range(1, count).observeOn(Schedulers.computation());
+    }
+
+    @TearDown
+    public void teardown() {
+        RxJavaPlugins.reset();
+    }
+
+    @Benchmark
+    public void observeOn(Blackhole bh) {
+        flowable.subscribeWith(new PerfAsyncConsumer(bh)).await(count);
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.internal.fuseable.SimpleBatchQueue;
+import io.reactivex.internal.queue.SpscArrayQueue;
+
+/**
+ * Measures the SpscArrayQueue with one thread offering and another thread polling
+ * concurrently, and with a single thread filling and then emptying the queue one element
+ * at a time or with the batch methods.
+ * <p>
+ * The {@code pingPong} group reports the successful offers and polls as auxiliary counters;
+ * the failed ones are spins on a full or empty queue.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1)
+@State(Scope.Group)
+public class SpscQueuePerf {
+
+    static final Integer ITEM = 1;
+
+    @Param({ "128", "1024" })
+    public int capacity;
+
+    SpscArrayQueue<Integer> queue;
+
+    SpscArrayQueue<Integer> burstQueue;
+
+    SimpleBatchQueue.ElementSupplier<Integer> supplier;
+
+    @Setup
+    public void setup() {
+        queue = new SpscArrayQueue<Integer>(capacity);
+        burstQueue = new SpscArrayQueue<Integer>(capacity);
+        supplier = new SimpleBatchQueue.ElementSupplier<Integer>() {
+            @Override
+            public Integer get() {
+                return ITEM;
+            }
+        };
+    }
+
+    @AuxCounters
+    @State(Scope.Thread)
+    public static class OfferCounters {
+        public long offersFailed;
+        public long offersMade;
+
+        @Setup(Level.Iteration)
+        public void clean() {
+            offersFailed = 0;
+            offersMade = 0;
+        }
+    }
+
+    @AuxCounters
+    @State(Scope.Thread)
+    public static class PollCounters {
+        public long pollsFailed;
+        public long pollsMade;
+
+        @Setup(Level.Iteration)
+        public void clean() {
+            pollsFailed = 0;
+            pollsMade = 0;
+        }
+    }
+
+    @Benchmark
+    @Group("pingPong")
+    @GroupThreads(1)
+    public void offer(OfferCounters counters) {
+        if (queue.offer(ITEM)) {
+            counters.offersMade++;
+        } else {
+            counters.offersFailed++;
+        }
+    }
+
+    @Benchmark
+    @Group("pingPong")
+    @GroupThreads(1)
+    public void poll(PollCounters counters, Blackhole bh) {
+        Integer v = queue.poll();
+        if (v != null) {
+            counters.pollsMade++;
+            bh.consume(v);
+        } else {
+            counters.pollsFailed++;
+        }
+    }
+
+    @Benchmark
+    @Group("burst")
+    public void fillDrain(Blackhole bh) {
+        SpscArrayQueue<Integer> q = burstQueue;
+        int n = capacity;
+        for (int i = 0; i < n; i++) {
+            q.offer(ITEM);
+        }
+        for (int i = 0; i < n; i++) {
+            bh.consume(q.poll());
+        }
+    }
+
+    @Benchmark
+    @Group("burstBatch")
+    public void fillDrainBatch(final Blackhole bh) {
+        SpscArrayQueue<Integer> q = burstQueue;
+        q.fill(supplier, capacity);
+        q.drain(new SimpleBatchQueue.ElementConsumer<Integer>() {
+            @Override
+            public boolean accept(Integer element) {
+                bh.consume(element);
+                return true;
+            }
+        }, capacity);
+    }
+}
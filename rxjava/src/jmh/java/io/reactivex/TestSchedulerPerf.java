@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.internal.functions.Functions;
+import io.reactivex.schedulers.TestScheduler;
+
+/**
+ * Measures simulations on the TestScheduler: many timers due at few distinct times,
+ * many timers cancelled before they are due, and many interval/timeout pipelines.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class TestSchedulerPerf {
+
+    @Param({ "1000", "100000" })
+    public int count;
+
+    @Benchmark
+    public Object scheduleAdvance() {
+        TestScheduler scheduler = new TestScheduler();
+        Scheduler.Worker w = scheduler.createWorker();
+        int n = count;
+        for (int i = 0; i < n; i++) {
+            w.schedule(Functions.EMPTY_RUNNABLE, i & 15, TimeUnit.SECONDS);
+        }
+        scheduler.advanceTimeBy(16, TimeUnit.SECONDS);
+        return scheduler;
+    }
+
+    @Benchmark
+    public Object scheduleCancel() {
+        TestScheduler scheduler = new TestScheduler();
+        Scheduler.Worker w = scheduler.createWorker();
+        int n = count;
+        List<Disposable> list = new ArrayList<Disposable>(n);
+        for (int i = 0; i < n; i++) {
+            list.add(w.schedule(Functions.EMPTY_RUNNABLE, 1 + (i & 15), TimeUnit.SECONDS));
+        }
+        for (Disposable d : list) {
+            d.dispose();
+        }
+        scheduler.advanceTimeBy(16, TimeUnit.SECONDS);
+        return scheduler;
+    }
+
+    @Benchmark
+    public Object intervalTimeout() {
+        TestScheduler scheduler = new TestScheduler();
+        int n = count / 100;
+        for (int i = 0; i < n; i++) {
+            Flowable.interval(1, TimeUnit.SECONDS, scheduler)
+            .timeout(2, TimeUnit.SECONDS, scheduler)
+            .take(100)
+            .subscribe();
+        }
+        scheduler.advanceTimeBy(100, TimeUnit.SECONDS);
+        return scheduler;
+    }
+}
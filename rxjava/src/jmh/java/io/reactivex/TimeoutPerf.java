@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Measures the per-item overhead of the timed timeout() operators on a synchronous source.
+ * <p>
+ * Run with the GC profiler ({@code -prof gc}) to see the allocation rate per item.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class TimeoutPerf {
+
+    @Param({ "1", "1000", "1000000" })
+    public int count;
+
+    Flowable<Integer> flowable;
+
+    Flowable<Integer> flowableFallback;
+
+    Observable<Integer> observable;
+
+    Observable<Integer> observableFallback;
+
+    @Setup
+    public void setup() {
+        Scheduler s = Schedulers.computation();
+
+        flowable = Flowable.range(1, count).timeout(1, TimeUnit.MINUTES, s);
+
+        flowableFallback = Flowable.range(1, count).timeout(1, TimeUnit.MINUTES, s, Flowable.<Integer>empty());
+
+        observable = Observable.range(1, count).timeout(1, TimeUnit.MINUTES, s);
+
+        observableFallback = Observable.range(1, count).timeout(1, TimeUnit.MINUTES, s, Observable.<Integer>empty());
+    }
+
+    @Benchmark
+    public void flowable(Blackhole bh) {
+        flowable.subscribe(new PerfConsumer(bh));
+    }
+
+    @Benchmark
+    public void flowableFallback(Blackhole bh) {
+        flowableFallback.subscribe(new PerfConsumer(bh));
+    }
+
+    @Benchmark
+    public void observable(Blackhole bh) {
+        observable.subscribe(new PerfConsumer(bh));
+    }
+
+    @Benchmark
+    public void observableFallback(Blackhole bh) {
+        observableFallback.subscribe(new PerfConsumer(bh));
+    }
+}
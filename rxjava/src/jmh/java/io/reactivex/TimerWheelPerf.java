@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.internal.functions.Functions;
+import io.reactivex.internal.schedulers.*;
+
+/**
+ * Compares timing delayed tasks by the ScheduledThreadPoolExecutor of a worker
+ * with timing them by the shared timer wheel, for the mostly cancelled timers of
+ * timeout() and for timers that fire.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class TimerWheelPerf {
+
+    @Param({ "false", "true" })
+    public boolean timerWheel;
+
+    @Param({ "1000", "100000" })
+    public int count;
+
+    Scheduler scheduler;
+
+    Scheduler.Worker worker;
+
+    Disposable[] disposables;
+
+    Flowable<Integer> timeout;
+
+    Flowable<Integer> delay;
+
+    @Setup
+    public void setup() {
+        scheduler = new NewThreadScheduler(new RxThreadFactory("RxTimerWheelPerf"), timerWheel);
+        worker = scheduler.createWorker();
+        disposables = new Disposable[count];
+
+        timeout = Flowable.range(1, count).timeout(1, TimeUnit.MINUTES, scheduler);
+
+        delay = Flowable.range(1, 1000).delay(1, TimeUnit.MILLISECONDS, scheduler);
+    }
+
+    @TearDown
+    public void teardown() {
+        worker.dispose();
+    }
+
+    @Benchmark
+    public void scheduleCancel() {
+        Scheduler.Worker w = worker;
+        Disposable[] a = disposables;
+        for (int i = 0; i < a.length; i++) {
+            a[i] = w.schedule(Functions.EMPTY_RUNNABLE, 1, TimeUnit.MINUTES);
+        }
+        for (Disposable d : a) {
+            d.dispose();
+        }
+    }
+
+    @Benchmark
+    public void timeoutOperator(Blackhole bh) {
+        timeout.subscribe(new PerfConsumer(bh));
+    }
+
+    @Benchmark
+    public void delayOperator(Blackhole bh) {
+        PerfAsyncConsumer c = new PerfAsyncConsumer(bh);
+        delay.subscribe(c);
+        c.await(1000);
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Measures hops onto the trampoline scheduler: per-subscription worker creation with
+ * {@code subscribeOn} and per-item scheduling with {@code observeOn}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class TrampolinePerf {
+
+    @Param({ "1", "1000" })
+    public int count;
+
+    Flowable<Integer> subscribeOn;
+
+    Flowable<Integer> observeOn;
+
+    Observable<Integer> observableSubscribeOn;
+
+    @Setup
+    public void setup() {
+        subscribeOn = Flowable.range(1, count).subscribeOn(Schedulers.trampoline());
+
+        // a prefetch of 1 makes observeOn schedule a drain for each item
+        observeOn = Flowable.range(1, count).observeOn(Schedulers.trampoline(), false, 1);
+
+        observableSubscribeOn = Observable.range(1, count).subscribeOn(Schedulers.trampoline());
+    }
+
+    @Benchmark
+    public void flowableSubscribeOn(Blackhole bh) {
+        subscribeOn.subscribe(new PerfConsumer(bh));
+    }
+
+    @Benchmark
+    public void flowableObserveOn(Blackhole bh) {
+        observeOn.subscribe(new PerfConsumer(bh));
+    }
+
+    @Benchmark
+    public void observableSubscribeOn(Blackhole bh) {
+        observableSubscribeOn.subscribe(new PerfConsumer(bh));
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.lang.management.*;
+import java.util.concurrent.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.reactivex.functions.Function;
+import io.reactivex.internal.schedulers.*;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Compares running many concurrent blocking calls on the IO scheduler with running them
+ * on virtual threads; the virtual case requires Java 21 or later.
+ * <p>
+ * The peak number of platform threads during the trial is printed at its end.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class VirtualSchedulerPerf {
+
+    @Param({ "io", "virtual" })
+    public String scheduler;
+
+    @Param({ "10000" })
+    public int count;
+
+    @Param({ "1" })
+    public int sleepMillis;
+
+    Scheduler io;
+
+    Flowable<Integer> flowable;
+
+    @Setup
+    public void setup() {
+        if ("virtual".equals(scheduler) && VirtualThreadExecutor.INSTANCE == null) {
+            throw new IllegalStateException("Virtual threads are not supported by this runtime");
+        }
+
+        io = new IoScheduler(new RxThreadFactory("RxCachedThreadSchedulerPerf"));
+
+        final Scheduler s = "io".equals(scheduler) ? io : Schedulers.virtual();
+        final long sleep = sleepMillis;
+
+        flowable = Flowable.range(1, count)
+        .flatMap(new Function<Integer, Flowable<Integer>>() {
+            @Override
+            public Flowable<Integer> apply(final Integer v) throws Exception {
+                return Flowable.fromCallable(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        Thread.sleep(sleep);
+                        return v;
+                    }
+                })
+                .subscribeOn(s);
+            }
+        }, count);
+
+        ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+    }
+
+    @TearDown
+    public void teardown() {
+        ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        System.out.println();
+        System.out.println("# " + scheduler + ": peak platform threads " + mx.getPeakThreadCount()
+            + ", IoScheduler threads " + ((IoScheduler)io).size());
+        io.shutdown();
+    }
+
+    @Benchmark
+    public Object blockingCalls() {
+        return flowable.blockingLast();
+    }
+}
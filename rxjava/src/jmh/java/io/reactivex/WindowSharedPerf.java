@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.functions.*;
+
+/**
+ * Compares window(count) with windowShared(count) on tumbling windows reduced by flatMapMaybe;
+ * run with {@code -prof gc} to see the per-window allocation difference.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class WindowSharedPerf {
+
+    @Param({ "16", "64", "256", "1024", "4096" })
+    public int size;
+
+    @Param({ "window", "shared" })
+    public String mode;
+
+    static final int ITEMS = 1000000;
+
+    Flowable<Integer> flowable;
+
+    @Setup
+    public void setup() {
+        Flowable<Integer> source = Flowable.range(0, ITEMS);
+
+        Flowable<Flowable<Integer>> windows = "shared".equals(mode) ? source.windowShared(size) : source.window(size);
+
+        flowable = windows.flatMapMaybe(new Function<Flowable<Integer>, Maybe<Integer>>() {
+            @Override
+            public Maybe<Integer> apply(Flowable<Integer> w) throws Exception {
+                return w.reduce(new BiFunction<Integer, Integer, Integer>() {
+                    @Override
+                    public Integer apply(Integer a, Integer b) throws Exception {
+                        return a + b;
+                    }
+                });
+            }
+        });
+    }
+
+    @Benchmark
+    public Object windows(Blackhole bh) {
+        return flowable.subscribeWith(new PerfConsumer(bh));
+    }
+}
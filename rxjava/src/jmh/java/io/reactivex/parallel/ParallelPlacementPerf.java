@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.parallel;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.reactivex.Flowable;
+import io.reactivex.functions.Function;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Runs several CPU-bound parallel pipelines concurrently on the computation scheduler
+ * with the round-robin and the striped placement of their rails.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1)
+@State(Scope.Thread)
+public class ParallelPlacementPerf {
+
+    @Param({ "ROUND_ROBIN", "STRIPED" })
+    public ParallelPlacement placement;
+
+    @Param({ "2", "4" })
+    public int pipelines;
+
+    @Param({ "10000" })
+    public int count;
+
+    @Param({ "100" })
+    public int work;
+
+    Flowable<Integer> flowable;
+
+    @Setup
+    public void setup() {
+        final int rails = Math.max(1, Runtime.getRuntime().availableProcessors() / pipelines);
+        final int w = work;
+
+        final Flowable<Integer> pipeline = Flowable.range(1, count)
+        .parallel(rails)
+        .runOn(Schedulers.computation(), Flowable.bufferSize(), placement)
+        .map(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer v) throws Exception {
+                Blackhole.consumeCPU(w);
+                return v;
+            }
+        })
+        .sequential();
+
+        flowable = Flowable.range(1, pipelines)
+        .flatMap(new Function<Integer, Flowable<Integer>>() {
+            @Override
+            public Flowable<Integer> apply(Integer v) throws Exception {
+                return pipeline.subscribeOn(Schedulers.io());
+            }
+        });
+    }
+
+    @Benchmark
+    public Object concurrentPipelines() {
+        return flowable.blockingLast();
+    }
+}
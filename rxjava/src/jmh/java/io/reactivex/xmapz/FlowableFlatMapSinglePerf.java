@@ -23,6 +23,11 @@ import org.reactivestreams.Publisher;
 import io.reactivex.*;
 import io.reactivex.functions.Function;
 
+/**
+ * Compares the scalar {@code Single.just} fast path of flatMapSingle with the
+ * subscribing path ({@code hide()}); run with {@code -prof gc} to see the
+ * per-item allocation difference.
+ */
 @BenchmarkMode(Mode.Throughput)
 @Warmup(iterations = 5)
 @Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
@@ -37,6 +42,8 @@ public class FlowableFlatMapSinglePerf {
 
     Flowable<Integer> flowableDedicated;
 
+    Flowable<Integer> flowableDedicatedHidden;
+
     Flowable<Integer> flowablePlain;
 
     @Setup
@@ -69,6 +76,14 @@ public class FlowableFlatMapSinglePerf {
                 return Single.just(v);
             }
         });
+
+        flowableDedicatedHidden = source.flatMapSingle(new Function<Integer, Single<? extends Integer>>() {
+            @Override
+            public Single<? extends Integer> apply(Integer v)
+                    throws Exception {
+                return Single.just(v).hide();
+            }
+        });
     }
 
     @Benchmark
@@ -85,4 +100,9 @@ public class FlowableFlatMapSinglePerf {
     public Object flowableDedicated(Blackhole bh) {
         return flowableDedicated.subscribeWith(new PerfConsumer(bh));
     }
+
+    @Benchmark
+    public Object flowableDedicatedHidden(Blackhole bh) {
+        return flowableDedicatedHidden.subscribeWith(new PerfConsumer(bh));
+    }
 }
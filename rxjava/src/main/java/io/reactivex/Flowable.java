@@ -12,6 +12,7 @@
  */
 package io.reactivex;
 
+import java.io.File;
 import java.util.*;
 import java.util.concurrent.*;
 
@@ -5957,7 +5958,49 @@ public abstract class Flowable<T> implements Publisher<T> {
     @BackpressureSupport(BackpressureKind.FULL)
     @SchedulerSupport(SchedulerSupport.NONE)
     public final Flowable<List<T>> buffer(int count, int skip) {
-        return buffer(count, skip, ArrayListSupplier.<T>asCallable());
+        ObjectHelper.verifyPositive(count, "count");
+        return buffer(count, skip, ArrayListSupplier.<T>asCallable(count));
+    }
+
+    /**
+     * Returns a Flowable that emits buffers of items it collects from the source Publisher, optionally
+     * reusing the same {@code List} instance for each buffer. The resulting
+     * Publisher emits connected, non-overlapping buffers, each containing {@code count} items. When the source
+     * Publisher completes, the resulting Publisher emits the current buffer and propagates the notification from the
+     * source Publisher. Note that if the source Publisher issues an onError notification the event is passed on
+     * immediately without first emitting the buffer it is in the process of assembling.
+     * <p>
+     * <img width="640" height="320" src="https://raw.github.com/wiki/ReactiveX/RxJava/images/rx-operators/buffer3.png" alt="">
+     * <p>
+     * If {@code reuseBuffer} is true, the emitted {@code List} is cleared and refilled once the
+     * downstream's {@code onNext} call returns. Such a buffer must be consumed synchronously within
+     * {@code onNext}: it must not be stored, returned from a {@code map} or handed to an asynchronous
+     * boundary such as {@code observeOn}; copy it if needed.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>The operator honors backpressure from downstream and expects the source {@code Publisher} to honor it as
+     *  well, although not enforced; violation <em>may</em> lead to {@code MissingBackpressureException} somewhere
+     *  downstream.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>This version of {@code buffer} does not operate by default on a particular {@link Scheduler}.</dd>
+     * </dl>
+     *
+     * @param count
+     *            the maximum number of items in each buffer before it should be emitted
+     * @param reuseBuffer
+     *            if true, the same {@code List} instance is cleared and emitted again for each buffer
+     * @return a Flowable that emits connected, non-overlapping buffers, each containing at most
+     *         {@code count} items from the source Publisher
+     * @see <a href="http://reactivex.io/documentation/operators/buffer.html">ReactiveX operators documentation: Buffer</a>
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    @Experimental
+    public final Flowable<List<T>> buffer(int count, boolean reuseBuffer) {
+        ObjectHelper.verifyPositive(count, "count");
+        return RxJavaPlugins.onAssembly(new FlowableBuffer<T, List<T>>(this, count, count, ArrayListSupplier.<T>asCallable(count), reuseBuffer));
     }
 
     /**
@@ -6259,6 +6302,59 @@ public abstract class Flowable<T> implements Publisher<T> {
         return buffer(timespan, unit, scheduler, count, ArrayListSupplier.<T>asCallable(), false);
     }
 
+    /**
+     * Returns a Flowable that emits buffers of items it collects from the source Publisher, optionally
+     * reusing the emitted {@code List} instances. The resulting
+     * Publisher emits connected, non-overlapping buffers, each of a fixed duration specified by the
+     * {@code timespan} argument as measured on the specified {@code scheduler}, or a maximum size specified by
+     * the {@code count} argument (whichever is reached first). When the source Publisher completes, the resulting
+     * Publisher emits the current buffer and propagates the notification from the source Publisher. Note that if the
+     * source Publisher issues an onError notification the event is passed on immediately without first emitting the
+     * buffer it is in the process of assembling.
+     * <p>
+     * <img width="640" height="320" src="https://raw.github.com/wiki/ReactiveX/RxJava/images/rx-operators/buffer6.s.png" alt="">
+     * <p>
+     * If {@code reuseBuffer} is true, a {@code List} is cleared and refilled once the
+     * downstream's {@code onNext} call it was emitted in returned. Such a buffer must be consumed synchronously within
+     * {@code onNext}: it must not be stored, returned from a {@code map} or handed to an asynchronous
+     * boundary such as {@code observeOn}; copy it if needed.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>This operator does not support backpressure as it uses time. It requests {@code Long.MAX_VALUE}
+     *      upstream and does not obey downstream requests.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} this operator will use.</dd>
+     * </dl>
+     *
+     * @param timespan
+     *            the period of time each buffer collects items before it is emitted and replaced with a new
+     *            buffer
+     * @param unit
+     *            the unit of time which applies to the {@code timespan} argument
+     * @param scheduler
+     *            the {@link Scheduler} to use when determining the end and start of a buffer
+     * @param count
+     *            the maximum size of each buffer before it is emitted
+     * @param reuseBuffer
+     *            if true, emitted {@code List} instances are cleared and refilled for later buffers
+     * @return a Flowable that emits connected, non-overlapping buffers of items emitted by the source
+     *         Publisher after a fixed duration or when the buffer reaches maximum capacity (whichever occurs
+     *         first)
+     * @see <a href="http://reactivex.io/documentation/operators/buffer.html">ReactiveX operators documentation: Buffer</a>
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.ERROR)
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    @Experimental
+    public final Flowable<List<T>> buffer(long timespan, TimeUnit unit, Scheduler scheduler, int count, boolean reuseBuffer) {
+        ObjectHelper.requireNonNull(unit, "unit is null");
+        ObjectHelper.requireNonNull(scheduler, "scheduler is null");
+        ObjectHelper.verifyPositive(count, "count");
+        Callable<List<T>> bufferSupplier = reuseBuffer ? ArrayListSupplier.<T>asCallable(count) : ArrayListSupplier.<T>asCallable();
+        return RxJavaPlugins.onAssembly(new FlowableBufferTimed<T, List<T>>(this, timespan, timespan, unit, scheduler, bufferSupplier, count, false, reuseBuffer));
+    }
+
     /**
      * Returns a Flowable that emits buffers of items it collects from the source Publisher. The resulting
      * Publisher emits connected, non-overlapping buffers, each of a fixed duration specified by the
@@ -6732,6 +6828,49 @@ public abstract class Flowable<T> implements Publisher<T> {
         return RxJavaPlugins.onAssembly(new FlowableCache<T>(this, initialCapacity));
     }
 
+    /**
+     * Returns a Flowable that subscribes to this Publisher lazily, caches all of its events
+     * and replays them, in the same order as received, to all the downstream subscribers, keeping at most
+     * {@code maxSegments} segments of {@code segmentSize} items in memory and paging the older
+     * segments out to a file.
+     * <p>
+     * The paged out segments are read back, one segment at a time, when a lagging or late Subscriber
+     * reaches them; the replayed sequence is the same as with {@link #cache()}. The file is created in
+     * {@code directory} on the first page-out and, where the platform allows it, unlinked right away so it
+     * doesn't outlive the process; it is closed by the periodic purge of the standard schedulers once the
+     * returned Flowable is no longer referenced. If writing the file fails, the error is routed to
+     * {@link RxJavaPlugins#onError(Throwable)} and the remaining segments are kept in memory. If reading it
+     * back fails, the affected Subscriber receives the error.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>The operator consumes this Publisher in an unbounded fashion but respects the backpressure
+     *  of each downstream Subscriber individually.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>{@code cacheWithSpill} does not operate by default on a particular {@link Scheduler};
+     *  the segments are written on the thread emitting the items and read back on the thread replaying them.</dd>
+     * </dl>
+     *
+     * @param segmentSize the number of items in each cache segment, positive
+     * @param maxSegments the number of segments to keep in memory, positive
+     * @param serializer the serializer converting the items of the paged out segments to and from bytes
+     * @param directory the directory to create the file in
+     * @return a Flowable that, when first subscribed to, caches all of its items and notifications for the
+     *         benefit of subsequent subscribers
+     * @see <a href="http://reactivex.io/documentation/operators/replay.html">ReactiveX operators documentation: Replay</a>
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    @Experimental
+    public final Flowable<T> cacheWithSpill(int segmentSize, int maxSegments, SpillSerializer<T> serializer, File directory) {
+        ObjectHelper.verifyPositive(segmentSize, "segmentSize");
+        ObjectHelper.verifyPositive(maxSegments, "maxSegments");
+        ObjectHelper.requireNonNull(serializer, "serializer is null");
+        ObjectHelper.requireNonNull(directory, "directory is null");
+        return RxJavaPlugins.onAssembly(new FlowableCache<T>(this, segmentSize, new SegmentSpiller(serializer, directory, maxSegments)));
+    }
+
     /**
      * Returns a Flowable that emits the items emitted by the source Publisher, converted to the specified
      * type.
@@ -6761,6 +6900,78 @@ public abstract class Flowable<T> implements Publisher<T> {
         return map(Functions.castFunction(clazz));
     }
 
+    /**
+     * Returns a Flowable that collects the items of this Flowable into lists of up to {@code maxSize}
+     * items each, emitting a list early if it would otherwise hold an item for longer than
+     * {@code maxLatency}.
+     * <p>
+     * Unlike {@link #buffer(long, TimeUnit, Scheduler, int)}, this operator honors downstream backpressure,
+     * never emits an empty list and uses a single periodic timer per subscriber: a list is emitted as soon
+     * as it is full and each tick of the timer emits the partially filled list, if any. The upstream items
+     * are collected in bulk only when a full list may be available or the timer ticks, which keeps the
+     * per-item overhead low for high-rate sources feeding batching consumers.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>The operator honors backpressure from downstream and requests a bounded number of items,
+     *  at least twice {@code maxSize}, from upstream. If there is no downstream demand, the lists
+     *  may get older than {@code maxLatency}.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>This version of {@code coalesce} operates by default on the {@code computation} {@link Scheduler}:
+     *  the lists emitted due to the latency bound are signalled from there.</dd>
+     * </dl>
+     * @param maxSize the maximum number of items in each list, positive
+     * @param maxLatency the maximum time an item is held back before its list is emitted
+     * @param unit the time unit of {@code maxLatency}
+     * @return the new Flowable instance
+     * @see #coalesce(int, long, TimeUnit, Scheduler)
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.COMPUTATION)
+    @Experimental
+    public final Flowable<List<T>> coalesce(int maxSize, long maxLatency, TimeUnit unit) {
+        return coalesce(maxSize, maxLatency, unit, Schedulers.computation());
+    }
+
+    /**
+     * Returns a Flowable that collects the items of this Flowable into lists of up to {@code maxSize}
+     * items each, emitting a list early if it would otherwise hold an item for longer than
+     * {@code maxLatency}.
+     * <p>
+     * Unlike {@link #buffer(long, TimeUnit, Scheduler, int)}, this operator honors downstream backpressure,
+     * never emits an empty list and uses a single periodic timer per subscriber: a list is emitted as soon
+     * as it is full and each tick of the timer emits the partially filled list, if any. The upstream items
+     * are collected in bulk only when a full list may be available or the timer ticks, which keeps the
+     * per-item overhead low for high-rate sources feeding batching consumers.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>The operator honors backpressure from downstream and requests a bounded number of items,
+     *  at least twice {@code maxSize}, from upstream. If there is no downstream demand, the lists
+     *  may get older than {@code maxLatency}.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} this operator will use: the lists emitted due to the
+     *  latency bound are signalled from there.</dd>
+     * </dl>
+     * @param maxSize the maximum number of items in each list, positive
+     * @param maxLatency the maximum time an item is held back before its list is emitted, positive
+     * @param unit the time unit of {@code maxLatency}
+     * @param scheduler the scheduler running the periodic timer
+     * @return the new Flowable instance
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    @Experimental
+    public final Flowable<List<T>> coalesce(int maxSize, long maxLatency, TimeUnit unit, Scheduler scheduler) {
+        ObjectHelper.verifyPositive(maxSize, "maxSize");
+        ObjectHelper.verifyPositive(maxLatency, "maxLatency");
+        ObjectHelper.requireNonNull(unit, "unit is null");
+        ObjectHelper.requireNonNull(scheduler, "scheduler is null");
+        return RxJavaPlugins.onAssembly(new FlowableCoalesce<T>(this, maxSize, maxLatency, unit, scheduler));
+    }
+
     /**
      * Collects items emitted by the finite source Publisher into a single mutable data structure and returns
      * a Single that emits this structure.
@@ -7237,6 +7448,50 @@ public abstract class Flowable<T> implements Publisher<T> {
         return RxJavaPlugins.onAssembly(new FlowableConcatMapEager<T, R>(this, mapper, maxConcurrency, prefetch, ErrorMode.IMMEDIATE));
     }
 
+    /**
+     * Maps a sequence of values into Publishers and concatenates these Publishers eagerly into a single
+     * Publisher while bounding the number of values buffered for the Publishers that are not yet
+     * being relayed.
+     * <p>
+     * Eager concatenation means that once a subscriber subscribes, this operator subscribes to all of the
+     * source Publishers. The operator buffers the values emitted by these Publishers and then drains them in
+     * order, each one after the previous one completes.
+     * <p>
+     * Unlike {@link #concatMapEager(Function, int, int)}, where each inner Publisher prefetches independently,
+     * the inner Publishers waiting behind the currently relayed one share a budget of {@code maxBuffered} values,
+     * handed out in order. The currently relayed Publisher is always requested up to {@code prefetch} values
+     * outside of this budget, thus it can't be starved by the ones behind it, and at most
+     * {@code maxBuffered + prefetch} values are buffered at any time.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>The operator honors backpressure from downstream. The inner {@code Publisher}s are expected to honor
+     *  backpressure; if violated, the operator signals a {@code MissingBackpressureException}.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>This method does not operate by default on a particular {@link Scheduler}.</dd>
+     * </dl>
+     * @param <R> the value type
+     * @param mapper the function that maps a sequence of values into a sequence of Publishers that will be
+     *               eagerly concatenated
+     * @param maxConcurrency the maximum number of concurrent subscribed Publishers
+     * @param prefetch the maximum number of values requested from each inner Publisher at a time, must be positive
+     * @param maxBuffered the maximum number of values requested in total from the inner Publishers behind
+     *                    the currently relayed one, must be positive
+     * @return the new Publisher instance with the specified concatenation behavior
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    @Experimental
+    public final <R> Flowable<R> concatMapEagerBounded(Function<? super T, ? extends Publisher<? extends R>> mapper,
+            int maxConcurrency, int prefetch, int maxBuffered) {
+        ObjectHelper.requireNonNull(mapper, "mapper is null");
+        ObjectHelper.verifyPositive(maxConcurrency, "maxConcurrency");
+        ObjectHelper.verifyPositive(prefetch, "prefetch");
+        ObjectHelper.verifyPositive(maxBuffered, "maxBuffered");
+        return RxJavaPlugins.onAssembly(new FlowableConcatMapEagerBounded<T, R>(this, mapper, maxConcurrency, prefetch, maxBuffered, ErrorMode.IMMEDIATE));
+    }
+
     /**
      * Maps a sequence of values into Publishers and concatenates these Publishers eagerly into a single
      * Publisher.
@@ -8889,8 +9144,8 @@ public abstract class Flowable<T> implements Publisher<T> {
     @BackpressureSupport(BackpressureKind.PASS_THROUGH)
     @SchedulerSupport(SchedulerSupport.NONE)
     public final Flowable<T> doOnNext(Consumer<? super T> onNext) {
-        return doOnEach(onNext, Functions.emptyConsumer(),
-                Functions.EMPTY_ACTION, Functions.EMPTY_ACTION);
+        ObjectHelper.requireNonNull(onNext, "onNext is null");
+        return RxJavaPlugins.onAssembly(FlowableMapFilterChain.doOnNext(this, onNext));
     }
 
     /**
@@ -9097,7 +9352,7 @@ public abstract class Flowable<T> implements Publisher<T> {
     @SchedulerSupport(SchedulerSupport.NONE)
     public final Flowable<T> filter(Predicate<? super T> predicate) {
         ObjectHelper.requireNonNull(predicate, "predicate is null");
-        return RxJavaPlugins.onAssembly(new FlowableFilter<T>(this, predicate));
+        return RxJavaPlugins.onAssembly(FlowableMapFilterChain.filter(this, predicate));
     }
 
     /**
@@ -9367,6 +9622,69 @@ public abstract class Flowable<T> implements Publisher<T> {
         return RxJavaPlugins.onAssembly(new FlowableFlatMap<T, R>(this, mapper, delayErrors, maxConcurrency, bufferSize));
     }
 
+    /**
+     * Returns a Flowable that emits items based on applying a function that you supply to each item emitted
+     * by the source Publisher, where that function returns a Publisher, and then merging those resulting
+     * Publishers and emitting the results of this merger, while limiting the maximum number of concurrent
+     * subscriptions to these Publishers and adapting the prefetch amount of each inner Publisher.
+     * <p>
+     * Each inner Publisher is first requested {@code minBufferSize} items and, whenever it is replenished,
+     * the amount doubles if the merge found its buffer empty since the last replenishment or halves otherwise,
+     * staying between {@code minBufferSize} and {@code maxBufferSize}. This way, inner Publishers outpaced by the
+     * downstream emit in larger batches while others don't keep many items buffered.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>The operator honors backpressure from downstream. The upstream Flowable is consumed
+     *  in a bounded manner (up to {@code maxConcurrency} outstanding request amount for items).
+     *  The inner {@code Publisher}s are expected to honor backpressure; if violated,
+     *  the operator <em>may</em> signal {@code MissingBackpressureException}.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>{@code flatMap} does not operate by default on a particular {@link Scheduler}.</dd>
+     * </dl>
+     *
+     * @param <R> the value type of the inner Publishers and the output type
+     * @param mapper
+     *            a function that, when applied to an item emitted by the source Publisher, returns an
+     *            Publisher
+     * @param delayErrors
+     *            if true, exceptions from the current Flowable and all inner Publishers are delayed until all of them terminate
+     *            if false, the first one signalling an exception will terminate the whole sequence immediately
+     * @param maxConcurrency
+     *         the maximum number of Publishers that may be subscribed to concurrently
+     * @param minBufferSize
+     *            the minimum number of elements to prefetch from each inner Publisher
+     * @param maxBufferSize
+     *            the maximum number of elements to prefetch from each inner Publisher, not less than minBufferSize
+     * @return a Flowable that emits the result of applying the transformation function to each item emitted
+     *         by the source Publisher and merging the results of the Publishers obtained from this
+     *         transformation
+     * @see <a href="http://reactivex.io/documentation/operators/flatmap.html">ReactiveX operators documentation: FlatMap</a>
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    @Experimental
+    public final <R> Flowable<R> flatMap(Function<? super T, ? extends Publisher<? extends R>> mapper,
+            boolean delayErrors, int maxConcurrency, int minBufferSize, int maxBufferSize) {
+        ObjectHelper.requireNonNull(mapper, "mapper is null");
+        ObjectHelper.verifyPositive(maxConcurrency, "maxConcurrency");
+        ObjectHelper.verifyPositive(minBufferSize, "minBufferSize");
+        ObjectHelper.verifyPositive(maxBufferSize, "maxBufferSize");
+        if (maxBufferSize < minBufferSize) {
+            throw new IllegalArgumentException("maxBufferSize >= minBufferSize required but it was " + maxBufferSize + " < " + minBufferSize);
+        }
+        if (this instanceof ScalarCallable) {
+            @SuppressWarnings("unchecked")
+            T v = ((ScalarCallable<T>)this).call();
+            if (v == null) {
+                return empty();
+            }
+            return FlowableScalarXMap.scalarXMap(v, mapper);
+        }
+        return RxJavaPlugins.onAssembly(new FlowableFlatMap<T, R>(this, mapper, delayErrors, maxConcurrency, minBufferSize, maxBufferSize));
+    }
+
     /**
      * Returns a Flowable that applies a function to each item emitted or notification raised by the source
      * Publisher and then flattens the Publishers returned from these functions and emits the resulting items.
@@ -10411,6 +10729,226 @@ public abstract class Flowable<T> implements Publisher<T> {
         return RxJavaPlugins.onAssembly(new FlowableGroupBy<T, K, V>(this, keySelector, valueSelector, bufferSize, delayError, evictingMapFactory));
     }
 
+    /**
+     * Groups the items emitted by a {@code Publisher} according to a specified criterion, and emits these
+     * grouped items as {@link GroupedFlowable}s, keeping at most {@code maxGroups} groups active.
+     * The emitted {@code GroupedFlowable} allows only a single
+     * {@link Subscriber} during its lifetime and if this {@code Subscriber} cancels before the
+     * source terminates, the next emission by the source having the same key will trigger a new
+     * {@code GroupedFlowable} emission. A completed (evicted) group is emitted again as a new
+     * {@link GroupedFlowable} if an item with its key arrives later.
+     * <p>
+     * This overload is meant for sources with a large or unbounded number of keys: the groups are kept in a compact
+     * open hash table accessed by the upstream's thread only, a new {@code GroupedFlowable} is emitted before its
+     * first item and a group allocates its buffer only when an item can't be handed to its
+     * {@code Subscriber} right away.
+     * <p>
+     * <img width="640" height="360" src="https://raw.github.com/wiki/ReactiveX/RxJava/images/rx-operators/groupBy.png" alt="">
+     * <p>
+     * <em>Note:</em> A {@link GroupedFlowable} will cache the items it is to emit until such time as it
+     * is subscribed to. For this reason, in order to avoid memory leaks, you should not simply ignore those
+     * {@code GroupedFlowable}s that do not concern you. Instead, you can signal to them that they may
+     * discard their buffers by applying an operator like {@link #ignoreElements} to them.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>Both the returned and its inner {@code GroupedFlowable}s honor backpressure and the source {@code Publisher}
+     *  is consumed in a bounded mode (i.e., requested a fixed amount upfront and replenished based on
+     *  downstream consumption). Note that both the returned and its inner {@code GroupedFlowable}s use
+     *  unbounded internal buffers and if the source {@code Publisher} doesn't honor backpressure, that <em>may</em>
+     *  lead to {@code OutOfMemoryError}.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>{@code groupBy} does not operate by default on a particular {@link Scheduler}.</dd>
+     * </dl>
+     *
+     * @param keySelector
+     *            a function that extracts the key for each item
+     * @param valueSelector
+     *            a function that extracts the return element for each item
+     * @param delayError
+     *            if true, the exception from the current Flowable is delayed in each group until that specific group emitted
+     *            the normal values; if false, the exception bypasses values in the groups and is reported immediately.
+     * @param bufferSize
+     *            the hint for how many {@link GroupedFlowable}s and element in each {@link GroupedFlowable} should be buffered
+     * @param maxGroups
+     *            the maximum number of active groups; when a new key arrives and this many groups are active,
+     *            the least recently used group is completed
+     * @param <K>
+     *            the key type
+     * @param <V>
+     *            the element type
+     * @return a {@code Publisher} that emits {@link GroupedFlowable}s, each of which corresponds to a
+     *         unique key value and each of which emits those items from the source Publisher that share that
+     *         key value
+     * @see <a href="http://reactivex.io/documentation/operators/groupby.html">ReactiveX operators documentation: GroupBy</a>
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    @Experimental
+    public final <K, V> Flowable<GroupedFlowable<K, V>> groupBy(Function<? super T, ? extends K> keySelector,
+            Function<? super T, ? extends V> valueSelector,
+            boolean delayError, int bufferSize, int maxGroups) {
+        ObjectHelper.requireNonNull(keySelector, "keySelector is null");
+        ObjectHelper.requireNonNull(valueSelector, "valueSelector is null");
+        ObjectHelper.verifyPositive(bufferSize, "bufferSize");
+        ObjectHelper.verifyPositive(maxGroups, "maxGroups");
+
+        return RxJavaPlugins.onAssembly(new FlowableGroupBy<T, K, V>(this, keySelector, valueSelector, bufferSize, delayError,
+                maxGroups, 0L, null, null));
+    }
+
+    /**
+     * Groups the items emitted by a {@code Publisher} according to a specified criterion, and emits these
+     * grouped items as {@link GroupedFlowable}s, keeping at most {@code maxGroups} groups active and completing groups which haven't received an item for the given amount of time.
+     * The emitted {@code GroupedFlowable} allows only a single
+     * {@link Subscriber} during its lifetime and if this {@code Subscriber} cancels before the
+     * source terminates, the next emission by the source having the same key will trigger a new
+     * {@code GroupedFlowable} emission. A completed (evicted) group is emitted again as a new
+     * {@link GroupedFlowable} if an item with its key arrives later.
+     * <p>
+     * This overload is meant for sources with a large or unbounded number of keys: the groups are kept in a compact
+     * open hash table accessed by the upstream's thread only, a new {@code GroupedFlowable} is emitted before its
+     * first item and a group allocates its buffer only when an item can't be handed to its
+     * {@code Subscriber} right away.
+     * <p>
+     * The idle groups are checked and completed when the source emits an item, therefore an idle group
+     * may stay active longer than {@code maxIdleTime} if the source doesn't emit.
+     * <p>
+     * <img width="640" height="360" src="https://raw.github.com/wiki/ReactiveX/RxJava/images/rx-operators/groupBy.png" alt="">
+     * <p>
+     * <em>Note:</em> A {@link GroupedFlowable} will cache the items it is to emit until such time as it
+     * is subscribed to. For this reason, in order to avoid memory leaks, you should not simply ignore those
+     * {@code GroupedFlowable}s that do not concern you. Instead, you can signal to them that they may
+     * discard their buffers by applying an operator like {@link #ignoreElements} to them.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>Both the returned and its inner {@code GroupedFlowable}s honor backpressure and the source {@code Publisher}
+     *  is consumed in a bounded mode (i.e., requested a fixed amount upfront and replenished based on
+     *  downstream consumption). Note that both the returned and its inner {@code GroupedFlowable}s use
+     *  unbounded internal buffers and if the source {@code Publisher} doesn't honor backpressure, that <em>may</em>
+     *  lead to {@code OutOfMemoryError}.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>{@code groupBy} uses the {@code computation} {@link Scheduler} as its time source.</dd>
+     * </dl>
+     *
+     * @param keySelector
+     *            a function that extracts the key for each item
+     * @param valueSelector
+     *            a function that extracts the return element for each item
+     * @param delayError
+     *            if true, the exception from the current Flowable is delayed in each group until that specific group emitted
+     *            the normal values; if false, the exception bypasses values in the groups and is reported immediately.
+     * @param bufferSize
+     *            the hint for how many {@link GroupedFlowable}s and element in each {@link GroupedFlowable} should be buffered
+     * @param maxGroups
+     *            the maximum number of active groups; when a new key arrives and this many groups are active,
+     *            the least recently used group is completed
+     * @param maxIdleTime
+     *            the time after which a group that hasn't received an item is completed, positive
+     * @param unit
+     *            the time unit of {@code maxIdleTime}
+     * @param <K>
+     *            the key type
+     * @param <V>
+     *            the element type
+     * @return a {@code Publisher} that emits {@link GroupedFlowable}s, each of which corresponds to a
+     *         unique key value and each of which emits those items from the source Publisher that share that
+     *         key value
+     * @see <a href="http://reactivex.io/documentation/operators/groupby.html">ReactiveX operators documentation: GroupBy</a>
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.COMPUTATION)
+    @Experimental
+    public final <K, V> Flowable<GroupedFlowable<K, V>> groupBy(Function<? super T, ? extends K> keySelector,
+            Function<? super T, ? extends V> valueSelector,
+            boolean delayError, int bufferSize, int maxGroups, long maxIdleTime, TimeUnit unit) {
+        return groupBy(keySelector, valueSelector, delayError, bufferSize, maxGroups, maxIdleTime, unit, Schedulers.computation());
+    }
+
+    /**
+     * Groups the items emitted by a {@code Publisher} according to a specified criterion, and emits these
+     * grouped items as {@link GroupedFlowable}s, keeping at most {@code maxGroups} groups active and completing groups which haven't received an item for the given amount of time.
+     * The emitted {@code GroupedFlowable} allows only a single
+     * {@link Subscriber} during its lifetime and if this {@code Subscriber} cancels before the
+     * source terminates, the next emission by the source having the same key will trigger a new
+     * {@code GroupedFlowable} emission. A completed (evicted) group is emitted again as a new
+     * {@link GroupedFlowable} if an item with its key arrives later.
+     * <p>
+     * This overload is meant for sources with a large or unbounded number of keys: the groups are kept in a compact
+     * open hash table accessed by the upstream's thread only, a new {@code GroupedFlowable} is emitted before its
+     * first item and a group allocates its buffer only when an item can't be handed to its
+     * {@code Subscriber} right away.
+     * <p>
+     * The idle groups are checked and completed when the source emits an item, therefore an idle group
+     * may stay active longer than {@code maxIdleTime} if the source doesn't emit.
+     * <p>
+     * <img width="640" height="360" src="https://raw.github.com/wiki/ReactiveX/RxJava/images/rx-operators/groupBy.png" alt="">
+     * <p>
+     * <em>Note:</em> A {@link GroupedFlowable} will cache the items it is to emit until such time as it
+     * is subscribed to. For this reason, in order to avoid memory leaks, you should not simply ignore those
+     * {@code GroupedFlowable}s that do not concern you. Instead, you can signal to them that they may
+     * discard their buffers by applying an operator like {@link #ignoreElements} to them.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>Both the returned and its inner {@code GroupedFlowable}s honor backpressure and the source {@code Publisher}
+     *  is consumed in a bounded mode (i.e., requested a fixed amount upfront and replenished based on
+     *  downstream consumption). Note that both the returned and its inner {@code GroupedFlowable}s use
+     *  unbounded internal buffers and if the source {@code Publisher} doesn't honor backpressure, that <em>may</em>
+     *  lead to {@code OutOfMemoryError}.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} provides the current time to this operator.</dd>
+     * </dl>
+     *
+     * @param keySelector
+     *            a function that extracts the key for each item
+     * @param valueSelector
+     *            a function that extracts the return element for each item
+     * @param delayError
+     *            if true, the exception from the current Flowable is delayed in each group until that specific group emitted
+     *            the normal values; if false, the exception bypasses values in the groups and is reported immediately.
+     * @param bufferSize
+     *            the hint for how many {@link GroupedFlowable}s and element in each {@link GroupedFlowable} should be buffered
+     * @param maxGroups
+     *            the maximum number of active groups; when a new key arrives and this many groups are active,
+     *            the least recently used group is completed
+     * @param maxIdleTime
+     *            the time after which a group that hasn't received an item is completed, positive
+     * @param unit
+     *            the time unit of {@code maxIdleTime}
+     * @param scheduler
+     *            the {@link Scheduler} providing the current time
+     * @param <K>
+     *            the key type
+     * @param <V>
+     *            the element type
+     * @return a {@code Publisher} that emits {@link GroupedFlowable}s, each of which corresponds to a
+     *         unique key value and each of which emits those items from the source Publisher that share that
+     *         key value
+     * @see <a href="http://reactivex.io/documentation/operators/groupby.html">ReactiveX operators documentation: GroupBy</a>
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    @Experimental
+    public final <K, V> Flowable<GroupedFlowable<K, V>> groupBy(Function<? super T, ? extends K> keySelector,
+            Function<? super T, ? extends V> valueSelector,
+            boolean delayError, int bufferSize, int maxGroups, long maxIdleTime, TimeUnit unit, Scheduler scheduler) {
+        ObjectHelper.requireNonNull(keySelector, "keySelector is null");
+        ObjectHelper.requireNonNull(valueSelector, "valueSelector is null");
+        ObjectHelper.verifyPositive(bufferSize, "bufferSize");
+        ObjectHelper.verifyPositive(maxGroups, "maxGroups");
+        ObjectHelper.verifyPositive(maxIdleTime, "maxIdleTime");
+        ObjectHelper.requireNonNull(unit, "unit is null");
+        ObjectHelper.requireNonNull(scheduler, "scheduler is null");
+
+        return RxJavaPlugins.onAssembly(new FlowableGroupBy<T, K, V>(this, keySelector, valueSelector, bufferSize, delayError,
+                maxGroups, maxIdleTime, unit, scheduler));
+    }
+
     /**
      * Returns a Flowable that correlates two Publishers when they overlap in time and groups the results.
      * <p>
@@ -10881,7 +11419,7 @@ public abstract class Flowable<T> implements Publisher<T> {
     @SchedulerSupport(SchedulerSupport.NONE)
     public final <R> Flowable<R> map(Function<? super T, ? extends R> mapper) {
         ObjectHelper.requireNonNull(mapper, "mapper is null");
-        return RxJavaPlugins.onAssembly(new FlowableMap<T, R>(this, mapper));
+        return RxJavaPlugins.onAssembly(FlowableMapFilterChain.map(this, mapper));
     }
 
     /**
@@ -11132,6 +11670,51 @@ public abstract class Flowable<T> implements Publisher<T> {
         return RxJavaPlugins.onAssembly(new FlowableObserveOn<T>(this, scheduler, delayError, bufferSize));
     }
 
+    /**
+     * Modifies a Publisher to perform its emissions and notifications on a specified {@link Scheduler},
+     * asynchronously with a buffer whose size adapts to the speed of the downstream and optionally delays
+     * onError notifications.
+     * <p>
+     * The operator first requests {@code minBufferSize} items and, whenever it replenishes, doubles the amount
+     * if its drain loop found the buffer empty since the last replenishment or halves it otherwise, staying between
+     * {@code minBufferSize} and {@code maxBufferSize}. This way, a fast downstream receives items in larger batches
+     * while a slow one doesn't keep many items buffered.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>This operator honors backpressure from downstream and expects it from the source {@code Publisher}. Violating this
+     *  expectation will lead to {@code MissingBackpressureException}.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>You specify which {@link Scheduler} this operator will use.</dd>
+     * </dl>
+     *
+     * @param scheduler
+     *            the {@link Scheduler} to notify {@link Subscriber}s on
+     * @param delayError
+     *            indicates if the onError notification may not cut ahead of onNext notification on the other side of the
+     *            scheduling boundary. If true a sequence ending in onError will be replayed in the same order as was received
+     *            from upstream
+     * @param minBufferSize the minimum size of the buffer
+     * @param maxBufferSize the maximum size of the buffer, not less than minBufferSize
+     * @return the source Publisher modified so that its {@link Subscriber}s are notified on the specified
+     *         {@link Scheduler}
+     * @see <a href="http://reactivex.io/documentation/operators/observeon.html">ReactiveX operators documentation: ObserveOn</a>
+     * @see #observeOn(Scheduler, boolean, int)
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.CUSTOM)
+    @Experimental
+    public final Flowable<T> observeOn(Scheduler scheduler, boolean delayError, int minBufferSize, int maxBufferSize) {
+        ObjectHelper.requireNonNull(scheduler, "scheduler is null");
+        ObjectHelper.verifyPositive(minBufferSize, "minBufferSize");
+        ObjectHelper.verifyPositive(maxBufferSize, "maxBufferSize");
+        if (maxBufferSize < minBufferSize) {
+            throw new IllegalArgumentException("maxBufferSize >= minBufferSize required but it was " + maxBufferSize + " < " + minBufferSize);
+        }
+        return RxJavaPlugins.onAssembly(new FlowableObserveOn<T>(this, scheduler, delayError, minBufferSize, maxBufferSize));
+    }
+
     /**
      * Filters the items emitted by a Publisher, only emitting those of the specified type.
      * <p>
@@ -12826,6 +13409,49 @@ public abstract class Flowable<T> implements Publisher<T> {
         return FlowableReplay.observeOn(replay(), scheduler);
     }
 
+    /**
+     * Returns a {@link ConnectableFlowable} that shares a single subscription to the source Publisher and
+     * replays all of its items and notifications to any future {@link Subscriber}, keeping at most
+     * {@code maxSegments} segments of {@code segmentSize} items in memory and paging the older
+     * segments out to a file.
+     * <p>
+     * The paged out segments are read back, one segment at a time, when a lagging or late Subscriber
+     * reaches them; the replayed sequence is the same as with {@link #replay()}. Each connection creates
+     * its own file in {@code directory}, which is closed and deleted once a new connection has replaced it
+     * and the Subscribers still replaying it have finished or cancelled. If writing the file fails, the error
+     * is routed to {@link RxJavaPlugins#onError(Throwable)} and the remaining segments are kept in memory.
+     * If reading it back fails, the affected Subscriber receives the error.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>This operator supports backpressure. Note that the upstream requests are determined by the child
+     *  Subscriber which requests the largest amount: i.e., two child Subscribers with requests of 10 and 100 will
+     *  request 100 elements from the underlying Publisher sequence.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>This version of {@code replayWithSpill} does not operate by default on a particular {@link Scheduler};
+     *  the segments are written on the thread emitting the items and read back on the thread replaying them.</dd>
+     * </dl>
+     *
+     * @param segmentSize the number of items in each buffer segment, positive
+     * @param maxSegments the number of segments to keep in memory, positive
+     * @param serializer the serializer converting the items of the paged out segments to and from bytes
+     * @param directory the directory to create the file in
+     * @return a {@link ConnectableFlowable} that upon connection causes the source Publisher to emit its
+     *         items to its {@link Subscriber}s
+     * @see <a href="http://reactivex.io/documentation/operators/replay.html">ReactiveX operators documentation: Replay</a>
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    @Experimental
+    public final ConnectableFlowable<T> replayWithSpill(int segmentSize, int maxSegments, SpillSerializer<T> serializer, File directory) {
+        ObjectHelper.verifyPositive(segmentSize, "segmentSize");
+        ObjectHelper.verifyPositive(maxSegments, "maxSegments");
+        ObjectHelper.requireNonNull(serializer, "serializer is null");
+        ObjectHelper.requireNonNull(directory, "directory is null");
+        return FlowableReplay.createWithSpill(this, segmentSize, maxSegments, serializer, directory);
+    }
+
     /**
      * Returns a Flowable that mirrors the source Publisher, resubscribing to it if it calls {@code onError}
      * (infinite retry count).
@@ -17398,6 +18024,82 @@ public abstract class Flowable<T> implements Publisher<T> {
         return RxJavaPlugins.onAssembly(new FlowableWindowBoundarySupplier<T, B>(this, boundaryIndicatorSupplier, bufferSize));
     }
 
+    /**
+     * Returns a Flowable that emits windows of items it collects from the source Publisher. The resulting
+     * Publisher emits connected, non-overlapping windows, each containing {@code count} items. When the source
+     * Publisher completes or encounters an error, the resulting Publisher emits the current window and
+     * propagates the notification from the source Publisher.
+     * <p>
+     * <img width="640" height="400" src="https://raw.github.com/wiki/ReactiveX/RxJava/images/rx-operators/window3.png" alt="">
+     * <p>
+     * Unlike {@link #window(long)}, the windows don't have their own queues: an item is handed to the
+     * window's {@code Subscriber} directly if it has requested and has consumed all earlier items, otherwise
+     * the item is put into a buffer shared by all windows from which the window reads it later.
+     * The windows allow only a single {@code Subscriber} during their lifetime.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>The operator honors backpressure of its inner and outer subscribers, however, the inner Publisher uses an
+     *  unbounded buffer that may hold at most {@code count} elements.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>This version of {@code windowShared} does not operate by default on a particular {@link Scheduler}.</dd>
+     * </dl>
+     *
+     * @param count
+     *            the maximum size of each window before it should be emitted
+     * @return a Flowable that emits connected, non-overlapping windows, each containing at most
+     *         {@code count} items from the source Publisher
+     * @throws IllegalArgumentException if either count is non-positive
+     * @see <a href="http://reactivex.io/documentation/operators/window.html">ReactiveX operators documentation: Window</a>
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    @Experimental
+    public final Flowable<Flowable<T>> windowShared(long count) {
+        return windowShared(count, bufferSize());
+    }
+
+    /**
+     * Returns a Flowable that emits windows of items it collects from the source Publisher. The resulting
+     * Publisher emits connected, non-overlapping windows, each containing {@code count} items. When the source
+     * Publisher completes or encounters an error, the resulting Publisher emits the current window and
+     * propagates the notification from the source Publisher.
+     * <p>
+     * <img width="640" height="400" src="https://raw.github.com/wiki/ReactiveX/RxJava/images/rx-operators/window3.png" alt="">
+     * <p>
+     * Unlike {@link #window(long)}, the windows don't have their own queues: an item is handed to the
+     * window's {@code Subscriber} directly if it has requested and has consumed all earlier items, otherwise
+     * the item is put into a buffer shared by all windows from which the window reads it later.
+     * The windows allow only a single {@code Subscriber} during their lifetime.
+     * <dl>
+     *  <dt><b>Backpressure:</b></dt>
+     *  <dd>The operator honors backpressure of its inner and outer subscribers, however, the inner Publisher uses an
+     *  unbounded buffer that may hold at most {@code count} elements.</dd>
+     *  <dt><b>Scheduler:</b></dt>
+     *  <dd>This version of {@code windowShared} does not operate by default on a particular {@link Scheduler}.</dd>
+     * </dl>
+     *
+     * @param count
+     *            the maximum size of each window before it should be emitted
+     * @param bufferSize
+     *            the number of items held by each segment of the shared buffer
+     * @return a Flowable that emits connected, non-overlapping windows, each containing at most
+     *         {@code count} items from the source Publisher
+     * @throws IllegalArgumentException if either count or bufferSize is non-positive
+     * @see <a href="http://reactivex.io/documentation/operators/window.html">ReactiveX operators documentation: Window</a>
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @BackpressureSupport(BackpressureKind.FULL)
+    @SchedulerSupport(SchedulerSupport.NONE)
+    @Experimental
+    public final Flowable<Flowable<T>> windowShared(long count, int bufferSize) {
+        ObjectHelper.verifyPositive(count, "count");
+        ObjectHelper.verifyPositive(bufferSize, "bufferSize");
+        return RxJavaPlugins.onAssembly(new FlowableWindowShared<T>(this, count, bufferSize));
+    }
+
     /**
      * Merges the specified Publisher into this Publisher sequence by using the {@code resultSelector}
      * function only when the source Publisher (this instance) emits an item.
@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex;
+
+import java.io.*;
+
+import io.reactivex.annotations.*;
+
+/**
+ * Converts the items of the {@link Flowable#cacheWithSpill} and {@link Flowable#replayWithSpill}
+ * operators to and from bytes when their older buffer segments are paged out to a file.
+ * <p>
+ * The methods may be called concurrently from different threads, for example, when several late
+ * subscribers read back older items at the same time; implementations should be stateless.
+ *
+ * @param <T> the item type
+ * @since 2.1.12 - experimental
+ */
+@Experimental
+public interface SpillSerializer<T> {
+    /**
+     * Writes the given item into the output.
+     * @param value the item to write, not null
+     * @param output the output to write the item into
+     * @throws Exception on error
+     */
+    void serialize(@NonNull T value, @NonNull DataOutput output) throws Exception;
+
+    /**
+     * Reads the next item from the input.
+     * @param input the input positioned at the start of an item written by {@link #serialize}
+     * @return the item read, not null
+     * @throws Exception on error
+     */
+    @NonNull
+    T deserialize(@NonNull DataInput input) throws Exception;
+}
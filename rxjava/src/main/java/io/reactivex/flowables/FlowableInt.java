@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowables;
+
+import java.util.concurrent.Callable;
+
+import org.reactivestreams.Publisher;
+
+import io.reactivex.*;
+import io.reactivex.annotations.*;
+import io.reactivex.functions.*;
+import io.reactivex.internal.functions.ObjectHelper;
+import io.reactivex.internal.operators.flowable.*;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * A backpressured sequence of primitive int values that its operators process without
+ * boxing them into {@link Integer}s.
+ * <p>
+ * Use {@code range()}, {@code fromArray()} or {@code fromPublisher()} to start a sequence,
+ * {@code mapToObj()} or {@code boxed()} to continue it as a regular Flowable and
+ * {@code reduce()}, {@code sum()} or {@code collect()} to end it with a Single.
+ * <dl>
+ *  <dt><b>Scheduler:</b></dt>
+ *  <dd>The operators of this class don't operate by default on a particular {@link Scheduler}.</dd>
+ * </dl>
+ * @since 2.1.12 - experimental
+ */
+@Experimental
+public abstract class FlowableInt {
+
+    /**
+     * Subscribes an IntSubscriber to this FlowableInt.
+     * @param s the IntSubscriber, not null
+     */
+    public abstract void subscribe(@NonNull IntSubscriber s);
+
+    /**
+     * Emits the int values in the given range.
+     * @param start the first value
+     * @param count the number of values, non-negative
+     * @return the new FlowableInt instance
+     * @throws IllegalArgumentException if count is negative or start + count overflows
+     */
+    @CheckReturnValue
+    @NonNull
+    public static FlowableInt range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        if ((long)start + (count - 1) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Integer overflow");
+        }
+        return new FlowableIntRange(start, count);
+    }
+
+    /**
+     * Emits the values of the given array.
+     * @param items the array of values, not null
+     * @return the new FlowableInt instance
+     */
+    @CheckReturnValue
+    @NonNull
+    public static FlowableInt fromArray(@NonNull int... items) {
+        ObjectHelper.requireNonNull(items, "items is null");
+        return new FlowableIntFromArray(items);
+    }
+
+    /**
+     * Unboxes the Integer values of the given Publisher.
+     * @param source the source Publisher, not null
+     * @return the new FlowableInt instance
+     */
+    @CheckReturnValue
+    @NonNull
+    public static FlowableInt fromPublisher(@NonNull Publisher<Integer> source) {
+        ObjectHelper.requireNonNull(source, "source is null");
+        return new FlowableIntFromPublisher(source);
+    }
+
+    /**
+     * Maps each value with the given function.
+     * @param mapper the function computing the new value, not null
+     * @return the new FlowableInt instance
+     */
+    @CheckReturnValue
+    @NonNull
+    public final FlowableInt map(@NonNull IntUnaryOperator mapper) {
+        ObjectHelper.requireNonNull(mapper, "mapper is null");
+        return new FlowableIntMap(this, mapper);
+    }
+
+    /**
+     * Emits the values for which the given predicate returns true.
+     * @param predicate the predicate, not null
+     * @return the new FlowableInt instance
+     */
+    @CheckReturnValue
+    @NonNull
+    public final FlowableInt filter(@NonNull IntPredicate predicate) {
+        ObjectHelper.requireNonNull(predicate, "predicate is null");
+        return new FlowableIntFilter(this, predicate);
+    }
+
+    /**
+     * Maps each value into an object and emits them as a Flowable.
+     * @param <R> the result value type
+     * @param mapper the function computing the object, not null
+     * @return the new Flowable instance
+     */
+    @CheckReturnValue
+    @NonNull
+    public final <R> Flowable<R> mapToObj(@NonNull IntFunction<? extends R> mapper) {
+        ObjectHelper.requireNonNull(mapper, "mapper is null");
+        return RxJavaPlugins.onAssembly(new FlowableIntMapToObj<R>(this, mapper));
+    }
+
+    /**
+     * Emits the values boxed into Integers as a Flowable.
+     * @return the new Flowable instance
+     */
+    @CheckReturnValue
+    @NonNull
+    public final Flowable<Integer> boxed() {
+        return mapToObj(FlowableIntMapToObj.BOXED);
+    }
+
+    /**
+     * Combines the values with the given function, starting with the identity value, and
+     * signals the final result.
+     * @param identity the initial value
+     * @param reducer the function combining the current result and the next value, not null
+     * @return the new Single instance
+     */
+    @CheckReturnValue
+    @NonNull
+    public final Single<Integer> reduce(int identity, @NonNull IntBinaryOperator reducer) {
+        ObjectHelper.requireNonNull(reducer, "reducer is null");
+        return RxJavaPlugins.onAssembly(new FlowableIntReduce(this, identity, reducer));
+    }
+
+    /**
+     * Signals the sum of the values, which overflows silently like {@code +} does.
+     * @return the new Single instance
+     */
+    @CheckReturnValue
+    @NonNull
+    public final Single<Integer> sum() {
+        return reduce(0, FlowableIntReduce.SUM);
+    }
+
+    /**
+     * Collects the values into a container created for each subscriber and signals the container.
+     * @param <R> the container type
+     * @param initialSupplier the supplier of the container, not null
+     * @param collector the callback adding a value to the container, not null
+     * @return the new Single instance
+     */
+    @CheckReturnValue
+    @NonNull
+    public final <R> Single<R> collect(@NonNull Callable<? extends R> initialSupplier, @NonNull ObjIntConsumer<? super R> collector) {
+        ObjectHelper.requireNonNull(initialSupplier, "initialSupplier is null");
+        ObjectHelper.requireNonNull(collector, "collector is null");
+        return RxJavaPlugins.onAssembly(new FlowableIntCollect<R>(this, initialSupplier, collector));
+    }
+}
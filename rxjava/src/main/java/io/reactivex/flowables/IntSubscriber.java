@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowables;
+
+import org.reactivestreams.Subscription;
+
+import io.reactivex.annotations.*;
+
+/**
+ * Consumes the primitive int values of a {@link FlowableInt} without boxing them.
+ * <p>
+ * The protocol is the same as the {@link org.reactivestreams.Subscriber Subscriber}'s: the
+ * values are requested through the {@link Subscription} received in {@link #onSubscribe(Subscription)}
+ * and the calls are serialized.
+ * @since 2.1.12 - experimental
+ */
+@Experimental
+public interface IntSubscriber {
+
+    /**
+     * Called once with the Subscription to request values with and to cancel the sequence.
+     * @param s the Subscription, not null
+     */
+    void onSubscribe(@NonNull Subscription s);
+
+    /**
+     * Called with the next value.
+     * @param t the value
+     */
+    void onNext(int t);
+
+    /**
+     * Called once if the sequence failed.
+     * @param t the error, not null
+     */
+    void onError(@NonNull Throwable t);
+
+    /**
+     * Called once if the sequence completed normally.
+     */
+    void onComplete();
+}
@@ -17,6 +17,8 @@
 /**
  * Classes supporting the Flowable base reactive class:
  * {@link io.reactivex.flowables.ConnectableFlowable} and
- * {@link io.reactivex.flowables.GroupedFlowable}.
+ * {@link io.reactivex.flowables.GroupedFlowable}, and the primitive
+ * {@link io.reactivex.flowables.FlowableInt} and
+ * {@link io.reactivex.flowables.FlowableLong} sequences.
  */
 package io.reactivex.flowables;
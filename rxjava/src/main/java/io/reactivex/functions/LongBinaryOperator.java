@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.functions;
+
+/**
+ * A functional interface (callback) that computes a primitive long value from two primitive long values.
+ * @since 2.1.12 - experimental
+ */
+public interface LongBinaryOperator {
+    /**
+     * Computes a value based on the input values.
+     * @param t1 the first value
+     * @param t2 the second value
+     * @return the result value
+     * @throws Exception on error
+     */
+    long apply(long t1, long t2) throws Exception;
+}
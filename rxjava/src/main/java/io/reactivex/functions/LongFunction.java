@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.functions;
+
+import io.reactivex.annotations.NonNull;
+
+/**
+ * A functional interface (callback) that takes a primitive long value and return value of type T.
+ * @param <T> the returned value type
+ * @since 2.1.12 - experimental
+ */
+public interface LongFunction<T> {
+    /**
+     * Calculates a value based on a primitive long input.
+     * @param t the input value
+     * @return the result Object
+     * @throws Exception on error
+     */
+    @NonNull
+    T apply(long t) throws Exception;
+}
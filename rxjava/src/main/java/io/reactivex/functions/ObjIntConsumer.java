@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.functions;
+
+/**
+ * A functional interface (callback) that accepts an object and a primitive int value.
+ * @param <T> the object type
+ * @since 2.1.12 - experimental
+ */
+public interface ObjIntConsumer<T> {
+    /**
+     * Performs an operation on the given values.
+     * @param t the object value
+     * @param value the primitive int value
+     * @throws Exception on error
+     */
+    void accept(T t, int value) throws Exception;
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.functions;
+
+import io.reactivex.annotations.Nullable;
+import io.reactivex.functions.*;
+
+/**
+ * An immutable sequence of map, filter and doOnNext callbacks that a single fused
+ * operator applies to each element instead of having one subscriber per operator.
+ */
+public final class MapFilterStages {
+
+    /** The callback is a {@link Function} whose non-null result replaces the element. */
+    public static final int MAP = 0;
+
+    /** The callback is a {@link Predicate} that drops the element if it returns false. */
+    public static final int FILTER = 1;
+
+    /** The callback is a {@link Consumer} that receives the element. */
+    public static final int PEEK = 2;
+
+    final int[] kinds;
+
+    final Object[] callbacks;
+
+    MapFilterStages(int[] kinds, Object[] callbacks) {
+        this.kinds = kinds;
+        this.callbacks = callbacks;
+    }
+
+    /**
+     * Creates a sequence of two stages.
+     * @param kind1 the kind of the first stage
+     * @param callback1 the callback of the first stage
+     * @param kind2 the kind of the second stage
+     * @param callback2 the callback of the second stage
+     * @return the new sequence
+     */
+    public static MapFilterStages of(int kind1, Object callback1, int kind2, Object callback2) {
+        return new MapFilterStages(new int[] { kind1, kind2 }, new Object[] { callback1, callback2 });
+    }
+
+    /**
+     * Returns a new sequence with the given stage added after the stages of this sequence.
+     * @param kind the kind of the stage
+     * @param callback the callback of the stage
+     * @return the new sequence
+     */
+    public MapFilterStages append(int kind, Object callback) {
+        int n = kinds.length;
+        int[] k = new int[n + 1];
+        Object[] c = new Object[n + 1];
+        System.arraycopy(kinds, 0, k, 0, n);
+        System.arraycopy(callbacks, 0, c, 0, n);
+        k[n] = kind;
+        c[n] = callback;
+        return new MapFilterStages(k, c);
+    }
+
+    /**
+     * Returns the number of stages.
+     * @return the number of stages
+     */
+    public int size() {
+        return kinds.length;
+    }
+
+    /**
+     * Runs the element through the stages in order.
+     * @param value the element, not null
+     * @return the element after the last stage or null if a filter stage dropped it
+     * @throws Exception if a callback throws
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public Object apply(Object value) throws Exception {
+        int[] k = kinds;
+        Object[] c = callbacks;
+        for (int i = 0; i < k.length; i++) {
+            switch (k[i]) {
+            case MAP:
+                value = ObjectHelper.requireNonNull(((Function<Object, Object>)c[i]).apply(value), "The mapper function returned a null value.");
+                break;
+            case FILTER:
+                if (!((Predicate<Object>)c[i]).test(value)) {
+                    return null;
+                }
+                break;
+            default:
+                ((Consumer<Object>)c[i]).accept(value);
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.fuseable;
+
+import io.reactivex.annotations.NonNull;
+
+/**
+ * Extension of the SimplePlainQueue interface with bulk transfer methods that
+ * publish the consumer or producer index only once per batch.
+ * <p>
+ * It is a separate interface so that the fuseable QueueSubscription and QueueDisposable
+ * implementations don't have to implement the bulk methods.
+ *
+ * @param <T> the value type to offer and poll, not null
+ */
+public interface SimpleBatchQueue<T> extends SimplePlainQueue<T> {
+
+    /**
+     * Receives the elements removed by {@link SimpleBatchQueue#drain(ElementConsumer, int)}.
+     * @param <T> the element type
+     */
+    interface ElementConsumer<T> {
+        /**
+         * Consumes the next element of the batch.
+         * @param element the element removed from the queue, not null
+         * @return true to continue the batch, false to stop it after this element
+         */
+        boolean accept(@NonNull T element);
+    }
+
+    /**
+     * Provides the elements of {@link SimpleBatchQueue#fill(ElementSupplier, int)}.
+     * @param <T> the element type
+     */
+    interface ElementSupplier<T> {
+        /**
+         * Returns the next element to enqueue.
+         * @return the element, not null
+         */
+        @NonNull
+        T get();
+    }
+
+    /**
+     * Removes up to the given number of elements and hands them to the consumer in order;
+     * must be called from the consumer thread.
+     * @param consumer the consumer of the elements, not null
+     * @param limit the maximum number of elements to remove, non-negative
+     * @return the number of elements removed, including the one the consumer stopped at
+     */
+    int drain(@NonNull ElementConsumer<? super T> consumer, int limit);
+
+    /**
+     * Enqueues up to the given number of elements provided by the supplier, fewer if the
+     * queue runs out of capacity; must be called from the producer thread.
+     * @param supplier the supplier of the elements, not null
+     * @param limit the maximum number of elements to enqueue, non-negative
+     * @return the number of elements enqueued
+     */
+    int fill(@NonNull ElementSupplier<? extends T> supplier, int limit);
+}
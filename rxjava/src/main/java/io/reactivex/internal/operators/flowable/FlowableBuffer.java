@@ -34,17 +34,33 @@ public final class FlowableBuffer<T, C extends Collection<? super T>> extends Ab
 
     final Callable<C> bufferSupplier;
 
+    final boolean reuseBuffer;
+
     public FlowableBuffer(Flowable<T> source, int size, int skip, Callable<C> bufferSupplier) {
+        this(source, size, skip, bufferSupplier, false);
+    }
+
+    /**
+     * Constructs a FlowableBuffer instance.
+     * @param source the source Flowable
+     * @param size the buffer size
+     * @param skip the number of items to skip between buffers
+     * @param bufferSupplier the supplier of the buffers
+     * @param reuseBuffer if true and size == skip, an emitted buffer is cleared and refilled
+     *                    once the downstream's onNext call returned
+     */
+    public FlowableBuffer(Flowable<T> source, int size, int skip, Callable<C> bufferSupplier, boolean reuseBuffer) {
         super(source);
         this.size = size;
         this.skip = skip;
         this.bufferSupplier = bufferSupplier;
+        this.reuseBuffer = reuseBuffer;
     }
 
     @Override
     public void subscribeActual(Subscriber<? super C> s) {
         if (size == skip) {
-            source.subscribe(new PublisherBufferExactSubscriber<T, C>(s, size, bufferSupplier));
+            source.subscribe(new PublisherBufferExactSubscriber<T, C>(s, size, bufferSupplier, reuseBuffer));
         } else if (skip > size) {
             source.subscribe(new PublisherBufferSkipSubscriber<T, C>(s, size, skip, bufferSupplier));
         } else {
@@ -61,6 +77,8 @@ public final class FlowableBuffer<T, C extends Collection<? super T>> extends Ab
 
         final int size;
 
+        final boolean reuseBuffer;
+
         C buffer;
 
         Subscription s;
@@ -69,10 +87,11 @@ public final class FlowableBuffer<T, C extends Collection<? super T>> extends Ab
 
         int index;
 
-        PublisherBufferExactSubscriber(Subscriber<? super C> actual, int size, Callable<C> bufferSupplier) {
+        PublisherBufferExactSubscriber(Subscriber<? super C> actual, int size, Callable<C> bufferSupplier, boolean reuseBuffer) {
             this.actual = actual;
             this.size = size;
             this.bufferSupplier = bufferSupplier;
+            this.reuseBuffer = reuseBuffer;
         }
 
         @Override
@@ -124,6 +143,11 @@ public final class FlowableBuffer<T, C extends Collection<? super T>> extends Ab
                 index = 0;
                 buffer = null;
                 actual.onNext(b);
+                if (reuseBuffer && !done) {
+                    // the downstream is done with the buffer by now
+                    b.clear();
+                    buffer = b;
+                }
             } else {
                 index = i;
             }
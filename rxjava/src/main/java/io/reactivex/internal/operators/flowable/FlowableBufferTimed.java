@@ -25,7 +25,7 @@ import io.reactivex.disposables.Disposable;
 import io.reactivex.exceptions.Exceptions;
 import io.reactivex.internal.disposables.DisposableHelper;
 import io.reactivex.internal.functions.ObjectHelper;
-import io.reactivex.internal.queue.MpscLinkedQueue;
+import io.reactivex.internal.queue.MpscLinkedArrayQueue;
 import io.reactivex.internal.subscribers.QueueDrainSubscriber;
 import io.reactivex.internal.subscriptions.*;
 import io.reactivex.internal.util.QueueDrainHelper;
@@ -40,9 +40,28 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
     final Callable<U> bufferSupplier;
     final int maxSize;
     final boolean restartTimerOnMaxSize;
+    final boolean reuseBuffer;
 
     public FlowableBufferTimed(Flowable<T> source, long timespan, long timeskip, TimeUnit unit, Scheduler scheduler, Callable<U> bufferSupplier, int maxSize,
             boolean restartTimerOnMaxSize) {
+        this(source, timespan, timeskip, unit, scheduler, bufferSupplier, maxSize, restartTimerOnMaxSize, false);
+    }
+
+    /**
+     * Constructs a FlowableBufferTimed instance.
+     * @param source the source Flowable
+     * @param timespan the time between emitting buffers
+     * @param timeskip the time between starting buffers
+     * @param unit the time unit
+     * @param scheduler the scheduler providing the timer
+     * @param bufferSupplier the supplier of the buffers
+     * @param maxSize the maximum number of items in a buffer
+     * @param restartTimerOnMaxSize restart the timer when a buffer got full?
+     * @param reuseBuffer if true and timespan == timeskip, an emitted buffer is cleared and
+     *                    refilled once the downstream's onNext call returned
+     */
+    public FlowableBufferTimed(Flowable<T> source, long timespan, long timeskip, TimeUnit unit, Scheduler scheduler, Callable<U> bufferSupplier, int maxSize,
+            boolean restartTimerOnMaxSize, boolean reuseBuffer) {
         super(source);
         this.timespan = timespan;
         this.timeskip = timeskip;
@@ -51,6 +70,7 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
         this.bufferSupplier = bufferSupplier;
         this.maxSize = maxSize;
         this.restartTimerOnMaxSize = restartTimerOnMaxSize;
+        this.reuseBuffer = reuseBuffer;
     }
 
     @Override
@@ -58,7 +78,7 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
         if (timespan == timeskip && maxSize == Integer.MAX_VALUE) {
             source.subscribe(new BufferExactUnboundedSubscriber<T, U>(
                     new SerializedSubscriber<U>(s),
-                    bufferSupplier, timespan, unit, scheduler));
+                    bufferSupplier, timespan, unit, scheduler, reuseBuffer));
             return;
         }
         Scheduler.Worker w = scheduler.createWorker();
@@ -67,7 +87,7 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
             source.subscribe(new BufferExactBoundedSubscriber<T, U>(
                     new SerializedSubscriber<U>(s),
                     bufferSupplier,
-                    timespan, unit, maxSize, restartTimerOnMaxSize, w
+                    timespan, unit, maxSize, restartTimerOnMaxSize, reuseBuffer, w
             ));
             return;
         }
@@ -92,14 +112,18 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
 
         final AtomicReference<Disposable> timer = new AtomicReference<Disposable>();
 
+        /** Holds the last emitted buffer for reuse, null if the buffers are not reused. */
+        final AtomicReference<U> emitted;
+
         BufferExactUnboundedSubscriber(
                 Subscriber<? super U> actual, Callable<U> bufferSupplier,
-                long timespan, TimeUnit unit, Scheduler scheduler) {
-            super(actual, new MpscLinkedQueue<U>());
+                long timespan, TimeUnit unit, Scheduler scheduler, boolean reuseBuffer) {
+            super(actual, new MpscLinkedArrayQueue<U>());
             this.bufferSupplier = bufferSupplier;
             this.timespan = timespan;
             this.unit = unit;
             this.scheduler = scheduler;
+            this.emitted = reuseBuffer ? new AtomicReference<U>() : null;
         }
 
         @Override
@@ -184,15 +208,22 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
 
         @Override
         public void run() {
-            U next;
+            U next = null;
+            AtomicReference<U> e = emitted;
+            if (e != null && e.get() != null) {
+                next = e.getAndSet(null);
+            }
+            boolean reused = next != null;
 
-            try {
-                next = ObjectHelper.requireNonNull(bufferSupplier.call(), "The supplied buffer is null");
-            } catch (Throwable e) {
-                Exceptions.throwIfFatal(e);
-                cancel();
-                actual.onError(e);
-                return;
+            if (next == null) {
+                try {
+                    next = ObjectHelper.requireNonNull(bufferSupplier.call(), "The supplied buffer is null");
+                } catch (Throwable ex) {
+                    Exceptions.throwIfFatal(ex);
+                    cancel();
+                    actual.onError(ex);
+                    return;
+                }
             }
 
             U current;
@@ -202,6 +233,10 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
                 if (current == null) {
                     return;
                 }
+                if (reused) {
+                    // not terminated yet, the emitted buffer can't be queued for the final drain
+                    next.clear();
+                }
                 buffer = next;
             }
 
@@ -211,6 +246,10 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
         @Override
         public boolean accept(Subscriber<? super U> a, U v) {
             actual.onNext(v);
+            AtomicReference<U> e = emitted;
+            if (e != null) {
+                e.lazySet(v);
+            }
             return true;
         }
 
@@ -240,7 +279,7 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
         BufferSkipBoundedSubscriber(Subscriber<? super U> actual,
                 Callable<U> bufferSupplier, long timespan,
                 long timeskip, TimeUnit unit, Worker w) {
-            super(actual, new MpscLinkedQueue<U>());
+            super(actual, new MpscLinkedArrayQueue<U>());
             this.bufferSupplier = bufferSupplier;
             this.timespan = timespan;
             this.timeskip = timeskip;
@@ -401,20 +440,36 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
 
         long consumerIndex;
 
+        /** Holds the last emitted buffer for reuse, null if the buffers are not reused. */
+        final AtomicReference<U> emitted;
+
         BufferExactBoundedSubscriber(
                 Subscriber<? super U> actual,
                 Callable<U> bufferSupplier,
                 long timespan, TimeUnit unit, int maxSize,
-                boolean restartOnMaxSize, Worker w) {
-            super(actual, new MpscLinkedQueue<U>());
+                boolean restartOnMaxSize, boolean reuseBuffer, Worker w) {
+            super(actual, new MpscLinkedArrayQueue<U>());
             this.bufferSupplier = bufferSupplier;
             this.timespan = timespan;
             this.unit = unit;
             this.maxSize = maxSize;
             this.restartTimerOnMaxSize = restartOnMaxSize;
+            this.emitted = reuseBuffer ? new AtomicReference<U>() : null;
             this.w = w;
         }
 
+        /**
+         * Takes the last emitted buffer if the buffers are reused and it is available.
+         * @return the buffer to clear and refill or null
+         */
+        U takeEmitted() {
+            AtomicReference<U> e = emitted;
+            if (e != null && e.get() != null) {
+                return e.getAndSet(null);
+            }
+            return null;
+        }
+
         @Override
         public void onSubscribe(Subscription s) {
             if (!SubscriptionHelper.validate(this.s, s)) {
@@ -468,13 +523,18 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
 
             fastPathOrderedEmitMax(b, false, this);
 
-            try {
-                b = ObjectHelper.requireNonNull(bufferSupplier.call(), "The supplied buffer is null");
-            } catch (Throwable e) {
-                Exceptions.throwIfFatal(e);
-                cancel();
-                actual.onError(e);
-                return;
+            b = takeEmitted();
+            if (b != null) {
+                b.clear();
+            } else {
+                try {
+                    b = ObjectHelper.requireNonNull(bufferSupplier.call(), "The supplied buffer is null");
+                } catch (Throwable e) {
+                    Exceptions.throwIfFatal(e);
+                    cancel();
+                    actual.onError(e);
+                    return;
+                }
             }
 
             synchronized (this) {
@@ -515,6 +575,10 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
         @Override
         public boolean accept(Subscriber<? super U> a, U v) {
             a.onNext(v);
+            AtomicReference<U> e = emitted;
+            if (e != null) {
+                e.lazySet(v);
+            }
             return true;
         }
 
@@ -548,15 +612,18 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
 
         @Override
         public void run() {
-            U next;
+            U next = takeEmitted();
+            boolean reused = next != null;
 
-            try {
-                next = ObjectHelper.requireNonNull(bufferSupplier.call(), "The supplied buffer is null");
-            } catch (Throwable e) {
-                Exceptions.throwIfFatal(e);
-                cancel();
-                actual.onError(e);
-                return;
+            if (next == null) {
+                try {
+                    next = ObjectHelper.requireNonNull(bufferSupplier.call(), "The supplied buffer is null");
+                } catch (Throwable e) {
+                    Exceptions.throwIfFatal(e);
+                    cancel();
+                    actual.onError(e);
+                    return;
+                }
             }
 
             U current;
@@ -566,6 +633,10 @@ public final class FlowableBufferTimed<T, U extends Collection<? super T>> exten
                 if (current == null || producerIndex != consumerIndex) {
                     return;
                 }
+                if (reused) {
+                    // not terminated yet, the emitted buffer can't be queued for the final drain
+                    next.clear();
+                }
                 buffer = next;
             }
 
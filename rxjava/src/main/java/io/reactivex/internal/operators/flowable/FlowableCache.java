@@ -18,6 +18,7 @@ import java.util.concurrent.atomic.*;
 import org.reactivestreams.*;
 
 import io.reactivex.*;
+import io.reactivex.exceptions.Exceptions;
 import io.reactivex.internal.subscriptions.SubscriptionHelper;
 import io.reactivex.internal.util.*;
 import io.reactivex.plugins.RxJavaPlugins;
@@ -41,8 +42,18 @@ public final class FlowableCache<T> extends AbstractFlowableWithUpstream<T, T> {
      * @param capacityHint the capacity hint
      */
     public FlowableCache(Flowable<T> source, int capacityHint) {
+        this(source, capacityHint, null);
+    }
+
+    /**
+     * Constructs a FlowableCache which optionally pages out the older segments of the cache.
+     * @param source the upstream source whose signals to cache
+     * @param capacityHint the capacity hint
+     * @param spiller the spiller paging out the older segments, null to keep all of them in memory
+     */
+    public FlowableCache(Flowable<T> source, int capacityHint, SegmentSpiller spiller) {
         super(source);
-        this.state = new CacheState<T>(source, capacityHint);
+        this.state = new CacheState<T>(source, capacityHint, spiller);
         this.once = new AtomicBoolean();
     }
 
@@ -122,8 +133,8 @@ public final class FlowableCache<T> extends AbstractFlowableWithUpstream<T, T> {
         boolean sourceDone;
 
         @SuppressWarnings("unchecked")
-        CacheState(Flowable<T> source, int capacityHint) {
-            super(capacityHint);
+        CacheState(Flowable<T> source, int capacityHint, SegmentSpiller spiller) {
+            super(capacityHint, spiller);
             this.source = source;
             this.subscribers = new AtomicReference<ReplaySubscription<T>[]>(EMPTY);
         }
@@ -299,6 +310,16 @@ public final class FlowableCache<T> extends AbstractFlowableWithUpstream<T, T> {
             }
         }
 
+        /**
+         * Cancels this subscription and signals the error of reading back a paged out segment.
+         * @param ex the error
+         */
+        void fail(Throwable ex) {
+            Exceptions.throwIfFatal(ex);
+            cancel();
+            child.onError(ex);
+        }
+
         /**
          * Continue replaying available values if there are requests for them.
          */
@@ -328,7 +349,12 @@ public final class FlowableCache<T> extends AbstractFlowableWithUpstream<T, T> {
 
                     // latch onto the very first buffer now that it is available.
                     if (b == null) {
-                        b = state.head();
+                        try {
+                            b = state.head();
+                        } catch (Throwable ex) {
+                            fail(ex);
+                            return;
+                        }
                         currentBuffer = b;
                     }
                     final int n = b.length - 1;
@@ -340,7 +366,12 @@ public final class FlowableCache<T> extends AbstractFlowableWithUpstream<T, T> {
                             return;
                         }
                         if (k == n) {
-                            b = (Object[])b[n];
+                            try {
+                                b = state.next(b, j / n);
+                            } catch (Throwable ex) {
+                                fail(ex);
+                                return;
+                            }
                             k = 0;
                         }
                         Object o = b[k];
@@ -0,0 +1,394 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.operators.flowable;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.*;
+
+import org.reactivestreams.*;
+
+import io.reactivex.*;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.internal.disposables.DisposableHelper;
+import io.reactivex.internal.fuseable.*;
+import io.reactivex.internal.queue.SpscLinkedArrayQueue;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.*;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Collects the upstream items into lists of up to maxSize items, emitting a partially
+ * filled list when it got older than maxLatency.
+ * <p>
+ * The latency bound is kept by a single periodic timer per subscriber: each tick flushes
+ * whatever has been collected, so an item waits at most maxLatency (provided there is
+ * downstream demand) while full lists are emitted independently of the timer.
+ *
+ * @param <T> the value type
+ */
+public final class FlowableCoalesce<T> extends AbstractFlowableWithUpstream<T, List<T>> {
+
+    final int maxSize;
+
+    final long maxLatency;
+
+    final TimeUnit unit;
+
+    final Scheduler scheduler;
+
+    public FlowableCoalesce(Flowable<T> source, int maxSize, long maxLatency, TimeUnit unit, Scheduler scheduler) {
+        super(source);
+        this.maxSize = maxSize;
+        this.maxLatency = maxLatency;
+        this.unit = unit;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super List<T>> s) {
+        source.subscribe(new CoalesceSubscriber<T>(s, maxSize, maxLatency, unit, scheduler));
+    }
+
+    static final class CoalesceSubscriber<T>
+    extends AtomicInteger
+    implements FlowableSubscriber<T>, Subscription, Runnable, SimpleBatchQueue.ElementConsumer<T> {
+
+        private static final long serialVersionUID = -6421437432556283437L;
+
+        final Subscriber<? super List<T>> actual;
+
+        final int maxSize;
+
+        final long maxLatency;
+
+        final TimeUnit unit;
+
+        final Scheduler scheduler;
+
+        final int prefetch;
+
+        final int limit;
+
+        final AtomicLong requested;
+
+        final AtomicReference<Disposable> timer;
+
+        Subscription s;
+
+        SimpleQueue<T> queue;
+
+        /** The own queue if not fused, drained in bulk into the current list. */
+        SimpleBatchQueue<T> batchQueue;
+
+        int sourceMode;
+
+        volatile boolean done;
+
+        Throwable error;
+
+        volatile boolean cancelled;
+
+        /** Set by the timer, indicates the current list should be emitted even if not full. */
+        volatile boolean flush;
+
+        /** The number of items signalled since the last drain, accessed by the upstream thread. */
+        int pending;
+
+        /**
+         * The number of items the current list needs to become full, published by the drain loop;
+         * Integer.MAX_VALUE if there is no downstream demand to emit it anyway.
+         */
+        volatile int missing;
+
+        /** The list being filled, accessed by the drain loop. */
+        List<T> batch;
+
+        long emitted;
+
+        int consumed;
+
+        CoalesceSubscriber(Subscriber<? super List<T>> actual, int maxSize, long maxLatency, TimeUnit unit, Scheduler scheduler) {
+            this.actual = actual;
+            this.maxSize = maxSize;
+            this.maxLatency = maxLatency;
+            this.unit = unit;
+            this.scheduler = scheduler;
+            this.prefetch = maxSize > (Integer.MAX_VALUE >> 1) ? Integer.MAX_VALUE : Math.max(maxSize << 1, Flowable.bufferSize());
+            this.limit = prefetch - (prefetch >> 2);
+            this.requested = new AtomicLong();
+            this.timer = new AtomicReference<Disposable>();
+            this.batch = newBatch();
+            this.missing = maxSize;
+        }
+
+        List<T> newBatch() {
+            return new ArrayList<T>(Math.min(maxSize, ArrayListSupplier.MAX_CAPACITY_HINT));
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = s;
+
+                if (s instanceof QueueSubscription) {
+                    @SuppressWarnings("unchecked")
+                    QueueSubscription<T> f = (QueueSubscription<T>) s;
+
+                    // the timer may drain, therefore the upstream can't be fused across the thread boundary
+                    int m = f.requestFusion(QueueSubscription.ANY | QueueSubscription.BOUNDARY);
+
+                    if (m == QueueSubscription.SYNC) {
+                        sourceMode = m;
+                        queue = f;
+                        done = true;
+
+                        // all items are available right away, there is nothing to time out
+                        actual.onSubscribe(this);
+                        return;
+                    }
+                    if (m == QueueSubscription.ASYNC) {
+                        sourceMode = m;
+                        queue = f;
+
+                        actual.onSubscribe(this);
+
+                        startTimer();
+
+                        s.request(prefetch);
+                        return;
+                    }
+                }
+
+                SimpleBatchQueue<T> q = new SpscLinkedArrayQueue<T>(Math.min(prefetch, Flowable.bufferSize()));
+                batchQueue = q;
+                queue = q;
+
+                actual.onSubscribe(this);
+
+                startTimer();
+
+                s.request(prefetch);
+            }
+        }
+
+        void startTimer() {
+            DisposableHelper.setOnce(timer, scheduler.schedulePeriodicallyDirect(this, maxLatency, maxLatency, unit));
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (done) {
+                return;
+            }
+            if (sourceMode != QueueSubscription.ASYNC) {
+                queue.offer(t);
+            }
+            // drain only when a full list may be available, the timer takes care of the rest
+            int p = pending + 1;
+            if (p >= missing) {
+                pending = 0;
+                drain();
+            } else {
+                pending = p;
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                RxJavaPlugins.onError(t);
+                return;
+            }
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                drain();
+            }
+        }
+
+        @Override
+        public void run() {
+            flush = true;
+            drain();
+        }
+
+        @Override
+        public boolean accept(T element) {
+            batch.add(element);
+            return true;
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.add(requested, n);
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                s.cancel();
+                DisposableHelper.dispose(timer);
+
+                if (getAndIncrement() == 0) {
+                    queue.clear();
+                    batch = null;
+                }
+            }
+        }
+
+        /**
+         * Moves items from the queue into the current list until it is full or the queue is empty.
+         * @return true if successful, false if polling the fused upstream crashed
+         */
+        boolean fill() {
+            List<T> b = batch;
+            int n = maxSize - b.size();
+            int c;
+            SimpleBatchQueue<T> bq = batchQueue;
+            if (bq != null) {
+                c = bq.drain(this, n);
+            } else {
+                SimpleQueue<T> q = queue;
+                c = 0;
+                while (c != n) {
+                    T v;
+                    try {
+                        v = q.poll();
+                    } catch (Throwable ex) {
+                        Exceptions.throwIfFatal(ex);
+                        s.cancel();
+                        DisposableHelper.dispose(timer);
+                        q.clear();
+                        batch = null;
+                        actual.onError(ex);
+                        return false;
+                    }
+                    if (v == null) {
+                        break;
+                    }
+                    b.add(v);
+                    c++;
+                }
+            }
+
+            if (c != 0 && sourceMode != QueueSubscription.SYNC) {
+                int k = consumed + c;
+                if (k >= limit) {
+                    consumed = 0;
+                    s.request(k);
+                } else {
+                    consumed = k;
+                }
+            }
+            return true;
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            Subscriber<? super List<T>> a = actual;
+            long e = emitted;
+
+            for (;;) {
+
+                long r = requested.get();
+
+                for (;;) {
+                    if (cancelled) {
+                        queue.clear();
+                        batch = null;
+                        return;
+                    }
+
+                    boolean d = done;
+
+                    if (d && error != null) {
+                        queue.clear();
+                        batch = null;
+                        DisposableHelper.dispose(timer);
+                        a.onError(error);
+                        return;
+                    }
+
+                    if (e == r) {
+                        if (d && batch.isEmpty() && queue.isEmpty()) {
+                            batch = null;
+                            DisposableHelper.dispose(timer);
+                            a.onComplete();
+                            return;
+                        }
+                        break;
+                    }
+
+                    if (!fill()) {
+                        return;
+                    }
+
+                    List<T> b = batch;
+
+                    if (b.size() == maxSize) {
+                        batch = newBatch();
+                        a.onNext(b);
+                        e++;
+                        continue;
+                    }
+
+                    // the queue has run dry
+                    if (d) {
+                        batch = null;
+                        DisposableHelper.dispose(timer);
+                        if (!b.isEmpty()) {
+                            a.onNext(b);
+                        }
+                        a.onComplete();
+                        return;
+                    }
+
+                    if (flush) {
+                        flush = false;
+                        if (!b.isEmpty()) {
+                            batch = newBatch();
+                            a.onNext(b);
+                            e++;
+                            continue;
+                        }
+                    }
+                    break;
+                }
+
+                missing = e == r ? Integer.MAX_VALUE : maxSize - batch.size();
+                emitted = e;
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,526 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.operators.flowable;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.*;
+
+import org.reactivestreams.*;
+
+import io.reactivex.*;
+import io.reactivex.exceptions.*;
+import io.reactivex.functions.Function;
+import io.reactivex.internal.functions.ObjectHelper;
+import io.reactivex.internal.fuseable.*;
+import io.reactivex.internal.queue.*;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.*;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Maps the upstream values into Publishers, subscribes to them eagerly and relays their
+ * values in order while the number of values buffered by the inner Publishers waiting
+ * behind the current one is bounded by a budget shared by all of them.
+ * <p>
+ * The current (head-of-line) inner Publisher is always requested up to {@code prefetch}
+ * outside of the budget so it can't be starved by the others, thus at most
+ * {@code maxBuffered + prefetch} values are buffered at any time.
+ *
+ * @param <T> the upstream value type
+ * @param <R> the output value type
+ */
+public final class FlowableConcatMapEagerBounded<T, R> extends AbstractFlowableWithUpstream<T, R> {
+
+    final Function<? super T, ? extends Publisher<? extends R>> mapper;
+
+    final int maxConcurrency;
+
+    final int prefetch;
+
+    final int maxBuffered;
+
+    final ErrorMode errorMode;
+
+    public FlowableConcatMapEagerBounded(Flowable<T> source,
+            Function<? super T, ? extends Publisher<? extends R>> mapper,
+            int maxConcurrency,
+            int prefetch,
+            int maxBuffered,
+            ErrorMode errorMode) {
+        super(source);
+        this.mapper = mapper;
+        this.maxConcurrency = maxConcurrency;
+        this.prefetch = prefetch;
+        this.maxBuffered = maxBuffered;
+        this.errorMode = errorMode;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super R> s) {
+        source.subscribe(new ConcatMapEagerBoundedSubscriber<T, R>(
+                s, mapper, maxConcurrency, prefetch, maxBuffered, errorMode));
+    }
+
+    static final class ConcatMapEagerBoundedSubscriber<T, R>
+    extends AtomicInteger
+    implements FlowableSubscriber<T>, Subscription {
+
+        private static final long serialVersionUID = -2813525464545016325L;
+
+        final Subscriber<? super R> actual;
+
+        final Function<? super T, ? extends Publisher<? extends R>> mapper;
+
+        final int maxConcurrency;
+
+        final int prefetch;
+
+        /** The consumed amount after which the head inner subscriber is replenished. */
+        final int limit;
+
+        /** The smallest amount the inner subscribers behind the head are replenished with. */
+        final int budgetLimit;
+
+        final ErrorMode errorMode;
+
+        final AtomicThrowable errors;
+
+        final AtomicLong requested;
+
+        /** The new inner subscribers handed over from onNext to the drain loop. */
+        final SpscLinkedArrayQueue<BoundedInnerSubscriber<R>> subscribers;
+
+        /** The inner subscribers in order, the head is the current one; accessed by the drain loop only. */
+        final ArrayDeque<BoundedInnerSubscriber<R>> active;
+
+        /** The remaining budget for the inner subscribers behind the head; accessed by the drain loop only. */
+        long available;
+
+        Subscription s;
+
+        volatile boolean cancelled;
+
+        volatile boolean done;
+
+        ConcatMapEagerBoundedSubscriber(Subscriber<? super R> actual,
+                Function<? super T, ? extends Publisher<? extends R>> mapper, int maxConcurrency, int prefetch,
+                int maxBuffered, ErrorMode errorMode) {
+            this.actual = actual;
+            this.mapper = mapper;
+            this.maxConcurrency = maxConcurrency;
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+            this.budgetLimit = Math.min(limit, maxBuffered);
+            this.available = maxBuffered;
+            this.errorMode = errorMode;
+            this.subscribers = new SpscLinkedArrayQueue<BoundedInnerSubscriber<R>>(Math.min(prefetch, maxConcurrency));
+            this.active = new ArrayDeque<BoundedInnerSubscriber<R>>();
+            this.errors = new AtomicThrowable();
+            this.requested = new AtomicLong();
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = s;
+
+                actual.onSubscribe(this);
+
+                s.request(maxConcurrency == Integer.MAX_VALUE ? Long.MAX_VALUE : maxConcurrency);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            Publisher<? extends R> p;
+
+            try {
+                p = ObjectHelper.requireNonNull(mapper.apply(t), "The mapper returned a null Publisher");
+            } catch (Throwable ex) {
+                Exceptions.throwIfFatal(ex);
+                s.cancel();
+                onError(ex);
+                return;
+            }
+
+            BoundedInnerSubscriber<R> inner = new BoundedInnerSubscriber<R>(this);
+
+            if (cancelled) {
+                return;
+            }
+
+            subscribers.offer(inner);
+
+            p.subscribe(inner);
+
+            if (cancelled) {
+                inner.cancel();
+                drain();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (errors.addThrowable(t)) {
+                done = true;
+                drain();
+            } else {
+                RxJavaPlugins.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            s.cancel();
+
+            drain();
+        }
+
+        void cancelAll() {
+            BoundedInnerSubscriber<R> inner;
+
+            while ((inner = active.poll()) != null) {
+                inner.cancel();
+            }
+
+            while ((inner = subscribers.poll()) != null) {
+                inner.cancel();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.add(requested, n);
+                drain();
+            }
+        }
+
+        void innerNext(BoundedInnerSubscriber<R> inner, R value) {
+            SimpleQueue<R> q = inner.queue;
+            if (q == null) {
+                // allocated on demand so that the inner subscribers without budget don't retain an array
+                q = new SpscArrayQueue<R>(prefetch);
+                inner.queue = q;
+            }
+            if (q.offer(value)) {
+                drain();
+            } else {
+                inner.cancel();
+                innerError(inner, new MissingBackpressureException());
+            }
+        }
+
+        void innerError(BoundedInnerSubscriber<R> inner, Throwable e) {
+            if (errors.addThrowable(e)) {
+                inner.done = true;
+                if (errorMode != ErrorMode.END) {
+                    s.cancel();
+                }
+                drain();
+            } else {
+                RxJavaPlugins.onError(e);
+            }
+        }
+
+        void innerComplete(BoundedInnerSubscriber<R> inner) {
+            inner.done = true;
+            drain();
+        }
+
+        /**
+         * Removes the finished head inner subscriber, returns its unused budget
+         * and requests the next upstream value.
+         */
+        void removeHead(BoundedInnerSubscriber<R> inner) {
+            active.poll();
+            available += inner.charged;
+            inner.charged = 0L;
+            s.request(1);
+        }
+
+        /**
+         * Tops up the head inner subscriber to the prefetch amount without charging
+         * the budget and then the others, in order, as long as the budget lasts.
+         */
+        void distribute() {
+            boolean head = true;
+            int lim = limit;
+            for (BoundedInnerSubscriber<R> inner : active) {
+                if (!head) {
+                    lim = budgetLimit;
+                    if (available < lim) {
+                        break;
+                    }
+                }
+                // not yet subscribed, synchronously fused or won't produce more items anyway
+                if (inner.subscribed && inner.fusionMode != QueueSubscription.SYNC && !inner.done) {
+                    long want = prefetch - inner.outstanding;
+                    if (want >= lim) {
+                        if (!head) {
+                            want = Math.min(want, available);
+                            available -= want;
+                            inner.charged += want;
+                        }
+                        inner.outstanding += want;
+                        inner.get().request(want);
+                    }
+                }
+                head = false;
+            }
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            Subscriber<? super R> a = actual;
+            ErrorMode em = errorMode;
+            ArrayDeque<BoundedInnerSubscriber<R>> act = active;
+
+            for (;;) {
+                if (cancelled) {
+                    cancelAll();
+                    return;
+                }
+
+                boolean outerDone = done;
+
+                BoundedInnerSubscriber<R> inner;
+                while ((inner = subscribers.poll()) != null) {
+                    act.offer(inner);
+                }
+
+                long r = requested.get();
+                long e = 0L;
+
+                for (;;) {
+                    inner = act.peek();
+
+                    if (inner == null) {
+                        if (em != ErrorMode.END) {
+                            Throwable ex = errors.get();
+                            if (ex != null) {
+                                cancelAll();
+
+                                a.onError(errors.terminate());
+                                return;
+                            }
+                        }
+
+                        if (outerDone) {
+                            Throwable ex = errors.terminate();
+                            if (ex != null) {
+                                a.onError(ex);
+                            } else {
+                                a.onComplete();
+                            }
+                            return;
+                        }
+                        break;
+                    }
+
+                    SimpleQueue<R> q = inner.queue;
+                    boolean removed = false;
+
+                    for (;;) {
+                        if (cancelled) {
+                            cancelAll();
+                            return;
+                        }
+
+                        if (em == ErrorMode.IMMEDIATE) {
+                            Throwable ex = errors.get();
+                            if (ex != null) {
+                                cancelAll();
+
+                                a.onError(errors.terminate());
+                                return;
+                            }
+                        }
+
+                        boolean d = inner.done;
+
+                        if (q == null) {
+                            q = inner.queue;
+                        }
+
+                        if (e == r) {
+                            if (d && (q == null || q.isEmpty())) {
+                                removeHead(inner);
+                                removed = true;
+                            }
+                            break;
+                        }
+
+                        R v;
+
+                        try {
+                            v = q != null ? q.poll() : null;
+                        } catch (Throwable ex) {
+                            Exceptions.throwIfFatal(ex);
+                            cancelAll();
+                            errors.addThrowable(ex);
+                            a.onError(errors.terminate());
+                            return;
+                        }
+
+                        boolean empty = v == null;
+
+                        if (d && empty) {
+                            removeHead(inner);
+                            removed = true;
+                            break;
+                        }
+
+                        if (empty) {
+                            break;
+                        }
+
+                        a.onNext(v);
+
+                        e++;
+
+                        inner.consumed();
+                    }
+
+                    if (!removed) {
+                        break;
+                    }
+
+                    if (em != ErrorMode.END) {
+                        Throwable ex = errors.get();
+                        if (ex != null) {
+                            cancelAll();
+
+                            a.onError(errors.terminate());
+                            return;
+                        }
+                    }
+                }
+
+                if (e != 0L && r != Long.MAX_VALUE) {
+                    requested.addAndGet(-e);
+                }
+
+                distribute();
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+
+    static final class BoundedInnerSubscriber<R>
+    extends AtomicReference<Subscription>
+    implements FlowableSubscriber<R> {
+
+        private static final long serialVersionUID = 6497917566830066366L;
+
+        final ConcatMapEagerBoundedSubscriber<?, R> parent;
+
+        volatile SimpleQueue<R> queue;
+
+        volatile boolean done;
+
+        volatile boolean subscribed;
+
+        int fusionMode;
+
+        /** The requested but not yet consumed amount; accessed by the drain loop only. */
+        long outstanding;
+
+        /** The part of outstanding charged to the shared budget; accessed by the drain loop only. */
+        long charged;
+
+        BoundedInnerSubscriber(ConcatMapEagerBoundedSubscriber<?, R> parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.setOnce(this, s)) {
+                if (s instanceof QueueSubscription) {
+                    @SuppressWarnings("unchecked")
+                    QueueSubscription<R> qs = (QueueSubscription<R>) s;
+
+                    int m = qs.requestFusion(QueueSubscription.ANY);
+                    if (m == QueueSubscription.SYNC) {
+                        fusionMode = m;
+                        queue = qs;
+                        done = true;
+                        subscribed = true;
+                        parent.drain();
+                        return;
+                    }
+                    if (m == QueueSubscription.ASYNC) {
+                        fusionMode = m;
+                        queue = qs;
+                    }
+                }
+
+                // the requests are issued by the parent's drain loop
+                subscribed = true;
+                parent.drain();
+            }
+        }
+
+        @Override
+        public void onNext(R t) {
+            if (fusionMode == QueueSubscription.NONE) {
+                parent.innerNext(this, t);
+            } else {
+                parent.drain();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            parent.innerError(this, t);
+        }
+
+        @Override
+        public void onComplete() {
+            parent.innerComplete(this);
+        }
+
+        void consumed() {
+            if (outstanding != 0L) {
+                outstanding--;
+                if (charged != 0L) {
+                    charged--;
+                    parent.available++;
+                }
+            }
+        }
+
+        void cancel() {
+            SubscriptionHelper.cancel(this);
+        }
+    }
+}
@@ -34,15 +34,23 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
     final boolean delayErrors;
     final int maxConcurrency;
     final int bufferSize;
+    final int maxBufferSize;
 
     public FlowableFlatMap(Flowable<T> source,
             Function<? super T, ? extends Publisher<? extends U>> mapper,
             boolean delayErrors, int maxConcurrency, int bufferSize) {
+        this(source, mapper, delayErrors, maxConcurrency, bufferSize, bufferSize);
+    }
+
+    public FlowableFlatMap(Flowable<T> source,
+            Function<? super T, ? extends Publisher<? extends U>> mapper,
+            boolean delayErrors, int maxConcurrency, int bufferSize, int maxBufferSize) {
         super(source);
         this.mapper = mapper;
         this.delayErrors = delayErrors;
         this.maxConcurrency = maxConcurrency;
         this.bufferSize = bufferSize;
+        this.maxBufferSize = maxBufferSize;
     }
 
     @Override
@@ -50,16 +58,23 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
         if (FlowableScalarXMap.tryScalarXMapSubscribe(source, s, mapper)) {
             return;
         }
-        source.subscribe(subscribe(s, mapper, delayErrors, maxConcurrency, bufferSize));
+        source.subscribe(subscribe(s, mapper, delayErrors, maxConcurrency, bufferSize, maxBufferSize));
     }
 
     public static <T, U> FlowableSubscriber<T> subscribe(Subscriber<? super U> s,
             Function<? super T, ? extends Publisher<? extends U>> mapper,
             boolean delayErrors, int maxConcurrency, int bufferSize) {
-        return new MergeSubscriber<T, U>(s, mapper, delayErrors, maxConcurrency, bufferSize);
+        return subscribe(s, mapper, delayErrors, maxConcurrency, bufferSize, bufferSize);
     }
 
-    static final class MergeSubscriber<T, U> extends AtomicInteger implements FlowableSubscriber<T>, Subscription {
+    public static <T, U> FlowableSubscriber<T> subscribe(Subscriber<? super U> s,
+            Function<? super T, ? extends Publisher<? extends U>> mapper,
+            boolean delayErrors, int maxConcurrency, int bufferSize, int maxBufferSize) {
+        return new MergeSubscriber<T, U>(s, mapper, delayErrors, maxConcurrency, bufferSize, maxBufferSize);
+    }
+
+    static final class MergeSubscriber<T, U> extends AtomicInteger
+    implements FlowableSubscriber<T>, Subscription, SimpleBatchQueue.ElementConsumer<U> {
 
         private static final long serialVersionUID = -2117620485640801370L;
 
@@ -68,8 +83,9 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
         final boolean delayErrors;
         final int maxConcurrency;
         final int bufferSize;
+        final int maxBufferSize;
 
-        volatile SimplePlainQueue<U> queue;
+        volatile SimpleBatchQueue<U> queue;
 
         volatile boolean done;
 
@@ -85,6 +101,9 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
 
         final AtomicLong requested = new AtomicLong();
 
+        /** The empty queue of a completed inner source, reused by the next inner source needing one. */
+        final AtomicReference<SimpleQueue<U>> spareQueue = new AtomicReference<SimpleQueue<U>>();
+
         Subscription upstream;
 
         long uniqueId;
@@ -96,11 +115,17 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
 
         MergeSubscriber(Subscriber<? super U> actual, Function<? super T, ? extends Publisher<? extends U>> mapper,
                 boolean delayErrors, int maxConcurrency, int bufferSize) {
+            this(actual, mapper, delayErrors, maxConcurrency, bufferSize, bufferSize);
+        }
+
+        MergeSubscriber(Subscriber<? super U> actual, Function<? super T, ? extends Publisher<? extends U>> mapper,
+                boolean delayErrors, int maxConcurrency, int bufferSize, int maxBufferSize) {
             this.actual = actual;
             this.mapper = mapper;
             this.delayErrors = delayErrors;
             this.maxConcurrency = maxConcurrency;
             this.bufferSize = bufferSize;
+            this.maxBufferSize = maxBufferSize;
             this.scalarLimit = Math.max(1, maxConcurrency >> 1);
             subscribers.lazySet(EMPTY);
         }
@@ -214,7 +239,7 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
         }
 
         SimpleQueue<U> getMainQueue() {
-            SimplePlainQueue<U> q = queue;
+            SimpleBatchQueue<U> q = queue;
             if (q == null) {
                 if (maxConcurrency == Integer.MAX_VALUE) {
                     q = new SpscLinkedArrayQueue<U>(bufferSize);
@@ -268,7 +293,7 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
         SimpleQueue<U> getInnerQueue(InnerSubscriber<T, U> inner) {
             SimpleQueue<U> q = inner.queue;
             if (q == null) {
-                q = new SpscArrayQueue<U>(bufferSize);
+                q = inner.createQueue();
                 inner.queue = q;
             }
             return q;
@@ -283,6 +308,7 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
                     if (r != Long.MAX_VALUE) {
                         requested.decrementAndGet();
                     }
+                    inner.starved();
                     inner.requestMore(1);
                 } else {
                     if (q == null) {
@@ -299,7 +325,7 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
             } else {
                 SimpleQueue<U> q = inner.queue;
                 if (q == null) {
-                    q = new SpscArrayQueue<U>(bufferSize);
+                    q = inner.createQueue();
                     inner.queue = q;
                 }
                 if (!q.offer(value)) {
@@ -374,7 +400,7 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
                 if (checkTerminate()) {
                     return;
                 }
-                SimplePlainQueue<U> svq = queue;
+                SimpleBatchQueue<U> svq = queue;
 
                 long r = requested.get();
                 boolean unbounded = r == Long.MAX_VALUE;
@@ -382,35 +408,22 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
                 long replenishMain = 0;
 
                 if (svq != null) {
-                    for (;;) {
-                        long scalarEmission = 0;
-                        U o = null;
-                        while (r != 0L) {
-                            o = svq.poll();
+                    while (r != 0L) {
+                        int c = svq.drain(this, (int)Math.min(r, Integer.MAX_VALUE));
 
-                            if (checkTerminate()) {
-                                return;
-                            }
-                            if (o == null) {
-                                break;
-                            }
-
-                            child.onNext(o);
-
-                            replenishMain++;
-                            scalarEmission++;
-                            r--;
-                        }
-                        if (scalarEmission != 0L) {
-                            if (unbounded) {
-                                r = Long.MAX_VALUE;
-                            } else {
-                                r = requested.addAndGet(-scalarEmission);
-                            }
+                        if (checkTerminate()) {
+                            return;
                         }
-                        if (r == 0L || o == null) {
+                        if (c == 0) {
                             break;
                         }
+
+                        replenishMain += c;
+                        if (unbounded) {
+                            r = Long.MAX_VALUE;
+                        } else {
+                            r = requested.addAndGet(-c);
+                        }
                     }
                 }
 
@@ -474,6 +487,16 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
                                 break;
                             }
                             long produced = 0;
+                            if (q instanceof SimpleBatchQueue) {
+                                // not fused, emit the buffered items in one batch
+                                int c = ((SimpleBatchQueue<U>)q).drain(this, (int)Math.min(r, Integer.MAX_VALUE));
+                                if (checkTerminate()) {
+                                    return;
+                                }
+                                r -= c;
+                                produced = c;
+                                o = null;
+                            }
                             while (r != 0L) {
 
                                 try {
@@ -494,6 +517,7 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
                                     continue sourceLoop;
                                 }
                                 if (o == null) {
+                                    is.starved();
                                     break;
                                 }
 
@@ -522,6 +546,11 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
                         SimpleQueue<U> innerQueue = is.queue;
                         if (innerDone && (innerQueue == null || innerQueue.isEmpty())) {
                             removeInner(is);
+                            if (innerQueue != null && is.fusionMode == QueueSubscription.NONE) {
+                                // the terminated inner source won't offer into its queue anymore
+                                is.queue = null;
+                                spareQueue.lazySet(innerQueue);
+                            }
                             if (checkTerminate()) {
                                 return;
                             }
@@ -554,6 +583,15 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
             }
         }
 
+        @Override
+        public boolean accept(U o) {
+            if (cancelled || (!delayErrors && errs.get() != null)) {
+                return false;
+            }
+            actual.onNext(o);
+            return true;
+        }
+
         boolean checkTerminate() {
             if (cancelled) {
                 clearScalarQueue();
@@ -615,8 +653,10 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
         private static final long serialVersionUID = -4606175640614850599L;
         final long id;
         final MergeSubscriber<T, U> parent;
-        final int limit;
         final int bufferSize;
+        /** Resizes the request batch if the maximum buffer size is larger, null otherwise. */
+        final AdaptivePrefetch adaptive;
+        int limit;
 
         volatile boolean done;
         volatile SimpleQueue<U> queue;
@@ -627,7 +667,13 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
             this.id = id;
             this.parent = parent;
             this.bufferSize = parent.bufferSize;
-            this.limit = bufferSize >> 2;
+            if (parent.maxBufferSize > bufferSize) {
+                this.adaptive = new AdaptivePrefetch(bufferSize, parent.maxBufferSize);
+                this.limit = adaptive.limit();
+            } else {
+                this.adaptive = null;
+                this.limit = bufferSize >> 2;
+            }
         }
         @Override
         public void onSubscribe(Subscription s) {
@@ -678,6 +724,14 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
                 long p = produced + n;
                 if (p >= limit) {
                     produced = 0;
+                    AdaptivePrefetch ap = adaptive;
+                    if (ap != null) {
+                        p = ap.replenish(p);
+                        limit = ap.limit();
+                        if (p == 0L) {
+                            return;
+                        }
+                    }
                     get().request(p);
                 } else {
                     produced = p;
@@ -685,6 +739,31 @@ public final class FlowableFlatMap<T, U> extends AbstractFlowableWithUpstream<T,
             }
         }
 
+        /**
+         * Indicates the merge loop found nothing queued for this inner source.
+         */
+        void starved() {
+            AdaptivePrefetch ap = adaptive;
+            if (ap != null) {
+                ap.starved();
+            }
+        }
+
+        SimpleQueue<U> createQueue() {
+            AtomicReference<SimpleQueue<U>> spare = parent.spareQueue;
+            if (spare.get() != null) {
+                SimpleQueue<U> q = spare.getAndSet(null);
+                if (q != null) {
+                    return q;
+                }
+            }
+            if (adaptive != null) {
+                // the outstanding amount may grow up to the maximum buffer size
+                return new SpscLinkedArrayQueue<U>(bufferSize);
+            }
+            return new SpscArrayQueue<U>(bufferSize);
+        }
+
         @Override
         public void dispose() {
             SubscriptionHelper.cancel(this);
@@ -23,6 +23,7 @@ import io.reactivex.exceptions.Exceptions;
 import io.reactivex.functions.Function;
 import io.reactivex.internal.disposables.DisposableHelper;
 import io.reactivex.internal.functions.ObjectHelper;
+import io.reactivex.internal.fuseable.ScalarCallable;
 import io.reactivex.internal.queue.SpscLinkedArrayQueue;
 import io.reactivex.internal.subscriptions.SubscriptionHelper;
 import io.reactivex.internal.util.*;
@@ -126,6 +127,20 @@ public final class FlowableFlatMapMaybe<T, R> extends AbstractFlowableWithUpstre
 
             active.getAndIncrement();
 
+            if (ms instanceof ScalarCallable) {
+                // a constant source, no need to subscribe to it and track its InnerObserver
+                if (!cancelled) {
+                    @SuppressWarnings("unchecked")
+                    R v = ((ScalarCallable<R>)ms).call();
+                    if (v != null) {
+                        innerSuccess(v);
+                    } else {
+                        innerComplete();
+                    }
+                }
+                return;
+            }
+
             InnerObserver inner = new InnerObserver();
 
             if (!cancelled && set.add(inner)) {
@@ -169,6 +184,10 @@ public final class FlowableFlatMapMaybe<T, R> extends AbstractFlowableWithUpstre
 
         void innerSuccess(InnerObserver inner, R value) {
             set.delete(inner);
+            innerSuccess(value);
+        }
+
+        void innerSuccess(R value) {
             if (get() == 0 && compareAndSet(0, 1)) {
                 boolean d = active.decrementAndGet() == 0;
                 if (requested.get() != 0) {
@@ -244,7 +263,10 @@ public final class FlowableFlatMapMaybe<T, R> extends AbstractFlowableWithUpstre
 
         void innerComplete(InnerObserver inner) {
             set.delete(inner);
+            innerComplete();
+        }
 
+        void innerComplete() {
             if (get() == 0 && compareAndSet(0, 1)) {
                 boolean d = active.decrementAndGet() == 0;
                 SpscLinkedArrayQueue<R> q = queue.get();
@@ -17,6 +17,7 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.*;
 
 import org.reactivestreams.*;
@@ -28,10 +29,10 @@ import io.reactivex.flowables.GroupedFlowable;
 import io.reactivex.functions.Consumer;
 import io.reactivex.functions.Function;
 import io.reactivex.internal.functions.ObjectHelper;
-import io.reactivex.internal.queue.SpscLinkedArrayQueue;
+import io.reactivex.internal.fuseable.SimplePlainQueue;
+import io.reactivex.internal.queue.*;
 import io.reactivex.internal.subscriptions.*;
-import io.reactivex.internal.util.BackpressureHelper;
-import io.reactivex.internal.util.EmptyComponent;
+import io.reactivex.internal.util.*;
 import io.reactivex.plugins.RxJavaPlugins;
 
 public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream<T, GroupedFlowable<K, V>> {
@@ -40,6 +41,10 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
     final int bufferSize;
     final boolean delayError;
     final Function<? super Consumer<Object>, ? extends Map<K, Object>> mapFactory;
+    final int maxGroups;
+    final long maxIdleTime;
+    final TimeUnit unit;
+    final Scheduler scheduler;
 
     public FlowableGroupBy(Flowable<T> source, Function<? super T, ? extends K> keySelector, Function<? super T, ? extends V> valueSelector,
             int bufferSize, boolean delayError, Function<? super Consumer<Object>, ? extends Map<K, Object>> mapFactory) {
@@ -49,11 +54,48 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         this.bufferSize = bufferSize;
         this.delayError = delayError;
         this.mapFactory = mapFactory;
+        this.maxGroups = 0;
+        this.maxIdleTime = 0L;
+        this.unit = null;
+        this.scheduler = null;
+    }
+
+    /**
+     * Constructs a groupBy which keeps at most {@code maxGroups} groups in a single-threaded
+     * table and, if a scheduler is given, completes groups that haven't received an item
+     * for {@code maxIdleTime}.
+     * @param source the source Flowable
+     * @param keySelector the key selector
+     * @param valueSelector the value selector
+     * @param bufferSize the prefetch amount and per-group buffer size hint
+     * @param delayError delay the upstream error in the groups until their buffered items are emitted?
+     * @param maxGroups the maximum number of active groups, positive
+     * @param maxIdleTime the time after an inactive group is completed, positive
+     * @param unit the time unit of the maxIdleTime, null if there is no idle eviction
+     * @param scheduler the scheduler providing the current time, null if there is no idle eviction
+     */
+    public FlowableGroupBy(Flowable<T> source, Function<? super T, ? extends K> keySelector, Function<? super T, ? extends V> valueSelector,
+            int bufferSize, boolean delayError, int maxGroups, long maxIdleTime, TimeUnit unit, Scheduler scheduler) {
+        super(source);
+        this.keySelector = keySelector;
+        this.valueSelector = valueSelector;
+        this.bufferSize = bufferSize;
+        this.delayError = delayError;
+        this.mapFactory = null;
+        this.maxGroups = maxGroups;
+        this.maxIdleTime = maxIdleTime;
+        this.unit = unit;
+        this.scheduler = scheduler;
     }
 
     @Override
     @SuppressWarnings({ "unchecked", "rawtypes" })
     protected void subscribeActual(Subscriber<? super GroupedFlowable<K, V>> s) {
+        if (maxGroups != 0) {
+            source.subscribe(new GroupBySubscriber<T, K, V>(s, keySelector, valueSelector, bufferSize, delayError,
+                    maxGroups, maxIdleTime, unit, scheduler));
+            return;
+        }
 
         final Map<Object, GroupedUnicast<K, V>> groups;
         final Queue<GroupedUnicast<K, V>> evictedGroups;
@@ -93,6 +135,15 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         final SpscLinkedArrayQueue<GroupedFlowable<K, V>> queue;
         final Queue<GroupedUnicast<K, V>> evictedGroups;
 
+        /** The groups in the bounded mode, accessed from the upstream's thread only. */
+        final LinkedOpenHashMap<Object, State<V, K>> table;
+        /** The groups cancelled by their consumers, to be removed from the table by the upstream's thread. */
+        final SimplePlainQueue<State<V, K>> cancelledGroups;
+        final int maxGroups;
+        final long maxIdleTime;
+        final TimeUnit unit;
+        final Scheduler scheduler;
+
         static final Object NULL_KEY = new Object();
 
         Subscription s;
@@ -119,6 +170,31 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
             this.groups = groups;
             this.evictedGroups = evictedGroups;
             this.queue = new SpscLinkedArrayQueue<GroupedFlowable<K, V>>(bufferSize);
+            this.table = null;
+            this.cancelledGroups = null;
+            this.maxGroups = 0;
+            this.maxIdleTime = 0L;
+            this.unit = null;
+            this.scheduler = null;
+        }
+
+        public GroupBySubscriber(Subscriber<? super GroupedFlowable<K, V>> actual, Function<? super T, ? extends K> keySelector,
+                Function<? super T, ? extends V> valueSelector, int bufferSize, boolean delayError,
+                int maxGroups, long maxIdleTime, TimeUnit unit, Scheduler scheduler) {
+            this.actual = actual;
+            this.keySelector = keySelector;
+            this.valueSelector = valueSelector;
+            this.bufferSize = bufferSize;
+            this.delayError = delayError;
+            this.groups = null;
+            this.evictedGroups = null;
+            this.queue = new SpscLinkedArrayQueue<GroupedFlowable<K, V>>(bufferSize);
+            this.table = new LinkedOpenHashMap<Object, State<V, K>>();
+            this.cancelledGroups = new MpscLinkedQueue<State<V, K>>();
+            this.maxGroups = maxGroups;
+            this.maxIdleTime = maxIdleTime;
+            this.unit = unit;
+            this.scheduler = scheduler;
         }
 
         @Override
@@ -136,6 +212,11 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
                 return;
             }
 
+            if (table != null) {
+                onNextBounded(t);
+                return;
+            }
+
             final SpscLinkedArrayQueue<GroupedFlowable<K, V>> q = this.queue;
 
             K key;
@@ -191,18 +272,106 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
             }
         }
 
+        void onNextBounded(T t) {
+            K key;
+            V v;
+            try {
+                key = keySelector.apply(t);
+                v = ObjectHelper.requireNonNull(valueSelector.apply(t), "The valueSelector returned null");
+            } catch (Throwable ex) {
+                Exceptions.throwIfFatal(ex);
+                s.cancel();
+                onError(ex);
+                return;
+            }
+
+            final LinkedOpenHashMap<Object, State<V, K>> table = this.table;
+
+            removeCancelled(table);
+
+            final Scheduler sch = scheduler;
+            long now = sch != null ? sch.now(unit) : 0L;
+
+            Object mapKey = key != null ? key : NULL_KEY;
+            State<V, K> state;
+            int index = table.indexOf(mapKey);
+            if (index < 0) {
+                // if the main has been cancelled, stop creating groups
+                // and skip this value
+                if (cancelled.get()) {
+                    return;
+                }
+
+                if (table.size() >= maxGroups) {
+                    evict(table, table.eldest());
+                }
+
+                GroupedUnicast<K, V> group = GroupedUnicast.createWith(key, bufferSize, this, delayError);
+                state = group.state;
+                table.put(mapKey, state, now);
+
+                groupCount.getAndIncrement();
+
+                // emit the group before its first item so a consumer subscribing
+                // synchronously can receive it without the group allocating a buffer
+                queue.offer(group);
+                drain();
+            } else {
+                state = table.valueAt(index);
+                table.touch(index, now);
+            }
+
+            state.onNext(v);
+
+            if (sch != null) {
+                final long idle = maxIdleTime;
+                for (;;) {
+                    int e = table.eldest();
+                    if (e < 0 || now - table.timeAt(e) < idle) {
+                        break;
+                    }
+                    evict(table, e);
+                }
+            }
+        }
+
+        void evict(LinkedOpenHashMap<Object, State<V, K>> table, int index) {
+            State<V, K> state = table.removeAt(index);
+            state.onComplete();
+            if (state.released.compareAndSet(false, true)) {
+                release();
+            }
+        }
+
+        void removeCancelled(LinkedOpenHashMap<Object, State<V, K>> table) {
+            State<V, K> state;
+            while ((state = cancelledGroups.poll()) != null) {
+                K key = state.key;
+                table.remove(key != null ? key : NULL_KEY, state);
+            }
+        }
+
         @Override
         public void onError(Throwable t) {
             if (done) {
                 RxJavaPlugins.onError(t);
                 return;
             }
-            for (GroupedUnicast<K, V> g : groups.values()) {
-                g.onError(t);
-            }
-            groups.clear();
-            if (evictedGroups != null) {
-                evictedGroups.clear();
+            LinkedOpenHashMap<Object, State<V, K>> table = this.table;
+            if (table != null) {
+                for (int e = table.eldest(); e >= 0; e = table.newer(e)) {
+                    table.valueAt(e).onError(t);
+                }
+                table.clear();
+                cancelledGroups.clear();
+            } else {
+                for (GroupedUnicast<K, V> g : groups.values()) {
+                    g.onError(t);
+                }
+                groups.clear();
+                if (evictedGroups != null) {
+                    evictedGroups.clear();
+                }
             }
             error = t;
             done = true;
@@ -212,12 +381,21 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         @Override
         public void onComplete() {
             if (!done) {
-                for (GroupedUnicast<K, V> g : groups.values()) {
-                    g.onComplete();
-                }
-                groups.clear();
-                if (evictedGroups != null) {
-                    evictedGroups.clear();
+                LinkedOpenHashMap<Object, State<V, K>> table = this.table;
+                if (table != null) {
+                    for (int e = table.eldest(); e >= 0; e = table.newer(e)) {
+                        table.valueAt(e).onComplete();
+                    }
+                    table.clear();
+                    cancelledGroups.clear();
+                } else {
+                    for (GroupedUnicast<K, V> g : groups.values()) {
+                        g.onComplete();
+                    }
+                    groups.clear();
+                    if (evictedGroups != null) {
+                        evictedGroups.clear();
+                    }
                 }
                 done = true;
                 drain();
@@ -246,6 +424,15 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         public void cancel(K key) {
             Object mapKey = key != null ? key : NULL_KEY;
             groups.remove(mapKey);
+            release();
+        }
+
+        void cancelGroup(State<V, K> state) {
+            cancelledGroups.offer(state);
+            release();
+        }
+
+        void release() {
             if (groupCount.decrementAndGet() == 0) {
                 s.cancel();
 
@@ -468,9 +655,15 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         private static final long serialVersionUID = -3852313036005250360L;
 
         final K key;
-        final SpscLinkedArrayQueue<T> queue;
         final GroupBySubscriber<?, K, T> parent;
         final boolean delayError;
+        final int bufferSize;
+
+        /** Allocated upfront or, in the bounded mode, when the first item has to be buffered. */
+        volatile SpscLinkedArrayQueue<T> queue;
+
+        /** Set once the group stopped counting towards the active groups; null if not in the bounded mode. */
+        final AtomicBoolean released;
 
         final AtomicLong requested = new AtomicLong();
 
@@ -488,10 +681,16 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         int produced;
 
         State(int bufferSize, GroupBySubscriber<?, K, T> parent, K key, boolean delayError) {
-            this.queue = new SpscLinkedArrayQueue<T>(bufferSize);
             this.parent = parent;
             this.key = key;
             this.delayError = delayError;
+            this.bufferSize = bufferSize;
+            if (parent.table == null) {
+                this.queue = new SpscLinkedArrayQueue<T>(bufferSize);
+                this.released = null;
+            } else {
+                this.released = new AtomicBoolean();
+            }
         }
 
         @Override
@@ -505,7 +704,12 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         @Override
         public void cancel() {
             if (cancelled.compareAndSet(false, true)) {
-                parent.cancel(key);
+                AtomicBoolean r = released;
+                if (r == null) {
+                    parent.cancel(key);
+                } else if (r.compareAndSet(false, true)) {
+                    parent.cancelGroup(this);
+                }
             }
         }
 
@@ -521,7 +725,32 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         }
 
         public void onNext(T t) {
-            queue.offer(t);
+            SpscLinkedArrayQueue<T> q = queue;
+            if (q == null) {
+                if (get() == 0 && compareAndSet(0, 1)) {
+                    Subscriber<? super T> a = actual.get();
+                    if (a != null && !outputFused && requested.get() != 0L) {
+                        if (!cancelled.get()) {
+                            a.onNext(t);
+                            BackpressureHelper.produced(requested, 1);
+                            parent.s.request(1);
+                        }
+                    } else {
+                        q = new SpscLinkedArrayQueue<T>(bufferSize);
+                        queue = q;
+                        q.offer(t);
+                    }
+                    if (outputFused) {
+                        drainFused();
+                    } else {
+                        drainNormal();
+                    }
+                    return;
+                }
+                q = new SpscLinkedArrayQueue<T>(bufferSize);
+                queue = q;
+            }
+            q.offer(t);
             drain();
         }
 
@@ -550,13 +779,12 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         void drainFused() {
             int missed = 1;
 
-            final SpscLinkedArrayQueue<T> q = this.queue;
             Subscriber<? super T> a = this.actual.get();
 
             for (;;) {
                 if (a != null) {
                     if (cancelled.get()) {
-                        q.clear();
+                        clear();
                         return;
                     }
 
@@ -565,7 +793,7 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
                     if (d && !delayError) {
                         Throwable ex = error;
                         if (ex != null) {
-                            q.clear();
+                            clear();
                             a.onError(ex);
                             return;
                         }
@@ -598,17 +826,20 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         void drainNormal() {
             int missed = 1;
 
-            final SpscLinkedArrayQueue<T> q = queue;
             final boolean delayError = this.delayError;
             Subscriber<? super T> a = actual.get();
+            SpscLinkedArrayQueue<T> q = queue;
             for (;;) {
                 if (a != null) {
+                    if (q == null) {
+                        q = queue;
+                    }
                     long r = requested.get();
                     long e = 0;
 
                     while (e != r) {
                         boolean d = done;
-                        T v = q.poll();
+                        T v = q != null ? q.poll() : null;
                         boolean empty = v == null;
 
                         if (checkTerminated(d, empty, a, delayError)) {
@@ -624,7 +855,7 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
                         e++;
                     }
 
-                    if (e == r && checkTerminated(done, q.isEmpty(), a, delayError)) {
+                    if (e == r && checkTerminated(done, q == null || q.isEmpty(), a, delayError)) {
                         return;
                     }
 
@@ -648,7 +879,7 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
 
         boolean checkTerminated(boolean d, boolean empty, Subscriber<? super T> a, boolean delayError) {
             if (cancelled.get()) {
-                queue.clear();
+                clear();
                 return true;
             }
 
@@ -666,7 +897,7 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
                 } else {
                     Throwable e = error;
                     if (e != null) {
-                        queue.clear();
+                        clear();
                         a.onError(e);
                         return true;
                     } else
@@ -692,7 +923,8 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
         @Nullable
         @Override
         public T poll() {
-            T v = queue.poll();
+            SpscLinkedArrayQueue<T> q = queue;
+            T v = q != null ? q.poll() : null;
             if (v != null) {
                 produced++;
                 return v;
@@ -707,12 +939,16 @@ public final class FlowableGroupBy<T, K, V> extends AbstractFlowableWithUpstream
 
         @Override
         public boolean isEmpty() {
-            return queue.isEmpty();
+            SpscLinkedArrayQueue<T> q = queue;
+            return q == null || q.isEmpty();
         }
 
         @Override
         public void clear() {
-            queue.clear();
+            SpscLinkedArrayQueue<T> q = queue;
+            if (q != null) {
+                q.clear();
+            }
         }
     }
 }
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.operators.flowable;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Subscription;
+
+import io.reactivex.flowables.*;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.BackpressureHelper;
+
+/**
+ * Emits the values of a primitive int array.
+ */
+public final class FlowableIntFromArray extends FlowableInt {
+    final int[] array;
+
+    public FlowableIntFromArray(int[] array) {
+        this.array = array;
+    }
+
+    @Override
+    public void subscribe(IntSubscriber s) {
+        s.onSubscribe(new IntArraySubscription(s, array));
+    }
+
+    static final class IntArraySubscription extends AtomicLong implements Subscription {
+
+        private static final long serialVersionUID = 7462346713485398315L;
+
+        final IntSubscriber actual;
+
+        final int[] array;
+
+        int index;
+
+        volatile boolean cancelled;
+
+        IntArraySubscription(IntSubscriber actual, int[] array) {
+            this.actual = actual;
+            this.array = array;
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                if (BackpressureHelper.add(this, n) == 0L) {
+                    if (n == Long.MAX_VALUE) {
+                        fastPath();
+                    } else {
+                        slowPath(n);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        void fastPath() {
+            int[] arr = array;
+            int f = arr.length;
+            IntSubscriber a = actual;
+
+            for (int i = index; i != f; i++) {
+                if (cancelled) {
+                    return;
+                }
+                a.onNext(arr[i]);
+            }
+            if (cancelled) {
+                return;
+            }
+            a.onComplete();
+        }
+
+        void slowPath(long r) {
+            long e = 0;
+            int[] arr = array;
+            int f = arr.length;
+            int i = index;
+            IntSubscriber a = actual;
+
+            for (;;) {
+
+                while (e != r && i != f) {
+                    if (cancelled) {
+                        return;
+                    }
+
+                    a.onNext(arr[i]);
+
+                    e++;
+                    i++;
+                }
+
+                if (i == f) {
+                    if (!cancelled) {
+                        a.onComplete();
+                    }
+                    return;
+                }
+
+                r = get();
+                if (e == r) {
+                    index = i;
+                    r = addAndGet(-e);
+                    if (r == 0L) {
+                        return;
+                    }
+                    e = 0L;
+                }
+            }
+        }
+    }
+}
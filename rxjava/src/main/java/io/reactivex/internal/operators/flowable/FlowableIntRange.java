@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.operators.flowable;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.reactivestreams.Subscription;
+
+import io.reactivex.flowables.*;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.BackpressureHelper;
+
+/**
+ * Emits a range of primitive int values.
+ */
+public final class FlowableIntRange extends FlowableInt {
+    final int start;
+    final int end;
+
+    public FlowableIntRange(int start, int count) {
+        this.start = start;
+        this.end = start + count;
+    }
+
+    @Override
+    public void subscribe(IntSubscriber s) {
+        s.onSubscribe(new IntRangeSubscription(s, start, end));
+    }
+
+    static final class IntRangeSubscription extends AtomicLong implements Subscription {
+
+        private static final long serialVersionUID = -2913328938458815298L;
+
+        final IntSubscriber actual;
+
+        final int end;
+
+        int index;
+
+        volatile boolean cancelled;
+
+        IntRangeSubscription(IntSubscriber actual, int index, int end) {
+            this.actual = actual;
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                if (BackpressureHelper.add(this, n) == 0L) {
+                    if (n == Long.MAX_VALUE) {
+                        fastPath();
+                    } else {
+                        slowPath(n);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        void fastPath() {
+            int f = end;
+            IntSubscriber a = actual;
+
+            for (int i = index; i != f; i++) {
+                if (cancelled) {
+                    return;
+                }
+                a.onNext(i);
+            }
+            if (cancelled) {
+                return;
+            }
+            a.onComplete();
+        }
+
+        void slowPath(long r) {
+            long e = 0;
+            int f = end;
+            int i = index;
+            IntSubscriber a = actual;
+
+            for (;;) {
+
+                while (e != r && i != f) {
+                    if (cancelled) {
+                        return;
+                    }
+
+                    a.onNext(i);
+
+                    e++;
+                    i++;
+                }
+
+                if (i == f) {
+                    if (!cancelled) {
+                        a.onComplete();
+                    }
+                    return;
+                }
+
+                r = get();
+                if (e == r) {
+                    index = i;
+                    r = addAndGet(-e);
+                    if (r == 0L) {
+                        return;
+                    }
+                    e = 0L;
+                }
+            }
+        }
+    }
+}
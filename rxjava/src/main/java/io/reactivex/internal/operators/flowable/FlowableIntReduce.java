@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.operators.flowable;
+
+import org.reactivestreams.Subscription;
+
+import io.reactivex.*;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.flowables.*;
+import io.reactivex.functions.IntBinaryOperator;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Reduces the primitive int values, starting from an identity value, and signals the result.
+ */
+public final class FlowableIntReduce extends Single<Integer> {
+
+    /** Adds the two values. */
+    public static final IntBinaryOperator SUM = new IntBinaryOperator() {
+        @Override
+        public int apply(int t1, int t2) {
+            return t1 + t2;
+        }
+    };
+
+    final FlowableInt source;
+
+    final int identity;
+
+    final IntBinaryOperator reducer;
+
+    public FlowableIntReduce(FlowableInt source, int identity, IntBinaryOperator reducer) {
+        this.source = source;
+        this.identity = identity;
+        this.reducer = reducer;
+    }
+
+    @Override
+    protected void subscribeActual(SingleObserver<? super Integer> observer) {
+        source.subscribe(new IntReduceSubscriber(observer, identity, reducer));
+    }
+
+    static final class IntReduceSubscriber implements IntSubscriber, Disposable {
+
+        final SingleObserver<? super Integer> actual;
+
+        final IntBinaryOperator reducer;
+
+        int value;
+
+        boolean done;
+
+        Subscription s;
+
+        IntReduceSubscriber(SingleObserver<? super Integer> actual, int value, IntBinaryOperator reducer) {
+            this.actual = actual;
+            this.value = value;
+            this.reducer = reducer;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = s;
+
+                actual.onSubscribe(this);
+
+                s.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(int t) {
+            if (!done) {
+                try {
+                    value = reducer.apply(value, t);
+                } catch (Throwable ex) {
+                    Exceptions.throwIfFatal(ex);
+                    s.cancel();
+                    onError(ex);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (done) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            done = true;
+            s = SubscriptionHelper.CANCELLED;
+            actual.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                s = SubscriptionHelper.CANCELLED;
+                actual.onSuccess(value);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            s.cancel();
+            s = SubscriptionHelper.CANCELLED;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return s == SubscriptionHelper.CANCELLED;
+        }
+    }
+}
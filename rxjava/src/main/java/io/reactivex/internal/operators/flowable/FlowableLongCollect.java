@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.operators.flowable;
+
+import java.util.concurrent.Callable;
+
+import org.reactivestreams.Subscription;
+
+import io.reactivex.*;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.flowables.*;
+import io.reactivex.functions.ObjLongConsumer;
+import io.reactivex.internal.disposables.EmptyDisposable;
+import io.reactivex.internal.functions.ObjectHelper;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Collects the primitive long values into a container and signals the container.
+ *
+ * @param <R> the container type
+ */
+public final class FlowableLongCollect<R> extends Single<R> {
+
+    final FlowableLong source;
+
+    final Callable<? extends R> initialSupplier;
+
+    final ObjLongConsumer<? super R> collector;
+
+    public FlowableLongCollect(FlowableLong source, Callable<? extends R> initialSupplier, ObjLongConsumer<? super R> collector) {
+        this.source = source;
+        this.initialSupplier = initialSupplier;
+        this.collector = collector;
+    }
+
+    @Override
+    protected void subscribeActual(SingleObserver<? super R> observer) {
+        R r;
+        try {
+            r = ObjectHelper.requireNonNull(initialSupplier.call(), "The initialSupplier returned a null value");
+        } catch (Throwable e) {
+            EmptyDisposable.error(e, observer);
+            return;
+        }
+
+        source.subscribe(new LongCollectSubscriber<R>(observer, r, collector));
+    }
+
+    static final class LongCollectSubscriber<R> implements LongSubscriber, Disposable {
+
+        final SingleObserver<? super R> actual;
+
+        final ObjLongConsumer<? super R> collector;
+
+        final R container;
+
+        boolean done;
+
+        Subscription s;
+
+        LongCollectSubscriber(SingleObserver<? super R> actual, R container, ObjLongConsumer<? super R> collector) {
+            this.actual = actual;
+            this.container = container;
+            this.collector = collector;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = s;
+
+                actual.onSubscribe(this);
+
+                s.request(Long.MAX_VALUE);
+            }
+        }
+
+        @Override
+        public void onNext(long t) {
+            if (!done) {
+                try {
+                    collector.accept(container, t);
+                } catch (Throwable ex) {
+                    Exceptions.throwIfFatal(ex);
+                    s.cancel();
+                    onError(ex);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            if (done) {
+                RxJavaPlugins.onError(e);
+                return;
+            }
+            done = true;
+            s = SubscriptionHelper.CANCELLED;
+            actual.onError(e);
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                s = SubscriptionHelper.CANCELLED;
+                actual.onSuccess(container);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            s.cancel();
+            s = SubscriptionHelper.CANCELLED;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return s == SubscriptionHelper.CANCELLED;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.operators.flowable;
+
+import org.reactivestreams.*;
+
+import io.reactivex.Flowable;
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.flowables.*;
+import io.reactivex.functions.LongFunction;
+import io.reactivex.internal.functions.ObjectHelper;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Maps each primitive long value into an object and emits them as a Flowable.
+ *
+ * @param <R> the result value type
+ */
+public final class FlowableLongMapToObj<R> extends Flowable<R> {
+
+    /** Boxes the values into Longs. */
+    public static final LongFunction<Long> BOXED = new LongFunction<Long>() {
+        @Override
+        public Long apply(long i) {
+            return i;
+        }
+    };
+
+    final FlowableLong source;
+
+    final LongFunction<? extends R> mapper;
+
+    public FlowableLongMapToObj(FlowableLong source, LongFunction<? extends R> mapper) {
+        this.source = source;
+        this.mapper = mapper;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super R> s) {
+        source.subscribe(new LongMapToObjSubscriber<R>(s, mapper));
+    }
+
+    static final class LongMapToObjSubscriber<R> implements LongSubscriber, Subscription {
+        final Subscriber<? super R> actual;
+
+        final LongFunction<? extends R> mapper;
+
+        Subscription s;
+
+        boolean done;
+
+        LongMapToObjSubscriber(Subscriber<? super R> actual, LongFunction<? extends R> mapper) {
+            this.actual = actual;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = s;
+                actual.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(long t) {
+            if (done) {
+                return;
+            }
+            R v;
+            try {
+                v = ObjectHelper.requireNonNull(mapper.apply(t), "The mapper returned a null value.");
+            } catch (Throwable ex) {
+                Exceptions.throwIfFatal(ex);
+                s.cancel();
+                onError(ex);
+                return;
+            }
+            actual.onNext(v);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                RxJavaPlugins.onError(t);
+                return;
+            }
+            done = true;
+            actual.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            actual.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            s.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            s.cancel();
+        }
+    }
+}
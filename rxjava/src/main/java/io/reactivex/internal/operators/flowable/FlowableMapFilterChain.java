@@ -0,0 +1,272 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.operators.flowable;
+
+import org.reactivestreams.Subscriber;
+
+import io.reactivex.Flowable;
+import io.reactivex.annotations.Nullable;
+import io.reactivex.functions.*;
+import io.reactivex.internal.functions.*;
+import io.reactivex.internal.fuseable.*;
+import io.reactivex.internal.subscribers.*;
+
+/**
+ * Applies a run of adjacent map, filter and doOnNext stages with a single subscriber.
+ * <p>
+ * The assembly methods collapse a new stage into the stage it is applied to if that is
+ * a plain {@link FlowableMap}, {@link FlowableFilter}, doOnNext-only {@link FlowableDoOnEach}
+ * or another chain; otherwise they return the regular operator.
+ *
+ * @param <T> the upstream value type
+ * @param <R> the output value type
+ */
+public final class FlowableMapFilterChain<T, R> extends AbstractFlowableWithUpstream<T, R> {
+
+    final MapFilterStages stages;
+
+    FlowableMapFilterChain(Flowable<T> source, MapFilterStages stages) {
+        super(source);
+        this.stages = stages;
+    }
+
+    /**
+     * Maps the elements of the source, fusing with the source's map, filter or doOnNext stages.
+     * @param <T> the input value type
+     * @param <R> the output value type
+     * @param source the source Flowable
+     * @param mapper the mapper function, not null (not verified)
+     * @return the new Flowable
+     */
+    public static <T, R> Flowable<R> map(Flowable<T> source, Function<? super T, ? extends R> mapper) {
+        Flowable<R> fused = fuse(source, MapFilterStages.MAP, mapper);
+        if (fused != null) {
+            return fused;
+        }
+        return new FlowableMap<T, R>(source, mapper);
+    }
+
+    /**
+     * Filters the elements of the source, fusing with the source's map, filter or doOnNext stages.
+     * @param <T> the value type
+     * @param source the source Flowable
+     * @param predicate the predicate, not null (not verified)
+     * @return the new Flowable
+     */
+    public static <T> Flowable<T> filter(Flowable<T> source, Predicate<? super T> predicate) {
+        Flowable<T> fused = fuse(source, MapFilterStages.FILTER, predicate);
+        if (fused != null) {
+            return fused;
+        }
+        return new FlowableFilter<T>(source, predicate);
+    }
+
+    /**
+     * Peeks at the elements of the source, fusing with the source's map, filter or doOnNext stages.
+     * @param <T> the value type
+     * @param source the source Flowable
+     * @param onNext the consumer, not null (not verified)
+     * @return the new Flowable
+     */
+    public static <T> Flowable<T> doOnNext(Flowable<T> source, Consumer<? super T> onNext) {
+        Flowable<T> fused = fuse(source, MapFilterStages.PEEK, onNext);
+        if (fused != null) {
+            return fused;
+        }
+        return new FlowableDoOnEach<T>(source, onNext, Functions.emptyConsumer(), Functions.EMPTY_ACTION, Functions.EMPTY_ACTION);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Nullable
+    static <R> Flowable<R> fuse(Flowable<?> source, int kind, Object callback) {
+        Flowable<Object> upstream;
+        MapFilterStages stages;
+        if (source instanceof FlowableMapFilterChain) {
+            FlowableMapFilterChain chain = (FlowableMapFilterChain)source;
+            upstream = chain.source;
+            stages = chain.stages.append(kind, callback);
+        } else if (source instanceof FlowableMap) {
+            FlowableMap map = (FlowableMap)source;
+            upstream = map.source;
+            stages = MapFilterStages.of(MapFilterStages.MAP, map.mapper, kind, callback);
+        } else if (source instanceof FlowableFilter) {
+            FlowableFilter filter = (FlowableFilter)source;
+            upstream = filter.source;
+            stages = MapFilterStages.of(MapFilterStages.FILTER, filter.predicate, kind, callback);
+        } else if (source instanceof FlowableDoOnEach) {
+            FlowableDoOnEach peek = (FlowableDoOnEach)source;
+            if (peek.onError != Functions.emptyConsumer()
+                    || peek.onComplete != Functions.EMPTY_ACTION
+                    || peek.onAfterTerminate != Functions.EMPTY_ACTION) {
+                return null;
+            }
+            upstream = peek.source;
+            stages = MapFilterStages.of(MapFilterStages.PEEK, peek.onNext, kind, callback);
+        } else {
+            return null;
+        }
+        return new FlowableMapFilterChain<Object, R>(upstream, stages);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void subscribeActual(Subscriber<? super R> s) {
+        if (s instanceof ConditionalSubscriber) {
+            source.subscribe(new MapFilterChainConditionalSubscriber<T, R>((ConditionalSubscriber<? super R>)s, stages));
+        } else {
+            source.subscribe(new MapFilterChainSubscriber<T, R>(s, stages));
+        }
+    }
+
+    static final class MapFilterChainSubscriber<T, R> extends BasicFuseableSubscriber<T, R>
+    implements ConditionalSubscriber<T> {
+        final MapFilterStages stages;
+
+        MapFilterChainSubscriber(Subscriber<? super R> actual, MapFilterStages stages) {
+            super(actual);
+            this.stages = stages;
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (!tryOnNext(t)) {
+                s.request(1);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean tryOnNext(T t) {
+            if (done) {
+                return false;
+            }
+
+            if (sourceMode != NONE) {
+                actual.onNext(null);
+                return true;
+            }
+
+            Object v;
+
+            try {
+                v = stages.apply(t);
+            } catch (Throwable ex) {
+                fail(ex);
+                return true;
+            }
+            if (v == null) {
+                return false;
+            }
+            actual.onNext((R)v);
+            return true;
+        }
+
+        @Override
+        public int requestFusion(int mode) {
+            return transitiveBoundaryFusion(mode);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Nullable
+        @Override
+        public R poll() throws Exception {
+            QueueSubscription<T> qs = this.qs;
+            MapFilterStages st = stages;
+
+            for (;;) {
+                T t = qs.poll();
+                if (t == null) {
+                    return null;
+                }
+
+                Object v = st.apply(t);
+                if (v != null) {
+                    return (R)v;
+                }
+
+                if (sourceMode == ASYNC) {
+                    qs.request(1);
+                }
+            }
+        }
+    }
+
+    static final class MapFilterChainConditionalSubscriber<T, R> extends BasicFuseableConditionalSubscriber<T, R> {
+        final MapFilterStages stages;
+
+        MapFilterChainConditionalSubscriber(ConditionalSubscriber<? super R> actual, MapFilterStages stages) {
+            super(actual);
+            this.stages = stages;
+        }
+
+        @Override
+        public void onNext(T t) {
+            if (!tryOnNext(t)) {
+                s.request(1);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public boolean tryOnNext(T t) {
+            if (done) {
+                return false;
+            }
+
+            if (sourceMode != NONE) {
+                actual.onNext(null);
+                return true;
+            }
+
+            Object v;
+
+            try {
+                v = stages.apply(t);
+            } catch (Throwable ex) {
+                fail(ex);
+                return true;
+            }
+            return v != null && actual.tryOnNext((R)v);
+        }
+
+        @Override
+        public int requestFusion(int mode) {
+            return transitiveBoundaryFusion(mode);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Nullable
+        @Override
+        public R poll() throws Exception {
+            QueueSubscription<T> qs = this.qs;
+            MapFilterStages st = stages;
+
+            for (;;) {
+                T t = qs.poll();
+                if (t == null) {
+                    return null;
+                }
+
+                Object v = st.apply(t);
+                if (v != null) {
+                    return (R)v;
+                }
+
+                if (sourceMode == ASYNC) {
+                    qs.request(1);
+                }
+            }
+        }
+    }
+}
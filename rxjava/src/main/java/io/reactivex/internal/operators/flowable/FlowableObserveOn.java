@@ -22,9 +22,9 @@ import io.reactivex.Scheduler.Worker;
 import io.reactivex.annotations.Nullable;
 import io.reactivex.exceptions.*;
 import io.reactivex.internal.fuseable.*;
-import io.reactivex.internal.queue.SpscArrayQueue;
+import io.reactivex.internal.queue.*;
 import io.reactivex.internal.subscriptions.*;
-import io.reactivex.internal.util.BackpressureHelper;
+import io.reactivex.internal.util.*;
 import io.reactivex.plugins.RxJavaPlugins;
 
 public final class FlowableObserveOn<T> extends AbstractFlowableWithUpstream<T, T> {
@@ -34,15 +34,36 @@ final Scheduler scheduler;
 
     final int prefetch;
 
+    final int maxPrefetch;
+
     public FlowableObserveOn(
             Flowable<T> source,
             Scheduler scheduler,
             boolean delayError,
             int prefetch) {
+        this(source, scheduler, delayError, prefetch, prefetch);
+    }
+
+    /**
+     * Constructs an instance whose request amount adapts between the given bounds
+     * if maxPrefetch is greater than prefetch.
+     * @param source the source Flowable
+     * @param scheduler the scheduler to emit on
+     * @param delayError delay the errors until all elements have been emitted
+     * @param prefetch the minimum (and initial) number of elements to request
+     * @param maxPrefetch the maximum number of elements to request
+     */
+    public FlowableObserveOn(
+            Flowable<T> source,
+            Scheduler scheduler,
+            boolean delayError,
+            int prefetch,
+            int maxPrefetch) {
         super(source);
         this.scheduler = scheduler;
         this.delayError = delayError;
         this.prefetch = prefetch;
+        this.maxPrefetch = maxPrefetch;
     }
 
     @Override
@@ -51,9 +72,9 @@ final Scheduler scheduler;
 
         if (s instanceof ConditionalSubscriber) {
             source.subscribe(new ObserveOnConditionalSubscriber<T>(
-                    (ConditionalSubscriber<? super T>) s, worker, delayError, prefetch));
+                    (ConditionalSubscriber<? super T>) s, worker, delayError, prefetch, maxPrefetch));
         } else {
-            source.subscribe(new ObserveOnSubscriber<T>(s, worker, delayError, prefetch));
+            source.subscribe(new ObserveOnSubscriber<T>(s, worker, delayError, prefetch, maxPrefetch));
         }
     }
 
@@ -68,7 +89,11 @@ final Scheduler scheduler;
 
         final int prefetch;
 
-        final int limit;
+        /** The number of consumed elements to replenish at, changes with the adaptive prefetch. */
+        int limit;
+
+        /** Resizes the request amount if not null. */
+        final AdaptivePrefetch adaptive;
 
         final AtomicLong requested;
 
@@ -91,12 +116,58 @@ final Scheduler scheduler;
         BaseObserveOnSubscriber(
                 Worker worker,
                 boolean delayError,
-                int prefetch) {
+                int prefetch,
+                int maxPrefetch) {
             this.worker = worker;
             this.delayError = delayError;
             this.prefetch = prefetch;
             this.requested = new AtomicLong();
-            this.limit = prefetch - (prefetch >> 2);
+            if (maxPrefetch > prefetch) {
+                this.adaptive = new AdaptivePrefetch(prefetch, maxPrefetch);
+                this.limit = adaptive.limit();
+            } else {
+                this.adaptive = null;
+                this.limit = prefetch - (prefetch >> 2);
+            }
+        }
+
+        /**
+         * Creates the queue for a non-fused upstream; the adaptive mode uses a growing
+         * queue so that a small prefetch amount doesn't keep a large array around.
+         * @return the new queue
+         */
+        final SimpleBatchQueue<T> createQueue() {
+            if (adaptive != null) {
+                return new SpscLinkedArrayQueue<T>(prefetch);
+            }
+            return new SpscArrayQueue<T>(prefetch);
+        }
+
+        /**
+         * Requests more after {@link #limit} elements have been consumed, resizing the
+         * amount first in the adaptive mode.
+         * @param consumed the number of consumed elements
+         */
+        final void replenish(long consumed) {
+            AdaptivePrefetch ap = adaptive;
+            if (ap != null) {
+                consumed = ap.replenish(consumed);
+                limit = ap.limit();
+                if (consumed == 0L) {
+                    return;
+                }
+            }
+            s.request(consumed);
+        }
+
+        /**
+         * Indicates the drain loop found the queue empty.
+         */
+        final void starved() {
+            AdaptivePrefetch ap = adaptive;
+            if (ap != null) {
+                ap.starved();
+            }
         }
 
         @Override
@@ -240,18 +311,22 @@ final Scheduler scheduler;
     }
 
     static final class ObserveOnSubscriber<T> extends BaseObserveOnSubscriber<T>
-    implements FlowableSubscriber<T> {
+    implements FlowableSubscriber<T>, SimpleBatchQueue.ElementConsumer<T> {
 
         private static final long serialVersionUID = -4547113800637756442L;
 
         final Subscriber<? super T> actual;
 
+        /** The own queue if not fused, drained in batches up to the next replenishment. */
+        SimpleBatchQueue<T> batchQueue;
+
         ObserveOnSubscriber(
                 Subscriber<? super T> actual,
                 Worker worker,
                 boolean delayError,
-                int prefetch) {
-            super(worker, delayError, prefetch);
+                int prefetch,
+                int maxPrefetch) {
+            super(worker, delayError, prefetch, maxPrefetch);
             this.actual = actual;
         }
 
@@ -286,7 +361,9 @@ final Scheduler scheduler;
                     }
                 }
 
-                queue = new SpscArrayQueue<T>(prefetch);
+                SimpleBatchQueue<T> q = createQueue();
+                batchQueue = q;
+                queue = q;
 
                 actual.onSubscribe(this);
 
@@ -294,6 +371,15 @@ final Scheduler scheduler;
             }
         }
 
+        @Override
+        public boolean accept(T t) {
+            if (cancelled || (!delayError && done && error != null)) {
+                return false;
+            }
+            actual.onNext(t);
+            return true;
+        }
+
         @Override
         void runSync() {
             int missed = 1;
@@ -363,6 +449,7 @@ final Scheduler scheduler;
 
             final Subscriber<? super T> a = actual;
             final SimpleQueue<T> q = queue;
+            final SimpleBatchQueue<T> bq = batchQueue;
 
             long e = produced;
 
@@ -371,6 +458,25 @@ final Scheduler scheduler;
                 long r = requested.get();
 
                 while (e != r) {
+                    if (bq != null) {
+                        int c = bq.drain(this, (int)Math.min(r - e, limit - e));
+                        if (c != 0) {
+                            if (checkTerminated(done, false, a)) {
+                                return;
+                            }
+
+                            e += c;
+                            if (e == limit) {
+                                if (r != Long.MAX_VALUE) {
+                                    r = requested.addAndGet(-e);
+                                }
+                                replenish(e);
+                                e = 0L;
+                            }
+                            continue;
+                        }
+                    }
+
                     boolean d = done;
                     T v;
 
@@ -394,6 +500,7 @@ final Scheduler scheduler;
                     }
 
                     if (empty) {
+                        starved();
                         break;
                     }
 
@@ -404,7 +511,7 @@ final Scheduler scheduler;
                         if (r != Long.MAX_VALUE) {
                             r = requested.addAndGet(-e);
                         }
-                        s.request(e);
+                        replenish(e);
                         e = 0L;
                     }
                 }
@@ -462,13 +569,17 @@ final Scheduler scheduler;
         @Override
         public T poll() throws Exception {
             T v = queue.poll();
-            if (v != null && sourceMode != SYNC) {
-                long p = produced + 1;
-                if (p == limit) {
-                    produced = 0;
-                    s.request(p);
+            if (sourceMode != SYNC) {
+                if (v != null) {
+                    long p = produced + 1;
+                    if (p == limit) {
+                        produced = 0;
+                        replenish(p);
+                    } else {
+                        produced = p;
+                    }
                 } else {
-                    produced = p;
+                    starved();
                 }
             }
             return v;
@@ -489,8 +600,9 @@ final Scheduler scheduler;
                 ConditionalSubscriber<? super T> actual,
                 Worker worker,
                 boolean delayError,
-                int prefetch) {
-            super(worker, delayError, prefetch);
+                int prefetch,
+                int maxPrefetch) {
+            super(worker, delayError, prefetch, maxPrefetch);
             this.actual = actual;
         }
 
@@ -525,7 +637,7 @@ final Scheduler scheduler;
                     }
                 }
 
-                queue = new SpscArrayQueue<T>(prefetch);
+                queue = createQueue();
 
                 actual.onSubscribe(this);
 
@@ -631,6 +743,7 @@ final Scheduler scheduler;
                     }
 
                     if (empty) {
+                        starved();
                         break;
                     }
 
@@ -641,7 +754,7 @@ final Scheduler scheduler;
                     polled++;
 
                     if (polled == limit) {
-                        s.request(polled);
+                        replenish(polled);
                         polled = 0L;
                     }
                 }
@@ -701,13 +814,17 @@ final Scheduler scheduler;
         @Override
         public T poll() throws Exception {
             T v = queue.poll();
-            if (v != null && sourceMode != SYNC) {
-                long p = consumed + 1;
-                if (p == limit) {
-                    consumed = 0;
-                    s.request(p);
+            if (sourceMode != SYNC) {
+                if (v != null) {
+                    long p = consumed + 1;
+                    if (p == limit) {
+                        consumed = 0;
+                        replenish(p);
+                    } else {
+                        consumed = p;
+                    }
                 } else {
-                    consumed = p;
+                    starved();
                 }
             }
             return v;
@@ -13,6 +13,7 @@
 
 package io.reactivex.internal.operators.flowable;
 
+import java.io.File;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
@@ -128,6 +129,22 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
         return create(source, new ScheduledReplayBufferTask<T>(bufferSize, maxAge, unit, scheduler));
     }
 
+    /**
+     * Creates a replaying ConnectableFlowable with an unbounded buffer which pages its
+     * older segments out to a file.
+     * @param <T> the value type
+     * @param source the source Flowable to use
+     * @param segmentSize the number of items in each buffer segment
+     * @param maxSegments the number of segments to keep in memory
+     * @param serializer the serializer for the items of the paged out segments
+     * @param directory the directory to create the file in
+     * @return the new ConnectableFlowable instance
+     */
+    public static <T> ConnectableFlowable<T> createWithSpill(Flowable<T> source,
+            int segmentSize, int maxSegments, SpillSerializer<T> serializer, File directory) {
+        return create(source, new SpillReplayBufferTask<T>(segmentSize, maxSegments, serializer, directory));
+    }
+
     /**
      * Creates a OperatorReplay instance to replay values of the given source observable.
      * @param source the source observable
@@ -163,7 +180,10 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
 
     @Override
     public void dispose() {
-        current.lazySet(null);
+        ReplaySubscriber<T> ps = current.getAndSet(null);
+        if (ps != null) {
+            ps.buffer.release();
+        }
     }
 
     @Override
@@ -200,6 +220,10 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
                     // and created a new subscriber-to-source as well, retry
                     continue;
                 }
+                if (ps != null) {
+                    // the replaced connection's buffer is no longer reachable for new subscribers
+                    ps.buffer.release();
+                }
                 ps = u;
             }
             // if connect() was called concurrently, only one of them should actually
@@ -502,6 +526,16 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
          * Guarded by the emitter loop.
          */
         Object index;
+        /**
+         * The absolute index of the next event when replaying an {@link UnboundedReplayBuffer}.
+         * Guarded by the emitter loop.
+         */
+        int position;
+        /**
+         * The index of the next event within the segment held by {@link #index}
+         * when replaying an {@link UnboundedReplayBuffer}. Guarded by the emitter loop.
+         */
+        int offset;
         /**
          * Keeps the sum of all requested amounts.
          */
@@ -515,11 +549,14 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
          * will prevent the dispatch() to emit (too many) values to a terminated child subscriber.
          */
         static final long CANCELLED = Long.MIN_VALUE;
+        /** Indicates this child keeps the buffer's resources held outside of the heap available. */
+        final boolean reader;
 
         InnerSubscription(ReplaySubscriber<T> parent, Subscriber<? super T> child) {
             this.parent = parent;
             this.child = child;
             this.totalRequested = new AtomicLong();
+            this.reader = parent.buffer.addReader();
         }
 
         @Override
@@ -569,6 +606,9 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
                 // the others had non-zero. By removing this 'blocking' child, the others
                 // are now free to receive events
                 parent.manageRequests();
+                if (reader) {
+                    parent.buffer.removeReader();
+                }
             }
         }
         /**
@@ -608,38 +648,71 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
          * @param output the receiver of the events
          */
         void replay(InnerSubscription<T> output);
+        /**
+         * Registers a subscriber replaying this buffer so the resources held outside
+         * of the heap stay available until it calls {@link #removeReader()}.
+         * @return true if the reader has been registered
+         */
+        boolean addReader();
+        /**
+         * Unregisters a subscriber registered via {@link #addReader()} once it
+         * has terminated or has been cancelled.
+         */
+        void removeReader();
+        /**
+         * Releases the resources held outside of the heap once new subscribers
+         * can no longer reach this buffer and the registered readers are done.
+         */
+        void release();
     }
 
     /**
-     * Holds an unbounded list of events.
+     * Holds an unbounded list of events in linked array segments so growing
+     * never copies the events already stored.
      *
      * @param <T> the value type
      */
-    static final class UnboundedReplayBuffer<T> extends ArrayList<Object> implements ReplayBuffer<T> {
-
-        private static final long serialVersionUID = 7063189396499112664L;
-        /** The total number of events in the buffer. */
-        volatile int size;
+    static final class UnboundedReplayBuffer<T> extends LinkedArrayList implements ReplayBuffer<T> {
 
         UnboundedReplayBuffer(int capacityHint) {
             super(capacityHint);
         }
+
+        UnboundedReplayBuffer(int capacityHint, SegmentSpiller spiller) {
+            super(capacityHint, spiller);
+        }
         @Override
         public void next(T value) {
             add(NotificationLite.next(value));
-            size++;
         }
 
         @Override
         public void error(Throwable e) {
             add(NotificationLite.error(e));
-            size++;
         }
 
         @Override
         public void complete() {
             add(NotificationLite.complete());
-            size++;
+        }
+
+        @Override
+        public boolean addReader() {
+            SegmentSpiller sp = spiller();
+            return sp != null && sp.acquire();
+        }
+
+        @Override
+        public void removeReader() {
+            spiller().release();
+        }
+
+        @Override
+        public void release() {
+            SegmentSpiller sp = spiller();
+            if (sp != null) {
+                sp.release();
+            }
         }
 
         @Override
@@ -657,40 +730,70 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
                 if (output.isDisposed()) {
                     return;
                 }
-                int sourceIndex = size;
-
-                Integer destinationIndexObject = output.index();
-                int destinationIndex = destinationIndexObject != null ? destinationIndexObject : 0;
-
-                long r = output.get();
-                long r0 = r; // NOPMD
-                long e = 0L;
-
-                while (r != 0L && destinationIndex < sourceIndex) {
-                    Object o = get(destinationIndex);
-                    try {
-                        if (NotificationLite.accept(o, child)) {
+                int sourceIndex = size();
+                if (sourceIndex != 0) {
+                    // latch onto the very first segment now that it is available
+                    Object[] b = output.index();
+                    if (b == null) {
+                        try {
+                            b = head();
+                        } catch (Throwable ex) {
+                            Exceptions.throwIfFatal(ex);
+                            output.dispose();
+                            child.onError(ex);
                             return;
                         }
-                    } catch (Throwable err) {
-                        Exceptions.throwIfFatal(err);
-                        output.dispose();
-                        if (!NotificationLite.isError(o) && !NotificationLite.isComplete(o)) {
-                            child.onError(err);
-                        }
-                        return;
                     }
-                    if (output.isDisposed()) {
-                        return;
+                    final int n = b.length - 1;
+                    int destinationIndex = output.position;
+                    int k = output.offset;
+
+                    long r = output.get();
+                    long r0 = r; // NOPMD
+                    long e = 0L;
+
+                    while (r != 0L && destinationIndex < sourceIndex) {
+                        if (k == n) {
+                            try {
+                                b = next(b, destinationIndex / n);
+                            } catch (Throwable ex) {
+                                Exceptions.throwIfFatal(ex);
+                                output.dispose();
+                                child.onError(ex);
+                                return;
+                            }
+                            k = 0;
+                        }
+                        Object o = b[k];
+                        try {
+                            if (NotificationLite.accept(o, child)) {
+                                // done replaying, let go of a spilled buffer
+                                output.dispose();
+                                return;
+                            }
+                        } catch (Throwable err) {
+                            Exceptions.throwIfFatal(err);
+                            output.dispose();
+                            if (!NotificationLite.isError(o) && !NotificationLite.isComplete(o)) {
+                                child.onError(err);
+                            }
+                            return;
+                        }
+                        if (output.isDisposed()) {
+                            return;
+                        }
+                        destinationIndex++;
+                        k++;
+                        r--;
+                        e++;
                     }
-                    destinationIndex++;
-                    r--;
-                    e++;
-                }
-                if (e != 0L) {
-                    output.index = destinationIndex;
-                    if (r0 != Long.MAX_VALUE) {
-                        output.produced(e);
+                    if (e != 0L) {
+                        output.index = b;
+                        output.position = destinationIndex;
+                        output.offset = k;
+                        if (r0 != Long.MAX_VALUE) {
+                            output.produced(e);
+                        }
                     }
                 }
 
@@ -815,6 +918,22 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
             }
         }
 
+        @Override
+        public final boolean addReader() {
+            // the nodes live on the heap only
+            return false;
+        }
+
+        @Override
+        public final void removeReader() {
+            // no readers are registered
+        }
+
+        @Override
+        public final void release() {
+            // the nodes live on the heap only
+        }
+
         @Override
         public final void replay(InnerSubscription<T> output) {
             synchronized (output) {
@@ -1191,6 +1310,25 @@ public final class FlowableReplay<T> extends ConnectableFlowable<T> implements H
         }
     }
 
+    static final class SpillReplayBufferTask<T> implements Callable<ReplayBuffer<T>> {
+        private final int segmentSize;
+        private final int maxSegments;
+        private final SpillSerializer<T> serializer;
+        private final File directory;
+
+        SpillReplayBufferTask(int segmentSize, int maxSegments, SpillSerializer<T> serializer, File directory) {
+            this.segmentSize = segmentSize;
+            this.maxSegments = maxSegments;
+            this.serializer = serializer;
+            this.directory = directory;
+        }
+
+        @Override
+        public ReplayBuffer<T> call() {
+            return new UnboundedReplayBuffer<T>(segmentSize, new SegmentSpiller(serializer, directory, maxSegments));
+        }
+    }
+
     static final class ReplayPublisher<T> implements Publisher<T> {
         private final AtomicReference<ReplaySubscriber<T>> curr;
         private final Callable<? extends ReplayBuffer<T>> bufferFactory;
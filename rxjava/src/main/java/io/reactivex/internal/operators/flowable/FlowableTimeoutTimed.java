@@ -23,6 +23,19 @@ import io.reactivex.internal.disposables.SequentialDisposable;
 import io.reactivex.internal.subscriptions.*;
 import io.reactivex.plugins.RxJavaPlugins;
 
+/**
+ * Signals a TimeoutException or switches to a fallback if no item arrives within
+ * the given time after the previous one.
+ * <p>
+ * Each subscriber keeps a single pending timer and items only record the
+ * time of the last activity; when the timer fires early, it re-arms itself
+ * for the remaining time. The item index is incremented to an odd value while
+ * an item is being emitted so that the timer doesn't time out concurrently.
+ * <p>
+ * The activity is measured with the worker's {@code now()}; should that clock
+ * go backwards, the timer waits at most a full timeout before checking again.
+ * @param <T> the value type
+ */
 public final class FlowableTimeoutTimed<T> extends AbstractFlowableWithUpstream<T, T> {
     final long timeout;
     final TimeUnit unit;
@@ -43,18 +56,18 @@ public final class FlowableTimeoutTimed<T> extends AbstractFlowableWithUpstream<
         if (other == null) {
             TimeoutSubscriber<T> parent = new TimeoutSubscriber<T>(s, timeout, unit, scheduler.createWorker());
             s.onSubscribe(parent);
-            parent.startTimeout(0L);
+            parent.startTimeout();
             source.subscribe(parent);
         } else {
             TimeoutFallbackSubscriber<T> parent = new TimeoutFallbackSubscriber<T>(s, timeout, unit, scheduler.createWorker(), other);
             s.onSubscribe(parent);
-            parent.startTimeout(0L);
+            parent.startTimeout();
             source.subscribe(parent);
         }
     }
 
     static final class TimeoutSubscriber<T> extends AtomicLong
-    implements FlowableSubscriber<T>, Subscription, TimeoutSupport {
+    implements FlowableSubscriber<T>, Subscription, Runnable {
 
         private static final long serialVersionUID = 3764492702657003550L;
 
@@ -62,8 +75,6 @@ public final class FlowableTimeoutTimed<T> extends AbstractFlowableWithUpstream<
 
         final long timeout;
 
-        final TimeUnit unit;
-
         final Scheduler.Worker worker;
 
         final SequentialDisposable task;
@@ -72,10 +83,12 @@ public final class FlowableTimeoutTimed<T> extends AbstractFlowableWithUpstream<
 
         final AtomicLong requested;
 
+        /** The worker time in nanoseconds when the last item has been emitted, published by the even index. */
+        long lastActivity;
+
         TimeoutSubscriber(Subscriber<? super T> actual, long timeout, TimeUnit unit, Scheduler.Worker worker) {
             this.actual = actual;
-            this.timeout = timeout;
-            this.unit = unit;
+            this.timeout = unit.toNanos(timeout);
             this.worker = worker;
             this.task = new SequentialDisposable();
             this.upstream = new AtomicReference<Subscription>();
@@ -94,15 +107,49 @@ public final class FlowableTimeoutTimed<T> extends AbstractFlowableWithUpstream<
                 return;
             }
 
-            task.get().dispose();
-
             actual.onNext(t);
 
-            startTimeout(idx + 1);
+            lastActivity = worker.now(TimeUnit.NANOSECONDS);
+            lazySet(idx + 2);
+        }
+
+        void startTimeout() {
+            lastActivity = worker.now(TimeUnit.NANOSECONDS);
+            task.replace(worker.schedule(this, timeout, TimeUnit.NANOSECONDS));
         }
 
-        void startTimeout(long nextIndex) {
-            task.replace(worker.schedule(new TimeoutTask(nextIndex, this), timeout, unit));
+        @Override
+        public void run() {
+            long delay;
+            for (;;) {
+                long idx = get();
+                if (idx == Long.MAX_VALUE) {
+                    return;
+                }
+                if ((idx & 1L) != 0L) {
+                    // an item is being emitted, the timeout restarts after it
+                    delay = timeout;
+                    break;
+                }
+                delay = lastActivity + timeout - worker.now(TimeUnit.NANOSECONDS);
+                if (delay > 0L) {
+                    // the time went backwards, don't wait longer than a full timeout
+                    if (delay > timeout) {
+                        delay = timeout;
+                    }
+                    break;
+                }
+                if (compareAndSet(idx, Long.MAX_VALUE)) {
+                    SubscriptionHelper.cancel(upstream);
+
+                    actual.onError(new TimeoutException());
+
+                    worker.dispose();
+                    return;
+                }
+            }
+
+            task.replace(worker.schedule(this, delay, TimeUnit.NANOSECONDS));
         }
 
         @Override
@@ -129,17 +176,6 @@ public final class FlowableTimeoutTimed<T> extends AbstractFlowableWithUpstream<
             }
         }
 
-        @Override
-        public void onTimeout(long idx) {
-            if (compareAndSet(idx, Long.MAX_VALUE)) {
-                SubscriptionHelper.cancel(upstream);
-
-                actual.onError(new TimeoutException());
-
-                worker.dispose();
-            }
-        }
-
         @Override
         public void request(long n) {
             SubscriptionHelper.deferredRequest(upstream, requested, n);
@@ -171,7 +207,7 @@ public final class FlowableTimeoutTimed<T> extends AbstractFlowableWithUpstream<
     }
 
     static final class TimeoutFallbackSubscriber<T> extends SubscriptionArbiter
-    implements FlowableSubscriber<T>, TimeoutSupport {
+    implements FlowableSubscriber<T>, Runnable {
 
         private static final long serialVersionUID = 3764492702657003550L;
 
@@ -179,8 +215,6 @@ public final class FlowableTimeoutTimed<T> extends AbstractFlowableWithUpstream<
 
         final long timeout;
 
-        final TimeUnit unit;
-
         final Scheduler.Worker worker;
 
         final SequentialDisposable task;
@@ -191,13 +225,15 @@ public final class FlowableTimeoutTimed<T> extends AbstractFlowableWithUpstream<
 
         long consumed;
 
+        /** The worker time in nanoseconds when the last item has been emitted, published by the even index. */
+        long lastActivity;
+
         Publisher<? extends T> fallback;
 
         TimeoutFallbackSubscriber(Subscriber<? super T> actual, long timeout, TimeUnit unit,
                 Scheduler.Worker worker, Publisher<? extends T> fallback) {
             this.actual = actual;
-            this.timeout = timeout;
-            this.unit = unit;
+            this.timeout = unit.toNanos(timeout);
             this.worker = worker;
             this.fallback = fallback;
             this.task = new SequentialDisposable();
@@ -219,17 +255,59 @@ public final class FlowableTimeoutTimed<T> extends AbstractFlowableWithUpstream<
                 return;
             }
 
-            task.get().dispose();
-
             consumed++;
 
             actual.onNext(t);
 
-            startTimeout(idx + 1);
+            lastActivity = worker.now(TimeUnit.NANOSECONDS);
+            index.lazySet(idx + 2);
         }
 
-        void startTimeout(long nextIndex) {
-            task.replace(worker.schedule(new TimeoutTask(nextIndex, this), timeout, unit));
+        void startTimeout() {
+            lastActivity = worker.now(TimeUnit.NANOSECONDS);
+            task.replace(worker.schedule(this, timeout, TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public void run() {
+            long delay;
+            for (;;) {
+                long idx = index.get();
+                if (idx == Long.MAX_VALUE) {
+                    return;
+                }
+                if ((idx & 1L) != 0L) {
+                    // an item is being emitted, the timeout restarts after it
+                    delay = timeout;
+                    break;
+                }
+                delay = lastActivity + timeout - worker.now(TimeUnit.NANOSECONDS);
+                if (delay > 0L) {
+                    // the time went backwards, don't wait longer than a full timeout
+                    if (delay > timeout) {
+                        delay = timeout;
+                    }
+                    break;
+                }
+                if (index.compareAndSet(idx, Long.MAX_VALUE)) {
+                    SubscriptionHelper.cancel(upstream);
+
+                    long c = consumed;
+                    if (c != 0L) {
+                        produced(c);
+                    }
+
+                    Publisher<? extends T> f = fallback;
+                    fallback = null;
+
+                    f.subscribe(new FallbackSubscriber<T>(actual, this));
+
+                    worker.dispose();
+                    return;
+                }
+            }
+
+            task.replace(worker.schedule(this, delay, TimeUnit.NANOSECONDS));
         }
 
         @Override
@@ -256,25 +334,6 @@ public final class FlowableTimeoutTimed<T> extends AbstractFlowableWithUpstream<
             }
         }
 
-        @Override
-        public void onTimeout(long idx) {
-            if (index.compareAndSet(idx, Long.MAX_VALUE)) {
-                SubscriptionHelper.cancel(upstream);
-
-                long c = consumed;
-                if (c != 0L) {
-                    produced(c);
-                }
-
-                Publisher<? extends T> f = fallback;
-                fallback = null;
-
-                f.subscribe(new FallbackSubscriber<T>(actual, this));
-
-                worker.dispose();
-            }
-        }
-
         @Override
         public void cancel() {
             super.cancel();
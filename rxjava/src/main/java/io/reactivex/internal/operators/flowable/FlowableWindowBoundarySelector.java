@@ -25,7 +25,7 @@ import io.reactivex.functions.Function;
 import io.reactivex.internal.disposables.DisposableHelper;
 import io.reactivex.internal.functions.ObjectHelper;
 import io.reactivex.internal.fuseable.SimplePlainQueue;
-import io.reactivex.internal.queue.MpscLinkedQueue;
+import io.reactivex.internal.queue.MpscLinkedArrayQueue;
 import io.reactivex.internal.subscribers.QueueDrainSubscriber;
 import io.reactivex.internal.subscriptions.SubscriptionHelper;
 import io.reactivex.internal.util.NotificationLite;
@@ -73,7 +73,7 @@ public final class FlowableWindowBoundarySelector<T, B, V> extends AbstractFlowa
 
         WindowBoundaryMainSubscriber(Subscriber<? super Flowable<T>> actual,
                 Publisher<B> open, Function<? super B, ? extends Publisher<V>> close, int bufferSize) {
-            super(actual, new MpscLinkedQueue<Object>());
+            super(actual, new MpscLinkedArrayQueue<Object>());
             this.open = open;
             this.close = close;
             this.bufferSize = bufferSize;
@@ -22,7 +22,7 @@ import io.reactivex.*;
 import io.reactivex.disposables.Disposable;
 import io.reactivex.exceptions.*;
 import io.reactivex.internal.functions.ObjectHelper;
-import io.reactivex.internal.queue.MpscLinkedQueue;
+import io.reactivex.internal.queue.MpscLinkedArrayQueue;
 import io.reactivex.internal.subscriptions.SubscriptionHelper;
 import io.reactivex.internal.util.*;
 import io.reactivex.plugins.RxJavaPlugins;
@@ -63,7 +63,7 @@ public final class FlowableWindowBoundarySupplier<T, B> extends AbstractFlowable
 
         final AtomicInteger windows;
 
-        final MpscLinkedQueue<Object> queue;
+        final MpscLinkedArrayQueue<Object> queue;
 
         final AtomicThrowable errors;
 
@@ -88,7 +88,7 @@ public final class FlowableWindowBoundarySupplier<T, B> extends AbstractFlowable
             this.capacityHint = capacityHint;
             this.boundarySubscriber = new AtomicReference<WindowBoundaryInnerSubscriber<T, B>>();
             this.windows = new AtomicInteger(1);
-            this.queue = new MpscLinkedQueue<Object>();
+            this.queue = new MpscLinkedArrayQueue<Object>();
             this.errors = new AtomicThrowable();
             this.stopWindows = new AtomicBoolean();
             this.other = other;
@@ -190,7 +190,7 @@ public final class FlowableWindowBoundarySupplier<T, B> extends AbstractFlowable
 
             int missed = 1;
             Subscriber<? super Flowable<T>> downstream = this.downstream;
-            MpscLinkedQueue<Object> queue = this.queue;
+            MpscLinkedArrayQueue<Object> queue = this.queue;
             AtomicThrowable errors = this.errors;
             long emitted = this.emitted;
 
@@ -0,0 +1,472 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.operators.flowable;
+
+import java.util.concurrent.atomic.*;
+
+import org.reactivestreams.*;
+
+import io.reactivex.*;
+import io.reactivex.annotations.Nullable;
+import io.reactivex.internal.subscriptions.*;
+import io.reactivex.internal.util.BackpressureHelper;
+
+/**
+ * Splits the upstream into non-overlapping windows of the given size where the windows
+ * don't have their own queues but read from a buffer shared by all windows.
+ * <p>
+ * The shared buffer is a linked list of fixed size array segments written by the upstream's
+ * thread only; each window reads its items from the position the buffer was at when the
+ * window was opened. Items are placed into the buffer only if the window's subscriber
+ * is not ready to receive them right away. Segments no longer referenced by any window
+ * are reclaimed by the garbage collector.
+ *
+ * @param <T> the value type
+ */
+public final class FlowableWindowShared<T> extends AbstractFlowableWithUpstream<T, Flowable<T>> {
+    final long size;
+
+    final int bufferSize;
+
+    public FlowableWindowShared(Flowable<T> source, long size, int bufferSize) {
+        super(source);
+        this.size = size;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    protected void subscribeActual(Subscriber<? super Flowable<T>> s) {
+        source.subscribe(new WindowSharedSubscriber<T>(s, size, bufferSize));
+    }
+
+    static final class WindowSharedSubscriber<T>
+    extends AtomicInteger
+    implements FlowableSubscriber<T>, Subscription, Runnable {
+
+        private static final long serialVersionUID = 2983425473413062346L;
+
+        final Subscriber<? super Flowable<T>> actual;
+
+        final long size;
+
+        final AtomicBoolean once;
+
+        final int segmentSize;
+
+        long index;
+
+        Subscription s;
+
+        WindowState<T> window;
+
+        /** The segment being written; its last element links to the next segment. */
+        Object[] producerSegment;
+
+        int producerOffset;
+
+        WindowSharedSubscriber(Subscriber<? super Flowable<T>> actual, long size, int segmentSize) {
+            super(1);
+            this.actual = actual;
+            this.size = size;
+            this.once = new AtomicBoolean();
+            this.segmentSize = segmentSize;
+            this.producerSegment = new Object[segmentSize + 1];
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (SubscriptionHelper.validate(this.s, s)) {
+                this.s = s;
+                actual.onSubscribe(this);
+            }
+        }
+
+        @Override
+        public void onNext(T t) {
+            long i = index;
+
+            WindowState<T> w = window;
+            if (i == 0) {
+                getAndIncrement();
+
+                w = new WindowState<T>(this, producerSegment, producerOffset);
+                window = w;
+
+                actual.onNext(new SharedWindow<T>(w));
+            }
+
+            i++;
+
+            w.onNext(t);
+
+            if (i == size) {
+                index = 0;
+                window = null;
+                w.onComplete();
+            } else {
+                index = i;
+            }
+        }
+
+        void append(Object t) {
+            Object[] seg = producerSegment;
+            int o = producerOffset;
+            int n = segmentSize;
+            if (o == n) {
+                Object[] next = new Object[n + 1];
+                seg[n] = next;
+                producerSegment = next;
+                seg = next;
+                o = 0;
+            }
+            seg[o] = t;
+            producerOffset = o + 1;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            WindowState<T> w = window;
+            if (w != null) {
+                window = null;
+                w.onError(t);
+            }
+
+            actual.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            WindowState<T> w = window;
+            if (w != null) {
+                window = null;
+                w.onComplete();
+            }
+
+            actual.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                long u = BackpressureHelper.multiplyCap(size, n);
+                s.request(u);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (once.compareAndSet(false, true)) {
+                run();
+            }
+        }
+
+        @Override
+        public void run() {
+            if (decrementAndGet() == 0) {
+                s.cancel();
+            }
+        }
+    }
+
+    static final class SharedWindow<T> extends Flowable<T> {
+
+        final WindowState<T> state;
+
+        SharedWindow(WindowState<T> state) {
+            this.state = state;
+        }
+
+        @Override
+        protected void subscribeActual(Subscriber<? super T> s) {
+            state.subscribe(s);
+        }
+    }
+
+    static final class WindowState<T> extends BasicIntQueueSubscription<T> implements Publisher<T> {
+
+        private static final long serialVersionUID = -2548237416409286735L;
+
+        final WindowSharedSubscriber<T> parent;
+
+        final int segmentSize;
+
+        final AtomicLong requested = new AtomicLong();
+
+        final AtomicReference<Subscriber<? super T>> actual = new AtomicReference<Subscriber<? super T>>();
+
+        final AtomicBoolean once = new AtomicBoolean();
+
+        /** Makes sure the parent is notified only once about the termination or cancellation. */
+        final AtomicBoolean released = new AtomicBoolean();
+
+        volatile boolean cancelled;
+
+        volatile boolean done;
+        Throwable error;
+
+        /** The number of items put into the shared buffer, written by the upstream's thread only. */
+        volatile long produced;
+
+        /** The number of items taken from the shared buffer. */
+        long consumed;
+
+        /** The read position in the shared buffer, null after clear(). */
+        Object[] segment;
+
+        int offset;
+
+        boolean outputFused;
+
+        WindowState(WindowSharedSubscriber<T> parent, Object[] segment, int offset) {
+            this.parent = parent;
+            this.segmentSize = parent.segmentSize;
+            this.segment = segment;
+            this.offset = offset;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super T> s) {
+            if (once.compareAndSet(false, true)) {
+                s.onSubscribe(this);
+                actual.lazySet(s);
+                drain();
+            } else {
+                EmptySubscription.error(new IllegalStateException("This window allows only a single Subscriber"), s);
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.add(requested, n);
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                release();
+                if (getAndIncrement() == 0) {
+                    clear();
+                }
+            }
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                parent.run();
+            }
+        }
+
+        void onNext(T t) {
+            if (cancelled) {
+                return;
+            }
+            if (get() == 0 && compareAndSet(0, 1)) {
+                Subscriber<? super T> a = actual.get();
+                if (a != null && !outputFused && produced == consumed && requested.get() != 0L) {
+                    // the subscriber keeps pace, skip the buffer
+                    a.onNext(t);
+                    BackpressureHelper.produced(requested, 1);
+                } else {
+                    parent.append(t);
+                    produced++;
+                }
+                if (outputFused) {
+                    drainFused();
+                } else {
+                    drainNormal();
+                }
+                return;
+            }
+            parent.append(t);
+            produced++;
+            drain();
+        }
+
+        void onError(Throwable e) {
+            error = e;
+            done = true;
+            drain();
+            release();
+        }
+
+        void onComplete() {
+            done = true;
+            drain();
+            release();
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            if (outputFused) {
+                drainFused();
+            } else {
+                drainNormal();
+            }
+        }
+
+        void drainFused() {
+            int missed = 1;
+
+            Subscriber<? super T> a = this.actual.get();
+
+            for (;;) {
+                if (a != null) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+
+                    boolean d = done;
+
+                    a.onNext(null);
+
+                    if (d) {
+                        Throwable ex = error;
+                        if (ex != null) {
+                            a.onError(ex);
+                        } else {
+                            a.onComplete();
+                        }
+                        return;
+                    }
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+
+                if (a == null) {
+                    a = this.actual.get();
+                }
+            }
+        }
+
+        void drainNormal() {
+            int missed = 1;
+
+            Subscriber<? super T> a = actual.get();
+            for (;;) {
+                if (a != null) {
+                    long r = requested.get();
+                    long e = 0;
+
+                    while (e != r) {
+                        if (cancelled) {
+                            clear();
+                            return;
+                        }
+
+                        boolean d = done;
+                        T v = poll();
+                        boolean empty = v == null;
+
+                        if (d && empty) {
+                            terminate(a);
+                            return;
+                        }
+
+                        if (empty) {
+                            break;
+                        }
+
+                        a.onNext(v);
+
+                        e++;
+                    }
+
+                    if (e == r) {
+                        if (cancelled) {
+                            clear();
+                            return;
+                        }
+
+                        if (done && isEmpty()) {
+                            terminate(a);
+                            return;
+                        }
+                    }
+
+                    if (e != 0L && r != Long.MAX_VALUE) {
+                        requested.addAndGet(-e);
+                    }
+                }
+
+                missed = addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+                if (a == null) {
+                    a = actual.get();
+                }
+            }
+        }
+
+        void terminate(Subscriber<? super T> a) {
+            segment = null;
+            Throwable ex = error;
+            if (ex != null) {
+                a.onError(ex);
+            } else {
+                a.onComplete();
+            }
+        }
+
+        @Override
+        public int requestFusion(int mode) {
+            if ((mode & ASYNC) != 0) {
+                outputFused = true;
+                return ASYNC;
+            }
+            return NONE;
+        }
+
+        @Nullable
+        @Override
+        @SuppressWarnings("unchecked")
+        public T poll() {
+            Object[] seg = segment;
+            if (seg == null || consumed == produced) {
+                return null;
+            }
+            int o = offset;
+            if (o == segmentSize) {
+                seg = (Object[])seg[o];
+                segment = seg;
+                o = 0;
+            }
+            T v = (T)seg[o];
+            seg[o] = null;
+            offset = o + 1;
+            consumed++;
+            return v;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return segment == null || consumed == produced;
+        }
+
+        @Override
+        public void clear() {
+            segment = null;
+        }
+    }
+}
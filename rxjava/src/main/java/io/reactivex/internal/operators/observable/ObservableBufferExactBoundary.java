@@ -22,7 +22,7 @@ import io.reactivex.disposables.Disposable;
 import io.reactivex.exceptions.Exceptions;
 import io.reactivex.internal.disposables.*;
 import io.reactivex.internal.observers.QueueDrainObserver;
-import io.reactivex.internal.queue.MpscLinkedQueue;
+import io.reactivex.internal.queue.MpscLinkedArrayQueue;
 import io.reactivex.internal.util.QueueDrainHelper;
 import io.reactivex.observers.*;
 
@@ -56,7 +56,7 @@ extends AbstractObservableWithUpstream<T, U> {
 
         BufferExactBoundaryObserver(Observer<? super U> actual, Callable<U> bufferSupplier,
                                              ObservableSource<B> boundary) {
-            super(actual, new MpscLinkedQueue<U>());
+            super(actual, new MpscLinkedArrayQueue<U>());
             this.bufferSupplier = bufferSupplier;
             this.boundary = boundary;
         }
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.operators.observable;
+
+import io.reactivex.*;
+import io.reactivex.annotations.Nullable;
+import io.reactivex.functions.*;
+import io.reactivex.internal.functions.*;
+import io.reactivex.internal.observers.BasicFuseableObserver;
+
+/**
+ * Applies a run of adjacent map, filter and doOnNext stages with a single observer.
+ * <p>
+ * The assembly methods collapse a new stage into the stage it is applied to if that is
+ * a plain {@link ObservableMap}, {@link ObservableFilter}, doOnNext-only {@link ObservableDoOnEach}
+ * or another chain; otherwise they return the regular operator.
+ *
+ * @param <T> the upstream value type
+ * @param <R> the output value type
+ */
+public final class ObservableMapFilterChain<T, R> extends AbstractObservableWithUpstream<T, R> {
+
+    final MapFilterStages stages;
+
+    ObservableMapFilterChain(ObservableSource<T> source, MapFilterStages stages) {
+        super(source);
+        this.stages = stages;
+    }
+
+    /**
+     * Maps the elements of the source, fusing with the source's map, filter or doOnNext stages.
+     * @param <T> the input value type
+     * @param <R> the output value type
+     * @param source the source Observable
+     * @param mapper the mapper function, not null (not verified)
+     * @return the new Observable
+     */
+    public static <T, R> Observable<R> map(Observable<T> source, Function<? super T, ? extends R> mapper) {
+        Observable<R> fused = fuse(source, MapFilterStages.MAP, mapper);
+        if (fused != null) {
+            return fused;
+        }
+        return new ObservableMap<T, R>(source, mapper);
+    }
+
+    /**
+     * Filters the elements of the source, fusing with the source's map, filter or doOnNext stages.
+     * @param <T> the value type
+     * @param source the source Observable
+     * @param predicate the predicate, not null (not verified)
+     * @return the new Observable
+     */
+    public static <T> Observable<T> filter(Observable<T> source, Predicate<? super T> predicate) {
+        Observable<T> fused = fuse(source, MapFilterStages.FILTER, predicate);
+        if (fused != null) {
+            return fused;
+        }
+        return new ObservableFilter<T>(source, predicate);
+    }
+
+    /**
+     * Peeks at the elements of the source, fusing with the source's map, filter or doOnNext stages.
+     * @param <T> the value type
+     * @param source the source Observable
+     * @param onNext the consumer, not null (not verified)
+     * @return the new Observable
+     */
+    public static <T> Observable<T> doOnNext(Observable<T> source, Consumer<? super T> onNext) {
+        Observable<T> fused = fuse(source, MapFilterStages.PEEK, onNext);
+        if (fused != null) {
+            return fused;
+        }
+        return new ObservableDoOnEach<T>(source, onNext, Functions.emptyConsumer(), Functions.EMPTY_ACTION, Functions.EMPTY_ACTION);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Nullable
+    static <R> Observable<R> fuse(Observable<?> source, int kind, Object callback) {
+        ObservableSource<Object> upstream;
+        MapFilterStages stages;
+        if (source instanceof ObservableMapFilterChain) {
+            ObservableMapFilterChain chain = (ObservableMapFilterChain)source;
+            upstream = chain.source;
+            stages = chain.stages.append(kind, callback);
+        } else if (source instanceof ObservableMap) {
+            ObservableMap map = (ObservableMap)source;
+            upstream = map.source;
+            stages = MapFilterStages.of(MapFilterStages.MAP, map.function, kind, callback);
+        } else if (source instanceof ObservableFilter) {
+            ObservableFilter filter = (ObservableFilter)source;
+            upstream = filter.source;
+            stages = MapFilterStages.of(MapFilterStages.FILTER, filter.predicate, kind, callback);
+        } else if (source instanceof ObservableDoOnEach) {
+            ObservableDoOnEach peek = (ObservableDoOnEach)source;
+            if (peek.onError != Functions.emptyConsumer()
+                    || peek.onComplete != Functions.EMPTY_ACTION
+                    || peek.onAfterTerminate != Functions.EMPTY_ACTION) {
+                return null;
+            }
+            upstream = peek.source;
+            stages = MapFilterStages.of(MapFilterStages.PEEK, peek.onNext, kind, callback);
+        } else {
+            return null;
+        }
+        return new ObservableMapFilterChain<Object, R>(upstream, stages);
+    }
+
+    @Override
+    public void subscribeActual(Observer<? super R> t) {
+        source.subscribe(new MapFilterChainObserver<T, R>(t, stages));
+    }
+
+    static final class MapFilterChainObserver<T, R> extends BasicFuseableObserver<T, R> {
+        final MapFilterStages stages;
+
+        MapFilterChainObserver(Observer<? super R> actual, MapFilterStages stages) {
+            super(actual);
+            this.stages = stages;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public void onNext(T t) {
+            if (done) {
+                return;
+            }
+
+            if (sourceMode != NONE) {
+                actual.onNext(null);
+                return;
+            }
+
+            Object v;
+
+            try {
+                v = stages.apply(t);
+            } catch (Throwable ex) {
+                fail(ex);
+                return;
+            }
+            if (v != null) {
+                actual.onNext((R)v);
+            }
+        }
+
+        @Override
+        public int requestFusion(int mode) {
+            return transitiveBoundaryFusion(mode);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Nullable
+        @Override
+        public R poll() throws Exception {
+            MapFilterStages st = stages;
+            for (;;) {
+                T t = qs.poll();
+                if (t == null) {
+                    return null;
+                }
+                Object v = st.apply(t);
+                if (v != null) {
+                    return (R)v;
+                }
+            }
+        }
+    }
+}
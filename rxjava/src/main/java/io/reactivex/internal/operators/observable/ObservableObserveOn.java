@@ -47,7 +47,7 @@ public final class ObservableObserveOn<T> extends AbstractObservableWithUpstream
     }
 
     static final class ObserveOnObserver<T> extends BasicIntQueueDisposable<T>
-    implements Observer<T>, Runnable {
+    implements Observer<T>, Runnable, SimpleBatchQueue.ElementConsumer<T> {
 
         private static final long serialVersionUID = 6576896619930983584L;
         final Observer<? super T> actual;
@@ -57,6 +57,9 @@ public final class ObservableObserveOn<T> extends AbstractObservableWithUpstream
 
         SimpleQueue<T> queue;
 
+        /** The own queue if not fused, drained in batches. */
+        SimpleBatchQueue<T> batchQueue;
+
         Disposable s;
 
         Throwable error;
@@ -101,7 +104,9 @@ public final class ObservableObserveOn<T> extends AbstractObservableWithUpstream
                     }
                 }
 
-                queue = new SpscLinkedArrayQueue<T>(bufferSize);
+                SpscLinkedArrayQueue<T> q = new SpscLinkedArrayQueue<T>(bufferSize);
+                batchQueue = q;
+                queue = q;
 
                 actual.onSubscribe(this);
             }
@@ -166,6 +171,7 @@ public final class ObservableObserveOn<T> extends AbstractObservableWithUpstream
             int missed = 1;
 
             final SimpleQueue<T> q = queue;
+            final SimpleBatchQueue<T> bq = batchQueue;
             final Observer<? super T> a = actual;
 
             for (;;) {
@@ -174,6 +180,16 @@ public final class ObservableObserveOn<T> extends AbstractObservableWithUpstream
                 }
 
                 for (;;) {
+                    if (bq != null) {
+                        int c = bq.drain(this, bufferSize);
+                        if (c != 0) {
+                            if (checkTerminated(done, false, a)) {
+                                return;
+                            }
+                            continue;
+                        }
+                    }
+
                     boolean d = done;
                     T v;
 
@@ -253,6 +269,15 @@ public final class ObservableObserveOn<T> extends AbstractObservableWithUpstream
             }
         }
 
+        @Override
+        public boolean accept(T t) {
+            if (cancelled || (!delayError && done && error != null)) {
+                return false;
+            }
+            actual.onNext(t);
+            return true;
+        }
+
         boolean checkTerminated(boolean d, boolean empty, Observer<? super T> a) {
             if (cancelled) {
                 queue.clear();
@@ -437,6 +437,16 @@ public final class ObservableReplay<T> extends ConnectableObservable<T> implemen
          * Guarded by the emitter loop.
          */
         Object index;
+        /**
+         * The absolute index of the next event when replaying an {@link UnboundedReplayBuffer}.
+         * Guarded by the emitter loop.
+         */
+        int position;
+        /**
+         * The index of the next event within the segment held by {@link #index}
+         * when replaying an {@link UnboundedReplayBuffer}. Guarded by the emitter loop.
+         */
+        int offset;
 
         volatile boolean cancelled;
 
@@ -498,15 +508,12 @@ public final class ObservableReplay<T> extends ConnectableObservable<T> implemen
     }
 
     /**
-     * Holds an unbounded list of events.
+     * Holds an unbounded list of events in linked array segments so growing
+     * never copies the events already stored.
      *
      * @param <T> the value type
      */
-    static final class UnboundedReplayBuffer<T> extends ArrayList<Object> implements ReplayBuffer<T> {
-
-        private static final long serialVersionUID = 7063189396499112664L;
-        /** The total number of events in the buffer. */
-        volatile int size;
+    static final class UnboundedReplayBuffer<T> extends LinkedArrayList implements ReplayBuffer<T> {
 
         UnboundedReplayBuffer(int capacityHint) {
             super(capacityHint);
@@ -514,19 +521,16 @@ public final class ObservableReplay<T> extends ConnectableObservable<T> implemen
         @Override
         public void next(T value) {
             add(NotificationLite.next(value));
-            size++;
         }
 
         @Override
         public void error(Throwable e) {
             add(NotificationLite.error(e));
-            size++;
         }
 
         @Override
         public void complete() {
             add(NotificationLite.complete());
-            size++;
         }
 
         @Override
@@ -543,23 +547,37 @@ public final class ObservableReplay<T> extends ConnectableObservable<T> implemen
                 if (output.isDisposed()) {
                     return;
                 }
-                int sourceIndex = size;
-
-                Integer destinationIndexObject = output.index();
-                int destinationIndex = destinationIndexObject != null ? destinationIndexObject : 0;
-
-                while (destinationIndex < sourceIndex) {
-                    Object o = get(destinationIndex);
-                    if (NotificationLite.accept(o, child)) {
-                        return;
+                int sourceIndex = size();
+                if (sourceIndex != 0) {
+                    // latch onto the very first segment now that it is available
+                    Object[] b = output.index();
+                    if (b == null) {
+                        b = head();
                     }
-                    if (output.isDisposed()) {
-                        return;
+                    final int n = b.length - 1;
+                    int destinationIndex = output.position;
+                    int k = output.offset;
+
+                    while (destinationIndex < sourceIndex) {
+                        if (k == n) {
+                            b = (Object[])b[n];
+                            k = 0;
+                        }
+                        Object o = b[k];
+                        if (NotificationLite.accept(o, child)) {
+                            return;
+                        }
+                        if (output.isDisposed()) {
+                            return;
+                        }
+                        destinationIndex++;
+                        k++;
                     }
-                    destinationIndex++;
-                }
 
-                output.index = destinationIndex;
+                    output.index = b;
+                    output.position = destinationIndex;
+                    output.offset = k;
+                }
                 missed = output.addAndGet(-missed);
                 if (missed == 0) {
                     break;
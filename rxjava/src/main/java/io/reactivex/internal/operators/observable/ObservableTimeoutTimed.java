@@ -21,6 +21,19 @@ import io.reactivex.disposables.Disposable;
 import io.reactivex.internal.disposables.*;
 import io.reactivex.plugins.RxJavaPlugins;
 
+/**
+ * Signals a TimeoutException or switches to a fallback if no item arrives within
+ * the given time after the previous one.
+ * <p>
+ * Each observer keeps a single pending timer and items only record the
+ * time of the last activity; when the timer fires early, it re-arms itself
+ * for the remaining time. The item index is incremented to an odd value while
+ * an item is being emitted so that the timer doesn't time out concurrently.
+ * <p>
+ * The activity is measured with the worker's {@code now()}; should that clock
+ * go backwards, the timer waits at most a full timeout before checking again.
+ * @param <T> the value type
+ */
 public final class ObservableTimeoutTimed<T> extends AbstractObservableWithUpstream<T, T> {
     final long timeout;
     final TimeUnit unit;
@@ -41,18 +54,18 @@ public final class ObservableTimeoutTimed<T> extends AbstractObservableWithUpstr
         if (other == null) {
             TimeoutObserver<T> parent = new TimeoutObserver<T>(s, timeout, unit, scheduler.createWorker());
             s.onSubscribe(parent);
-            parent.startTimeout(0L);
+            parent.startTimeout();
             source.subscribe(parent);
         } else {
             TimeoutFallbackObserver<T> parent = new TimeoutFallbackObserver<T>(s, timeout, unit, scheduler.createWorker(), other);
             s.onSubscribe(parent);
-            parent.startTimeout(0L);
+            parent.startTimeout();
             source.subscribe(parent);
         }
     }
 
     static final class TimeoutObserver<T> extends AtomicLong
-    implements Observer<T>, Disposable, TimeoutSupport {
+    implements Observer<T>, Disposable, Runnable {
 
         private static final long serialVersionUID = 3764492702657003550L;
 
@@ -60,18 +73,18 @@ public final class ObservableTimeoutTimed<T> extends AbstractObservableWithUpstr
 
         final long timeout;
 
-        final TimeUnit unit;
-
         final Scheduler.Worker worker;
 
         final SequentialDisposable task;
 
         final AtomicReference<Disposable> upstream;
 
+        /** The worker time in nanoseconds when the last item has been emitted, published by the even index. */
+        long lastActivity;
+
         TimeoutObserver(Observer<? super T> actual, long timeout, TimeUnit unit, Scheduler.Worker worker) {
             this.actual = actual;
-            this.timeout = timeout;
-            this.unit = unit;
+            this.timeout = unit.toNanos(timeout);
             this.worker = worker;
             this.task = new SequentialDisposable();
             this.upstream = new AtomicReference<Disposable>();
@@ -89,15 +102,49 @@ public final class ObservableTimeoutTimed<T> extends AbstractObservableWithUpstr
                 return;
             }
 
-            task.get().dispose();
-
             actual.onNext(t);
 
-            startTimeout(idx + 1);
+            lastActivity = worker.now(TimeUnit.NANOSECONDS);
+            lazySet(idx + 2);
         }
 
-        void startTimeout(long nextIndex) {
-            task.replace(worker.schedule(new TimeoutTask(nextIndex, this), timeout, unit));
+        void startTimeout() {
+            lastActivity = worker.now(TimeUnit.NANOSECONDS);
+            task.replace(worker.schedule(this, timeout, TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public void run() {
+            long delay;
+            for (;;) {
+                long idx = get();
+                if (idx == Long.MAX_VALUE) {
+                    return;
+                }
+                if ((idx & 1L) != 0L) {
+                    // an item is being emitted, the timeout restarts after it
+                    delay = timeout;
+                    break;
+                }
+                delay = lastActivity + timeout - worker.now(TimeUnit.NANOSECONDS);
+                if (delay > 0L) {
+                    // the time went backwards, don't wait longer than a full timeout
+                    if (delay > timeout) {
+                        delay = timeout;
+                    }
+                    break;
+                }
+                if (compareAndSet(idx, Long.MAX_VALUE)) {
+                    DisposableHelper.dispose(upstream);
+
+                    actual.onError(new TimeoutException());
+
+                    worker.dispose();
+                    return;
+                }
+            }
+
+            task.replace(worker.schedule(this, delay, TimeUnit.NANOSECONDS));
         }
 
         @Override
@@ -124,17 +171,6 @@ public final class ObservableTimeoutTimed<T> extends AbstractObservableWithUpstr
             }
         }
 
-        @Override
-        public void onTimeout(long idx) {
-            if (compareAndSet(idx, Long.MAX_VALUE)) {
-                DisposableHelper.dispose(upstream);
-
-                actual.onError(new TimeoutException());
-
-                worker.dispose();
-            }
-        }
-
         @Override
         public void dispose() {
             DisposableHelper.dispose(upstream);
@@ -166,7 +202,7 @@ public final class ObservableTimeoutTimed<T> extends AbstractObservableWithUpstr
     }
 
     static final class TimeoutFallbackObserver<T> extends AtomicReference<Disposable>
-    implements Observer<T>, Disposable, TimeoutSupport {
+    implements Observer<T>, Disposable, Runnable {
 
         private static final long serialVersionUID = 3764492702657003550L;
 
@@ -174,8 +210,6 @@ public final class ObservableTimeoutTimed<T> extends AbstractObservableWithUpstr
 
         final long timeout;
 
-        final TimeUnit unit;
-
         final Scheduler.Worker worker;
 
         final SequentialDisposable task;
@@ -184,13 +218,15 @@ public final class ObservableTimeoutTimed<T> extends AbstractObservableWithUpstr
 
         final AtomicReference<Disposable> upstream;
 
+        /** The worker time in nanoseconds when the last item has been emitted, published by the even index. */
+        long lastActivity;
+
         ObservableSource<? extends T> fallback;
 
         TimeoutFallbackObserver(Observer<? super T> actual, long timeout, TimeUnit unit,
                 Scheduler.Worker worker, ObservableSource<? extends T> fallback) {
             this.actual = actual;
-            this.timeout = timeout;
-            this.unit = unit;
+            this.timeout = unit.toNanos(timeout);
             this.worker = worker;
             this.fallback = fallback;
             this.task = new SequentialDisposable();
@@ -210,15 +246,52 @@ public final class ObservableTimeoutTimed<T> extends AbstractObservableWithUpstr
                 return;
             }
 
-            task.get().dispose();
-
             actual.onNext(t);
 
-            startTimeout(idx + 1);
+            lastActivity = worker.now(TimeUnit.NANOSECONDS);
+            index.lazySet(idx + 2);
+        }
+
+        void startTimeout() {
+            lastActivity = worker.now(TimeUnit.NANOSECONDS);
+            task.replace(worker.schedule(this, timeout, TimeUnit.NANOSECONDS));
         }
 
-        void startTimeout(long nextIndex) {
-            task.replace(worker.schedule(new TimeoutTask(nextIndex, this), timeout, unit));
+        @Override
+        public void run() {
+            long delay;
+            for (;;) {
+                long idx = index.get();
+                if (idx == Long.MAX_VALUE) {
+                    return;
+                }
+                if ((idx & 1L) != 0L) {
+                    // an item is being emitted, the timeout restarts after it
+                    delay = timeout;
+                    break;
+                }
+                delay = lastActivity + timeout - worker.now(TimeUnit.NANOSECONDS);
+                if (delay > 0L) {
+                    // the time went backwards, don't wait longer than a full timeout
+                    if (delay > timeout) {
+                        delay = timeout;
+                    }
+                    break;
+                }
+                if (index.compareAndSet(idx, Long.MAX_VALUE)) {
+                    DisposableHelper.dispose(upstream);
+
+                    ObservableSource<? extends T> f = fallback;
+                    fallback = null;
+
+                    f.subscribe(new FallbackObserver<T>(actual, this));
+
+                    worker.dispose();
+                    return;
+                }
+            }
+
+            task.replace(worker.schedule(this, delay, TimeUnit.NANOSECONDS));
         }
 
         @Override
@@ -245,20 +318,6 @@ public final class ObservableTimeoutTimed<T> extends AbstractObservableWithUpstr
             }
         }
 
-        @Override
-        public void onTimeout(long idx) {
-            if (index.compareAndSet(idx, Long.MAX_VALUE)) {
-                DisposableHelper.dispose(upstream);
-
-                ObservableSource<? extends T> f = fallback;
-                fallback = null;
-
-                f.subscribe(new FallbackObserver<T>(actual, this));
-
-                worker.dispose();
-            }
-        }
-
         @Override
         public void dispose() {
             DisposableHelper.dispose(upstream);
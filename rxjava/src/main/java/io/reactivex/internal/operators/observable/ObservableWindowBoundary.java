@@ -18,7 +18,7 @@ import java.util.concurrent.atomic.*;
 import io.reactivex.*;
 import io.reactivex.disposables.Disposable;
 import io.reactivex.internal.disposables.DisposableHelper;
-import io.reactivex.internal.queue.MpscLinkedQueue;
+import io.reactivex.internal.queue.MpscLinkedArrayQueue;
 import io.reactivex.internal.util.AtomicThrowable;
 import io.reactivex.observers.DisposableObserver;
 import io.reactivex.plugins.RxJavaPlugins;
@@ -60,7 +60,7 @@ public final class ObservableWindowBoundary<T, B> extends AbstractObservableWith
 
         final AtomicInteger windows;
 
-        final MpscLinkedQueue<Object> queue;
+        final MpscLinkedArrayQueue<Object> queue;
 
         final AtomicThrowable errors;
 
@@ -78,7 +78,7 @@ public final class ObservableWindowBoundary<T, B> extends AbstractObservableWith
             this.boundaryObserver = new WindowBoundaryInnerObserver<T, B>(this);
             this.upstream = new AtomicReference<Disposable>();
             this.windows = new AtomicInteger(1);
-            this.queue = new MpscLinkedQueue<Object>();
+            this.queue = new MpscLinkedArrayQueue<Object>();
             this.errors = new AtomicThrowable();
             this.stopWindows = new AtomicBoolean();
         }
@@ -166,7 +166,7 @@ public final class ObservableWindowBoundary<T, B> extends AbstractObservableWith
 
             int missed = 1;
             Observer<? super Observable<T>> downstream = this.downstream;
-            MpscLinkedQueue<Object> queue = this.queue;
+            MpscLinkedArrayQueue<Object> queue = this.queue;
             AtomicThrowable errors = this.errors;
 
             for (;;) {
@@ -25,7 +25,7 @@ import io.reactivex.functions.Function;
 import io.reactivex.internal.disposables.DisposableHelper;
 import io.reactivex.internal.functions.ObjectHelper;
 import io.reactivex.internal.observers.QueueDrainObserver;
-import io.reactivex.internal.queue.MpscLinkedQueue;
+import io.reactivex.internal.queue.MpscLinkedArrayQueue;
 import io.reactivex.internal.util.NotificationLite;
 import io.reactivex.observers.*;
 import io.reactivex.plugins.RxJavaPlugins;
@@ -71,7 +71,7 @@ public final class ObservableWindowBoundarySelector<T, B, V> extends AbstractObs
 
         WindowBoundaryMainObserver(Observer<? super Observable<T>> actual,
                                             ObservableSource<B> open, Function<? super B, ? extends ObservableSource<V>> close, int bufferSize) {
-            super(actual, new MpscLinkedQueue<Object>());
+            super(actual, new MpscLinkedArrayQueue<Object>());
             this.open = open;
             this.close = close;
             this.bufferSize = bufferSize;
@@ -178,7 +178,7 @@ public final class ObservableWindowBoundarySelector<T, B, V> extends AbstractObs
         }
 
         void drainLoop() {
-            final MpscLinkedQueue<Object> q = (MpscLinkedQueue<Object>)queue;
+            final MpscLinkedArrayQueue<Object> q = (MpscLinkedArrayQueue<Object>)queue;
             final Observer<? super Observable<T>> a = actual;
             final List<UnicastSubject<T>> ws = this.ws;
             int missed = 1;
@@ -21,7 +21,7 @@ import io.reactivex.disposables.Disposable;
 import io.reactivex.exceptions.Exceptions;
 import io.reactivex.internal.disposables.DisposableHelper;
 import io.reactivex.internal.functions.ObjectHelper;
-import io.reactivex.internal.queue.MpscLinkedQueue;
+import io.reactivex.internal.queue.MpscLinkedArrayQueue;
 import io.reactivex.internal.util.AtomicThrowable;
 import io.reactivex.observers.DisposableObserver;
 import io.reactivex.plugins.RxJavaPlugins;
@@ -62,7 +62,7 @@ public final class ObservableWindowBoundarySupplier<T, B> extends AbstractObserv
 
         final AtomicInteger windows;
 
-        final MpscLinkedQueue<Object> queue;
+        final MpscLinkedArrayQueue<Object> queue;
 
         final AtomicThrowable errors;
 
@@ -83,7 +83,7 @@ public final class ObservableWindowBoundarySupplier<T, B> extends AbstractObserv
             this.capacityHint = capacityHint;
             this.boundaryObserver = new AtomicReference<WindowBoundaryInnerObserver<T, B>>();
             this.windows = new AtomicInteger(1);
-            this.queue = new MpscLinkedQueue<Object>();
+            this.queue = new MpscLinkedArrayQueue<Object>();
             this.errors = new AtomicThrowable();
             this.stopWindows = new AtomicBoolean();
             this.other = other;
@@ -183,7 +183,7 @@ public final class ObservableWindowBoundarySupplier<T, B> extends AbstractObserv
 
             int missed = 1;
             Observer<? super Observable<T>> downstream = this.downstream;
-            MpscLinkedQueue<Object> queue = this.queue;
+            MpscLinkedArrayQueue<Object> queue = this.queue;
             AtomicThrowable errors = this.errors;
 
             for (;;) {
@@ -24,7 +24,7 @@ import io.reactivex.Scheduler.Worker;
 import io.reactivex.disposables.Disposable;
 import io.reactivex.internal.disposables.DisposableHelper;
 import io.reactivex.internal.observers.QueueDrainObserver;
-import io.reactivex.internal.queue.MpscLinkedQueue;
+import io.reactivex.internal.queue.MpscLinkedArrayQueue;
 import io.reactivex.internal.util.NotificationLite;
 import io.reactivex.observers.SerializedObserver;
 import io.reactivex.subjects.UnicastSubject;
@@ -93,7 +93,7 @@ public final class ObservableWindowTimed<T> extends AbstractObservableWithUpstre
 
         WindowExactUnboundedObserver(Observer<? super Observable<T>> actual, long timespan, TimeUnit unit,
                 Scheduler scheduler, int bufferSize) {
-            super(actual, new MpscLinkedQueue<Object>());
+            super(actual, new MpscLinkedArrayQueue<Object>());
             this.timespan = timespan;
             this.unit = unit;
             this.scheduler = scheduler;
@@ -189,7 +189,7 @@ public final class ObservableWindowTimed<T> extends AbstractObservableWithUpstre
 
         void drainLoop() {
 
-            final MpscLinkedQueue<Object> q = (MpscLinkedQueue<Object>)queue;
+            final MpscLinkedArrayQueue<Object> q = (MpscLinkedArrayQueue<Object>)queue;
             final Observer<? super Observable<T>> a = actual;
             UnicastSubject<T> w = window;
 
@@ -273,7 +273,7 @@ public final class ObservableWindowTimed<T> extends AbstractObservableWithUpstre
                 Observer<? super Observable<T>> actual,
                 long timespan, TimeUnit unit, Scheduler scheduler,
                 int bufferSize, long maxSize, boolean restartTimerOnMaxSize) {
-            super(actual, new MpscLinkedQueue<Object>());
+            super(actual, new MpscLinkedArrayQueue<Object>());
             this.timespan = timespan;
             this.unit = unit;
             this.scheduler = scheduler;
@@ -404,7 +404,7 @@ public final class ObservableWindowTimed<T> extends AbstractObservableWithUpstre
         }
 
         void drainLoop() {
-            final MpscLinkedQueue<Object> q = (MpscLinkedQueue<Object>)queue;
+            final MpscLinkedArrayQueue<Object> q = (MpscLinkedArrayQueue<Object>)queue;
             final Observer<? super Observable<T>> a = actual;
             UnicastSubject<T> w = window;
 
@@ -535,7 +535,7 @@ public final class ObservableWindowTimed<T> extends AbstractObservableWithUpstre
         WindowSkipObserver(Observer<? super Observable<T>> actual,
                 long timespan, long timeskip, TimeUnit unit,
                 Worker worker, int bufferSize) {
-            super(actual, new MpscLinkedQueue<Object>());
+            super(actual, new MpscLinkedArrayQueue<Object>());
             this.timespan = timespan;
             this.timeskip = timeskip;
             this.unit = unit;
@@ -630,7 +630,7 @@ public final class ObservableWindowTimed<T> extends AbstractObservableWithUpstre
 
         @SuppressWarnings("unchecked")
         void drainLoop() {
-            final MpscLinkedQueue<Object> q = (MpscLinkedQueue<Object>)queue;
+            final MpscLinkedArrayQueue<Object> q = (MpscLinkedArrayQueue<Object>)queue;
             final Observer<? super Observable<T>> a = actual;
             final List<UnicastSubject<T>> ws = windows;
 
@@ -20,13 +20,13 @@ import org.reactivestreams.*;
 import io.reactivex.*;
 import io.reactivex.Scheduler.Worker;
 import io.reactivex.exceptions.MissingBackpressureException;
-import io.reactivex.internal.fuseable.ConditionalSubscriber;
-import io.reactivex.internal.queue.SpscArrayQueue;
-import io.reactivex.internal.schedulers.SchedulerMultiWorkerSupport;
+import io.reactivex.internal.fuseable.*;
+import io.reactivex.internal.queue.*;
+import io.reactivex.internal.schedulers.*;
 import io.reactivex.internal.schedulers.SchedulerMultiWorkerSupport.WorkerCallback;
 import io.reactivex.internal.subscriptions.SubscriptionHelper;
-import io.reactivex.internal.util.BackpressureHelper;
-import io.reactivex.parallel.ParallelFlowable;
+import io.reactivex.internal.util.*;
+import io.reactivex.parallel.*;
 import io.reactivex.plugins.RxJavaPlugins;
 
 /**
@@ -41,11 +41,27 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
 
     final int prefetch;
 
+    final int maxPrefetch;
+
+    final ParallelPlacement placement;
+
     public ParallelRunOn(ParallelFlowable<? extends T> parent,
             Scheduler scheduler, int prefetch) {
+        this(parent, scheduler, prefetch, ParallelPlacement.ROUND_ROBIN);
+    }
+
+    public ParallelRunOn(ParallelFlowable<? extends T> parent,
+            Scheduler scheduler, int prefetch, ParallelPlacement placement) {
+        this(parent, scheduler, prefetch, prefetch, placement);
+    }
+
+    public ParallelRunOn(ParallelFlowable<? extends T> parent,
+            Scheduler scheduler, int prefetch, int maxPrefetch, ParallelPlacement placement) {
         this.source = parent;
         this.scheduler = scheduler;
         this.prefetch = prefetch;
+        this.maxPrefetch = maxPrefetch;
+        this.placement = placement;
     }
 
     @Override
@@ -59,7 +75,10 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
         @SuppressWarnings("unchecked")
         final Subscriber<T>[] parents = new Subscriber[n];
 
-        if (scheduler instanceof SchedulerMultiWorkerSupport) {
+        if (placement == ParallelPlacement.STRIPED && scheduler instanceof SchedulerStripedWorkerSupport) {
+            SchedulerStripedWorkerSupport striped = (SchedulerStripedWorkerSupport) scheduler;
+            striped.createStripedWorkers(n, new MultiWorkerCallback(subscribers, parents));
+        } else if (scheduler instanceof SchedulerMultiWorkerSupport) {
             SchedulerMultiWorkerSupport multiworker = (SchedulerMultiWorkerSupport) scheduler;
             multiworker.createWorkers(n, new MultiWorkerCallback(subscribers, parents));
         } else {
@@ -75,12 +94,17 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
 
         Subscriber<? super T> a = subscribers[i];
 
-        SpscArrayQueue<T> q = new SpscArrayQueue<T>(prefetch);
+        SimplePlainQueue<T> q;
+        if (maxPrefetch > prefetch) {
+            q = new SpscLinkedArrayQueue<T>(prefetch);
+        } else {
+            q = new SpscArrayQueue<T>(prefetch);
+        }
 
         if (a instanceof ConditionalSubscriber) {
-            parents[i] = new RunOnConditionalSubscriber<T>((ConditionalSubscriber<? super T>)a, prefetch, q, worker);
+            parents[i] = new RunOnConditionalSubscriber<T>((ConditionalSubscriber<? super T>)a, prefetch, maxPrefetch, q, worker);
         } else {
-            parents[i] = new RunOnSubscriber<T>(a, prefetch, q, worker);
+            parents[i] = new RunOnSubscriber<T>(a, prefetch, maxPrefetch, q, worker);
         }
     }
 
@@ -114,9 +138,13 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
 
         final int prefetch;
 
-        final int limit;
+        /** The number of consumed elements to replenish at, changes with the adaptive prefetch. */
+        int limit;
 
-        final SpscArrayQueue<T> queue;
+        /** Resizes the request amount if not null. */
+        final AdaptivePrefetch adaptive;
+
+        final SimplePlainQueue<T> queue;
 
         final Worker worker;
 
@@ -132,13 +160,47 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
 
         int consumed;
 
-        BaseRunOnSubscriber(int prefetch, SpscArrayQueue<T> queue, Worker worker) {
+        BaseRunOnSubscriber(int prefetch, int maxPrefetch, SimplePlainQueue<T> queue, Worker worker) {
             this.prefetch = prefetch;
             this.queue = queue;
-            this.limit = prefetch - (prefetch >> 2);
+            if (maxPrefetch > prefetch) {
+                this.adaptive = new AdaptivePrefetch(prefetch, maxPrefetch);
+                this.limit = adaptive.limit();
+            } else {
+                this.adaptive = null;
+                this.limit = prefetch - (prefetch >> 2);
+            }
             this.worker = worker;
         }
 
+        /**
+         * Requests more after {@link #limit} elements have been consumed, resizing the
+         * amount first in the adaptive mode.
+         * @param consumed the number of consumed elements
+         */
+        final void replenish(int consumed) {
+            AdaptivePrefetch ap = adaptive;
+            if (ap != null) {
+                long n = ap.replenish(consumed);
+                limit = ap.limit();
+                if (n != 0L) {
+                    s.request(n);
+                }
+            } else {
+                s.request(consumed);
+            }
+        }
+
+        /**
+         * Indicates the drain loop found the queue empty.
+         */
+        final void starved() {
+            AdaptivePrefetch ap = adaptive;
+            if (ap != null) {
+                ap.starved();
+            }
+        }
+
         @Override
         public final void onNext(T t) {
             if (done) {
@@ -206,8 +268,8 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
 
         final Subscriber<? super T> actual;
 
-        RunOnSubscriber(Subscriber<? super T> actual, int prefetch, SpscArrayQueue<T> queue, Worker worker) {
-            super(prefetch, queue, worker);
+        RunOnSubscriber(Subscriber<? super T> actual, int prefetch, int maxPrefetch, SimplePlainQueue<T> queue, Worker worker) {
+            super(prefetch, maxPrefetch, queue, worker);
             this.actual = actual;
         }
 
@@ -226,7 +288,7 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
         public void run() {
             int missed = 1;
             int c = consumed;
-            SpscArrayQueue<T> q = queue;
+            SimplePlainQueue<T> q = queue;
             Subscriber<? super T> a = actual;
             int lim = limit;
 
@@ -267,6 +329,7 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
                     }
 
                     if (empty) {
+                        starved();
                         break;
                     }
 
@@ -277,7 +340,8 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
                     int p = ++c;
                     if (p == lim) {
                         c = 0;
-                        s.request(p);
+                        replenish(p);
+                        lim = limit;
                     }
                 }
 
@@ -330,8 +394,8 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
 
         final ConditionalSubscriber<? super T> actual;
 
-        RunOnConditionalSubscriber(ConditionalSubscriber<? super T> actual, int prefetch, SpscArrayQueue<T> queue, Worker worker) {
-            super(prefetch, queue, worker);
+        RunOnConditionalSubscriber(ConditionalSubscriber<? super T> actual, int prefetch, int maxPrefetch, SimplePlainQueue<T> queue, Worker worker) {
+            super(prefetch, maxPrefetch, queue, worker);
             this.actual = actual;
         }
 
@@ -350,7 +414,7 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
         public void run() {
             int missed = 1;
             int c = consumed;
-            SpscArrayQueue<T> q = queue;
+            SimplePlainQueue<T> q = queue;
             ConditionalSubscriber<? super T> a = actual;
             int lim = limit;
 
@@ -391,6 +455,7 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
                     }
 
                     if (empty) {
+                        starved();
                         break;
                     }
 
@@ -401,7 +466,8 @@ public final class ParallelRunOn<T> extends ParallelFlowable<T> {
                     int p = ++c;
                     if (p == lim) {
                         c = 0;
-                        s.request(p);
+                        replenish(p);
+                        lim = limit;
                     }
                 }
 
@@ -15,8 +15,9 @@ package io.reactivex.internal.operators.single;
 
 import io.reactivex.*;
 import io.reactivex.disposables.Disposables;
+import io.reactivex.internal.fuseable.ScalarCallable;
 
-public final class SingleJust<T> extends Single<T> {
+public final class SingleJust<T> extends Single<T> implements ScalarCallable<T> {
 
     final T value;
 
@@ -30,4 +31,9 @@ public final class SingleJust<T> extends Single<T> {
         s.onSuccess(value);
     }
 
+    @Override
+    public T call() {
+        return value;
+    }
+
 }
@@ -0,0 +1,228 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+/*
+ * The code was inspired by the JCTools class MpscUnboundedXaddArrayQueue:
+ * https://github.com/JCTools/JCTools/blob/master/jctools-core/src/main/java/org/jctools/queues
+ */
+
+package io.reactivex.internal.queue;
+
+import java.util.concurrent.atomic.*;
+
+import io.reactivex.annotations.Nullable;
+import io.reactivex.internal.fuseable.SimplePlainQueue;
+import io.reactivex.internal.util.Pow2;
+
+/**
+ * A multi-producer single consumer unbounded queue that stores the elements in linked
+ * array chunks instead of allocating a node per element.
+ * <p>
+ * Producers claim a slot by atomically incrementing the producer index; the producer that
+ * first needs a chunk beyond the last one appends it while the others wait. The consumer
+ * hands the chunk it has emptied back to the producers so that a queue whose size stays
+ * below a chunk doesn't allocate in the steady state.
+ * @param <T> the contained value type
+ */
+public final class MpscLinkedArrayQueue<T> implements SimplePlainQueue<T> {
+
+    /** The default number of elements per chunk. */
+    static final int DEFAULT_CHUNK_SIZE = 64;
+
+    /** The producer chunk index value while a producer is appending a new chunk. */
+    static final long ROTATION = -1L;
+
+    final int chunkMask;
+
+    final int chunkShift;
+
+    final AtomicLong producerIndex;
+
+    /** The last chunk, the producers walk backwards from it if their slot is in an earlier chunk. */
+    final AtomicReference<Chunk> producerChunk;
+
+    /** The index of the producer chunk or {@link #ROTATION} while a new chunk is being appended. */
+    final AtomicLong producerChunkIndex;
+
+    /** A chunk emptied by the consumer, reused by the next append. */
+    final AtomicReference<Chunk> spareChunk;
+
+    final AtomicLong consumerIndex;
+
+    /** The chunk the consumer reads from, accessed by the consumer only. */
+    Chunk consumerChunk;
+
+    public MpscLinkedArrayQueue() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs an empty queue.
+     * @param chunkSize the number of elements per chunk, rounded up to the next power of 2
+     */
+    public MpscLinkedArrayQueue(int chunkSize) {
+        int size = Pow2.roundToPowerOfTwo(Math.max(2, chunkSize));
+        this.chunkMask = size - 1;
+        this.chunkShift = Integer.numberOfTrailingZeros(size);
+        Chunk first = new Chunk(size);
+        this.consumerChunk = first;
+        this.spareChunk = new AtomicReference<Chunk>();
+        this.consumerIndex = new AtomicLong();
+        this.producerChunkIndex = new AtomicLong();
+        this.producerChunk = new AtomicReference<Chunk>(first);
+        this.producerIndex = new AtomicLong();
+    }
+
+    @Override
+    public boolean offer(T e) {
+        if (null == e) {
+            throw new NullPointerException("Null is not a valid element");
+        }
+        final long index = producerIndex.getAndIncrement();
+        final long chunkIndex = index >>> chunkShift;
+
+        Chunk c = producerChunk.get();
+        if (c.index != chunkIndex) {
+            c = producerChunkFor(chunkIndex);
+        }
+        c.lazySet((int)index & chunkMask, e);
+        return true;
+    }
+
+    @Override
+    public boolean offer(T v1, T v2) {
+        offer(v1);
+        offer(v2);
+        return true;
+    }
+
+    /**
+     * Finds the chunk of the given index, walking backwards from the last chunk or
+     * appending chunks until it exists.
+     * @param chunkIndex the index of the chunk the producer's slot is in
+     * @return the chunk
+     */
+    Chunk producerChunkFor(long chunkIndex) {
+        for (;;) {
+            long currentIndex = producerChunkIndex.get();
+            if (currentIndex == ROTATION) {
+                // another producer is appending
+                continue;
+            }
+            Chunk current = producerChunk.get();
+            if (current.index != currentIndex) {
+                // the chunk and its index are being updated
+                continue;
+            }
+
+            long back = currentIndex - chunkIndex;
+            if (back >= 0L) {
+                // the chunks up to ours can't be recycled because our slot is still empty
+                for (long i = 0; i < back; i++) {
+                    current = current.prev;
+                }
+                return current;
+            }
+
+            if (producerChunkIndex.compareAndSet(currentIndex, ROTATION)) {
+                Chunk next = spareChunk.getAndSet(null);
+                if (next == null) {
+                    next = new Chunk(chunkMask + 1);
+                }
+                next.prev = current;
+                next.index = currentIndex + 1;
+                current.next = next;
+
+                producerChunk.set(next);
+                producerChunkIndex.set(currentIndex + 1);
+            }
+        }
+    }
+
+    @Nullable
+    @Override
+    public T poll() {
+        final long index = consumerIndex.get();
+        final int offset = (int)index & chunkMask;
+
+        Chunk c = consumerChunk;
+        if (offset == 0 && index != 0L) {
+            Chunk next = c.next;
+            if (next == null) {
+                if (producerIndex.get() == index) {
+                    return null;
+                }
+                // a producer has claimed a slot of the next chunk, wait for the append
+                while ((next = c.next) == null) { } // NOPMD
+            }
+            // the emptied chunk is no longer reachable by the producers
+            next.prev = null;
+            c.next = null;
+            spareChunk.lazySet(c);
+            consumerChunk = next;
+            c = next;
+        }
+
+        T e = cast(c.get(offset));
+        if (e == null) {
+            if (producerIndex.get() == index) {
+                return null;
+            }
+            // a producer has claimed this slot but not written it yet
+            while ((e = cast(c.get(offset))) == null) { } // NOPMD
+        }
+        c.lazySet(offset, null);
+        consumerIndex.lazySet(index + 1);
+        return e;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T cast(Object o) {
+        return (T)o;
+    }
+
+    /**
+     * Returns the number of elements in the queue, which may be off by the concurrent
+     * offers and polls if called from a thread other than the consumer.
+     * @return the number of elements
+     */
+    public int size() {
+        long c = consumerIndex.get();
+        return (int)Math.min(producerIndex.get() - c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return consumerIndex.get() == producerIndex.get();
+    }
+
+    @Override
+    public void clear() {
+        while (poll() != null || !isEmpty()) { } // NOPMD
+    }
+
+    static final class Chunk extends AtomicReferenceArray<Object> {
+
+        private static final long serialVersionUID = 6408458530472016582L;
+
+        volatile long index;
+
+        volatile Chunk prev;
+
+        volatile Chunk next;
+
+        Chunk(int size) {
+            super(size);
+        }
+    }
+}
@@ -21,7 +21,7 @@ package io.reactivex.internal.queue;
 import java.util.concurrent.atomic.*;
 
 import io.reactivex.annotations.Nullable;
-import io.reactivex.internal.fuseable.SimplePlainQueue;
+import io.reactivex.internal.fuseable.SimpleBatchQueue;
 import io.reactivex.internal.util.Pow2;
 
 /**
@@ -35,23 +35,27 @@ import io.reactivex.internal.util.Pow2;
  * <i>2010 - Pisa - SPSC Queues on Shared Cache Multi-Core Systems.pdf<br>
  * 2012 - Junchang- BQueue- Efficient and Practical Queuing.pdf <br>
  * </i> This implementation is wait free.
+ * <p>
+ * The producer index with the producer-local look-ahead limit and the consumer index are
+ * padded onto separate cache lines so that the two sides don't false-share when they run on
+ * different cores.
  *
  * @param <E> the element type of the queue
  */
-public final class SpscArrayQueue<E> extends AtomicReferenceArray<E> implements SimplePlainQueue<E> {
+public final class SpscArrayQueue<E> extends AtomicReferenceArray<E> implements SimpleBatchQueue<E> {
     private static final long serialVersionUID = -1296597691183856449L;
     private static final Integer MAX_LOOK_AHEAD_STEP = Integer.getInteger("jctools.spsc.max.lookahead.step", 4096);
     final int mask;
-    final AtomicLong producerIndex;
-    long producerLookAhead;
-    final AtomicLong consumerIndex;
+    final SpscProducerIndex producerIndex;
+    final SpscConsumerIndex consumerIndex;
     final int lookAheadStep;
 
     public SpscArrayQueue(int capacity) {
         super(Pow2.roundToPowerOfTwo(capacity));
         this.mask = length() - 1;
-        this.producerIndex = new AtomicLong();
-        this.consumerIndex = new AtomicLong();
+        // allocated one after the other so the producer's padding separates them
+        this.producerIndex = new SpscProducerIndex();
+        this.consumerIndex = new SpscConsumerIndex();
         lookAheadStep = Math.min(capacity / 4, MAX_LOOK_AHEAD_STEP);
     }
 
@@ -62,18 +66,19 @@ public final class SpscArrayQueue<E> extends AtomicReferenceArray<E> implements
         }
         // local load of field to avoid repeated loads after volatile reads
         final int mask = this.mask;
+        final SpscProducerIndex producerIndex = this.producerIndex;
         final long index = producerIndex.get();
         final int offset = calcElementOffset(index, mask);
-        if (index >= producerLookAhead) {
+        if (index >= producerIndex.lookAhead) {
             int step = lookAheadStep;
             if (null == lvElement(calcElementOffset(index + step, mask))) { // LoadLoad
-                producerLookAhead = index + step;
+                producerIndex.lookAhead = index + step;
             } else if (null != lvElement(offset)) {
                 return false;
             }
         }
         soElement(offset, e); // StoreStore
-        soProducerIndex(index + 1); // ordered store -> atomic and ordered for size()
+        producerIndex.lazySet(index + 1); // ordered store -> atomic and ordered for size()
         return true;
     }
 
@@ -86,6 +91,7 @@ public final class SpscArrayQueue<E> extends AtomicReferenceArray<E> implements
     @Nullable
     @Override
     public E poll() {
+        final SpscConsumerIndex consumerIndex = this.consumerIndex;
         final long index = consumerIndex.get();
         final int offset = calcElementOffset(index);
         // local load of field to avoid repeated loads after volatile reads
@@ -93,22 +99,74 @@ public final class SpscArrayQueue<E> extends AtomicReferenceArray<E> implements
         if (null == e) {
             return null;
         }
-        soConsumerIndex(index + 1); // ordered store -> atomic and ordered for size()
+        consumerIndex.lazySet(index + 1); // ordered store -> atomic and ordered for size()
         soElement(offset, null);// StoreStore
         return e;
     }
 
     @Override
-    public boolean isEmpty() {
-        return producerIndex.get() == consumerIndex.get();
+    public int drain(ElementConsumer<? super E> consumer, int limit) {
+        final SpscConsumerIndex consumerIndex = this.consumerIndex;
+        final long start = consumerIndex.get();
+        long index = start;
+        final long end = start + limit;
+        try {
+            while (index != end) {
+                final int offset = calcElementOffset(index);
+                final E e = lvElement(offset);// LoadLoad
+                if (null == e) {
+                    break;
+                }
+                index++;
+                soElement(offset, null);// StoreStore
+                if (!consumer.accept(e)) {
+                    break;
+                }
+            }
+        } finally {
+            if (index != start) {
+                consumerIndex.lazySet(index); // one ordered store for the whole batch
+            }
+        }
+        return (int)(index - start);
     }
 
-    void soProducerIndex(long newIndex) {
-        producerIndex.lazySet(newIndex);
+    @Override
+    public int fill(ElementSupplier<? extends E> supplier, int limit) {
+        final int mask = this.mask;
+        final SpscProducerIndex producerIndex = this.producerIndex;
+        final long start = producerIndex.get();
+        long index = start;
+        final long end = start + limit;
+        try {
+            while (index != end) {
+                final int offset = calcElementOffset(index, mask);
+                if (index >= producerIndex.lookAhead) {
+                    int step = lookAheadStep;
+                    if (null == lvElement(calcElementOffset(index + step, mask))) { // LoadLoad
+                        producerIndex.lookAhead = index + step;
+                    } else if (null != lvElement(offset)) {
+                        break;
+                    }
+                }
+                E e = supplier.get();
+                if (null == e) {
+                    throw new NullPointerException("Null is not a valid element");
+                }
+                soElement(offset, e); // StoreStore
+                index++;
+            }
+        } finally {
+            if (index != start) {
+                producerIndex.lazySet(index); // one ordered store for the whole batch
+            }
+        }
+        return (int)(index - start);
     }
 
-    void soConsumerIndex(long newIndex) {
-        consumerIndex.lazySet(newIndex);
+    @Override
+    public boolean isEmpty() {
+        return producerIndex.get() == consumerIndex.get();
     }
 
     @Override
@@ -134,3 +192,27 @@ public final class SpscArrayQueue<E> extends AtomicReferenceArray<E> implements
     }
 }
 
+// -------------------------------------------------------------------
+// Padded indices
+//-------------------------------------------------------------------
+
+/** The producer index and the producer-local look-ahead limit, padded away from the consumer index. */
+final class SpscProducerIndex extends AtomicLong {
+
+    private static final long serialVersionUID = -5913829345281237632L;
+
+    /** The index below which the producer doesn't have to check for free slots; accessed by the producer only. */
+    long lookAhead;
+
+    volatile long p1, p2, p3, p4, p5, p6, p7;
+    volatile long p8, p9, p10, p11, p12, p13, p14, p15;
+}
+
+/** The consumer index, padded away from whatever gets allocated after the queue. */
+final class SpscConsumerIndex extends AtomicLong {
+
+    private static final long serialVersionUID = 3460593294640294361L;
+
+    volatile long p1, p2, p3, p4, p5, p6, p7;
+    volatile long p8, p9, p10, p11, p12, p13, p14, p15;
+}
@@ -21,7 +21,7 @@ package io.reactivex.internal.queue;
 import java.util.concurrent.atomic.*;
 
 import io.reactivex.annotations.Nullable;
-import io.reactivex.internal.fuseable.SimplePlainQueue;
+import io.reactivex.internal.fuseable.SimpleBatchQueue;
 import io.reactivex.internal.util.Pow2;
 
 /**
@@ -29,7 +29,7 @@ import io.reactivex.internal.util.Pow2;
  * than the producer.
  * @param <T> the contained value type
  */
-public final class SpscLinkedArrayQueue<T> implements SimplePlainQueue<T> {
+public final class SpscLinkedArrayQueue<T> implements SimpleBatchQueue<T> {
     static final int MAX_LOOK_AHEAD_STEP = Integer.getInteger("jctools.spsc.max.lookahead.step", 4096);
     final AtomicLong producerIndex = new AtomicLong();
 
@@ -68,35 +68,40 @@ public final class SpscLinkedArrayQueue<T> implements SimplePlainQueue<T> {
         if (null == e) {
             throw new NullPointerException("Null is not a valid element");
         }
+        final long index = lpProducerIndex();
+        write(e, index);
+        soProducerIndex(index + 1);// this ensures atomic write of long on 32bit platforms
+        return true;
+    }
+
+    /**
+     * Writes the element at the given index, linking a new buffer if the current one is full,
+     * without publishing the producer index.
+     * @param e the element, not null
+     * @param index the producer index
+     */
+    private void write(final T e, final long index) {
         // local load of field to avoid repeated loads after volatile reads
         final AtomicReferenceArray<Object> buffer = producerBuffer;
-        final long index = lpProducerIndex();
         final int mask = producerMask;
         final int offset = calcWrappedOffset(index, mask);
         if (index < producerLookAhead) {
-            return writeToQueue(buffer, e, index, offset);
+            soElement(buffer, offset, e);// StoreStore
         } else {
             final int lookAheadStep = producerLookAheadStep;
             // go around the buffer or resize if full (unless we hit max capacity)
             int lookAheadElementOffset = calcWrappedOffset(index + lookAheadStep, mask);
             if (null == lvElement(buffer, lookAheadElementOffset)) { // LoadLoad
                 producerLookAhead = index + lookAheadStep - 1; // joy, there's plenty of room
-                return writeToQueue(buffer, e, index, offset);
+                soElement(buffer, offset, e);// StoreStore
             } else if (null == lvElement(buffer, calcWrappedOffset(index + 1, mask))) { // buffer is not full
-                return writeToQueue(buffer, e, index, offset);
+                soElement(buffer, offset, e);// StoreStore
             } else {
                 resize(buffer, index, offset, e, mask); // add a buffer and link old to new
-                return true;
             }
         }
     }
 
-    private boolean writeToQueue(final AtomicReferenceArray<Object> buffer, final T e, final long index, final int offset) {
-        soElement(buffer, offset, e);// StoreStore
-        soProducerIndex(index + 1);// this ensures atomic write of long on 32bit platforms
-        return true;
-    }
-
     private void resize(final AtomicReferenceArray<Object> oldBuffer, final long currIndex, final int offset, final T e,
             final long mask) {
         final int capacity = oldBuffer.length();
@@ -107,7 +112,6 @@ public final class SpscLinkedArrayQueue<T> implements SimplePlainQueue<T> {
         soNext(oldBuffer, newBuffer);
         soElement(oldBuffer, offset, HAS_NEXT); // new buffer is visible after element is
                                                                  // inserted
-        soProducerIndex(currIndex + 1);// this ensures correctness on 32bit platforms
     }
 
     private void soNext(AtomicReferenceArray<Object> curr, AtomicReferenceArray<Object> next) {
@@ -159,6 +163,62 @@ public final class SpscLinkedArrayQueue<T> implements SimplePlainQueue<T> {
         return n;
     }
 
+    @SuppressWarnings("unchecked")
+    @Override
+    public int drain(ElementConsumer<? super T> consumer, int limit) {
+        final int mask = consumerMask;
+        final long start = lpConsumerIndex();
+        long index = start;
+        final long end = start + limit;
+        try {
+            while (index != end) {
+                AtomicReferenceArray<Object> buffer = consumerBuffer;
+                int offset = calcWrappedOffset(index, mask);
+                Object e = lvElement(buffer, offset);// LoadLoad
+                if (e == HAS_NEXT) {
+                    buffer = lvNextBufferAndUnlink(buffer, mask + 1);
+                    consumerBuffer = buffer;
+                    e = lvElement(buffer, offset);// LoadLoad
+                }
+                if (null == e) {
+                    break;
+                }
+                index++;
+                soElement(buffer, offset, null);// StoreStore
+                if (!consumer.accept((T)e)) {
+                    break;
+                }
+            }
+        } finally {
+            if (index != start) {
+                soConsumerIndex(index); // one ordered store for the whole batch
+            }
+        }
+        return (int)(index - start);
+    }
+
+    @Override
+    public int fill(ElementSupplier<? extends T> supplier, int limit) {
+        final long start = lpProducerIndex();
+        long index = start;
+        final long end = start + limit;
+        try {
+            while (index != end) {
+                T e = supplier.get();
+                if (null == e) {
+                    throw new NullPointerException("Null is not a valid element");
+                }
+                write(e, index);
+                index++;
+            }
+        } finally {
+            if (index != start) {
+                soProducerIndex(index); // one ordered store for the whole batch
+            }
+        }
+        return (int)(index - start);
+    }
+
     @SuppressWarnings("unchecked")
     public T peek() {
         final AtomicReferenceArray<Object> buffer = consumerBuffer;
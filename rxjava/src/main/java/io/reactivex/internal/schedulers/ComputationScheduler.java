@@ -16,19 +16,31 @@
 package io.reactivex.internal.schedulers;
 
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.*;
 
 import io.reactivex.Scheduler;
 import io.reactivex.annotations.NonNull;
 import io.reactivex.disposables.*;
 import io.reactivex.internal.disposables.*;
 import io.reactivex.internal.functions.ObjectHelper;
+import io.reactivex.internal.queue.MpscLinkedArrayQueue;
+import io.reactivex.internal.schedulers.ExecutorScheduler.ExecutorWorker.BooleanRunnable;
+import io.reactivex.plugins.RxJavaPlugins;
 
 /**
  * Holds a fixed pool of worker threads and assigns them
  * to requested Scheduler.Workers in a round-robin fashion.
+ * <p>
+ * In work-stealing mode, Workers are assigned to the least-loaded
+ * worker thread and queue their non-delayed tasks themselves so that
+ * idle worker threads can pick up (steal) and run them while the
+ * Worker's tasks still execute one after the other.
+ * <p>
+ * Striped Workers, used by the striped placement of parallel rails,
+ * are assigned to the worker thread with the fewest undisposed striped
+ * Workers instead.
  */
-public final class ComputationScheduler extends Scheduler implements SchedulerMultiWorkerSupport {
+public final class ComputationScheduler extends Scheduler implements SchedulerStripedWorkerSupport {
     /** This will indicate no pool is active. */
     static final FixedSchedulerPool NONE;
     /** Manages a fixed number of workers. */
@@ -41,10 +53,29 @@ public final class ComputationScheduler extends Scheduler implements SchedulerMu
     static final String KEY_MAX_THREADS = "rx2.computation-threads";
     /** The maximum number of computation scheduler threads. */
     static final int MAX_THREADS;
+    /**
+     * Key to enabling the work-stealing mode of the computation scheduler.
+     */
+    static final String KEY_WORK_STEALING = "rx2.computation-work-stealing";
+    /** Indicates the computation scheduler should run in work-stealing mode. */
+    static final boolean WORK_STEALING;
+    /**
+     * Key to enabling the timer wheel for the delayed tasks of the computation scheduler.
+     */
+    static final String KEY_TIMER_WHEEL = "rx2.computation-timer-wheel";
+    /** Indicates the computation scheduler should time delayed tasks via the shared timer wheel. */
+    static final boolean TIMER_WHEEL;
+    /**
+     * The maximum number of Worker drains a work-stealing thread performs
+     * before yielding back to its own timed and direct tasks.
+     */
+    static final int STEAL_YIELD_LIMIT = 64;
 
     static final PoolWorker SHUTDOWN_WORKER;
 
     final ThreadFactory threadFactory;
+    final boolean workStealing;
+    final boolean timerWheel;
     final AtomicReference<FixedSchedulerPool> pool;
     /** The name of the system property for setting the thread priority for this Scheduler. */
     private static final String KEY_COMPUTATION_PRIORITY = "rx2.computation-priority";
@@ -52,7 +83,11 @@ public final class ComputationScheduler extends Scheduler implements SchedulerMu
     static {
         MAX_THREADS = cap(Runtime.getRuntime().availableProcessors(), Integer.getInteger(KEY_MAX_THREADS, 0));
 
-        SHUTDOWN_WORKER = new PoolWorker(new RxThreadFactory("RxComputationShutdown"));
+        WORK_STEALING = Boolean.getBoolean(KEY_WORK_STEALING);
+
+        TIMER_WHEEL = Boolean.getBoolean(KEY_TIMER_WHEEL);
+
+        SHUTDOWN_WORKER = new PoolWorker(new RxThreadFactory("RxComputationShutdown"), 0, false);
         SHUTDOWN_WORKER.dispose();
 
         int priority = Math.max(Thread.MIN_PRIORITY, Math.min(Thread.MAX_PRIORITY,
@@ -60,7 +95,7 @@ public final class ComputationScheduler extends Scheduler implements SchedulerMu
 
         THREAD_FACTORY = new RxThreadFactory(THREAD_NAME_PREFIX, priority, true);
 
-        NONE = new FixedSchedulerPool(0, THREAD_FACTORY);
+        NONE = new FixedSchedulerPool(0, THREAD_FACTORY, false, false);
         NONE.shutdown();
     }
 
@@ -68,18 +103,26 @@ public final class ComputationScheduler extends Scheduler implements SchedulerMu
         return paramThreads <= 0 || paramThreads > cpuCount ? cpuCount : paramThreads;
     }
 
-    static final class FixedSchedulerPool implements SchedulerMultiWorkerSupport {
+    static final class FixedSchedulerPool implements SchedulerStripedWorkerSupport {
         final int cores;
 
         final PoolWorker[] eventLoops;
+
+        final boolean workStealing;
         long n;
 
-        FixedSchedulerPool(int maxThreads, ThreadFactory threadFactory) {
+        FixedSchedulerPool(int maxThreads, ThreadFactory threadFactory, boolean workStealing, boolean timerWheel) {
             // initialize event loops
             this.cores = maxThreads;
+            this.workStealing = workStealing;
             this.eventLoops = new PoolWorker[maxThreads];
             for (int i = 0; i < maxThreads; i++) {
-                this.eventLoops[i] = new PoolWorker(threadFactory);
+                this.eventLoops[i] = new PoolWorker(threadFactory, i, timerWheel);
+            }
+            if (workStealing) {
+                for (PoolWorker w : eventLoops) {
+                    w.peers = eventLoops;
+                }
             }
         }
 
@@ -88,10 +131,50 @@ public final class ComputationScheduler extends Scheduler implements SchedulerMu
             if (c == 0) {
                 return SHUTDOWN_WORKER;
             }
-            // simple round robin, improvements to come
+            if (workStealing) {
+                return getLeastLoadedEventLoop(c);
+            }
+            // simple round robin
             return eventLoops[(int)(n++ % c)];
         }
 
+        /**
+         * Returns the event loop with the fewest queued work-stealing tasks,
+         * starting the search at the next round-robin position to spread ties.
+         * @param c the number of event loops, positive
+         * @return the least-loaded event loop
+         */
+        PoolWorker getLeastLoadedEventLoop(int c) {
+            PoolWorker[] loops = eventLoops;
+            int start = (int)(n++ % c);
+            PoolWorker best = loops[start];
+            int bestLoad = best.load.get();
+            for (int i = 1; i < c && bestLoad != 0; i++) {
+                int j = start + i;
+                if (j >= c) {
+                    j -= c;
+                }
+                PoolWorker w = loops[j];
+                int load = w.load.get();
+                if (load < bestLoad) {
+                    best = w;
+                    bestLoad = load;
+                }
+            }
+            return best;
+        }
+
+        Worker createWorker(PoolWorker poolWorker) {
+            return createWorker(poolWorker, null);
+        }
+
+        Worker createWorker(PoolWorker poolWorker, Disposable onDispose) {
+            if (workStealing && poolWorker != SHUTDOWN_WORKER) {
+                return new WorkStealingWorker(poolWorker, onDispose);
+            }
+            return new EventLoopWorker(poolWorker, onDispose);
+        }
+
         public void shutdown() {
             for (PoolWorker w : eventLoops) {
                 w.dispose();
@@ -108,7 +191,7 @@ public final class ComputationScheduler extends Scheduler implements SchedulerMu
             } else {
                 int index = (int)n % c;
                 for (int i = 0; i < number; i++) {
-                    callback.onWorker(i, new EventLoopWorker(eventLoops[index]));
+                    callback.onWorker(i, createWorker(eventLoops[index]));
                     if (++index == c) {
                         index = 0;
                     }
@@ -116,6 +199,62 @@ public final class ComputationScheduler extends Scheduler implements SchedulerMu
                 n = index;
             }
         }
+
+        @Override
+        public void createStripedWorkers(int number, WorkerCallback callback) {
+            int c = cores;
+            if (c == 0) {
+                createWorkers(number, callback);
+                return;
+            }
+            PoolWorker[] loops = eventLoops;
+            for (int i = 0; i < number; i++) {
+                // picking the loop increments its count so the next rail goes to another loop
+                int start = (int)(n++ % c);
+                PoolWorker best = loops[start];
+                int bestRails = best.rails.get();
+                for (int k = 1; k < c && bestRails != 0; k++) {
+                    int j = start + k;
+                    if (j >= c) {
+                        j -= c;
+                    }
+                    PoolWorker w = loops[j];
+                    int r = w.rails.get();
+                    if (r < bestRails) {
+                        best = w;
+                        bestRails = r;
+                    }
+                }
+                best.rails.getAndIncrement();
+                callback.onWorker(i, createWorker(best, new RailRelease(best)));
+            }
+        }
+    }
+
+    /**
+     * Decrements the striped worker count of an event loop once when its worker is disposed.
+     */
+    static final class RailRelease extends AtomicBoolean implements Disposable {
+
+        private static final long serialVersionUID = -3416587131355271370L;
+
+        final PoolWorker poolWorker;
+
+        RailRelease(PoolWorker poolWorker) {
+            this.poolWorker = poolWorker;
+        }
+
+        @Override
+        public void dispose() {
+            if (compareAndSet(false, true)) {
+                poolWorker.rails.decrementAndGet();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get();
+        }
     }
 
     /**
@@ -134,7 +273,38 @@ public final class ComputationScheduler extends Scheduler implements SchedulerMu
      *                      system properties for configuring new thread creation. Cannot be null.
      */
     public ComputationScheduler(ThreadFactory threadFactory) {
+        this(threadFactory, WORK_STEALING, TIMER_WHEEL);
+    }
+
+    /**
+     * Create a scheduler with pool size equal to the available processor
+     * count and using either the least-recent worker selection policy or
+     * the least-loaded, work-stealing policy.
+     *
+     * @param threadFactory thread factory to use for creating worker threads. Note that this takes precedence over any
+     *                      system properties for configuring new thread creation. Cannot be null.
+     * @param workStealing if true, workers are assigned to the least-loaded thread and idle threads
+     *                     may run the non-delayed tasks of workers assigned to busy threads
+     */
+    public ComputationScheduler(ThreadFactory threadFactory, boolean workStealing) {
+        this(threadFactory, workStealing, TIMER_WHEEL);
+    }
+
+    /**
+     * Create a scheduler with pool size equal to the available processor
+     * count and the given worker selection policy and delayed task timing.
+     *
+     * @param threadFactory thread factory to use for creating worker threads. Note that this takes precedence over any
+     *                      system properties for configuring new thread creation. Cannot be null.
+     * @param workStealing if true, workers are assigned to the least-loaded thread and idle threads
+     *                     may run the non-delayed tasks of workers assigned to busy threads
+     * @param timerWheel if true, delayed tasks are timed by the shared {@link TimerWheel} instead of
+     *                   the threads' ScheduledExecutorServices
+     */
+    public ComputationScheduler(ThreadFactory threadFactory, boolean workStealing, boolean timerWheel) {
         this.threadFactory = threadFactory;
+        this.workStealing = workStealing;
+        this.timerWheel = timerWheel;
         this.pool = new AtomicReference<FixedSchedulerPool>(NONE);
         start();
     }
@@ -142,7 +312,8 @@ public final class ComputationScheduler extends Scheduler implements SchedulerMu
     @NonNull
     @Override
     public Worker createWorker() {
-        return new EventLoopWorker(pool.get().getEventLoop());
+        FixedSchedulerPool p = pool.get();
+        return p.createWorker(p.getEventLoop());
     }
 
     @Override
@@ -151,6 +322,12 @@ public final class ComputationScheduler extends Scheduler implements SchedulerMu
         pool.get().createWorkers(number, callback);
     }
 
+    @Override
+    public void createStripedWorkers(int number, WorkerCallback callback) {
+        ObjectHelper.verifyPositive(number, "number > 0 required");
+        pool.get().createStripedWorkers(number, callback);
+    }
+
     @NonNull
     @Override
     public Disposable scheduleDirect(@NonNull Runnable run, long delay, TimeUnit unit) {
@@ -167,7 +344,7 @@ public final class ComputationScheduler extends Scheduler implements SchedulerMu
 
     @Override
     public void start() {
-        FixedSchedulerPool update = new FixedSchedulerPool(MAX_THREADS, threadFactory);
+        FixedSchedulerPool update = new FixedSchedulerPool(MAX_THREADS, threadFactory, workStealing, timerWheel);
         if (!pool.compareAndSet(NONE, update)) {
             update.shutdown();
         }
@@ -196,13 +373,16 @@ public final class ComputationScheduler extends Scheduler implements SchedulerMu
 
         volatile boolean disposed;
 
-        EventLoopWorker(PoolWorker poolWorker) {
+        EventLoopWorker(PoolWorker poolWorker, Disposable onDispose) {
             this.poolWorker = poolWorker;
             this.serial = new ListCompositeDisposable();
             this.timed = new CompositeDisposable();
             this.both = new ListCompositeDisposable();
             this.both.add(serial);
             this.both.add(timed);
+            if (onDispose != null) {
+                this.both.add(onDispose);
+            }
         }
 
         @Override
@@ -238,9 +418,296 @@ public final class ComputationScheduler extends Scheduler implements SchedulerMu
         }
     }
 
-    static final class PoolWorker extends NewThreadWorker {
-        PoolWorker(ThreadFactory threadFactory) {
-            super(threadFactory);
+    static final class WorkStealingWorker extends Scheduler.Worker implements Runnable {
+        final PoolWorker home;
+
+        final MpscLinkedArrayQueue<Runnable> queue;
+
+        final AtomicInteger wip;
+
+        final CompositeDisposable timed;
+
+        volatile boolean disposed;
+
+        WorkStealingWorker(PoolWorker home, Disposable onDispose) {
+            this.home = home;
+            this.queue = new MpscLinkedArrayQueue<Runnable>();
+            this.wip = new AtomicInteger();
+            this.timed = new CompositeDisposable();
+            if (onDispose != null) {
+                this.timed.add(onDispose);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (!disposed) {
+                disposed = true;
+                timed.dispose();
+                if (wip.getAndIncrement() == 0) {
+                    clearAll(1);
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        @NonNull
+        @Override
+        public Disposable schedule(@NonNull Runnable action) {
+            if (disposed) {
+                return EmptyDisposable.INSTANCE;
+            }
+
+            return enqueue(RxJavaPlugins.onSchedule(action));
+        }
+
+        @NonNull
+        @Override
+        public Disposable schedule(@NonNull Runnable action, long delayTime, @NonNull TimeUnit unit) {
+            if (delayTime <= 0L) {
+                return schedule(action);
+            }
+            if (disposed) {
+                return EmptyDisposable.INSTANCE;
+            }
+
+            SequentialDisposable first = new SequentialDisposable();
+
+            final SequentialDisposable mar = new SequentialDisposable(first);
+
+            final Runnable decoratedRun = RxJavaPlugins.onSchedule(action);
+
+            // the timer only moves the task into the serial queue so it never runs concurrently with a stolen drain
+            ScheduledRunnable sr = new ScheduledRunnable(new DelayedEnqueue(mar, decoratedRun), timed);
+
+            if (!timed.add(sr)) {
+                return EmptyDisposable.INSTANCE;
+            }
+
+            try {
+                home.scheduleDelayed(sr, delayTime, unit, false);
+            } catch (RejectedExecutionException ex) {
+                timed.delete(sr);
+                RxJavaPlugins.onError(ex);
+                return EmptyDisposable.INSTANCE;
+            }
+
+            first.replace(sr);
+
+            return mar;
+        }
+
+        Disposable enqueue(Runnable decoratedRun) {
+            BooleanRunnable br = new BooleanRunnable(MeasuredRunnable.wrap(decoratedRun, home.load, 0L, TimeUnit.NANOSECONDS));
+
+            home.load.getAndIncrement();
+            queue.offer(br);
+
+            if (wip.getAndIncrement() == 0) {
+                // a concurrent dispose() may have cleared the queue before the offer
+                if (disposed) {
+                    clearAll(1);
+                } else {
+                    home.offer(this);
+                }
+            }
+
+            return br;
+        }
+
+        void clear() {
+            final MpscLinkedArrayQueue<Runnable> q = queue;
+            final AtomicInteger load = home.load;
+            while (q.poll() != null) {
+                load.decrementAndGet();
+            }
+        }
+
+        /**
+         * Clears the queue and leaves the wip section so a task offered after the
+         * disposal is cleared by whoever enters it next and its load count is undone.
+         * @param missed the wip count to leave with
+         */
+        void clearAll(int missed) {
+            for (;;) {
+                clear();
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            final MpscLinkedArrayQueue<Runnable> q = queue;
+            final AtomicInteger load = home.load;
+            for (;;) {
+
+                for (;;) {
+                    if (disposed) {
+                        clearAll(missed);
+                        return;
+                    }
+
+                    Runnable run = q.poll();
+                    if (run == null) {
+                        break;
+                    }
+                    load.decrementAndGet();
+
+                    try {
+                        run.run();
+                    } catch (Throwable ex) {
+                        // Exceptions.throwIfFatal(e); nowhere to go
+                        RxJavaPlugins.onError(ex);
+                    }
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        final class DelayedEnqueue implements Runnable {
+            private final SequentialDisposable mar;
+            private final Runnable decoratedRun;
+
+            DelayedEnqueue(SequentialDisposable mar, Runnable decoratedRun) {
+                this.mar = mar;
+                this.decoratedRun = decoratedRun;
+            }
+
+            @Override
+            public void run() {
+                if (!disposed) {
+                    mar.replace(enqueue(decoratedRun));
+                }
+            }
+        }
+    }
+
+    static final class PoolWorker extends NewThreadWorker implements Runnable {
+        /** The index of this worker within its pool. */
+        final int index;
+
+        /** The work-stealing workers assigned to this thread that have tasks to run. */
+        final ConcurrentLinkedQueue<WorkStealingWorker> ready;
+
+        /** The number of queued tasks of the work-stealing workers assigned to this thread. */
+        final AtomicInteger load;
+
+        final AtomicInteger wip;
+
+        /** The number of undisposed striped workers assigned to this thread. */
+        final AtomicInteger rails;
+
+        /** The other workers of the pool to steal from, set in work-stealing mode only. */
+        PoolWorker[] peers;
+
+        PoolWorker(ThreadFactory threadFactory, int index, boolean timerWheel) {
+            super(threadFactory, timerWheel);
+            this.index = index;
+            this.ready = new ConcurrentLinkedQueue<WorkStealingWorker>();
+            this.load = new AtomicInteger();
+            this.wip = new AtomicInteger();
+            this.rails = new AtomicInteger();
+        }
+
+        /**
+         * Makes the given work-stealing worker available for execution on this
+         * thread or, if this thread is busy, on an idle thread that steals it.
+         * @param worker the worker with tasks to run
+         */
+        void offer(WorkStealingWorker worker) {
+            ready.offer(worker);
+            if (!signal()) {
+                PoolWorker[] a = peers;
+                int c = a.length;
+                for (int i = 1; i < c; i++) {
+                    int j = index + i;
+                    if (j >= c) {
+                        j -= c;
+                    }
+                    PoolWorker p = a[j];
+                    if (p.wip.get() == 0) {
+                        p.signal();
+                        break;
+                    }
+                }
+            }
+        }
+
+        boolean signal() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException ex) {
+                    RxJavaPlugins.onError(ex);
+                }
+                return true;
+            }
+            return false;
+        }
+
+        WorkStealingWorker steal() {
+            PoolWorker[] a = peers;
+            int c = a.length;
+            for (int i = 1; i < c; i++) {
+                int j = index + i;
+                if (j >= c) {
+                    j -= c;
+                }
+                WorkStealingWorker w = a[j].ready.poll();
+                if (w != null) {
+                    return w;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            int drained = 0;
+            for (;;) {
+
+                for (;;) {
+                    if (drained == STEAL_YIELD_LIMIT) {
+                        // let the timed and direct tasks of this thread run before continuing
+                        try {
+                            executor.execute(this);
+                        } catch (RejectedExecutionException ex) {
+                            RxJavaPlugins.onError(ex);
+                        }
+                        return;
+                    }
+
+                    WorkStealingWorker w = ready.poll();
+                    if (w == null) {
+                        w = steal();
+                        if (w == null) {
+                            break;
+                        }
+                    }
+
+                    w.run();
+                    drained++;
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
         }
     }
 }
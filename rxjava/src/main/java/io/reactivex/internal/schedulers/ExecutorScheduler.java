@@ -21,7 +21,7 @@ import io.reactivex.annotations.NonNull;
 import io.reactivex.disposables.*;
 import io.reactivex.internal.disposables.*;
 import io.reactivex.internal.functions.Functions;
-import io.reactivex.internal.queue.MpscLinkedQueue;
+import io.reactivex.internal.queue.MpscLinkedArrayQueue;
 import io.reactivex.internal.schedulers.ExecutorScheduler.ExecutorWorker.BooleanRunnable;
 import io.reactivex.plugins.RxJavaPlugins;
 import io.reactivex.schedulers.*;
@@ -49,7 +49,7 @@ public final class ExecutorScheduler extends Scheduler {
     @NonNull
     @Override
     public Disposable scheduleDirect(@NonNull Runnable run) {
-        Runnable decoratedRun = RxJavaPlugins.onSchedule(run);
+        Runnable decoratedRun = MeasuredRunnable.wrap(RxJavaPlugins.onSchedule(run), executor, 0L, TimeUnit.NANOSECONDS);
         try {
             if (executor instanceof ExecutorService) {
                 ScheduledDirectTask task = new ScheduledDirectTask(decoratedRun);
@@ -73,7 +73,7 @@ public final class ExecutorScheduler extends Scheduler {
         final Runnable decoratedRun = RxJavaPlugins.onSchedule(run);
         if (executor instanceof ScheduledExecutorService) {
             try {
-                ScheduledDirectTask task = new ScheduledDirectTask(decoratedRun);
+                ScheduledDirectTask task = new ScheduledDirectTask(MeasuredRunnable.wrap(decoratedRun, executor, delay, unit));
                 Future<?> f = ((ScheduledExecutorService)executor).schedule(task, delay, unit);
                 task.setFuture(f);
                 return task;
@@ -96,7 +96,7 @@ public final class ExecutorScheduler extends Scheduler {
     @Override
     public Disposable schedulePeriodicallyDirect(@NonNull Runnable run, long initialDelay, long period, TimeUnit unit) {
         if (executor instanceof ScheduledExecutorService) {
-            Runnable decoratedRun = RxJavaPlugins.onSchedule(run);
+            Runnable decoratedRun = MeasuredRunnable.wrap(RxJavaPlugins.onSchedule(run), executor, initialDelay, period, unit);
             try {
                 ScheduledDirectPeriodicTask task = new ScheduledDirectPeriodicTask(decoratedRun);
                 Future<?> f = ((ScheduledExecutorService)executor).scheduleAtFixedRate(task, initialDelay, period, unit);
@@ -113,7 +113,7 @@ public final class ExecutorScheduler extends Scheduler {
     public static final class ExecutorWorker extends Scheduler.Worker implements Runnable {
         final Executor executor;
 
-        final MpscLinkedQueue<Runnable> queue;
+        final MpscLinkedArrayQueue<Runnable> queue;
 
         volatile boolean disposed;
 
@@ -123,7 +123,7 @@ public final class ExecutorScheduler extends Scheduler {
 
         public ExecutorWorker(Executor executor) {
             this.executor = executor;
-            this.queue = new MpscLinkedQueue<Runnable>();
+            this.queue = new MpscLinkedArrayQueue<Runnable>();
         }
 
         @NonNull
@@ -133,7 +133,7 @@ public final class ExecutorScheduler extends Scheduler {
                 return EmptyDisposable.INSTANCE;
             }
 
-            Runnable decoratedRun = RxJavaPlugins.onSchedule(run);
+            Runnable decoratedRun = MeasuredRunnable.wrap(RxJavaPlugins.onSchedule(run), queue, 0L, TimeUnit.NANOSECONDS);
             BooleanRunnable br = new BooleanRunnable(decoratedRun);
 
             queue.offer(br);
@@ -210,7 +210,7 @@ public final class ExecutorScheduler extends Scheduler {
         @Override
         public void run() {
             int missed = 1;
-            final MpscLinkedQueue<Runnable> q = queue;
+            final MpscLinkedArrayQueue<Runnable> q = queue;
             for (;;) {
 
                 if (disposed) {
@@ -19,13 +19,19 @@ package io.reactivex.internal.schedulers;
 import io.reactivex.Scheduler;
 import io.reactivex.annotations.NonNull;
 import io.reactivex.disposables.*;
-import io.reactivex.internal.disposables.EmptyDisposable;
+import io.reactivex.internal.disposables.*;
+import io.reactivex.internal.queue.MpscLinkedArrayQueue;
+import io.reactivex.internal.schedulers.ExecutorScheduler.ExecutorWorker.BooleanRunnable;
+import io.reactivex.plugins.RxJavaPlugins;
 
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
 
 /**
  * Scheduler that creates and caches a set of thread pools and reuses them if possible.
+ * <p>
+ * If the number of threads is capped, workers created while all threads are in use share
+ * the least used thread and take turns running a limited batch of their tasks on it.
  */
 public final class IoScheduler extends Scheduler {
     private static final String WORKER_THREAD_NAME_PREFIX = "RxCachedThreadScheduler";
@@ -39,14 +45,31 @@ public final class IoScheduler extends Scheduler {
 
     static final ThreadWorker SHUTDOWN_THREAD_WORKER;
     final ThreadFactory threadFactory;
+    final boolean timerWheel;
+    final int maxThreads;
     final AtomicReference<CachedWorkerPool> pool;
 
     /** The name of the system property for setting the thread priority for this Scheduler. */
     private static final String KEY_IO_PRIORITY = "rx2.io-priority";
 
+    /** The name of the system property for timing the delayed tasks via the shared timer wheel. */
+    static final String KEY_IO_TIMER_WHEEL = "rx2.io-timer-wheel";
+
+    /** Indicates the IO scheduler should time delayed tasks via the shared timer wheel. */
+    static final boolean TIMER_WHEEL;
+
+    /** The name of the system property for capping the number of threads of this Scheduler. */
+    static final String KEY_IO_MAX_THREADS = "rx2.io-max-threads";
+
+    /** The maximum number of threads of the IO scheduler, {@link Integer#MAX_VALUE} if unbounded. */
+    static final int MAX_THREADS;
+
+    /** The maximum number of tasks a worker runs before letting the other workers sharing its thread run theirs. */
+    static final int MAX_DRAIN_BATCH = 16;
+
     static final CachedWorkerPool NONE;
     static {
-        SHUTDOWN_THREAD_WORKER = new ThreadWorker(new RxThreadFactory("RxCachedThreadSchedulerShutdown"));
+        SHUTDOWN_THREAD_WORKER = new ThreadWorker(new RxThreadFactory("RxCachedThreadSchedulerShutdown"), false);
         SHUTDOWN_THREAD_WORKER.dispose();
 
         int priority = Math.max(Thread.MIN_PRIORITY, Math.min(Thread.MAX_PRIORITY,
@@ -56,7 +79,12 @@ public final class IoScheduler extends Scheduler {
 
         EVICTOR_THREAD_FACTORY = new RxThreadFactory(EVICTOR_THREAD_NAME_PREFIX, priority);
 
-        NONE = new CachedWorkerPool(0, null, WORKER_THREAD_FACTORY);
+        TIMER_WHEEL = Boolean.getBoolean(KEY_IO_TIMER_WHEEL);
+
+        int max = Integer.getInteger(KEY_IO_MAX_THREADS, 0);
+        MAX_THREADS = max > 0 ? max : Integer.MAX_VALUE;
+
+        NONE = new CachedWorkerPool(0, null, WORKER_THREAD_FACTORY, false, Integer.MAX_VALUE);
         NONE.shutdown();
     }
 
@@ -67,12 +95,25 @@ public final class IoScheduler extends Scheduler {
         private final ScheduledExecutorService evictorService;
         private final Future<?> evictorTask;
         private final ThreadFactory threadFactory;
-
-        CachedWorkerPool(long keepAliveTime, TimeUnit unit, ThreadFactory threadFactory) {
+        private final boolean timerWheel;
+        final int maxThreads;
+        /** The live threads if bounded, to find the least used one when all of them are in use. */
+        final CopyOnWriteArrayList<ThreadWorker> liveWorkers;
+        final AtomicInteger threadCount;
+        final AtomicInteger idleCount;
+        final AtomicLong evictedCount;
+
+        CachedWorkerPool(long keepAliveTime, TimeUnit unit, ThreadFactory threadFactory, boolean timerWheel, int maxThreads) {
             this.keepAliveTime = unit != null ? unit.toNanos(keepAliveTime) : 0L;
             this.expiringWorkerQueue = new ConcurrentLinkedQueue<ThreadWorker>();
             this.allWorkers = new CompositeDisposable();
             this.threadFactory = threadFactory;
+            this.timerWheel = timerWheel;
+            this.maxThreads = maxThreads;
+            this.liveWorkers = maxThreads != Integer.MAX_VALUE ? new CopyOnWriteArrayList<ThreadWorker>() : null;
+            this.threadCount = new AtomicInteger();
+            this.idleCount = new AtomicInteger();
+            this.evictedCount = new AtomicLong();
 
             ScheduledExecutorService evictor = null;
             Future<?> task = null;
@@ -89,6 +130,10 @@ public final class IoScheduler extends Scheduler {
             evictExpiredWorkers();
         }
 
+        boolean isBounded() {
+            return liveWorkers != null;
+        }
+
         ThreadWorker get() {
             if (allWorkers.isDisposed()) {
                 return SHUTDOWN_THREAD_WORKER;
@@ -96,23 +141,82 @@ public final class IoScheduler extends Scheduler {
             while (!expiringWorkerQueue.isEmpty()) {
                 ThreadWorker threadWorker = expiringWorkerQueue.poll();
                 if (threadWorker != null) {
+                    idleCount.decrementAndGet();
                     return threadWorker;
                 }
             }
 
             // No cached worker found, so create a new one.
-            ThreadWorker w = new ThreadWorker(threadFactory);
+            threadCount.getAndIncrement();
+            ThreadWorker w = new ThreadWorker(threadFactory, timerWheel);
             allWorkers.add(w);
             return w;
         }
 
+        /**
+         * Returns a thread for a worker of a bounded pool: an idle one, a new one
+         * if below the cap or else the live one with the fewest workers.
+         * @return the thread the worker should run its tasks on
+         */
+        ThreadWorker getBounded() {
+            for (;;) {
+                if (allWorkers.isDisposed()) {
+                    return SHUTDOWN_THREAD_WORKER;
+                }
+
+                ThreadWorker threadWorker = expiringWorkerQueue.poll();
+                if (threadWorker != null) {
+                    idleCount.decrementAndGet();
+                    threadWorker.users.getAndIncrement();
+                    return threadWorker;
+                }
+
+                int c = threadCount.get();
+                if (c < maxThreads) {
+                    if (threadCount.compareAndSet(c, c + 1)) {
+                        ThreadWorker w = new ThreadWorker(threadFactory, timerWheel);
+                        w.users.lazySet(1);
+                        liveWorkers.add(w);
+                        if (!allWorkers.add(w)) {
+                            liveWorkers.remove(w);
+                            return SHUTDOWN_THREAD_WORKER;
+                        }
+                        return w;
+                    }
+                    continue;
+                }
+
+                ThreadWorker least = null;
+                int leastUsers = Integer.MAX_VALUE;
+                for (ThreadWorker w : liveWorkers) {
+                    int u = w.users.get();
+                    // threads without users are either idle or on their way there
+                    if (u > 0 && u < leastUsers) {
+                        least = w;
+                        leastUsers = u;
+                    }
+                }
+
+                if (least != null && least.users.compareAndSet(leastUsers, leastUsers + 1)) {
+                    return least;
+                }
+            }
+        }
+
         void release(ThreadWorker threadWorker) {
             // Refresh expire time before putting worker back in pool
             threadWorker.setExpirationTime(now() + keepAliveTime);
 
+            idleCount.getAndIncrement();
             expiringWorkerQueue.offer(threadWorker);
         }
 
+        void releaseBounded(ThreadWorker threadWorker) {
+            if (threadWorker.users.decrementAndGet() == 0) {
+                release(threadWorker);
+            }
+        }
+
         void evictExpiredWorkers() {
             if (!expiringWorkerQueue.isEmpty()) {
                 long currentTimestamp = now();
@@ -120,7 +224,13 @@ public final class IoScheduler extends Scheduler {
                 for (ThreadWorker threadWorker : expiringWorkerQueue) {
                     if (threadWorker.getExpirationTime() <= currentTimestamp) {
                         if (expiringWorkerQueue.remove(threadWorker)) {
+                            idleCount.decrementAndGet();
+                            evictedCount.getAndIncrement();
+                            if (liveWorkers != null) {
+                                liveWorkers.remove(threadWorker);
+                            }
                             allWorkers.remove(threadWorker);
+                            threadCount.decrementAndGet();
                         }
                     } else {
                         // Queue is ordered with the worker that will expire first in the beginning, so when we
@@ -135,6 +245,16 @@ public final class IoScheduler extends Scheduler {
             return System.nanoTime();
         }
 
+        int queuedCount() {
+            int queued = 0;
+            if (liveWorkers != null) {
+                for (ThreadWorker w : liveWorkers) {
+                    queued += Math.max(0, w.users.get() - 1);
+                }
+            }
+            return queued;
+        }
+
         void shutdown() {
             allWorkers.dispose();
             if (evictorTask != null) {
@@ -155,14 +275,41 @@ public final class IoScheduler extends Scheduler {
      *                      system properties for configuring new thread creation. Cannot be null.
      */
     public IoScheduler(ThreadFactory threadFactory) {
+        this(threadFactory, TIMER_WHEEL);
+    }
+
+    /**
+     * @param threadFactory thread factory to use for creating worker threads. Note that this takes precedence over any
+     *                      system properties for configuring new thread creation. Cannot be null.
+     * @param timerWheel if true, delayed tasks are timed by the shared {@link TimerWheel} instead of
+     *                   the workers' ScheduledExecutorServices
+     */
+    public IoScheduler(ThreadFactory threadFactory, boolean timerWheel) {
+        this(threadFactory, timerWheel, MAX_THREADS);
+    }
+
+    /**
+     * @param threadFactory thread factory to use for creating worker threads. Note that this takes precedence over any
+     *                      system properties for configuring new thread creation. Cannot be null.
+     * @param timerWheel if true, delayed tasks are timed by the shared {@link TimerWheel} instead of
+     *                   the workers' ScheduledExecutorServices
+     * @param maxThreads the maximum number of threads, positive; workers created while all threads
+     *                   are in use share the least used thread
+     */
+    public IoScheduler(ThreadFactory threadFactory, boolean timerWheel, int maxThreads) {
+        if (maxThreads <= 0) {
+            throw new IllegalArgumentException("maxThreads > 0 required but it was " + maxThreads);
+        }
         this.threadFactory = threadFactory;
+        this.timerWheel = timerWheel;
+        this.maxThreads = maxThreads;
         this.pool = new AtomicReference<CachedWorkerPool>(NONE);
         start();
     }
 
     @Override
     public void start() {
-        CachedWorkerPool update = new CachedWorkerPool(KEEP_ALIVE_TIME, KEEP_ALIVE_UNIT, threadFactory);
+        CachedWorkerPool update = new CachedWorkerPool(KEEP_ALIVE_TIME, KEEP_ALIVE_UNIT, threadFactory, timerWheel, maxThreads);
         if (!pool.compareAndSet(NONE, update)) {
             update.shutdown();
         }
@@ -184,13 +331,51 @@ public final class IoScheduler extends Scheduler {
     @NonNull
     @Override
     public Worker createWorker() {
-        return new EventLoopWorker(pool.get());
+        CachedWorkerPool p = pool.get();
+        if (p.isBounded()) {
+            return new QueuedEventLoopWorker(p);
+        }
+        return new EventLoopWorker(p);
     }
 
     public int size() {
         return pool.get().allWorkers.size();
     }
 
+    /**
+     * Returns the number of threads currently used by at least one worker.
+     * @return the number of active threads
+     */
+    public int activeCount() {
+        CachedWorkerPool p = pool.get();
+        return Math.max(0, p.threadCount.get() - p.idleCount.get());
+    }
+
+    /**
+     * Returns the number of threads waiting to be reused or evicted.
+     * @return the number of idle threads
+     */
+    public int idleCount() {
+        return pool.get().idleCount.get();
+    }
+
+    /**
+     * Returns the number of idle threads evicted after the keep-alive time since the scheduler has been started.
+     * @return the number of evicted threads
+     */
+    public long evictedCount() {
+        return pool.get().evictedCount.get();
+    }
+
+    /**
+     * Returns the number of workers sharing a thread with an other worker because
+     * the maximum number of threads are in use.
+     * @return the number of queued workers, always zero if the number of threads is not capped
+     */
+    public int queuedCount() {
+        return pool.get().queuedCount();
+    }
+
     static final class EventLoopWorker extends Scheduler.Worker {
         private final CompositeDisposable tasks;
         private final CachedWorkerPool pool;
@@ -231,11 +416,183 @@ public final class IoScheduler extends Scheduler {
         }
     }
 
+    /**
+     * A worker of a bounded pool that queues its tasks and runs them in batches on a
+     * possibly shared thread so the workers of that thread take turns fairly.
+     */
+    static final class QueuedEventLoopWorker extends Scheduler.Worker implements Runnable {
+        final CompositeDisposable tasks;
+        final CachedWorkerPool pool;
+        final ThreadWorker threadWorker;
+        final MpscLinkedArrayQueue<Runnable> queue;
+        final AtomicInteger wip;
+
+        final AtomicBoolean once = new AtomicBoolean();
+
+        QueuedEventLoopWorker(CachedWorkerPool pool) {
+            this.pool = pool;
+            this.tasks = new CompositeDisposable();
+            this.queue = new MpscLinkedArrayQueue<Runnable>();
+            this.wip = new AtomicInteger();
+            this.threadWorker = pool.getBounded();
+        }
+
+        @Override
+        public void dispose() {
+            if (once.compareAndSet(false, true)) {
+                tasks.dispose();
+                if (wip.getAndIncrement() == 0) {
+                    queue.clear();
+                }
+
+                // releasing the pool should be the last action
+                if (threadWorker != SHUTDOWN_THREAD_WORKER) {
+                    pool.releaseBounded(threadWorker);
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return once.get();
+        }
+
+        @NonNull
+        @Override
+        public Disposable schedule(@NonNull Runnable action) {
+            if (tasks.isDisposed()) {
+                return EmptyDisposable.INSTANCE;
+            }
+
+            return enqueue(RxJavaPlugins.onSchedule(action));
+        }
+
+        @NonNull
+        @Override
+        public Disposable schedule(@NonNull Runnable action, long delayTime, @NonNull TimeUnit unit) {
+            if (delayTime <= 0L) {
+                return schedule(action);
+            }
+            if (tasks.isDisposed()) {
+                // don't schedule, we are unsubscribed
+                return EmptyDisposable.INSTANCE;
+            }
+
+            SequentialDisposable first = new SequentialDisposable();
+
+            final SequentialDisposable mar = new SequentialDisposable(first);
+
+            final Runnable decoratedRun = RxJavaPlugins.onSchedule(action);
+
+            // the timer only moves the task into the queue so it takes its turn with the other tasks
+            ScheduledRunnable sr = new ScheduledRunnable(new DelayedEnqueue(mar, decoratedRun), tasks);
+
+            if (!tasks.add(sr)) {
+                return EmptyDisposable.INSTANCE;
+            }
+
+            try {
+                threadWorker.scheduleDelayed(sr, delayTime, unit, false);
+            } catch (RejectedExecutionException ex) {
+                tasks.delete(sr);
+                RxJavaPlugins.onError(ex);
+                return EmptyDisposable.INSTANCE;
+            }
+
+            first.replace(sr);
+
+            return mar;
+        }
+
+        Disposable enqueue(Runnable decoratedRun) {
+            BooleanRunnable br = new BooleanRunnable(MeasuredRunnable.wrap(decoratedRun, queue, 0L, TimeUnit.NANOSECONDS));
+
+            queue.offer(br);
+
+            if (wip.getAndIncrement() == 0) {
+                submit();
+            }
+
+            return br;
+        }
+
+        void submit() {
+            try {
+                threadWorker.executor.execute(this);
+            } catch (RejectedExecutionException ex) {
+                once.set(true);
+                queue.clear();
+                RxJavaPlugins.onError(ex);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            final MpscLinkedArrayQueue<Runnable> q = queue;
+            int emitted = 0;
+            for (;;) {
+                for (;;) {
+                    if (once.get()) {
+                        q.clear();
+                        return;
+                    }
+
+                    if (emitted == MAX_DRAIN_BATCH) {
+                        // let the other workers sharing this thread run before continuing
+                        wip.addAndGet(1 - missed);
+                        submit();
+                        return;
+                    }
+
+                    Runnable run = q.poll();
+                    if (run == null) {
+                        break;
+                    }
+                    emitted++;
+
+                    try {
+                        run.run();
+                    } catch (Throwable ex) {
+                        // Exceptions.throwIfFatal(e); nowhere to go
+                        RxJavaPlugins.onError(ex);
+                    }
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        final class DelayedEnqueue implements Runnable {
+            private final SequentialDisposable mar;
+            private final Runnable decoratedRun;
+
+            DelayedEnqueue(SequentialDisposable mar, Runnable decoratedRun) {
+                this.mar = mar;
+                this.decoratedRun = decoratedRun;
+            }
+
+            @Override
+            public void run() {
+                if (!once.get()) {
+                    mar.replace(enqueue(decoratedRun));
+                }
+            }
+        }
+    }
+
     static final class ThreadWorker extends NewThreadWorker {
+        /** The number of workers using this thread of a bounded pool, zero if idle. */
+        final AtomicInteger users;
+
         private long expirationTime;
 
-        ThreadWorker(ThreadFactory threadFactory) {
-            super(threadFactory);
+        ThreadWorker(ThreadFactory threadFactory, boolean timerWheel) {
+            super(threadFactory, timerWheel);
+            this.users = new AtomicInteger();
             this.expirationTime = 0L;
         }
 
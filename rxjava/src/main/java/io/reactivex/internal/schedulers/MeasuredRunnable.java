@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.schedulers;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.exceptions.Exceptions;
+import io.reactivex.internal.queue.MpscLinkedArrayQueue;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.schedulers.*;
+
+/**
+ * Wraps a task to report its wait and run time and the depth of its worker's queue
+ * to the {@link SchedulerMetricsListener} that was set when the task was scheduled.
+ */
+final class MeasuredRunnable implements Runnable, SchedulerRunnableIntrospection {
+
+    final Runnable actual;
+
+    final SchedulerMetricsListener listener;
+
+    /** The ThreadPoolExecutor, MpscLinkedArrayQueue or AtomicInteger telling the queue depth. */
+    final Object queue;
+
+    /** The period of a fixed-rate task, zero if the task doesn't repeat or repeats immediately. */
+    final long periodNanos;
+
+    /** The System.nanoTime() the next run is due at; accessed by the running thread after scheduling. */
+    long dueNanos;
+
+    MeasuredRunnable(Runnable actual, SchedulerMetricsListener listener, Object queue, long dueNanos, long periodNanos) {
+        this.actual = actual;
+        this.listener = listener;
+        this.queue = queue;
+        this.dueNanos = dueNanos;
+        this.periodNanos = periodNanos;
+    }
+
+    /**
+     * Wraps the given task if a listener is set, returns it as is otherwise.
+     * @param run the task, already decorated by {@link RxJavaPlugins#onSchedule(Runnable)}
+     * @param queue the ThreadPoolExecutor, MpscLinkedArrayQueue or AtomicInteger telling the
+     *              depth of the queue the task will wait in
+     * @param delay the delay before the task is due, non-positive if it is due now
+     * @param unit the time unit of the delay
+     * @return the wrapped or the original task
+     */
+    static Runnable wrap(Runnable run, Object queue, long delay, TimeUnit unit) {
+        return wrap(run, queue, delay, 0L, unit);
+    }
+
+    /**
+     * Wraps the given task if a listener is set, returns it as is otherwise.
+     * @param run the task, already decorated by {@link RxJavaPlugins#onSchedule(Runnable)}
+     * @param queue the ThreadPoolExecutor, MpscLinkedArrayQueue or AtomicInteger telling the
+     *              depth of the queue the task will wait in
+     * @param delay the delay before the task is first due, non-positive if it is due now
+     * @param period the fixed-rate period of the task, non-positive if it doesn't repeat or
+     *               is resubmitted right after each run
+     * @param unit the time unit of the delay and period
+     * @return the wrapped or the original task
+     */
+    static Runnable wrap(Runnable run, Object queue, long delay, long period, TimeUnit unit) {
+        SchedulerMetricsListener listener = RxJavaPlugins.getSchedulerMetricsListener();
+        if (listener == null) {
+            return run;
+        }
+        long due = System.nanoTime();
+        if (delay > 0L) {
+            due += unit.toNanos(delay);
+        }
+        return new MeasuredRunnable(run, listener, queue, due, period > 0L ? unit.toNanos(period) : 0L);
+    }
+
+    static int queueDepth(Object queue) {
+        if (queue instanceof ThreadPoolExecutor) {
+            return ((ThreadPoolExecutor)queue).getQueue().size();
+        }
+        if (queue instanceof MpscLinkedArrayQueue) {
+            return ((MpscLinkedArrayQueue<?>)queue).size();
+        }
+        if (queue instanceof AtomicInteger) {
+            return ((AtomicInteger)queue).get();
+        }
+        return -1;
+    }
+
+    @Override
+    public void run() {
+        long start = System.nanoTime();
+        int depth = queueDepth(queue);
+        try {
+            actual.run();
+        } finally {
+            long end = System.nanoTime();
+            long wait = start - dueNanos;
+            long p = periodNanos;
+            dueNanos = p != 0L ? dueNanos + p : end;
+            try {
+                listener.onTaskRun(wait > 0L ? wait : 0L, end - start, depth);
+            } catch (Throwable ex) {
+                Exceptions.throwIfFatal(ex);
+                RxJavaPlugins.onError(ex);
+            }
+        }
+    }
+
+    @Override
+    public Runnable getWrappedRunnable() {
+        return actual;
+    }
+}
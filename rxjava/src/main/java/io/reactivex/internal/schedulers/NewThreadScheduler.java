@@ -28,17 +28,27 @@ public final class NewThreadScheduler extends Scheduler {
 
     final ThreadFactory threadFactory;
 
+    final boolean timerWheel;
+
     private static final String THREAD_NAME_PREFIX = "RxNewThreadScheduler";
     private static final RxThreadFactory THREAD_FACTORY;
 
     /** The name of the system property for setting the thread priority for this Scheduler. */
     private static final String KEY_NEWTHREAD_PRIORITY = "rx2.newthread-priority";
 
+    /** The name of the system property for timing the delayed tasks via the shared timer wheel. */
+    static final String KEY_NEWTHREAD_TIMER_WHEEL = "rx2.newthread-timer-wheel";
+
+    /** Indicates the new thread scheduler should time delayed tasks via the shared timer wheel. */
+    static final boolean TIMER_WHEEL;
+
     static {
         int priority = Math.max(Thread.MIN_PRIORITY, Math.min(Thread.MAX_PRIORITY,
                 Integer.getInteger(KEY_NEWTHREAD_PRIORITY, Thread.NORM_PRIORITY)));
 
         THREAD_FACTORY = new RxThreadFactory(THREAD_NAME_PREFIX, priority);
+
+        TIMER_WHEEL = Boolean.getBoolean(KEY_NEWTHREAD_TIMER_WHEEL);
     }
 
     public NewThreadScheduler() {
@@ -46,12 +56,17 @@ public final class NewThreadScheduler extends Scheduler {
     }
 
     public NewThreadScheduler(ThreadFactory threadFactory) {
+        this(threadFactory, TIMER_WHEEL);
+    }
+
+    public NewThreadScheduler(ThreadFactory threadFactory, boolean timerWheel) {
         this.threadFactory = threadFactory;
+        this.timerWheel = timerWheel;
     }
 
     @NonNull
     @Override
     public Worker createWorker() {
-        return new NewThreadWorker(threadFactory);
+        return new NewThreadWorker(threadFactory, timerWheel);
     }
 }
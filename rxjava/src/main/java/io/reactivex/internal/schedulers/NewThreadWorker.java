@@ -25,15 +25,40 @@ import io.reactivex.plugins.RxJavaPlugins;
 /**
  * Base class that manages a single-threaded ScheduledExecutorService as a
  * worker but doesn't perform task-tracking operations.
- *
+ * <p>
+ * Delayed tasks can be optionally timed by the shared {@link TimerWheel} instead of
+ * the ScheduledExecutorService, which hands them over to the executor once due.
  */
 public class NewThreadWorker extends Scheduler.Worker implements Disposable {
-    private final ScheduledExecutorService executor;
+    /* package: direct access for pool workers that run their own drain loops. */
+    final ScheduledExecutorService executor;
+
+    /** The timer wheel for delayed tasks or null if the executor should time them. */
+    final TimerWheel timerWheel;
+
+    /** Tracks the timer wheel tasks without a parent so they can be cancelled upon dispose. */
+    final CompositeDisposable timerWheelTasks;
 
     volatile boolean disposed;
 
     public NewThreadWorker(ThreadFactory threadFactory) {
+        this(threadFactory, false);
+    }
+
+    /**
+     * Constructs a worker with a new single-threaded ScheduledExecutorService.
+     * @param threadFactory the factory for the executor's thread
+     * @param useTimerWheel if true, delayed tasks are timed by the shared {@link TimerWheel}
+     */
+    public NewThreadWorker(ThreadFactory threadFactory, boolean useTimerWheel) {
         executor = SchedulerPoolFactory.create(threadFactory);
+        if (useTimerWheel) {
+            timerWheel = TimerWheel.SHARED;
+            timerWheelTasks = new CompositeDisposable();
+        } else {
+            timerWheel = null;
+            timerWheelTasks = null;
+        }
     }
 
     @NonNull
@@ -60,15 +85,13 @@ public class NewThreadWorker extends Scheduler.Worker implements Disposable {
      * @return the ScheduledRunnable instance
      */
     public Disposable scheduleDirect(final Runnable run, long delayTime, TimeUnit unit) {
-        ScheduledDirectTask task = new ScheduledDirectTask(RxJavaPlugins.onSchedule(run));
+        ScheduledDirectTask task = new ScheduledDirectTask(MeasuredRunnable.wrap(RxJavaPlugins.onSchedule(run), executor, delayTime, unit));
         try {
-            Future<?> f;
             if (delayTime <= 0L) {
-                f = executor.submit(task);
+                task.setFuture(executor.submit(task));
             } else {
-                f = executor.schedule(task, delayTime, unit);
+                scheduleDelayed(task, delayTime, unit, true);
             }
-            task.setFuture(f);
             return task;
         } catch (RejectedExecutionException ex) {
             RxJavaPlugins.onError(ex);
@@ -86,7 +109,7 @@ public class NewThreadWorker extends Scheduler.Worker implements Disposable {
      * @return the ScheduledRunnable instance
      */
     public Disposable schedulePeriodicallyDirect(Runnable run, long initialDelay, long period, TimeUnit unit) {
-        final Runnable decoratedRun = RxJavaPlugins.onSchedule(run);
+        final Runnable decoratedRun = MeasuredRunnable.wrap(RxJavaPlugins.onSchedule(run), executor, initialDelay, period, unit);
         if (period <= 0L) {
 
             InstantPeriodicTask periodicWrapper = new InstantPeriodicTask(decoratedRun, executor);
@@ -130,7 +153,7 @@ public class NewThreadWorker extends Scheduler.Worker implements Disposable {
      */
     @NonNull
     public ScheduledRunnable scheduleActual(final Runnable run, long delayTime, @NonNull TimeUnit unit, @Nullable DisposableContainer parent) {
-        Runnable decoratedRun = RxJavaPlugins.onSchedule(run);
+        Runnable decoratedRun = MeasuredRunnable.wrap(RxJavaPlugins.onSchedule(run), executor, delayTime, unit);
 
         ScheduledRunnable sr = new ScheduledRunnable(decoratedRun, parent);
 
@@ -140,14 +163,12 @@ public class NewThreadWorker extends Scheduler.Worker implements Disposable {
             }
         }
 
-        Future<?> f;
         try {
             if (delayTime <= 0) {
-                f = executor.submit((Callable<Object>)sr);
+                sr.setFuture(executor.submit((Callable<Object>)sr));
             } else {
-                f = executor.schedule((Callable<Object>)sr, delayTime, unit);
+                scheduleDelayed(sr, delayTime, unit, parent == null);
             }
-            sr.setFuture(f);
         } catch (RejectedExecutionException ex) {
             if (parent != null) {
                 parent.remove(sr);
@@ -158,11 +179,53 @@ public class NewThreadWorker extends Scheduler.Worker implements Disposable {
         return sr;
     }
 
+    /**
+     * Schedules the task after the given delay on the executor or on the timer wheel
+     * and hands the resulting Future to the task.
+     * @param task the ScheduledRunnable or ScheduledDirectTask to run
+     * @param delayTime the time to delay the execution, positive
+     * @param unit the time unit
+     * @param track if true, the timer wheel task is cancelled when this worker is disposed
+     * @throws RejectedExecutionException if this worker has been disposed
+     */
+    void scheduleDelayed(Callable<?> task, long delayTime, TimeUnit unit, boolean track) {
+        TimerWheel wheel = timerWheel;
+        if (wheel == null) {
+            setFuture(task, executor.schedule(task, delayTime, unit));
+            return;
+        }
+
+        if (disposed) {
+            throw new RejectedExecutionException("Worker has been disposed");
+        }
+
+        TimerWheelTask wt = new TimerWheelTask(task, track);
+        if (track && !timerWheelTasks.add(wt)) {
+            throw new RejectedExecutionException("Worker has been disposed");
+        }
+
+        // set before arming so a quickly expiring timeout can't overwrite the executor's Future
+        setFuture(task, new DisposeOnCancel(wt));
+
+        wheel.schedule(wt, delayTime, unit);
+    }
+
+    static void setFuture(Callable<?> task, Future<?> f) {
+        if (task instanceof ScheduledRunnable) {
+            ((ScheduledRunnable)task).setFuture(f);
+        } else {
+            ((AbstractDirectTask)task).setFuture(f);
+        }
+    }
+
     @Override
     public void dispose() {
         if (!disposed) {
             disposed = true;
             executor.shutdownNow();
+            if (timerWheelTasks != null) {
+                timerWheelTasks.dispose();
+            }
         }
     }
 
@@ -180,4 +243,44 @@ public class NewThreadWorker extends Scheduler.Worker implements Disposable {
     public boolean isDisposed() {
         return disposed;
     }
+
+    /**
+     * Moves a delayed task from the timer wheel onto the executor once it is due.
+     */
+    final class TimerWheelTask extends TimerWheel.Timeout {
+
+        private static final long serialVersionUID = 3459146441290458484L;
+
+        final Callable<?> task;
+
+        final boolean tracked;
+
+        TimerWheelTask(Callable<?> task, boolean tracked) {
+            this.task = task;
+            this.tracked = tracked;
+        }
+
+        @Override
+        public void run() {
+            if (tracked) {
+                timerWheelTasks.delete(this);
+            }
+            try {
+                setFuture(task, executor.submit(task));
+            } catch (RejectedExecutionException ex) {
+                // the executor has been shut down concurrently, drop the task like it would
+                if (!disposed) {
+                    RxJavaPlugins.onError(ex);
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            super.dispose();
+            if (tracked) {
+                timerWheelTasks.delete(this);
+            }
+        }
+    }
 }
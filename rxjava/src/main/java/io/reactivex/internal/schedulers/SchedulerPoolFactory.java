@@ -20,6 +20,8 @@ import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicReference;
 
+import io.reactivex.internal.util.SegmentSpiller;
+
 /**
  * Manages the creating of ScheduledExecutorServices and sets up purging.
  */
@@ -154,6 +156,8 @@ public final class SchedulerPoolFactory {
                     e.purge();
                 }
             }
+            // close the spill files of the caches no longer referenced
+            SegmentSpiller.purge();
         }
     }
 }
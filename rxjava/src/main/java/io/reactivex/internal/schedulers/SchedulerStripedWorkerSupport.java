@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.schedulers;
+
+import io.reactivex.annotations.*;
+
+/**
+ * Allows retrieving multiple workers from the implementing
+ * {@link io.reactivex.Scheduler} so that they run on the backing threads
+ * with the fewest such workers currently in use.
+ *
+ * @since 2.1.12 - experimental
+ */
+@Experimental
+public interface SchedulerStripedWorkerSupport extends SchedulerMultiWorkerSupport {
+
+    /**
+     * Creates the given number of {@link io.reactivex.Scheduler.Worker} instances,
+     * each on the backing thread with the fewest undisposed striped workers at the time,
+     * and calls the specified callback with them.
+     * <p>
+     * When asking for at most the parallelism level of the Scheduler, the workers
+     * run on distinct backing threads.
+     * @param number the number of workers to create, positive
+     * @param callback the callback to send worker instances to
+     */
+    void createStripedWorkers(int number, @NonNull WorkerCallback callback);
+}
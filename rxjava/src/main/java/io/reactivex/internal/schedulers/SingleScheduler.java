@@ -106,13 +106,14 @@ public final class SingleScheduler extends Scheduler {
     @NonNull
     @Override
     public Disposable scheduleDirect(@NonNull Runnable run, long delay, TimeUnit unit) {
-        ScheduledDirectTask task = new ScheduledDirectTask(RxJavaPlugins.onSchedule(run));
+        ScheduledExecutorService exec = executor.get();
+        ScheduledDirectTask task = new ScheduledDirectTask(MeasuredRunnable.wrap(RxJavaPlugins.onSchedule(run), exec, delay, unit));
         try {
             Future<?> f;
             if (delay <= 0L) {
-                f = executor.get().submit(task);
+                f = exec.submit(task);
             } else {
-                f = executor.get().schedule(task, delay, unit);
+                f = exec.schedule(task, delay, unit);
             }
             task.setFuture(f);
             return task;
@@ -125,11 +126,10 @@ public final class SingleScheduler extends Scheduler {
     @NonNull
     @Override
     public Disposable schedulePeriodicallyDirect(@NonNull Runnable run, long initialDelay, long period, TimeUnit unit) {
-        final Runnable decoratedRun = RxJavaPlugins.onSchedule(run);
+        ScheduledExecutorService exec = executor.get();
+        final Runnable decoratedRun = MeasuredRunnable.wrap(RxJavaPlugins.onSchedule(run), exec, initialDelay, period, unit);
         if (period <= 0L) {
 
-            ScheduledExecutorService exec = executor.get();
-
             InstantPeriodicTask periodicWrapper = new InstantPeriodicTask(decoratedRun, exec);
             Future<?> f;
             try {
@@ -148,7 +148,7 @@ public final class SingleScheduler extends Scheduler {
         }
         ScheduledDirectPeriodicTask task = new ScheduledDirectPeriodicTask(decoratedRun);
         try {
-            Future<?> f = executor.get().scheduleAtFixedRate(task, initialDelay, period, unit);
+            Future<?> f = exec.scheduleAtFixedRate(task, initialDelay, period, unit);
             task.setFuture(f);
             return task;
         } catch (RejectedExecutionException ex) {
@@ -177,7 +177,7 @@ public final class SingleScheduler extends Scheduler {
                 return EmptyDisposable.INSTANCE;
             }
 
-            Runnable decoratedRun = RxJavaPlugins.onSchedule(run);
+            Runnable decoratedRun = MeasuredRunnable.wrap(RxJavaPlugins.onSchedule(run), executor, delay, unit);
 
             ScheduledRunnable sr = new ScheduledRunnable(decoratedRun, tasks);
             tasks.add(sr);
@@ -0,0 +1,326 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.schedulers;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import io.reactivex.disposables.Disposable;
+import io.reactivex.internal.queue.MpscLinkedArrayQueue;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * A hashed timer wheel that runs short hand-off actions on a single thread
+ * once their delay has elapsed, with O(1) scheduling and cancellation.
+ * <p>
+ * Cancelled timeouts are unlinked from their bucket on the next tick, therefore
+ * the wheel doesn't need any periodic purging. The ticking thread is started on
+ * demand and stops once the wheel has been empty for the keep-alive time, so that
+ * back-to-back timeouts reuse the same thread.
+ */
+public final class TimerWheel implements Runnable {
+
+    static final String THREAD_NAME_PREFIX = "RxTimerWheel";
+
+    /** The maximum number of new timeouts moved into the wheel per tick. */
+    static final int TRANSFER_LIMIT = 100000;
+
+    /** The shared timer wheel of the standard schedulers with a 1 millisecond resolution. */
+    public static final TimerWheel SHARED = new TimerWheel(new RxThreadFactory(THREAD_NAME_PREFIX), 1, TimeUnit.MILLISECONDS, 512);
+
+    final ThreadFactory threadFactory;
+
+    final long tickNanos;
+
+    final int mask;
+
+    final Timeout[] heads;
+
+    final Timeout[] tails;
+
+    final MpscLinkedArrayQueue<Timeout> pending;
+
+    final MpscLinkedArrayQueue<Timeout> cancelled;
+
+    /** The number of ticks the empty wheel keeps ticking before its thread stops. */
+    final long keepAliveTicks;
+
+    /**
+     * The number of timeouts scheduled and not yet expired or removed, plus one while
+     * the ticking thread runs; zero means there is no ticking thread.
+     */
+    final AtomicInteger active;
+
+    /**
+     * Constructs a timer wheel whose ticking thread stays alive for one revolution
+     * of the wheel after the last timeout has been removed.
+     * @param threadFactory the factory for the ticking thread
+     * @param tick the resolution of the wheel, positive
+     * @param unit the time unit of the tick
+     * @param wheelSize the number of buckets, rounded up to the next power of 2
+     */
+    public TimerWheel(ThreadFactory threadFactory, long tick, TimeUnit unit, int wheelSize) {
+        this(threadFactory, tick, unit, wheelSize, -1L, unit);
+    }
+
+    /**
+     * Constructs a timer wheel.
+     * @param threadFactory the factory for the ticking thread
+     * @param tick the resolution of the wheel, positive
+     * @param unit the time unit of the tick
+     * @param wheelSize the number of buckets, rounded up to the next power of 2
+     * @param keepAlive the time the ticking thread stays alive while the wheel is empty,
+     * negative for one revolution of the wheel
+     * @param keepAliveUnit the time unit of the keep-alive time
+     */
+    public TimerWheel(ThreadFactory threadFactory, long tick, TimeUnit unit, int wheelSize, long keepAlive, TimeUnit keepAliveUnit) {
+        this.threadFactory = threadFactory;
+        this.tickNanos = Math.max(1L, unit.toNanos(tick));
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.keepAliveTicks = keepAlive < 0L ? size : keepAliveUnit.toNanos(keepAlive) / tickNanos;
+        this.heads = new Timeout[size];
+        this.tails = new Timeout[size];
+        this.pending = new MpscLinkedArrayQueue<Timeout>();
+        this.cancelled = new MpscLinkedArrayQueue<Timeout>();
+        this.active = new AtomicInteger();
+    }
+
+    /**
+     * Arms the given timeout to run after the specified delay unless it has been disposed already.
+     * @param timeout the timeout to arm, not null
+     * @param delay the delay amount
+     * @param unit the delay time unit
+     */
+    public void schedule(Timeout timeout, long delay, TimeUnit unit) {
+        timeout.wheel = this;
+        timeout.deadline = System.nanoTime() + unit.toNanos(Math.max(0L, delay));
+        if (!timeout.compareAndSet(Timeout.NEW, Timeout.WAITING)) {
+            return;
+        }
+        for (;;) {
+            int a = active.get();
+            if (a == 0) {
+                // the timeout and the new ticking thread
+                if (active.compareAndSet(0, 2)) {
+                    threadFactory.newThread(this).start();
+                    break;
+                }
+            } else if (active.compareAndSet(a, a + 1)) {
+                break;
+            }
+        }
+        pending.offer(timeout);
+    }
+
+    /**
+     * Returns the number of timeouts scheduled and not yet expired or removed from the wheel.
+     * @return the number of active timeouts
+     */
+    public int size() {
+        return Math.max(0, active.get() - 1);
+    }
+
+    @Override
+    public void run() {
+        final long start = System.nanoTime();
+        final long tickNanos = this.tickNanos;
+        long tick = 0L;
+        long idleSince = -1L;
+
+        for (;;) {
+            long deadline = start + tick * tickNanos;
+            for (;;) {
+                long wait = deadline - System.nanoTime();
+                if (wait <= 0L) {
+                    break;
+                }
+                LockSupport.parkNanos(this, wait);
+                // a stray interrupt would turn the wait into a busy spin
+                Thread.interrupted();
+            }
+
+            int removed = removeCancelled();
+            removed += transferPending(start, tick);
+            removed += expire((int)tick & mask);
+
+            int a = removed != 0 ? active.addAndGet(-removed) : active.get();
+            if (a == 1) {
+                if (idleSince < 0L) {
+                    idleSince = tick;
+                } else if (tick - idleSince >= keepAliveTicks && active.compareAndSet(1, 0)) {
+                    // the next schedule() call starts a fresh thread on the now empty wheel
+                    return;
+                }
+            } else {
+                idleSince = -1L;
+            }
+
+            tick++;
+        }
+    }
+
+    int removeCancelled() {
+        int removed = 0;
+        for (;;) {
+            Timeout t = cancelled.poll();
+            if (t == null) {
+                break;
+            }
+            // timeouts still in the pending queue are accounted for by transferPending
+            if (t.bucket >= 0) {
+                unlink(t);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    int transferPending(long start, long tick) {
+        final long tickNanos = this.tickNanos;
+        final int rounds = mask + 1;
+        int removed = 0;
+        for (int i = 0; i < TRANSFER_LIMIT; i++) {
+            Timeout t = pending.poll();
+            if (t == null) {
+                break;
+            }
+            if (t.get() == Timeout.CANCELLED) {
+                removed++;
+                continue;
+            }
+
+            long due = (t.deadline - start + tickNanos - 1) / tickNanos;
+            if (due < tick) {
+                due = tick;
+            }
+            t.remainingRounds = (due - tick) / rounds;
+            link(t, (int)due & mask);
+        }
+        return removed;
+    }
+
+    int expire(int index) {
+        int removed = 0;
+        Timeout t = heads[index];
+        while (t != null) {
+            Timeout next = t.next;
+            if (t.get() == Timeout.CANCELLED) {
+                unlink(t);
+                removed++;
+            } else if (t.remainingRounds <= 0L) {
+                unlink(t);
+                removed++;
+                if (t.compareAndSet(Timeout.WAITING, Timeout.EXPIRED)) {
+                    try {
+                        t.run();
+                    } catch (Throwable ex) {
+                        // Exceptions.throwIfFatal(e); nowhere to go
+                        RxJavaPlugins.onError(ex);
+                    }
+                }
+            } else {
+                t.remainingRounds--;
+            }
+            t = next;
+        }
+        return removed;
+    }
+
+    void link(Timeout t, int index) {
+        t.bucket = index;
+        Timeout tail = tails[index];
+        if (tail == null) {
+            heads[index] = t;
+        } else {
+            tail.next = t;
+            t.prev = tail;
+        }
+        tails[index] = t;
+    }
+
+    void unlink(Timeout t) {
+        int index = t.bucket;
+        Timeout prev = t.prev;
+        Timeout next = t.next;
+        if (prev == null) {
+            heads[index] = next;
+        } else {
+            prev.next = next;
+        }
+        if (next == null) {
+            tails[index] = prev;
+        } else {
+            next.prev = prev;
+        }
+        t.prev = null;
+        t.next = null;
+        t.bucket = -1;
+    }
+
+    /**
+     * A timeout of a timer wheel whose {@link #run()} method is invoked on the
+     * ticking thread and thus should only hand the actual work off to some other thread.
+     */
+    public abstract static class Timeout extends AtomicInteger implements Runnable, Disposable {
+
+        private static final long serialVersionUID = -2914290470738040434L;
+
+        static final int NEW = 0;
+        static final int WAITING = 1;
+        static final int EXPIRED = 2;
+        static final int CANCELLED = 3;
+
+        TimerWheel wheel;
+
+        long deadline;
+
+        long remainingRounds;
+
+        /** The bucket index, accessed from the ticking thread only; negative if not linked. */
+        int bucket = -1;
+
+        Timeout prev;
+
+        Timeout next;
+
+        @Override
+        public void dispose() {
+            for (;;) {
+                int s = get();
+                if (s == NEW) {
+                    if (compareAndSet(NEW, CANCELLED)) {
+                        return;
+                    }
+                } else if (s == WAITING) {
+                    if (compareAndSet(WAITING, CANCELLED)) {
+                        wheel.cancelled.offer(this);
+                        return;
+                    }
+                } else {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get() >= EXPIRED;
+        }
+    }
+}
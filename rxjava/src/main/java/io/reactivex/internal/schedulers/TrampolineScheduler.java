@@ -17,7 +17,7 @@
 package io.reactivex.internal.schedulers;
 
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.*;
 
 import io.reactivex.Scheduler;
 import io.reactivex.annotations.NonNull;
@@ -67,7 +67,17 @@ public final class TrampolineScheduler extends Scheduler {
     }
 
     static final class TrampolineWorker extends Scheduler.Worker implements Disposable {
-        final PriorityBlockingQueue<TimedRunnable> queue = new PriorityBlockingQueue<TimedRunnable>();
+        /** The last non-delayed task; scheduling links the next one after it. */
+        final AtomicReference<TimedRunnable> tail;
+
+        /** The task before the next non-delayed one to run, accessed by the draining thread only. */
+        TimedRunnable head;
+
+        /** The delayed tasks ordered by their execution time, created on the first delayed task. */
+        volatile PriorityBlockingQueue<TimedRunnable> delayedQueue;
+
+        /** The number of tasks in the delayedQueue. */
+        final AtomicInteger delayedCount = new AtomicInteger();
 
         private final AtomicInteger wip = new AtomicInteger();
 
@@ -75,41 +85,99 @@ public final class TrampolineScheduler extends Scheduler {
 
         volatile boolean disposed;
 
+        TrampolineWorker() {
+            TimedRunnable stub = new TimedRunnable(null, 0L, 0);
+            head = stub;
+            tail = new AtomicReference<TimedRunnable>(stub);
+        }
+
         @NonNull
         @Override
         public Disposable schedule(@NonNull Runnable action) {
-            return enqueue(action, now(TimeUnit.MILLISECONDS));
+            if (disposed) {
+                return EmptyDisposable.INSTANCE;
+            }
+            final TimedRunnable timedRunnable;
+            if (delayedCount.get() == 0) {
+                // the delayed tasks scheduled from now on are due after this one
+                timedRunnable = new TimedRunnable(action, Long.MIN_VALUE, 0);
+            } else {
+                timedRunnable = new TimedRunnable(action, now(TimeUnit.MILLISECONDS), counter.incrementAndGet());
+            }
+            tail.getAndSet(timedRunnable).lazySet(timedRunnable);
+
+            return drain(timedRunnable, false);
         }
 
         @NonNull
         @Override
         public Disposable schedule(@NonNull Runnable action, long delayTime, @NonNull TimeUnit unit) {
-            long execTime = now(TimeUnit.MILLISECONDS) + unit.toMillis(delayTime);
+            if (disposed) {
+                return EmptyDisposable.INSTANCE;
+            }
+            // a non-positive delay is due now, after the tasks already queued
+            long execTime = now(TimeUnit.MILLISECONDS) + Math.max(0L, unit.toMillis(delayTime));
 
-            return enqueue(new SleepingRunnable(action, this, execTime), execTime);
+            final TimedRunnable timedRunnable = new TimedRunnable(new SleepingRunnable(action, this, execTime), execTime, counter.incrementAndGet());
+            delayedQueue().add(timedRunnable);
+            delayedCount.getAndIncrement();
+
+            return drain(timedRunnable, true);
         }
 
-        Disposable enqueue(Runnable action, long execTime) {
-            if (disposed) {
-                return EmptyDisposable.INSTANCE;
+        PriorityBlockingQueue<TimedRunnable> delayedQueue() {
+            PriorityBlockingQueue<TimedRunnable> q = delayedQueue;
+            if (q == null) {
+                synchronized (this) {
+                    q = delayedQueue;
+                    if (q == null) {
+                        q = new PriorityBlockingQueue<TimedRunnable>();
+                        delayedQueue = q;
+                    }
+                }
             }
-            final TimedRunnable timedRunnable = new TimedRunnable(action, execTime, counter.incrementAndGet());
-            queue.add(timedRunnable);
+            return q;
+        }
 
+        Disposable drain(TimedRunnable timedRunnable, boolean delayed) {
             if (wip.getAndIncrement() == 0) {
                 int missed = 1;
+                // the next non-delayed task, held back while earlier delayed tasks run
+                TimedRunnable next = null;
                 for (;;) {
                     for (;;) {
                         if (disposed) {
-                            queue.clear();
+                            clear();
                             return EmptyDisposable.INSTANCE;
                         }
-                        final TimedRunnable polled = queue.poll();
+                        if (next == null) {
+                            next = poll();
+                        }
+                        TimedRunnable polled = next;
+                        if (delayedCount.get() != 0) {
+                            PriorityBlockingQueue<TimedRunnable> dq = delayedQueue;
+                            TimedRunnable d = dq.peek();
+                            if (d != null && (next == null || d.compareTo(next) < 0)) {
+                                polled = dq.poll();
+                                if (polled == null) {
+                                    // removed by its disposal in the meantime
+                                    continue;
+                                }
+                                delayedCount.decrementAndGet();
+                            } else {
+                                next = null;
+                            }
+                        } else {
+                            next = null;
+                        }
                         if (polled == null) {
                             break;
                         }
+                        Runnable run = polled.run;
+                        // the polled task stays referenced as the head
+                        polled.run = null;
                         if (!polled.disposed) {
-                            polled.run.run();
+                            run.run();
                         }
                     }
                     missed = wip.addAndGet(-missed);
@@ -121,7 +189,29 @@ public final class TrampolineScheduler extends Scheduler {
                 return EmptyDisposable.INSTANCE;
             } else {
                 // queue wasn't empty, a parent is already processing so we just add to the end of the queue
-                return Disposables.fromRunnable(new AppendToQueueTask(timedRunnable));
+                return Disposables.fromRunnable(new AppendToQueueTask(timedRunnable, delayed));
+            }
+        }
+
+        TimedRunnable poll() {
+            TimedRunnable h = head;
+            TimedRunnable next = h.get();
+            if (next == null) {
+                if (h == tail.get()) {
+                    return null;
+                }
+                // a task is being linked
+                while ((next = h.get()) == null) { } // NOPMD
+            }
+            head = next;
+            return next;
+        }
+
+        void clear() {
+            while (poll() != null) { } // NOPMD
+            PriorityBlockingQueue<TimedRunnable> dq = delayedQueue;
+            if (dq != null) {
+                dq.clear();
             }
         }
 
@@ -138,26 +228,36 @@ public final class TrampolineScheduler extends Scheduler {
         final class AppendToQueueTask implements Runnable {
             final TimedRunnable timedRunnable;
 
-            AppendToQueueTask(TimedRunnable timedRunnable) {
+            final boolean delayed;
+
+            AppendToQueueTask(TimedRunnable timedRunnable, boolean delayed) {
                 this.timedRunnable = timedRunnable;
+                this.delayed = delayed;
             }
 
             @Override
             public void run() {
                 timedRunnable.disposed = true;
-                queue.remove(timedRunnable);
+                // the non-delayed tasks are skipped when polled
+                if (delayed && delayedQueue.remove(timedRunnable)) {
+                    delayedCount.decrementAndGet();
+                }
             }
         }
     }
 
-    static final class TimedRunnable implements Comparable<TimedRunnable> {
-        final Runnable run;
+    static final class TimedRunnable extends AtomicReference<TimedRunnable> implements Comparable<TimedRunnable> {
+
+        private static final long serialVersionUID = -6225358564097745542L;
+
+        /** The task to run, cleared by the draining thread once polled. */
+        Runnable run;
         final long execTime;
         final int count; // In case if time between enqueueing took less than 1ms
 
         volatile boolean disposed;
 
-        TimedRunnable(Runnable run, Long execTime, int count) {
+        TimedRunnable(Runnable run, long execTime, int count) {
             this.run = run;
             this.execTime = execTime;
             this.count = count;
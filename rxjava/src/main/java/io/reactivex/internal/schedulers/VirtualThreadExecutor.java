@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.schedulers;
+
+import java.util.concurrent.*;
+
+import io.reactivex.annotations.Nullable;
+
+/**
+ * An Executor that runs each task on a new virtual thread of the Java 21+ runtime.
+ * <p>
+ * The virtual thread builder is looked up reflectively so the library keeps
+ * targeting Java 6; on older runtimes {@link #INSTANCE} is null.
+ */
+public final class VirtualThreadExecutor implements Executor {
+
+    static final String THREAD_NAME_PREFIX = "RxVirtualThreadScheduler-";
+
+    /** The shared instance or null if the runtime doesn't support virtual threads. */
+    @Nullable
+    public static final VirtualThreadExecutor INSTANCE;
+
+    static {
+        ThreadFactory f = createFactory(THREAD_NAME_PREFIX);
+        INSTANCE = f != null ? new VirtualThreadExecutor(f) : null;
+    }
+
+    final ThreadFactory threadFactory;
+
+    VirtualThreadExecutor(ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Creates a factory of virtual threads named {@code prefix} plus an increasing index
+     * via {@code Thread.ofVirtual().name(prefix, 1).factory()}.
+     * @param prefix the thread name prefix
+     * @return the factory or null if the runtime doesn't support virtual threads
+     */
+    @Nullable
+    static ThreadFactory createFactory(String prefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, prefix, 1L);
+            return (ThreadFactory)builderClass.getMethod("factory").invoke(builder);
+        } catch (Throwable ex) {
+            // not supported or not accessible
+            return null;
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        threadFactory.newThread(command).start();
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.util;
+
+/**
+ * Resizes the request batch of a prefetching consumer between a minimum and a maximum
+ * amount, based on whether the consumer drained its queue during the last batch.
+ * <p>
+ * If the queue ran empty, the consumer is faster than the producer and the amount
+ * doubles so that the producer can emit in larger batches. If the queue never ran empty,
+ * the consumer is the slower party and the amount halves so that fewer elements wait
+ * in the queue.
+ * <p>
+ * The methods must be called from the drain loop of the consumer only.
+ */
+public final class AdaptivePrefetch {
+
+    final int minPrefetch;
+
+    final int maxPrefetch;
+
+    int prefetch;
+
+    int limit;
+
+    boolean starved;
+
+    /**
+     * Constructs an instance starting with the minimum prefetch amount.
+     * @param minPrefetch the minimum amount, positive
+     * @param maxPrefetch the maximum amount, not less than minPrefetch
+     */
+    public AdaptivePrefetch(int minPrefetch, int maxPrefetch) {
+        this.minPrefetch = minPrefetch;
+        this.maxPrefetch = maxPrefetch;
+        this.prefetch = minPrefetch;
+        this.limit = limitOf(minPrefetch);
+    }
+
+    static int limitOf(int prefetch) {
+        return prefetch - (prefetch >> 2);
+    }
+
+    /**
+     * Returns the current number of outstanding elements to keep requested.
+     * @return the current prefetch amount
+     */
+    public int prefetch() {
+        return prefetch;
+    }
+
+    /**
+     * Returns the number of consumed elements after which {@link #replenish(long)} has to be called.
+     * @return the current replenishment limit
+     */
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * Indicates the consumer found its queue empty.
+     */
+    public void starved() {
+        starved = true;
+    }
+
+    /**
+     * Resizes the prefetch amount after the consumer has consumed at least {@link #limit()}
+     * elements and returns the amount to request from the upstream, which keeps the new
+     * prefetch amount outstanding.
+     * @param consumed the number of elements consumed since the last replenishment
+     * @return the amount to request, non-negative
+     */
+    public long replenish(long consumed) {
+        int old = prefetch;
+        int next;
+        if (starved) {
+            next = Math.min(maxPrefetch, old << 1);
+            if (next < 0) {
+                next = maxPrefetch;
+            }
+        } else {
+            next = Math.max(minPrefetch, old >> 1);
+        }
+        starved = false;
+        prefetch = next;
+        limit = limitOf(next);
+        return consumed + next - old;
+    }
+}
@@ -31,6 +31,36 @@ public enum ArrayListSupplier implements Callable<List<Object>>, Function<Object
         return (Function)INSTANCE;
     }
 
+    /**
+     * The largest initial capacity {@link #asCallable(int)} pre-allocates; beyond this,
+     * the lists grow on demand so that a huge count doesn't allocate a huge array upfront.
+     */
+    public static final int MAX_CAPACITY_HINT = 1024;
+
+    /**
+     * Returns a Callable that creates ArrayLists with the given initial capacity,
+     * capped at {@link #MAX_CAPACITY_HINT}.
+     * @param <T> the element type
+     * @param capacityHint the expected number of elements in the lists
+     * @return the Callable instance
+     */
+    public static <T> Callable<List<T>> asCallable(int capacityHint) {
+        return new SizedArrayListSupplier<T>(Math.min(capacityHint, MAX_CAPACITY_HINT));
+    }
+
+    static final class SizedArrayListSupplier<T> implements Callable<List<T>> {
+        final int capacityHint;
+
+        SizedArrayListSupplier(int capacityHint) {
+            this.capacityHint = capacityHint;
+        }
+
+        @Override
+        public List<T> call() throws Exception {
+            return new ArrayList<T>(capacityHint);
+        }
+    }
+
     @Override
     public List<Object> call() throws Exception {
         return new ArrayList<Object>();
@@ -21,12 +21,15 @@ import java.util.*;
  * The class is non final to allow embedding it directly and thus saving on object allocation.
  */
 public class LinkedArrayList {
-    /** The capacity of each array segment. */
+    /** The capacity of the first array segment. */
+    final int firstCapacity;
+    /** The capacity of each array segment after the first one. */
     final int capacityHint;
     /**
      * Contains the head of the linked array list if not null. The
-     * length is always capacityHint + 1 and the last element is an Object[] pointing
-     * to the next element of the linked array list.
+     * length is the segment's capacity + 1 and the last element is an Object[] pointing
+     * to the next element of the linked array list. With a spiller, it is
+     * the oldest segment still in memory.
      */
     Object[] head;
     /** The tail array where new elements will be added. */
@@ -38,12 +41,35 @@ public class LinkedArrayList {
     volatile int size;
     /** The next available slot in the current tail. */
     int indexInTail;
+    /** Pages the older segments out to a file if not null. */
+    final SegmentSpiller spiller;
     /**
      * Constructor with the capacity hint of each array segment.
      * @param capacityHint the expected number of elements to hold (can grow beyond that)
      */
     public LinkedArrayList(int capacityHint) {
+        this(capacityHint, null);
+    }
+    /**
+     * Constructor with the capacity hint of each array segment and an optional
+     * spiller paging out the older segments.
+     * @param capacityHint the expected number of elements to hold (can grow beyond that)
+     * @param spiller the spiller to page out the older segments or null to keep all of them in memory
+     */
+    public LinkedArrayList(int capacityHint, SegmentSpiller spiller) {
+        this.firstCapacity = capacityHint;
+        this.capacityHint = capacityHint;
+        this.spiller = spiller;
+    }
+    /**
+     * Constructor with a separate capacity for the first array segment.
+     * @param firstCapacity the capacity of the first array segment
+     * @param capacityHint the capacity of each array segment after the first one
+     */
+    public LinkedArrayList(int firstCapacity, int capacityHint) {
+        this.firstCapacity = firstCapacity;
         this.capacityHint = capacityHint;
+        this.spiller = null;
     }
     /**
      * Adds a new element to this list.
@@ -52,19 +78,25 @@ public class LinkedArrayList {
     public void add(Object o) {
         // if no value yet, create the first array
         if (size == 0) {
-            head = new Object[capacityHint + 1];
+            head = new Object[firstCapacity + 1];
             tail = head;
             head[0] = o;
             indexInTail = 1;
+            if (spiller != null) {
+                spiller.linked(this);
+            }
             size = 1;
         } else
         // if the tail is full, create a new tail and link
-        if (indexInTail == capacityHint) {
+        if (indexInTail == tail.length - 1) {
             Object[] t = new Object[capacityHint + 1];
             t[0] = o;
-            tail[capacityHint] = t;
+            tail[indexInTail] = t;
             tail = t;
             indexInTail = 1;
+            if (spiller != null) {
+                spiller.linked(this);
+            }
             size++;
         } else {
             tail[indexInTail] = o;
@@ -77,9 +109,38 @@ public class LinkedArrayList {
      * @return the head object array
      */
     public Object[] head() {
+        SegmentSpiller sp = spiller;
+        if (sp != null) {
+            return sp.segment(0);
+        }
         return head; // NOPMD
     }
 
+    /**
+     * Returns the segment following the given segment.
+     * <p>
+     * If the older segments are paged out, the link to the next segment may have been cut
+     * and the segment is looked up by its index instead, possibly reading it back from the file.
+     * @param segment the current segment
+     * @param index the zero based index of the next segment
+     * @return the next segment
+     */
+    public Object[] next(Object[] segment, int index) {
+        Object[] b = (Object[])segment[segment.length - 1];
+        if (b == null) {
+            b = spiller.segment(index);
+        }
+        return b;
+    }
+
+    /**
+     * Returns the spiller paging out the older segments.
+     * @return the spiller or null if all segments are kept in memory
+     */
+    public SegmentSpiller spiller() {
+        return spiller;
+    }
+
     /**
      * Returns the total size of the list.
      * @return the total size of the list
@@ -89,19 +150,19 @@ public class LinkedArrayList {
     }
     @Override
     public String toString() {
-        final int cap = capacityHint;
         final int s = size;
         final List<Object> list = new ArrayList<Object>(s + 1);
 
         Object[] h = head();
         int j = 0;
         int k = 0;
+        int segment = 0;
         while (j < s) {
             list.add(h[k]);
             j++;
-            if (++k == cap) {
+            if (++k == h.length - 1 && j < s) {
                 k = 0;
-                h = (Object[])h[cap];
+                h = next(h, ++segment);
             }
         }
 
@@ -0,0 +1,317 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.util;
+
+import java.util.Arrays;
+
+/**
+ * An open hash map which keeps its entries in access order and records a timestamp
+ * with each of them, usable by a single thread at a time.
+ * <p>
+ * The entries are stored in parallel arrays and addressed by an index which doesn't
+ * change while the entry is in the map; the hash table itself holds {@code index + 1}
+ * values, therefore removing an entry doesn't move the other entries around.
+ * <p>Doesn't support nor checks for {@code null}s.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class LinkedOpenHashMap<K, V> {
+    private static final int INT_PHI = 0x9E3779B9;
+
+    final float loadFactor;
+    int mask;
+    int size;
+    int maxSize;
+    /** The entry index + 1 or 0 for an empty slot. */
+    int[] table;
+
+    Object[] keys;
+    Object[] values;
+    int[] hashes;
+    long[] times;
+    /** Towards the least recently used entry, -1 for the eldest. */
+    int[] prev;
+    /** Towards the most recently used entry, -1 for the newest; also links the free entries. */
+    int[] next;
+
+    int eldest;
+    int newest;
+    /** The first entry index that can be reused or -1. */
+    int free;
+    /** The number of entry indexes handed out so far. */
+    int used;
+
+    public LinkedOpenHashMap() {
+        this(16, 0.75f);
+    }
+
+    public LinkedOpenHashMap(int capacity, float loadFactor) {
+        this.loadFactor = loadFactor;
+        int c = Pow2.roundToPowerOfTwo(Math.max(capacity, 2));
+        this.mask = c - 1;
+        this.maxSize = (int)(loadFactor * c);
+        this.table = new int[c];
+        int n = maxSize;
+        this.keys = new Object[n];
+        this.values = new Object[n];
+        this.hashes = new int[n];
+        this.times = new long[n];
+        this.prev = new int[n];
+        this.next = new int[n];
+        this.eldest = -1;
+        this.newest = -1;
+        this.free = -1;
+    }
+
+    /**
+     * Returns the index of the entry with the given key or -1 if not present.
+     * @param key the key to look for
+     * @return the entry index or -1
+     */
+    public int indexOf(Object key) {
+        final int h = mix(key.hashCode());
+        final int[] t = table;
+        final int m = mask;
+        int pos = h & m;
+        for (;;) {
+            int e = t[pos];
+            if (e == 0) {
+                return -1;
+            }
+            e--;
+            if (hashes[e] == h && key.equals(keys[e])) {
+                return e;
+            }
+            pos = (pos + 1) & m;
+        }
+    }
+
+    /**
+     * Adds a new entry as the most recently used one; the key must not be present.
+     * @param key the key
+     * @param value the value
+     * @param time the initial timestamp of the entry
+     * @return the entry index
+     */
+    public int put(K key, V value, long time) {
+        final int h = mix(key.hashCode());
+        int e = free;
+        if (e >= 0) {
+            free = next[e];
+        } else {
+            e = used++;
+        }
+        keys[e] = key;
+        values[e] = value;
+        hashes[e] = h;
+        times[e] = time;
+        linkNewest(e);
+
+        final int[] t = table;
+        final int m = mask;
+        int pos = h & m;
+        while (t[pos] != 0) {
+            pos = (pos + 1) & m;
+        }
+        t[pos] = e + 1;
+
+        if (++size >= maxSize) {
+            rehash();
+        }
+        return e;
+    }
+
+    /**
+     * Makes the entry the most recently used one and updates its timestamp.
+     * @param index the entry index
+     * @param time the new timestamp
+     */
+    public void touch(int index, long time) {
+        times[index] = time;
+        if (index != newest) {
+            unlink(index);
+            linkNewest(index);
+        }
+    }
+
+    /**
+     * Removes the entry with the given key if it is mapped to the given value instance.
+     * @param key the key
+     * @param value the value instance expected
+     * @return true if the entry was removed
+     */
+    public boolean remove(Object key, V value) {
+        int e = indexOf(key);
+        if (e >= 0 && values[e] == value) {
+            removeAt(e);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the entry at the given index.
+     * @param index the entry index
+     * @return the value of the removed entry
+     */
+    @SuppressWarnings("unchecked")
+    public V removeAt(int index) {
+        final int[] t = table;
+        final int m = mask;
+        int pos = hashes[index] & m;
+        while (t[pos] != index + 1) {
+            pos = (pos + 1) & m;
+        }
+        removeSlot(pos, t, m);
+
+        V v = (V)values[index];
+        unlink(index);
+        keys[index] = null;
+        values[index] = null;
+        next[index] = free;
+        free = index;
+        size--;
+        return v;
+    }
+
+    void removeSlot(int pos, int[] t, int m) {
+        int last;
+        int slot;
+        int curr;
+        for (;;) {
+            last = pos;
+            pos = (pos + 1) & m;
+            for (;;) {
+                curr = t[pos];
+                if (curr == 0) {
+                    t[last] = 0;
+                    return;
+                }
+                slot = hashes[curr - 1] & m;
+
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos) {
+                    break;
+                }
+
+                pos = (pos + 1) & m;
+            }
+            t[last] = curr;
+        }
+    }
+
+    void linkNewest(int e) {
+        int n = newest;
+        prev[e] = n;
+        next[e] = -1;
+        if (n >= 0) {
+            next[n] = e;
+        } else {
+            eldest = e;
+        }
+        newest = e;
+    }
+
+    void unlink(int e) {
+        int p = prev[e];
+        int n = next[e];
+        if (p >= 0) {
+            next[p] = n;
+        } else {
+            eldest = n;
+        }
+        if (n >= 0) {
+            prev[n] = p;
+        } else {
+            newest = p;
+        }
+    }
+
+    void rehash() {
+        int newCap = table.length << 1;
+        int m = newCap - 1;
+
+        int[] t = new int[newCap];
+
+        for (int e = eldest; e >= 0; e = next[e]) {
+            int pos = hashes[e] & m;
+            while (t[pos] != 0) {
+                pos = (pos + 1) & m;
+            }
+            t[pos] = e + 1;
+        }
+
+        int n = (int)(newCap * loadFactor);
+        this.keys = Arrays.copyOf(keys, n);
+        this.values = Arrays.copyOf(values, n);
+        this.hashes = Arrays.copyOf(hashes, n);
+        this.times = Arrays.copyOf(times, n);
+        this.prev = Arrays.copyOf(prev, n);
+        this.next = Arrays.copyOf(next, n);
+
+        this.mask = m;
+        this.maxSize = n;
+        this.table = t;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        Arrays.fill(table, 0);
+        Arrays.fill(keys, 0, used, null);
+        Arrays.fill(values, 0, used, null);
+        size = 0;
+        used = 0;
+        eldest = -1;
+        newest = -1;
+        free = -1;
+    }
+
+    static int mix(int x) {
+        final int h = x * INT_PHI;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the index of the least recently used entry or -1 if the map is empty.
+     * @return the index of the least recently used entry or -1
+     */
+    public int eldest() {
+        return eldest;
+    }
+
+    /**
+     * Returns the index of the entry used right after the given entry or -1 if
+     * the given entry is the most recently used one.
+     * @param index the entry index
+     * @return the next entry index or -1
+     */
+    public int newer(int index) {
+        return next[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V valueAt(int index) {
+        return (V)values[index];
+    }
+
+    public long timeAt(int index) {
+        return times[index];
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,378 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+package io.reactivex.internal.util;
+
+import java.io.*;
+import java.lang.ref.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.SpillSerializer;
+import io.reactivex.plugins.RxJavaPlugins;
+
+/**
+ * Pages the older segments of a {@link LinkedArrayList} out to a file once more than a
+ * given number of segments is held in memory and reads them back on demand.
+ * <p>
+ * The list calls {@link #linked(LinkedArrayList)} on its producer thread whenever it links
+ * a new segment. Paging out a segment cuts the link pointing to its successor so consumers
+ * lagging behind retain at most the segment they are on; consumers finding a cut link call
+ * {@link #segment(int)} from any thread, which reads the segment back into a private copy
+ * if necessary.
+ * <p>
+ * The file is created on the first page-out and unlinked right away where the platform
+ * allows it, so nothing is left behind once the process exits. It is closed, and deleted
+ * if still present, when the owner and all the readers registered via {@link #acquire()}
+ * have called {@link #release()}, or by {@link #purge()} once the spiller has been garbage
+ * collected. The reads and writes go through a {@link RandomAccessFile} which, unlike a
+ * {@code FileChannel}, isn't closed when a thread using it gets interrupted.
+ */
+public final class SegmentSpiller {
+
+    /** The files still open; keeps their phantom references reachable. */
+    static final Set<SpillFile> FILES = Collections.newSetFromMap(new ConcurrentHashMap<SpillFile, Boolean>());
+
+    /** Receives the files of the spillers which have been garbage collected. */
+    static final ReferenceQueue<SegmentSpiller> DROPPED = new ReferenceQueue<SegmentSpiller>();
+
+    final SpillSerializer<Object> serializer;
+
+    final File directory;
+
+    final int maxSegments;
+
+    /** Reused buffer for serializing a segment. Accessed by the producer. */
+    final SegmentOutputStream bytes;
+
+    /** The owner and the registered readers; the file is closed when it reaches zero. */
+    final AtomicInteger references;
+
+    /** The number of segments linked from the list head. Accessed by the producer. */
+    int segments;
+
+    /** Set when paging out failed; all segments stay in memory from then on. Accessed by the producer. */
+    boolean failed;
+
+    /** The file of the paged out segments; created while holding this, published by {@link #memory}. */
+    SpillFile file;
+
+    /** Entry i is the start, entry i + 1 the end of the paged out segment i; published by {@link #memory}. */
+    long[] offsets;
+
+    /** The oldest segment still in memory. */
+    volatile Head memory;
+
+    /**
+     * Constructs a SegmentSpiller whose caller holds the first reference.
+     * @param serializer the serializer for the items of the paged out segments
+     * @param directory the directory to create the file in
+     * @param maxSegments the number of segments to keep in memory, positive
+     */
+    @SuppressWarnings("unchecked")
+    public SegmentSpiller(SpillSerializer<?> serializer, File directory, int maxSegments) {
+        this.serializer = (SpillSerializer<Object>)serializer;
+        this.directory = directory;
+        this.maxSegments = maxSegments;
+        this.bytes = new SegmentOutputStream();
+        this.offsets = new long[16];
+        this.references = new AtomicInteger(1);
+    }
+
+    /**
+     * Called by the list after it linked a new segment and before it makes the new item
+     * visible; pages out the oldest segments if there are too many in memory.
+     * @param list the list whose head segment may be paged out
+     */
+    void linked(LinkedArrayList list) {
+        if (++segments == 1) {
+            memory = new Head(list.head, 0);
+            return;
+        }
+        while (segments > maxSegments && !failed) {
+            try {
+                if (!pageOut(list)) {
+                    failed = true;
+                }
+            } catch (Throwable ex) {
+                failed = true;
+                if (references.get() != 0) {
+                    RxJavaPlugins.onError(ex);
+                }
+            }
+        }
+    }
+
+    boolean pageOut(LinkedArrayList list) throws Exception {
+        final int n = list.capacityHint;
+        Object[] h = list.head;
+        int index = memory.index;
+
+        SegmentOutputStream b = bytes;
+        b.reset();
+        DataOutputStream out = new DataOutputStream(b);
+        for (int i = 0; i < n; i++) {
+            serializer.serialize(h[i], out);
+        }
+        out.flush();
+
+        SpillFile f = file();
+        if (f == null) {
+            // released already, nobody can read the segments back
+            return false;
+        }
+
+        long[] o = offsets;
+        long start = o[index];
+        f.write(b, start);
+
+        if (index + 2 > o.length) {
+            long[] o2 = new long[o.length * 2];
+            System.arraycopy(o, 0, o2, 0, o.length);
+            o = o2;
+            offsets = o;
+        }
+        o[index + 1] = start + b.size();
+
+        Object[] next = (Object[])h[n];
+        list.head = next;
+        memory = new Head(next, index + 1);
+        // lagging consumers holding onto h should not retain the newer segments
+        h[n] = null;
+        segments--;
+        return true;
+    }
+
+    synchronized SpillFile file() throws IOException {
+        if (references.get() == 0) {
+            return null;
+        }
+        SpillFile f = file;
+        if (f == null) {
+            f = SpillFile.create(this, directory);
+            file = f;
+        }
+        return f;
+    }
+
+    /**
+     * Registers a reader which keeps the file open until it calls {@link #release()}.
+     * @return true if successful, false if the file has been closed already
+     */
+    public boolean acquire() {
+        for (;;) {
+            int r = references.get();
+            if (r == 0) {
+                return false;
+            }
+            if (references.compareAndSet(r, r + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases the reference of the owner or of a reader; the last one closes
+     * the file, after which the paged out segments can't be read back.
+     */
+    public void release() {
+        if (references.decrementAndGet() == 0) {
+            SpillFile f;
+            synchronized (this) {
+                f = file;
+            }
+            if (f != null) {
+                f.close();
+            }
+        }
+    }
+
+    /**
+     * Returns the segment with the given index, either the one still in memory
+     * or a copy read back from the file.
+     * @param index the zero based index of an existing segment
+     * @return the segment array, its length is the segment capacity + 1
+     */
+    public Object[] segment(int index) {
+        for (;;) {
+            Head m = memory;
+            if (m == null) {
+                return null;
+            }
+            if (index < m.index) {
+                try {
+                    return load(index);
+                } catch (Throwable ex) {
+                    throw ExceptionHelper.wrapOrThrow(ex);
+                }
+            }
+            Object[] a = m.array;
+            final int n = a.length - 1;
+            for (int i = m.index; i != index && a != null; i++) {
+                a = (Object[])a[n];
+            }
+            if (a != null) {
+                return a;
+            }
+            // a link was cut while walking, retry from the newer head
+        }
+    }
+
+    Object[] load(int index) throws Exception {
+        long[] o = offsets;
+        long start = o[index];
+        long end = o[index + 1];
+        int n = memory.array.length - 1;
+
+        byte[] b = new byte[(int)(end - start)];
+        file.read(b, start);
+
+        Object[] a = new Object[n + 1];
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(b));
+        for (int i = 0; i < n; i++) {
+            a[i] = serializer.deserialize(in);
+        }
+        return a;
+    }
+
+    /**
+     * Returns the number of segments currently paged out.
+     * @return the number of segments paged out
+     */
+    public int spilled() {
+        Head m = memory;
+        return m != null ? m.index : 0;
+    }
+
+    /**
+     * Returns true if the file has been created and not closed yet.
+     * @return true if the file is open
+     */
+    public boolean isOpen() {
+        SpillFile f;
+        synchronized (this) {
+            f = file;
+        }
+        return f != null && f.isOpen();
+    }
+
+    /**
+     * Closes the files of the spillers which have been garbage collected; called
+     * periodically by the scheduler purge task and whenever a new file is created.
+     */
+    public static void purge() {
+        for (;;) {
+            SpillFile f = (SpillFile)DROPPED.poll();
+            if (f == null) {
+                break;
+            }
+            f.close();
+        }
+    }
+
+    static final class Head {
+        final Object[] array;
+        final int index;
+
+        Head(Object[] array, int index) {
+            this.array = array;
+            this.index = index;
+        }
+    }
+
+    /**
+     * The file of a spiller; enqueued to {@link #DROPPED} once the spiller is no longer reachable.
+     * The reads and writes are serialized as they move the shared file pointer.
+     */
+    static final class SpillFile extends PhantomReference<SegmentSpiller> {
+
+        final File file;
+
+        final RandomAccessFile raf;
+
+        /** True if the file couldn't be unlinked while open and has to be deleted on close. */
+        final boolean deleteOnClose;
+
+        /** Guarded by this. */
+        boolean closed;
+
+        SpillFile(SegmentSpiller spiller, File file, RandomAccessFile raf, boolean deleteOnClose) {
+            super(spiller, DROPPED);
+            this.file = file;
+            this.raf = raf;
+            this.deleteOnClose = deleteOnClose;
+        }
+
+        static SpillFile create(SegmentSpiller spiller, File directory) throws IOException {
+            purge();
+            File f = File.createTempFile("rxjava-spill-", ".bin", directory);
+            RandomAccessFile raf;
+            try {
+                raf = new RandomAccessFile(f, "rw");
+            } catch (IOException ex) {
+                f.delete();
+                throw ex;
+            }
+            // the open file stays usable after unlinking on POSIX systems but not on Windows
+            SpillFile sf = new SpillFile(spiller, f, raf, !f.delete());
+            FILES.add(sf);
+            return sf;
+        }
+
+        synchronized void write(SegmentOutputStream bytes, long position) throws IOException {
+            if (closed) {
+                throw new IllegalStateException("The spill file has been closed");
+            }
+            raf.seek(position);
+            bytes.writeTo(raf);
+        }
+
+        synchronized void read(byte[] b, long position) throws IOException {
+            if (closed) {
+                throw new IllegalStateException("The spill file has been closed");
+            }
+            raf.seek(position);
+            raf.readFully(b);
+        }
+
+        synchronized boolean isOpen() {
+            return !closed;
+        }
+
+        void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                try {
+                    raf.close();
+                } catch (IOException ex) {
+                    // ignored, nothing is read or written anymore
+                }
+            }
+            FILES.remove(this);
+            clear();
+            if (deleteOnClose) {
+                file.delete();
+            }
+        }
+    }
+
+    /** Writes the serialized segment without copying it. */
+    static final class SegmentOutputStream extends ByteArrayOutputStream {
+        void writeTo(DataOutput out) throws IOException {
+            out.write(buf, 0, count);
+        }
+    }
+}
@@ -305,6 +305,67 @@ public abstract class ParallelFlowable<T> {
         return RxJavaPlugins.onAssembly(new ParallelRunOn<T>(this, scheduler, prefetch));
     }
 
+    /**
+     * Specifies where each 'rail' will observe its incoming values with
+     * a given prefetch amount and placement of the rails onto the Scheduler's workers.
+     * <p>
+     * With {@link ParallelPlacement#STRIPED}, the rails of this and other concurrently
+     * running striped ParallelFlowables are spread over the distinct event loops of the
+     * Scheduler, preferring the event loops with the fewest such rails currently running.
+     * Schedulers that don't support it, which is any Scheduler other than the
+     * {@code Schedulers.computation()} one by default, fall back to {@link ParallelPlacement#ROUND_ROBIN}.
+     * <p>
+     * This operator doesn't require the Scheduler to be trampolining as it
+     * does its own built-in trampolining logic.
+     *
+     * @param scheduler the scheduler to use
+     * @param prefetch the number of values to request on each 'rail' from the source
+     * @param placement the placement of the rails onto the Scheduler's workers
+     * @return the new ParallelFlowable instance
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @NonNull
+    @Experimental
+    public final ParallelFlowable<T> runOn(@NonNull Scheduler scheduler, int prefetch, @NonNull ParallelPlacement placement) {
+        ObjectHelper.requireNonNull(scheduler, "scheduler");
+        ObjectHelper.verifyPositive(prefetch, "prefetch");
+        ObjectHelper.requireNonNull(placement, "placement");
+        return RxJavaPlugins.onAssembly(new ParallelRunOn<T>(this, scheduler, prefetch, placement));
+    }
+
+    /**
+     * Specifies where each 'rail' will observe its incoming values with
+     * an adaptive prefetch amount between the given minimum and maximum.
+     * <p>
+     * Each 'rail' starts by requesting {@code minPrefetch} values and, whenever it
+     * replenishes, doubles the amount if its worker found the queue empty since the
+     * last replenishment or halves it otherwise. This way, fast 'rails' receive values in
+     * larger batches while slow 'rails' don't hold many queued values.
+     * <p>
+     * This operator doesn't require the Scheduler to be trampolining as it
+     * does its own built-in trampolining logic.
+     *
+     * @param scheduler the scheduler to use
+     * @param minPrefetch the minimum number of values to request on each 'rail' from the source
+     * @param maxPrefetch the maximum number of values to request on each 'rail' from the source,
+     *                    not less than minPrefetch
+     * @return the new ParallelFlowable instance
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @NonNull
+    @Experimental
+    public final ParallelFlowable<T> runOn(@NonNull Scheduler scheduler, int minPrefetch, int maxPrefetch) {
+        ObjectHelper.requireNonNull(scheduler, "scheduler");
+        ObjectHelper.verifyPositive(minPrefetch, "minPrefetch");
+        ObjectHelper.verifyPositive(maxPrefetch, "maxPrefetch");
+        if (maxPrefetch < minPrefetch) {
+            throw new IllegalArgumentException("maxPrefetch >= minPrefetch required but it was " + maxPrefetch + " < " + minPrefetch);
+        }
+        return RxJavaPlugins.onAssembly(new ParallelRunOn<T>(this, scheduler, minPrefetch, maxPrefetch, ParallelPlacement.ROUND_ROBIN));
+    }
+
     /**
      * Reduces all values within a 'rail' and across 'rails' with a reducer function into a single
      * sequential value.
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.parallel;
+
+import io.reactivex.annotations.Experimental;
+
+/**
+ * Enumerations for placing the 'rails' of a parallel operator onto the workers of a Scheduler.
+ * @since 2.1.12 - experimental
+ */
+@Experimental
+public enum ParallelPlacement {
+    /**
+     * The rails get the next workers of the Scheduler in its usual order,
+     * for example, round-robin over the event loops of the computation Scheduler.
+     */
+    ROUND_ROBIN,
+    /**
+     * The rails are spread over distinct event loops, preferring those with the fewest
+     * rails of other striped parallel operators currently running on them; Schedulers
+     * without event loops fall back to {@link #ROUND_ROBIN}.
+     */
+    STRIPED
+}
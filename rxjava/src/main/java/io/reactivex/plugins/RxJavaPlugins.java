@@ -27,7 +27,7 @@ import io.reactivex.internal.schedulers.*;
 import io.reactivex.internal.util.ExceptionHelper;
 import io.reactivex.observables.ConnectableObservable;
 import io.reactivex.parallel.ParallelFlowable;
-import io.reactivex.schedulers.Schedulers;
+import io.reactivex.schedulers.*;
 /**
  * Utility class to inject handlers to certain standard RxJava operations.
  */
@@ -38,6 +38,9 @@ public final class RxJavaPlugins {
     @Nullable
     static volatile Function<? super Runnable, ? extends Runnable> onScheduleHandler;
 
+    @Nullable
+    static volatile SchedulerMetricsListener schedulerMetricsListener;
+
     @Nullable
     static volatile Function<? super Callable<Scheduler>, ? extends Scheduler> onInitComputationHandler;
 
@@ -50,6 +53,9 @@ public final class RxJavaPlugins {
     @Nullable
     static volatile Function<? super Callable<Scheduler>, ? extends Scheduler> onInitNewThreadHandler;
 
+    @Nullable
+    static volatile Function<? super Callable<Scheduler>, ? extends Scheduler> onInitVirtualHandler;
+
     @Nullable
     static volatile Function<? super Scheduler, ? extends Scheduler> onComputationHandler;
 
@@ -62,6 +68,9 @@ public final class RxJavaPlugins {
     @Nullable
     static volatile Function<? super Scheduler, ? extends Scheduler> onNewThreadHandler;
 
+    @Nullable
+    static volatile Function<? super Scheduler, ? extends Scheduler> onVirtualHandler;
+
     @SuppressWarnings("rawtypes")
     @Nullable
     static volatile Function<? super Flowable, ? extends Flowable> onFlowableAssembly;
@@ -222,6 +231,17 @@ public final class RxJavaPlugins {
         return onInitSingleHandler;
     }
 
+    /**
+     * Returns the current hook function.
+     * @return the hook function, may be null
+     * @since 2.1.12 - experimental
+     */
+    @Experimental
+    @Nullable
+    public static Function<? super Callable<Scheduler>, ? extends Scheduler> getInitVirtualSchedulerHandler() {
+        return onInitVirtualHandler;
+    }
+
     /**
      * Returns the current hook function.
      * @return the hook function, may be null
@@ -258,6 +278,17 @@ public final class RxJavaPlugins {
         return onSingleHandler;
     }
 
+    /**
+     * Returns the current hook function.
+     * @return the hook function, may be null
+     * @since 2.1.12 - experimental
+     */
+    @Experimental
+    @Nullable
+    public static Function<? super Scheduler, ? extends Scheduler> getVirtualSchedulerHandler() {
+        return onVirtualHandler;
+    }
+
     /**
      * Calls the associated hook function.
      * @param defaultScheduler a {@link Callable} which returns the hook's input value
@@ -322,6 +353,24 @@ public final class RxJavaPlugins {
         return applyRequireNonNull(f, defaultScheduler);
     }
 
+    /**
+     * Calls the associated hook function.
+     * @param defaultScheduler a {@link Callable} which returns the hook's input value
+     * @return the value returned by the hook, not null
+     * @throws NullPointerException if the callable parameter or its result are null
+     * @since 2.1.12 - experimental
+     */
+    @Experimental
+    @NonNull
+    public static Scheduler initVirtualScheduler(@NonNull Callable<Scheduler> defaultScheduler) {
+        ObjectHelper.requireNonNull(defaultScheduler, "Scheduler Callable can't be null");
+        Function<? super Callable<Scheduler>, ? extends Scheduler> f = onInitVirtualHandler;
+        if (f == null) {
+            return callRequireNonNull(defaultScheduler);
+        }
+        return applyRequireNonNull(f, defaultScheduler);
+    }
+
     /**
      * Calls the associated hook function.
      * @param defaultScheduler the hook's input value
@@ -457,6 +506,22 @@ public final class RxJavaPlugins {
         return apply(f, defaultScheduler);
     }
 
+    /**
+     * Calls the associated hook function.
+     * @param defaultScheduler the hook's input value
+     * @return the value returned by the hook
+     * @since 2.1.12 - experimental
+     */
+    @Experimental
+    @NonNull
+    public static Scheduler onVirtualScheduler(@NonNull Scheduler defaultScheduler) {
+        Function<? super Scheduler, ? extends Scheduler> f = onVirtualHandler;
+        if (f == null) {
+            return defaultScheduler;
+        }
+        return apply(f, defaultScheduler);
+    }
+
     /**
      * Called when a task is scheduled.
      * @param run the runnable instance
@@ -487,12 +552,39 @@ public final class RxJavaPlugins {
         return apply(f, defaultScheduler);
     }
 
+    /**
+     * Sets the listener that receives the timing of the tasks run by the standard Schedulers.
+     * <p>
+     * Tasks scheduled while no listener is set are not measured.
+     * @param listener the listener to set, null allowed
+     * @since 2.1.12 - experimental
+     */
+    @Experimental
+    public static void setSchedulerMetricsListener(@Nullable SchedulerMetricsListener listener) {
+        if (lockdown) {
+            throw new IllegalStateException("Plugins can't be changed anymore");
+        }
+        schedulerMetricsListener = listener;
+    }
+
+    /**
+     * Returns the current scheduler metrics listener.
+     * @return the listener, may be null
+     * @since 2.1.12 - experimental
+     */
+    @Experimental
+    @Nullable
+    public static SchedulerMetricsListener getSchedulerMetricsListener() {
+        return schedulerMetricsListener;
+    }
+
     /**
      * Removes all handlers and resets to default behavior.
      */
     public static void reset() {
         setErrorHandler(null);
         setScheduleHandler(null);
+        setSchedulerMetricsListener(null);
 
         setComputationSchedulerHandler(null);
         setInitComputationSchedulerHandler(null);
@@ -506,6 +598,9 @@ public final class RxJavaPlugins {
         setNewThreadSchedulerHandler(null);
         setInitNewThreadSchedulerHandler(null);
 
+        setVirtualSchedulerHandler(null);
+        setInitVirtualSchedulerHandler(null);
+
         setOnFlowableAssembly(null);
         setOnFlowableSubscribe(null);
 
@@ -596,6 +691,19 @@ public final class RxJavaPlugins {
         onInitSingleHandler = handler;
     }
 
+    /**
+     * Sets the specific hook function.
+     * @param handler the hook function to set, null allowed, but the function may not return null
+     * @since 2.1.12 - experimental
+     */
+    @Experimental
+    public static void setInitVirtualSchedulerHandler(@Nullable Function<? super Callable<Scheduler>, ? extends Scheduler> handler) {
+        if (lockdown) {
+            throw new IllegalStateException("Plugins can't be changed anymore");
+        }
+        onInitVirtualHandler = handler;
+    }
+
     /**
      * Sets the specific hook function.
      * @param handler the hook function to set, null allowed
@@ -640,6 +748,19 @@ public final class RxJavaPlugins {
         onSingleHandler = handler;
     }
 
+    /**
+     * Sets the specific hook function.
+     * @param handler the hook function to set, null allowed
+     * @since 2.1.12 - experimental
+     */
+    @Experimental
+    public static void setVirtualSchedulerHandler(@Nullable Function<? super Scheduler, ? extends Scheduler> handler) {
+        if (lockdown) {
+            throw new IllegalStateException("Plugins can't be changed anymore");
+        }
+        onVirtualHandler = handler;
+    }
+
     /**
      * Revokes the lockdown, only for testing purposes.
      */
@@ -15,7 +15,6 @@ package io.reactivex.processors;
 
 import java.lang.reflect.Array;
 import java.util.concurrent.atomic.*;
-import java.util.concurrent.locks.*;
 
 import org.reactivestreams.*;
 
@@ -171,15 +170,15 @@ public final class BehaviorProcessor<T> extends FlowableProcessor<T> {
     @SuppressWarnings("rawtypes")
     static final BehaviorSubscription[] TERMINATED = new BehaviorSubscription[0];
 
-    final ReadWriteLock lock;
-    final Lock readLock;
-    final Lock writeLock;
-
     final AtomicReference<Object> value;
 
     final AtomicReference<Throwable> terminalEvent;
 
-    long index;
+    /**
+     * Incremented by two for each value change, odd while the change is in progress
+     * so that the subscribers can read a consistent value-version pair without locking.
+     */
+    final AtomicLong version;
 
     /**
      * Creates a {@link BehaviorProcessor} without a default item.
@@ -219,9 +218,7 @@ public final class BehaviorProcessor<T> extends FlowableProcessor<T> {
     @SuppressWarnings("unchecked")
     BehaviorProcessor() {
         this.value = new AtomicReference<Object>();
-        this.lock = new ReentrantReadWriteLock();
-        this.readLock = lock.readLock();
-        this.writeLock = lock.writeLock();
+        this.version = new AtomicLong();
         this.subscribers = new AtomicReference<BehaviorSubscription<T>[]>(EMPTY);
         this.terminalEvent = new AtomicReference<Throwable>();
     }
@@ -274,7 +271,7 @@ public final class BehaviorProcessor<T> extends FlowableProcessor<T> {
             return;
         }
         Object o = NotificationLite.next(t);
-        setCurrent(o);
+        long index = setCurrent(o);
         for (BehaviorSubscription<T> bs : subscribers.get()) {
             bs.emitNext(o, index);
         }
@@ -288,7 +285,9 @@ public final class BehaviorProcessor<T> extends FlowableProcessor<T> {
             return;
         }
         Object o = NotificationLite.error(t);
-        for (BehaviorSubscription<T> bs : terminate(o)) {
+        BehaviorSubscription<T>[] array = terminate(o);
+        long index = version.get();
+        for (BehaviorSubscription<T> bs : array) {
             bs.emitNext(o, index);
         }
     }
@@ -299,8 +298,10 @@ public final class BehaviorProcessor<T> extends FlowableProcessor<T> {
             return;
         }
         Object o = NotificationLite.complete();
-        for (BehaviorSubscription<T> bs : terminate(o)) {
-            bs.emitNext(o, index);  // relaxed read okay since this is the only mutator thread
+        BehaviorSubscription<T>[] array = terminate(o);
+        long index = version.get();
+        for (BehaviorSubscription<T> bs : array) {
+            bs.emitNext(o, index);
         }
     }
 
@@ -332,7 +333,7 @@ public final class BehaviorProcessor<T> extends FlowableProcessor<T> {
         }
 
         Object o = NotificationLite.next(t);
-        setCurrent(o);
+        long index = setCurrent(o);
         for (BehaviorSubscription<T> bs : array) {
             bs.emitNext(o, index);
         }
@@ -507,12 +508,38 @@ public final class BehaviorProcessor<T> extends FlowableProcessor<T> {
         return a;
     }
 
-    void setCurrent(Object o) {
-        Lock wl = writeLock;
-        wl.lock();
-        index++;
+    /**
+     * Replaces the current value; must be called by the single mutator thread.
+     * @param o the new value
+     * @return the version of the new value
+     */
+    long setCurrent(Object o) {
+        AtomicLong v = version;
+        long index = v.get() + 2;
+        v.lazySet(index - 1);
         value.lazySet(o);
-        wl.unlock();
+        v.set(index);
+        return index;
+    }
+
+    /**
+     * Reads the current value and its version consistently, retrying while the
+     * mutator thread is in the middle of {@link #setCurrent(Object)}.
+     * @param bs the subscription to store the version into
+     * @return the current value
+     */
+    Object getCurrent(BehaviorSubscription<T> bs) {
+        AtomicLong v = version;
+        for (;;) {
+            long index = v.get();
+            if ((index & 1L) == 0L) {
+                Object o = value.get();
+                if (v.get() == index) {
+                    bs.index = index;
+                    return o;
+                }
+            }
+        }
     }
 
     static final class BehaviorSubscription<T> extends AtomicLong implements Subscription, NonThrowingPredicate<Object> {
@@ -566,13 +593,7 @@ public final class BehaviorProcessor<T> extends FlowableProcessor<T> {
                     return;
                 }
 
-                BehaviorProcessor<T> s = state;
-
-                Lock readLock = s.readLock;
-                readLock.lock();
-                index = s.index;
-                o = s.value.get();
-                readLock.unlock();
+                o = state.getCurrent(this);
 
                 emitting = o != null;
                 next = true;
@@ -14,7 +14,6 @@
 package io.reactivex.processors;
 
 import java.lang.reflect.Array;
-import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.*;
 
@@ -106,11 +105,9 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
     /**
      * Creates an unbounded ReplayProcessor.
      * <p>
-     * The internal buffer is backed by an {@link ArrayList} and starts with an initial capacity of 16. Once the
-     * number of items reaches this capacity, it will grow as necessary (usually by 50%). However, as the
-     * number of items grows, this causes frequent array reallocation and copying, and may hurt performance
-     * and latency. This can be avoided with the {@link #create(int)} overload which takes an initial capacity
-     * parameter and can be tuned to reduce the array reallocation frequency as needed.
+     * The internal buffer stores the items in linked array segments of 16 items each. Once a segment is full,
+     * a new one is linked after it, thus the items already stored are never copied as the buffer grows. The
+     * segment size can be tuned via the {@link #create(int)} overload.
      *
      * @param <T>
      *          the type of items observed and emitted by the ReplayProcessor
@@ -129,7 +126,8 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
      * items. For example, if you know that the buffer will hold 32k items, you can ask the
      * {@code ReplayProcessor} to preallocate its internal array with a capacity to hold that many items. Once
      * the items start to arrive, the internal array won't need to grow, creating less garbage and no overhead
-     * due to frequent array-copying.
+     * due to frequent array-copying. Should more items arrive, they are stored in additional arrays of
+     * at most 1024 items each.
      *
      * @param <T>
      *          the type of items observed and emitted by the Subject
@@ -264,6 +262,87 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
         return new ReplayProcessor<T>(new SizeAndTimeBoundReplayBuffer<T>(maxSize, maxAge, unit, scheduler));
     }
 
+    /**
+     * Creates a size-bounded ReplayProcessor that stores its items in array chunks instead of
+     * one linked node per item.
+     * <p>
+     * The replay semantics are the same as with {@link #createWithSize(int)}, but the buffer allocates
+     * only one object per chunk of items and evicts items by moving a head index. In exchange,
+     * up to {@code min(maxSize, 64) - 1} evicted items may remain reachable until their chunk is
+     * evicted as a whole; {@link #cleanupBuffer()} has no effect on this buffer.
+     *
+     * @param <T>
+     *          the type of items observed and emitted by the Subject
+     * @param maxSize
+     *          the maximum number of buffered items
+     * @return the created subject
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @NonNull
+    @Experimental
+    public static <T> ReplayProcessor<T> createWithSizeChunked(int maxSize) {
+        return new ReplayProcessor<T>(new ChunkedReplayBuffer<T>(maxSize, Long.MAX_VALUE, TimeUnit.NANOSECONDS, null));
+    }
+
+    /**
+     * Creates a time-bounded ReplayProcessor that stores its items and their timestamps in array chunks
+     * instead of one linked node per item.
+     * <p>
+     * The replay semantics are the same as with {@link #createWithTime(long, TimeUnit, Scheduler)}, but
+     * the buffer allocates only one object and a primitive timestamp array per chunk of items and evicts
+     * items by moving a head index. In exchange, up to 63 evicted items may remain reachable until their
+     * chunk is evicted as a whole; {@link #cleanupBuffer()} has no effect on this buffer.
+     *
+     * @param <T>
+     *          the type of items observed and emitted by the Subject
+     * @param maxAge
+     *          the maximum age of the contained items
+     * @param unit
+     *          the time unit of {@code time}
+     * @param scheduler
+     *          the {@link Scheduler} that provides the current time
+     * @return the created subject
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @NonNull
+    @Experimental
+    public static <T> ReplayProcessor<T> createWithTimeChunked(long maxAge, TimeUnit unit, Scheduler scheduler) {
+        ObjectHelper.requireNonNull(scheduler, "scheduler is null");
+        return new ReplayProcessor<T>(new ChunkedReplayBuffer<T>(Integer.MAX_VALUE, maxAge, unit, scheduler));
+    }
+
+    /**
+     * Creates a time- and size-bounded ReplayProcessor that stores its items and their timestamps
+     * in array chunks instead of one linked node per item.
+     * <p>
+     * The replay semantics are the same as with {@link #createWithTimeAndSize(long, TimeUnit, Scheduler, int)},
+     * but the buffer allocates only one object and a primitive timestamp array per chunk of items and evicts
+     * items by moving a head index. In exchange, up to {@code min(maxSize, 64) - 1} evicted items may remain
+     * reachable until their chunk is evicted as a whole; {@link #cleanupBuffer()} has no effect on this buffer.
+     *
+     * @param <T>
+     *          the type of items observed and emitted by the Subject
+     * @param maxAge
+     *          the maximum age of the contained items
+     * @param unit
+     *          the time unit of {@code time}
+     * @param scheduler
+     *          the {@link Scheduler} that provides the current time
+     * @param maxSize
+     *          the maximum number of buffered items
+     * @return the created subject
+     * @since 2.1.12 - experimental
+     */
+    @CheckReturnValue
+    @NonNull
+    @Experimental
+    public static <T> ReplayProcessor<T> createWithTimeAndSizeChunked(long maxAge, TimeUnit unit, Scheduler scheduler, int maxSize) {
+        ObjectHelper.requireNonNull(scheduler, "scheduler is null");
+        return new ReplayProcessor<T>(new ChunkedReplayBuffer<T>(maxSize, maxAge, unit, scheduler));
+    }
+
     /**
      * Constructs a ReplayProcessor with the given custom ReplayBuffer instance.
      * @param buffer the ReplayBuffer instance, not null (not verified)
@@ -540,6 +619,12 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
 
         Object index;
 
+        /** The absolute index of the next item in a {@link ChunkedReplayBuffer} or an {@link UnboundedReplayBuffer}. */
+        long position;
+
+        /** The index of the next item within the segment of an {@link UnboundedReplayBuffer} held by {@link #index}. */
+        int offset;
+
         final AtomicLong requested;
 
         volatile boolean cancelled;
@@ -571,21 +656,26 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
     static final class UnboundedReplayBuffer<T>
     implements ReplayBuffer<T> {
 
-        final List<T> buffer;
+        /** The capacity of the arrays linked after the first one. */
+        static final int MAX_SEGMENT_SIZE = 1024;
+
+        final LinkedArrayList buffer;
 
         Throwable error;
         volatile boolean done;
 
-        volatile int size;
+        /** The latest value, written before the size is incremented. */
+        T last;
 
         UnboundedReplayBuffer(int capacityHint) {
-            this.buffer = new ArrayList<T>(ObjectHelper.verifyPositive(capacityHint, "capacityHint"));
+            int first = Math.max(ObjectHelper.verifyPositive(capacityHint, "capacityHint"), 16);
+            this.buffer = new LinkedArrayList(first, Math.min(first, MAX_SEGMENT_SIZE));
         }
 
         @Override
         public void next(T value) {
+            last = value;
             buffer.add(value);
-            size++;
         }
 
         @Override
@@ -607,30 +697,37 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
         @Override
         @Nullable
         public T getValue() {
-            int s = size;
+            int s = buffer.size();
             if (s == 0) {
                 return null;
             }
-            return buffer.get(s - 1);
+            return last;
         }
 
         @Override
         @SuppressWarnings("unchecked")
         public T[] getValues(T[] array) {
-            int s = size;
+            int s = buffer.size();
             if (s == 0) {
                 if (array.length != 0) {
                     array[0] = null;
                 }
                 return array;
             }
-            List<T> b = buffer;
 
             if (array.length < s) {
                 array = (T[])Array.newInstance(array.getClass().getComponentType(), s);
             }
+            Object[] b = buffer.head();
+            int n = b.length - 1;
+            int k = 0;
             for (int i = 0; i < s; i++) {
-                array[i] = b.get(i);
+                if (k == n) {
+                    b = (Object[])b[n];
+                    n = b.length - 1;
+                    k = 0;
+                }
+                array[i] = (T)b[k++];
             }
             if (array.length > s) {
                 array[s] = null;
@@ -640,23 +737,18 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
         }
 
         @Override
+        @SuppressWarnings("unchecked")
         public void replay(ReplaySubscription<T> rs) {
             if (rs.getAndIncrement() != 0) {
                 return;
             }
 
             int missed = 1;
-            final List<T> b = buffer;
             final Subscriber<? super T> a = rs.actual;
 
-            Integer indexObject = (Integer)rs.index;
-            int index;
-            if (indexObject != null) {
-                index = indexObject;
-            } else {
-                index = 0;
-                rs.index = 0;
-            }
+            Object[] b = (Object[])rs.index;
+            int index = (int)rs.position;
+            int k = rs.offset;
             long e = rs.emitted;
 
             for (;;) {
@@ -670,7 +762,7 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
                     }
 
                     boolean d = done;
-                    int s = size;
+                    int s = buffer.size();
 
                     if (d && index == s) {
                         rs.index = null;
@@ -688,9 +780,20 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
                         break;
                     }
 
-                    a.onNext(b.get(index));
+                    // latch onto the very first segment now that it is available
+                    if (b == null) {
+                        b = buffer.head();
+                    }
+                    int n = b.length - 1;
+                    if (k == n) {
+                        b = (Object[])b[n];
+                        k = 0;
+                    }
+
+                    a.onNext((T)b[k]);
 
                     index++;
+                    k++;
                     e++;
                 }
 
@@ -701,7 +804,7 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
                     }
 
                     boolean d = done;
-                    int s = size;
+                    int s = buffer.size();
 
                     if (d && index == s) {
                         rs.index = null;
@@ -716,7 +819,9 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
                     }
                 }
 
-                rs.index = index;
+                rs.index = b;
+                rs.position = index;
+                rs.offset = k;
                 rs.emitted = e;
                 missed = rs.addAndGet(-missed);
                 if (missed == 0) {
@@ -727,7 +832,7 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
 
         @Override
         public int size() {
-            return size;
+            return buffer.size();
         }
 
         @Override
@@ -1277,4 +1382,366 @@ public final class ReplayProcessor<T> extends FlowableProcessor<T> {
             return done;
         }
     }
+
+    /**
+     * A chunk of items with their optional timestamps; the chunk holding the
+     * next items is published through the AtomicReference.
+     *
+     * @param <T> the value type
+     */
+    static final class ReplayChunk<T> extends AtomicReference<ReplayChunk<T>> {
+
+        private static final long serialVersionUID = -1418627497925815563L;
+
+        /** The absolute index of the first item in this chunk. */
+        final long base;
+
+        final Object[] values;
+
+        /** The timestamps of the items or null if the buffer is not time-bound. */
+        final long[] times;
+
+        ReplayChunk(long base, int chunkSize, boolean timed) {
+            this.base = base;
+            this.values = new Object[chunkSize];
+            this.times = timed ? new long[chunkSize] : null;
+        }
+    }
+
+    /**
+     * Size- and optionally time-bound buffer that stores the items in linked array chunks
+     * and evicts them by advancing the absolute head index; a chunk is dropped once the head
+     * moved past it.
+     * <p>
+     * The evicted items of a chunk can't be cleared as a subscriber lagging behind the head
+     * may still replay them, which is the same guarantee the node-based buffers give.
+     *
+     * @param <T> the value type
+     */
+    static final class ChunkedReplayBuffer<T>
+    implements ReplayBuffer<T> {
+
+        static final int MAX_CHUNK_SIZE = 64;
+
+        final int maxSize;
+        final long maxAge;
+        final TimeUnit unit;
+        /** The scheduler providing the timestamps, null if the buffer is only size-bound. */
+        final Scheduler scheduler;
+        final int chunkSize;
+
+        /** The chunk containing the head item. */
+        volatile ReplayChunk<T> headChunk;
+
+        /** The absolute index of the oldest retained item. */
+        volatile long head;
+
+        /** The chunk receiving new items, set after {@link #tailIndex} moved into it. */
+        volatile ReplayChunk<T> tail;
+
+        /** The absolute index one past the last item, released after the item has been stored. */
+        volatile long tailIndex;
+
+        Throwable error;
+        volatile boolean done;
+
+        ChunkedReplayBuffer(int maxSize, long maxAge, TimeUnit unit, Scheduler scheduler) {
+            this.maxSize = ObjectHelper.verifyPositive(maxSize, "maxSize");
+            this.maxAge = ObjectHelper.verifyPositive(maxAge, "maxAge");
+            this.unit = ObjectHelper.requireNonNull(unit, "unit is null");
+            this.scheduler = scheduler;
+            this.chunkSize = Math.min(maxSize, MAX_CHUNK_SIZE);
+            ReplayChunk<T> c = new ReplayChunk<T>(0L, chunkSize, scheduler != null);
+            this.headChunk = c;
+            this.tail = c;
+        }
+
+        @Override
+        public void next(T value) {
+            ReplayChunk<T> t = tail;
+            long index = tailIndex;
+            int offset = (int)(index - t.base);
+            boolean newChunk = offset == chunkSize;
+            if (newChunk) {
+                ReplayChunk<T> n = new ReplayChunk<T>(index, chunkSize, scheduler != null);
+                t.lazySet(n);
+                t = n;
+                offset = 0;
+            }
+            t.values[offset] = value;
+            long now = 0L;
+            if (scheduler != null) {
+                now = scheduler.now(unit);
+                t.times[offset] = now;
+            }
+            tailIndex = index + 1;
+            if (newChunk) {
+                tail = t;
+            }
+
+            trim(index + 1, now);
+        }
+
+        /**
+         * Advances the head past the items exceeding the size limit and the expired items.
+         * @param end the current tail index
+         * @param now the current time if the buffer is time-bound
+         */
+        void trim(long end, long now) {
+            long h = head;
+            long oldHead = h;
+            if (end - h > maxSize) {
+                h = end - maxSize;
+            }
+            ReplayChunk<T> c = headChunk;
+            ReplayChunk<T> oldChunk = c;
+            if (scheduler != null) {
+                long limit = now - maxAge;
+                while (h != end) {
+                    c = chunkOf(c, h);
+                    if (c.times[(int)(h - c.base)] > limit) {
+                        break;
+                    }
+                    h++;
+                }
+            }
+            if (h != oldHead) {
+                c = chunkOf(c, h);
+                if (c != oldChunk) {
+                    headChunk = c;
+                }
+                head = h;
+            }
+        }
+
+        /**
+         * Returns the chunk containing the given index, which may be the first
+         * index of the next chunk not yet created.
+         * @param c the chunk to start from, its base not greater than index
+         * @param index the absolute index
+         * @return the chunk
+         */
+        ReplayChunk<T> chunkOf(ReplayChunk<T> c, long index) {
+            int n = chunkSize;
+            while (index - c.base >= n) {
+                ReplayChunk<T> next = c.get();
+                if (next == null) {
+                    break;
+                }
+                c = next;
+            }
+            return c;
+        }
+
+        /**
+         * Returns the absolute index of the first item a new subscriber should receive,
+         * skipping the expired items.
+         * @param c the head chunk read before the head index
+         * @return the absolute index
+         */
+        long startIndex(ReplayChunk<T> c) {
+            long index = head;
+            // the head may have moved into a newer chunk after reading headChunk
+            if (index < c.base) {
+                index = c.base;
+            }
+            if (scheduler != null) {
+                long limit = scheduler.now(unit) - maxAge;
+                long end = tailIndex;
+                while (index != end) {
+                    c = chunkOf(c, index);
+                    if (c.times[(int)(index - c.base)] > limit) {
+                        break;
+                    }
+                    index++;
+                }
+            }
+            return index;
+        }
+
+        @Override
+        public void error(Throwable ex) {
+            trim(tailIndex, now());
+            error = ex;
+            done = true;
+        }
+
+        @Override
+        public void complete() {
+            trim(tailIndex, now());
+            done = true;
+        }
+
+        long now() {
+            return scheduler != null ? scheduler.now(unit) : 0L;
+        }
+
+        @Override
+        public void trimHead() {
+            // the evicted items are released with their chunk, see the class description
+        }
+
+        @Override
+        public boolean isDone() {
+            return done;
+        }
+
+        @Override
+        public Throwable getError() {
+            return error;
+        }
+
+        @Override
+        @Nullable
+        @SuppressWarnings("unchecked")
+        public T getValue() {
+            ReplayChunk<T> t = tail;
+            long end = tailIndex;
+            if (end == head) {
+                return null;
+            }
+            long index = end - 1;
+            t = chunkOf(t, index);
+            int offset = (int)(index - t.base);
+            if (scheduler != null && t.times[offset] < scheduler.now(unit) - maxAge) {
+                return null;
+            }
+            return (T)t.values[offset];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T[] getValues(T[] array) {
+            ReplayChunk<T> c = headChunk;
+            long index = startIndex(c);
+            long end = tailIndex;
+            int s = (int)(end - index);
+
+            if (s == 0) {
+                if (array.length != 0) {
+                    array[0] = null;
+                }
+                return array;
+            }
+            if (array.length < s) {
+                array = (T[])Array.newInstance(array.getClass().getComponentType(), s);
+            }
+
+            for (int i = 0; i < s; i++) {
+                c = chunkOf(c, index);
+                array[i] = (T)c.values[(int)(index - c.base)];
+                index++;
+            }
+            if (array.length > s) {
+                array[s] = null;
+            }
+            return array;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void replay(ReplaySubscription<T> rs) {
+            if (rs.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            final Subscriber<? super T> a = rs.actual;
+            final int n = chunkSize;
+
+            ReplayChunk<T> c = (ReplayChunk<T>)rs.index;
+            long index;
+            if (c == null) {
+                c = headChunk;
+                index = startIndex(c);
+                c = chunkOf(c, index);
+            } else {
+                index = rs.position;
+            }
+
+            long e = rs.emitted;
+
+            for (;;) {
+
+                long r = rs.requested.get();
+                long end = tailIndex;
+
+                while (e != r) {
+                    if (rs.cancelled) {
+                        rs.index = null;
+                        return;
+                    }
+
+                    if (index == end) {
+                        boolean d = done;
+                        end = tailIndex;
+                        boolean empty = index == end;
+
+                        if (d && empty) {
+                            rs.index = null;
+                            rs.cancelled = true;
+                            Throwable ex = error;
+                            if (ex == null) {
+                                a.onComplete();
+                            } else {
+                                a.onError(ex);
+                            }
+                            return;
+                        }
+
+                        if (empty) {
+                            break;
+                        }
+                    }
+
+                    int offset = (int)(index - c.base);
+                    if (offset == n) {
+                        c = c.get();
+                        offset = 0;
+                    }
+
+                    a.onNext((T)c.values[offset]);
+                    e++;
+                    index++;
+                }
+
+                if (e == r) {
+                    if (rs.cancelled) {
+                        rs.index = null;
+                        return;
+                    }
+
+                    boolean d = done;
+
+                    if (d && index == tailIndex) {
+                        rs.index = null;
+                        rs.cancelled = true;
+                        Throwable ex = error;
+                        if (ex == null) {
+                            a.onComplete();
+                        } else {
+                            a.onError(ex);
+                        }
+                        return;
+                    }
+                }
+
+                rs.index = c;
+                rs.position = index;
+                rs.emitted = e;
+
+                missed = rs.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            long index = startIndex(headChunk);
+            long s = tailIndex - index;
+            return s > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int)s;
+        }
+    }
 }
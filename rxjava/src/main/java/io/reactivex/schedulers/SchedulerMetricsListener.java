@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.schedulers;
+
+import io.reactivex.annotations.Experimental;
+
+/**
+ * Receives the timing of the tasks run by the standard {@link io.reactivex.Scheduler Scheduler}s
+ * when set via {@link io.reactivex.plugins.RxJavaPlugins#setSchedulerMetricsListener(SchedulerMetricsListener)}.
+ * <p>
+ * The computation, io, single and new-thread Schedulers, as well as the Schedulers created by
+ * {@link Schedulers#from(java.util.concurrent.Executor)}, measure only the tasks scheduled
+ * while a listener is set; no measurement takes place otherwise.
+ * <p>
+ * The method is called on the thread that ran the task, after it has run, so the
+ * thread identifies the event loop of the computation and single Schedulers. It
+ * should return quickly as it delays the next task of the same worker.
+ *
+ * @since 2.1.12 - experimental
+ */
+@Experimental
+public interface SchedulerMetricsListener {
+
+    /**
+     * Called after a task has run, including when it has thrown.
+     * @param waitNanos the nanoseconds between the task becoming ready to run (scheduled
+     *                  without delay, or its delay or period elapsed) and its start
+     * @param runNanos the nanoseconds the task has run for
+     * @param queueDepth the number of tasks waiting in the queue of the task's worker when it
+     *                   started, including not yet due delayed tasks if the queue holds those as well,
+     *                   or -1 if the underlying executor doesn't tell
+     */
+    void onTaskRun(long waitNanos, long runNanos, int queueDepth);
+}
@@ -14,7 +14,7 @@
 package io.reactivex.schedulers;
 
 import io.reactivex.Scheduler;
-import io.reactivex.annotations.NonNull;
+import io.reactivex.annotations.*;
 import io.reactivex.internal.schedulers.*;
 import io.reactivex.plugins.RxJavaPlugins;
 
@@ -32,10 +32,16 @@ import java.util.concurrent.*;
  * <li>{@code rx2.io-priority} (int): sets the thread priority of the {@link #io()} Scheduler, default is {@link Thread#NORM_PRIORITY}</li>
  * <li>{@code rx2.computation-threads} (int): sets the number of threads in the {@link #computation()} Scheduler, default is the number of available CPUs</li>
  * <li>{@code rx2.computation-priority} (int): sets the thread priority of the {@link #computation()} Scheduler, default is {@link Thread#NORM_PRIORITY}</li>
+ * <li>{@code rx2.computation-work-stealing} (boolean): assigns the {@link #computation()} Scheduler's workers to the least-loaded thread
+ * and lets idle threads run the non-delayed tasks of busy threads, default is false</li>
  * <li>{@code rx2.newthread-priority} (int): sets the thread priority of the {@link #newThread()} Scheduler, default is {@link Thread#NORM_PRIORITY}</li>
  * <li>{@code rx2.single-priority} (int): sets the thread priority of the {@link #single()} Scheduler, default is {@link Thread#NORM_PRIORITY}</li>
  * <li>{@code rx2.purge-enabled} (boolean): enables periodic purging of all Scheduler's backing thread pools, default is false</li>
  * <li>{@code rx2.purge-period-seconds} (int): specifies the periodic purge interval of all Scheduler's backing thread pools, default is 1 second</li>
+ * <li>{@code rx2.computation-timer-wheel}, {@code rx2.io-timer-wheel}, {@code rx2.newthread-timer-wheel} (boolean): times the delayed tasks
+ * of the respective Scheduler via a shared timer wheel with O(1) schedule and cancel, default is false</li>
+ * <li>{@code rx2.io-max-threads} (int): caps the number of threads of the {@link #io()} Scheduler, workers created while
+ * all threads are in use share the least used thread, default is unbounded</li>
  * </ul>
  */
 public final class Schedulers {
@@ -54,6 +60,9 @@ public final class Schedulers {
     @NonNull
     static final Scheduler NEW_THREAD;
 
+    @NonNull
+    static final Scheduler VIRTUAL;
+
     static final class SingleHolder {
         static final Scheduler DEFAULT = new SingleScheduler();
     }
@@ -70,6 +79,11 @@ public final class Schedulers {
         static final Scheduler DEFAULT = new NewThreadScheduler();
     }
 
+    static final class VirtualHolder {
+        static final Scheduler DEFAULT = VirtualThreadExecutor.INSTANCE != null
+                ? new ExecutorScheduler(VirtualThreadExecutor.INSTANCE) : null;
+    }
+
     static {
         SINGLE = RxJavaPlugins.initSingleScheduler(new SingleTask());
 
@@ -80,6 +94,8 @@ public final class Schedulers {
         TRAMPOLINE = TrampolineScheduler.instance();
 
         NEW_THREAD = RxJavaPlugins.initNewThreadScheduler(new NewThreadTask());
+
+        VIRTUAL = RxJavaPlugins.initVirtualScheduler(new VirtualTask());
     }
 
     /** Utility class. */
@@ -112,6 +128,10 @@ public final class Schedulers {
      * <ul>
      * <li>{@code rx2.computation-threads} (int): sets the number of threads in the {@link #computation()} Scheduler, default is the number of available CPUs</li>
      * <li>{@code rx2.computation-priority} (int): sets the thread priority of the {@link #computation()} Scheduler, default is {@link Thread#NORM_PRIORITY}</li>
+     * <li>{@code rx2.computation-work-stealing} (boolean): assigns the workers to the least-loaded thread and lets idle threads
+     * run the non-delayed tasks of busy threads while keeping each worker's tasks in order, default is false</li>
+     * <li>{@code rx2.computation-timer-wheel} (boolean): times the delayed tasks via a shared timer wheel instead of each thread's
+     * {@link ScheduledExecutorService}, default is false</li>
      * </ul>
      * <p>
      * The default value of this scheduler can be overridden at initialization time via the
@@ -156,6 +176,10 @@ public final class Schedulers {
      * <p><strong>Supported system properties ({@code System.getProperty()}):</strong>
      * <ul>
      * <li>{@code rx2.io-priority} (int): sets the thread priority of the {@link #io()} Scheduler, default is {@link Thread#NORM_PRIORITY}</li>
+     * <li>{@code rx2.io-timer-wheel} (boolean): times the delayed tasks via a shared timer wheel instead of each thread's
+     * {@link ScheduledExecutorService}, default is false</li>
+     * <li>{@code rx2.io-max-threads} (int): caps the number of threads; workers created while all threads are in use
+     * share the least used thread and take turns running their tasks on it, default is unbounded</li>
      * </ul>
      * <p>
      * The default value of this scheduler can be overridden at initialization time via the
@@ -179,6 +203,38 @@ public final class Schedulers {
         return RxJavaPlugins.onIoScheduler(IO);
     }
 
+    /**
+     * Returns a default, shared {@link Scheduler} instance that runs the work on virtual threads
+     * if the Java runtime supports them (Java 21 or later), or the {@link #io()} Scheduler otherwise.
+     * <p>
+     * This can be used for blocking IO work without dedicating a platform thread to each
+     * {@link io.reactivex.Scheduler.Worker}: each worker executes its tasks in order, one at a time,
+     * on a virtual thread started whenever it has tasks to run. Blocking the virtual thread
+     * only blocks the given worker. The delayed and periodic tasks are timed by the {@link #single()} Scheduler
+     * and then executed on a virtual thread.
+     * <p>
+     * Virtual threads are daemon threads, therefore this scheduler doesn't need to be shut down
+     * and its {@link Scheduler#shutdown()} method has no effect.
+     * <p>
+     * Unhandled errors will be delivered to the scheduler Thread's {@link java.lang.Thread.UncaughtExceptionHandler}.
+     * <p>
+     * The default value of this scheduler can be overridden at initialization time via the
+     * {@link RxJavaPlugins#setInitVirtualSchedulerHandler(io.reactivex.functions.Function)} plugin method.
+     * Note that due to possible initialization cycles, using any of the other scheduler-returning methods will
+     * result in a {@code NullPointerException}.
+     * Once the {@link Schedulers} class has been initialized, you can override the returned {@link Scheduler} instance
+     * via the {@link RxJavaPlugins#setVirtualSchedulerHandler(io.reactivex.functions.Function)} method.
+     * On runtimes without virtual threads, the default value is the {@link #io()} Scheduler instance as
+     * initialized, the {@link RxJavaPlugins#setIoSchedulerHandler(io.reactivex.functions.Function)} hook doesn't apply to it.
+     * @return a {@link Scheduler} meant for blocking IO work on virtual threads if available
+     * @since 2.1.12 - experimental
+     */
+    @Experimental
+    @NonNull
+    public static Scheduler virtual() {
+        return RxJavaPlugins.onVirtualScheduler(VIRTUAL);
+    }
+
     /**
      * Returns a default, shared {@link Scheduler} instance whose {@link io.reactivex.Scheduler.Worker}
      * instances queue work and execute them in a FIFO manner on one of the participating threads.
@@ -214,6 +270,8 @@ public final class Schedulers {
      * <p><strong>Supported system properties ({@code System.getProperty()}):</strong>
      * <ul>
      * <li>{@code rx2.newthread-priority} (int): sets the thread priority of the {@link #newThread()} Scheduler, default is {@link Thread#NORM_PRIORITY}</li>
+     * <li>{@code rx2.newthread-timer-wheel} (boolean): times the delayed tasks via a shared timer wheel instead of each thread's
+     * {@link ScheduledExecutorService}, default is false</li>
      * </ul>
      * <p>
      * The default value of this scheduler can be overridden at initialization time via the
@@ -394,4 +452,12 @@ public final class Schedulers {
             return ComputationHolder.DEFAULT;
         }
     }
+
+    static final class VirtualTask implements Callable<Scheduler> {
+        @Override
+        public Scheduler call() throws Exception {
+            Scheduler s = VirtualHolder.DEFAULT;
+            return s != null ? s : IO;
+        }
+    }
 }
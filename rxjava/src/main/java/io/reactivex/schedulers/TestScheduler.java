@@ -13,7 +13,7 @@
 
 package io.reactivex.schedulers;
 
-import java.util.Queue;
+import java.util.*;
 import java.util.concurrent.*;
 
 import io.reactivex.Scheduler;
@@ -26,10 +26,27 @@ import io.reactivex.internal.functions.ObjectHelper;
  * A special, non thread-safe scheduler for testing operators that require
  * a scheduler without introducing real concurrency and allows manually advancing
  * a virtual time.
+ * <p>
+ * The tasks are kept in buckets per due time so that many tasks due at the same time
+ * are queued and run without ordering them one by one, and cancelling a task only
+ * marks it to be skipped.
  */
 public final class TestScheduler extends Scheduler {
-    /** The ordered queue for the runnable tasks. */
-    final Queue<TimedRunnable> queue = new PriorityBlockingQueue<TimedRunnable>(11);
+    /**
+     * The number of cancelled tasks that may stay queued before the queue is compacted,
+     * provided they are also the majority.
+     */
+    static final int PURGE_THRESHOLD = 64;
+    /** The buckets of the queued tasks ordered by their time, guarded by this. */
+    final PriorityQueue<TimeBucket> buckets = new PriorityQueue<TimeBucket>();
+    /** The buckets by their time, guarded by this. */
+    final Map<Long, TimeBucket> bucketsByTime = new HashMap<Long, TimeBucket>();
+    /** The bucket a task was last added to, guarded by this. */
+    TimeBucket lastBucket;
+    /** The number of queued tasks, including the cancelled ones not removed yet, guarded by this. */
+    int size;
+    /** The number of cancelled tasks not removed yet, guarded by this. */
+    int cancelled;
     /** The per-scheduler global order counter. */
     long counter;
     // Storing time in nanoseconds internally.
@@ -61,6 +78,13 @@ public final class TestScheduler extends Scheduler {
         final TestWorker scheduler;
         final long count; // for differentiating tasks at same time
 
+        /** The next task of the same bucket, guarded by the TestScheduler. */
+        TimedRunnable next;
+        /** Indicates the task is in a bucket, guarded by the TestScheduler. */
+        boolean queued;
+        /** Indicates the task has been cancelled, guarded by the TestScheduler. */
+        boolean disposed;
+
         TimedRunnable(TestWorker scheduler, long time, Runnable run, long count) {
             this.time = time;
             this.run = run;
@@ -82,6 +106,37 @@ public final class TestScheduler extends Scheduler {
         }
     }
 
+    /**
+     * The tasks due at the same time in the order they were scheduled.
+     */
+    static final class TimeBucket implements Comparable<TimeBucket> {
+
+        final long time;
+
+        TimedRunnable head;
+
+        TimedRunnable tail;
+
+        TimeBucket(long time) {
+            this.time = time;
+        }
+
+        void add(TimedRunnable t) {
+            TimedRunnable last = tail;
+            if (last == null) {
+                head = t;
+            } else {
+                last.next = t;
+            }
+            tail = t;
+        }
+
+        @Override
+        public int compareTo(TimeBucket o) {
+            return ObjectHelper.compare(time, o.time);
+        }
+    }
+
     @Override
     public long now(@NonNull TimeUnit unit) {
         return unit.convert(time, TimeUnit.NANOSECONDS);
@@ -122,13 +177,12 @@ public final class TestScheduler extends Scheduler {
 
     private void triggerActions(long targetTimeInNanoseconds) {
         for (;;) {
-            TimedRunnable current = queue.peek();
-            if (current == null || current.time > targetTimeInNanoseconds) {
+            TimedRunnable current = pollDue(targetTimeInNanoseconds);
+            if (current == null) {
                 break;
             }
             // if scheduled time is 0 (immediate) use current virtual time
             time = current.time == 0 ? time : current.time;
-            queue.remove(current);
 
             // Only execute if not unsubscribed
             if (!current.scheduler.disposed) {
@@ -138,6 +192,105 @@ public final class TestScheduler extends Scheduler {
         time = targetTimeInNanoseconds;
     }
 
+    /**
+     * Removes and returns the first task due at or before the given time, dropping the
+     * cancelled tasks in front of it.
+     * @param targetTimeInNanoseconds the time to run the tasks up to
+     * @return the task or null if there are no more due tasks
+     */
+    synchronized TimedRunnable pollDue(long targetTimeInNanoseconds) {
+        for (;;) {
+            TimeBucket b = buckets.peek();
+            if (b == null || b.time > targetTimeInNanoseconds) {
+                return null;
+            }
+            TimedRunnable t = b.head;
+            TimedRunnable next = t.next;
+            b.head = next;
+            t.next = null;
+            t.queued = false;
+            size--;
+            if (next == null) {
+                // the tasks scheduled to this time from now on start a new bucket
+                b.tail = null;
+                buckets.poll();
+                bucketsByTime.remove(b.time);
+                if (lastBucket == b) {
+                    lastBucket = null;
+                }
+            }
+            if (t.disposed) {
+                cancelled--;
+            } else {
+                return t;
+            }
+        }
+    }
+
+    synchronized void add(TimedRunnable t) {
+        TimeBucket b = lastBucket;
+        if (b == null || b.time != t.time) {
+            b = bucketsByTime.get(t.time);
+            if (b == null) {
+                b = new TimeBucket(t.time);
+                bucketsByTime.put(t.time, b);
+                buckets.offer(b);
+            }
+            lastBucket = b;
+        }
+        b.add(t);
+        t.queued = true;
+        size++;
+    }
+
+    synchronized void cancel(TimedRunnable t) {
+        if (t.queued && !t.disposed) {
+            // the task is skipped when polled
+            t.disposed = true;
+            int c = ++cancelled;
+            if (c > PURGE_THRESHOLD && c > size - c) {
+                purge();
+            }
+        }
+    }
+
+    /**
+     * Unlinks the cancelled tasks from their buckets and removes the emptied buckets.
+     */
+    void purge() {
+        Iterator<TimeBucket> it = buckets.iterator();
+        while (it.hasNext()) {
+            TimeBucket b = it.next();
+            TimedRunnable prev = null;
+            TimedRunnable t = b.head;
+            while (t != null) {
+                TimedRunnable next = t.next;
+                if (t.disposed) {
+                    t.next = null;
+                    t.queued = false;
+                    if (prev == null) {
+                        b.head = next;
+                    } else {
+                        prev.next = next;
+                    }
+                } else {
+                    prev = t;
+                }
+                t = next;
+            }
+            b.tail = prev;
+            if (prev == null) {
+                it.remove();
+                bucketsByTime.remove(b.time);
+                if (lastBucket == b) {
+                    lastBucket = null;
+                }
+            }
+        }
+        size -= cancelled;
+        cancelled = 0;
+    }
+
     @NonNull
     @Override
     public Worker createWorker() {
@@ -165,7 +318,7 @@ public final class TestScheduler extends Scheduler {
                 return EmptyDisposable.INSTANCE;
             }
             final TimedRunnable timedAction = new TimedRunnable(this, time + unit.toNanos(delayTime), run, counter++);
-            queue.add(timedAction);
+            add(timedAction);
 
             return Disposables.fromRunnable(new QueueRemove(timedAction));
         }
@@ -177,7 +330,7 @@ public final class TestScheduler extends Scheduler {
                 return EmptyDisposable.INSTANCE;
             }
             final TimedRunnable timedAction = new TimedRunnable(this, 0, run, counter++);
-            queue.add(timedAction);
+            add(timedAction);
             return Disposables.fromRunnable(new QueueRemove(timedAction));
         }
 
@@ -195,7 +348,7 @@ public final class TestScheduler extends Scheduler {
 
             @Override
             public void run() {
-                queue.remove(timedAction);
+                cancel(timedAction);
             }
         }
     }
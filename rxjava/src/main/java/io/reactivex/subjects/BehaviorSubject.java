@@ -17,8 +17,7 @@ import io.reactivex.annotations.CheckReturnValue;
 import io.reactivex.annotations.Nullable;
 import io.reactivex.annotations.NonNull;
 import java.lang.reflect.Array;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.*;
+import java.util.concurrent.atomic.*;
 
 import io.reactivex.Observer;
 import io.reactivex.disposables.Disposable;
@@ -165,13 +164,14 @@ public final class BehaviorSubject<T> extends Subject<T> {
 
     @SuppressWarnings("rawtypes")
     static final BehaviorDisposable[] TERMINATED = new BehaviorDisposable[0];
-    final ReadWriteLock lock;
-    final Lock readLock;
-    final Lock writeLock;
 
     final AtomicReference<Throwable> terminalEvent;
 
-    long index;
+    /**
+     * Incremented by two for each value change, odd while the change is in progress
+     * so that the observers can read a consistent value-version pair without locking.
+     */
+    final AtomicLong version;
 
     /**
      * Creates a {@link BehaviorSubject} without a default item.
@@ -209,9 +209,7 @@ public final class BehaviorSubject<T> extends Subject<T> {
      */
     @SuppressWarnings("unchecked")
     BehaviorSubject() {
-        this.lock = new ReentrantReadWriteLock();
-        this.readLock = lock.readLock();
-        this.writeLock = lock.writeLock();
+        this.version = new AtomicLong();
         this.subscribers = new AtomicReference<BehaviorDisposable<T>[]>(EMPTY);
         this.value = new AtomicReference<Object>();
         this.terminalEvent = new AtomicReference<Throwable>();
@@ -263,7 +261,7 @@ public final class BehaviorSubject<T> extends Subject<T> {
             return;
         }
         Object o = NotificationLite.next(t);
-        setCurrent(o);
+        long index = setCurrent(o);
         for (BehaviorDisposable<T> bs : subscribers.get()) {
             bs.emitNext(o, index);
         }
@@ -277,7 +275,9 @@ public final class BehaviorSubject<T> extends Subject<T> {
             return;
         }
         Object o = NotificationLite.error(t);
-        for (BehaviorDisposable<T> bs : terminate(o)) {
+        BehaviorDisposable<T>[] array = terminate(o);
+        long index = version.get();
+        for (BehaviorDisposable<T> bs : array) {
             bs.emitNext(o, index);
         }
     }
@@ -288,8 +288,10 @@ public final class BehaviorSubject<T> extends Subject<T> {
             return;
         }
         Object o = NotificationLite.complete();
-        for (BehaviorDisposable<T> bs : terminate(o)) {
-            bs.emitNext(o, index);  // relaxed read okay since this is the only mutator thread
+        BehaviorDisposable<T>[] array = terminate(o);
+        long index = version.get();
+        for (BehaviorDisposable<T> bs : array) {
+            bs.emitNext(o, index);
         }
     }
 
@@ -457,11 +459,38 @@ public final class BehaviorSubject<T> extends Subject<T> {
         return a;
     }
 
-    void setCurrent(Object o) {
-        writeLock.lock();
-        index++;
+    /**
+     * Replaces the current value; must be called by the single mutator thread.
+     * @param o the new value
+     * @return the version of the new value
+     */
+    long setCurrent(Object o) {
+        AtomicLong v = version;
+        long index = v.get() + 2;
+        v.lazySet(index - 1);
         value.lazySet(o);
-        writeLock.unlock();
+        v.set(index);
+        return index;
+    }
+
+    /**
+     * Reads the current value and its version consistently, retrying while the
+     * mutator thread is in the middle of {@link #setCurrent(Object)}.
+     * @param bs the disposable to store the version into
+     * @return the current value
+     */
+    Object getCurrent(BehaviorDisposable<T> bs) {
+        AtomicLong v = version;
+        for (;;) {
+            long index = v.get();
+            if ((index & 1L) == 0L) {
+                Object o = value.get();
+                if (v.get() == index) {
+                    bs.index = index;
+                    return o;
+                }
+            }
+        }
     }
 
     static final class BehaviorDisposable<T> implements Disposable, NonThrowingPredicate<Object> {
@@ -511,13 +540,7 @@ public final class BehaviorSubject<T> extends Subject<T> {
                     return;
                 }
 
-                BehaviorSubject<T> s = state;
-                Lock lock = s.readLock;
-
-                lock.lock();
-                index = s.index;
-                o = s.value.get();
-                lock.unlock();
+                o = state.getCurrent(this);
 
                 emitting = o != null;
                 next = true;
@@ -14,7 +14,6 @@
 package io.reactivex.subjects;
 
 import java.lang.reflect.Array;
-import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.*;
 
@@ -23,7 +22,7 @@ import io.reactivex.Scheduler;
 import io.reactivex.annotations.*;
 import io.reactivex.disposables.Disposable;
 import io.reactivex.internal.functions.ObjectHelper;
-import io.reactivex.internal.util.NotificationLite;
+import io.reactivex.internal.util.*;
 import io.reactivex.plugins.RxJavaPlugins;
 
 /**
@@ -147,11 +146,9 @@ public final class ReplaySubject<T> extends Subject<T> {
     /**
      * Creates an unbounded replay subject.
      * <p>
-     * The internal buffer is backed by an {@link ArrayList} and starts with an initial capacity of 16. Once the
-     * number of items reaches this capacity, it will grow as necessary (usually by 50%). However, as the
-     * number of items grows, this causes frequent array reallocation and copying, and may hurt performance
-     * and latency. This can be avoided with the {@link #create(int)} overload which takes an initial capacity
-     * parameter and can be tuned to reduce the array reallocation frequency as needed.
+     * The internal buffer stores the items in linked array segments of 16 items each. Once a segment is full,
+     * a new one is linked after it, thus the items already stored are never copied as the buffer grows. The
+     * segment size can be tuned via the {@link #create(int)} overload.
      *
      * @param <T>
      *          the type of items observed and emitted by the Subject
@@ -170,7 +167,8 @@ public final class ReplaySubject<T> extends Subject<T> {
      * items. For example, if you know that the buffer will hold 32k items, you can ask the
      * {@code ReplaySubject} to preallocate its internal array with a capacity to hold that many items. Once
      * the items start to arrive, the internal array won't need to grow, creating less garbage and no overhead
-     * due to frequent array-copying.
+     * due to frequent array-copying. Should more items arrive, they are stored in additional arrays of
+     * at most 1024 items each.
      *
      * @param <T>
      *          the type of items observed and emitted by the Subject
@@ -602,6 +600,12 @@ public final class ReplaySubject<T> extends Subject<T> {
 
         Object index;
 
+        /** The absolute index of the next item in an {@link UnboundedReplayBuffer}. */
+        int position;
+
+        /** The index of the next item within the segment of an {@link UnboundedReplayBuffer} held by {@link #index}. */
+        int offset;
+
         volatile boolean cancelled;
 
         ReplayDisposable(Observer<? super T> actual, ReplaySubject<T> state) {
@@ -629,27 +633,34 @@ public final class ReplaySubject<T> extends Subject<T> {
 
         private static final long serialVersionUID = -733876083048047795L;
 
-        final List<Object> buffer;
+        /** The capacity of the arrays linked after the first one. */
+        static final int MAX_SEGMENT_SIZE = 1024;
 
-        volatile boolean done;
+        final LinkedArrayList buffer;
 
-        volatile int size;
+        /** The latest value, written before the size is incremented. */
+        T last;
+
+        /** The terminal NotificationLite object, written before done is set. */
+        Object terminal;
+
+        volatile boolean done;
 
         UnboundedReplayBuffer(int capacityHint) {
-            this.buffer = new ArrayList<Object>(ObjectHelper.verifyPositive(capacityHint, "capacityHint"));
+            int first = Math.max(ObjectHelper.verifyPositive(capacityHint, "capacityHint"), 16);
+            this.buffer = new LinkedArrayList(first, Math.min(first, MAX_SEGMENT_SIZE));
         }
 
         @Override
         public void add(T value) {
+            last = value;
             buffer.add(value);
-            size++;
         }
 
         @Override
         public void addFinal(Object notificationLite) {
-            buffer.add(notificationLite);
+            terminal = notificationLite;
             trimHead();
-            size++;
             done = true;
         }
 
@@ -660,19 +671,10 @@ public final class ReplaySubject<T> extends Subject<T> {
 
         @Override
         @Nullable
-        @SuppressWarnings("unchecked")
         public T getValue() {
-            int s = size;
+            int s = buffer.size();
             if (s != 0) {
-                List<Object> b = buffer;
-                Object o = b.get(s - 1);
-                if (NotificationLite.isComplete(o) || NotificationLite.isError(o)) {
-                    if (s == 1) {
-                        return null;
-                    }
-                    return (T)b.get(s - 2);
-                }
-                return (T)o;
+                return last;
             }
             return null;
         }
@@ -680,32 +682,27 @@ public final class ReplaySubject<T> extends Subject<T> {
         @Override
         @SuppressWarnings("unchecked")
         public T[] getValues(T[] array) {
-            int s = size;
+            int s = buffer.size();
             if (s == 0) {
                 if (array.length != 0) {
                     array[0] = null;
                 }
                 return array;
             }
-            List<Object> b = buffer;
-            Object o = b.get(s - 1);
-
-            if (NotificationLite.isComplete(o) || NotificationLite.isError(o)) {
-                s--;
-                if (s == 0) {
-                    if (array.length != 0) {
-                        array[0] = null;
-                    }
-                    return array;
-                }
-            }
-
 
             if (array.length < s) {
                 array = (T[])Array.newInstance(array.getClass().getComponentType(), s);
             }
+            Object[] b = buffer.head();
+            int n = b.length - 1;
+            int k = 0;
             for (int i = 0; i < s; i++) {
-                array[i] = (T)b.get(i);
+                if (k == n) {
+                    b = (Object[])b[n];
+                    n = b.length - 1;
+                    k = 0;
+                }
+                array[i] = (T)b[k++];
             }
             if (array.length > s) {
                 array[s] = null;
@@ -722,17 +719,11 @@ public final class ReplaySubject<T> extends Subject<T> {
             }
 
             int missed = 1;
-            final List<Object> b = buffer;
             final Observer<? super T> a = rs.actual;
 
-            Integer indexObject = (Integer)rs.index;
-            int index;
-            if (indexObject != null) {
-                index = indexObject;
-            } else {
-                index = 0;
-                rs.index = 0;
-            }
+            Object[] b = (Object[])rs.index;
+            int index = rs.position;
+            int k = rs.offset;
 
             for (;;) {
 
@@ -741,7 +732,8 @@ public final class ReplaySubject<T> extends Subject<T> {
                     return;
                 }
 
-                int s = size;
+                boolean d = done;
+                int s = buffer.size();
 
                 while (s != index) {
 
@@ -750,33 +742,40 @@ public final class ReplaySubject<T> extends Subject<T> {
                         return;
                     }
 
-                    Object o = b.get(index);
-
-                    if (done) {
-                        if (index + 1 == s) {
-                            s = size;
-                            if (index + 1 == s) {
-                                if (NotificationLite.isComplete(o)) {
-                                    a.onComplete();
-                                } else {
-                                    a.onError(NotificationLite.getError(o));
-                                }
-                                rs.index = null;
-                                rs.cancelled = true;
-                                return;
-                            }
-                        }
+                    // latch onto the very first segment now that it is available
+                    if (b == null) {
+                        b = buffer.head();
+                    }
+                    int n = b.length - 1;
+                    if (k == n) {
+                        b = (Object[])b[n];
+                        k = 0;
                     }
 
-                    a.onNext((T)o);
+                    a.onNext((T)b[k]);
                     index++;
+                    k++;
                 }
 
-                if (index != size) {
+                if (d) {
+                    Object o = terminal;
+                    if (NotificationLite.isComplete(o)) {
+                        a.onComplete();
+                    } else {
+                        a.onError(NotificationLite.getError(o));
+                    }
+                    rs.index = null;
+                    rs.cancelled = true;
+                    return;
+                }
+
+                if (index != buffer.size() || done) {
                     continue;
                 }
 
-                rs.index = index;
+                rs.index = b;
+                rs.position = index;
+                rs.offset = k;
 
                 missed = rs.addAndGet(-missed);
                 if (missed == 0) {
@@ -787,15 +786,7 @@ public final class ReplaySubject<T> extends Subject<T> {
 
         @Override
         public int size() {
-            int s = size;
-            if (s != 0) {
-                Object o = buffer.get(s - 1);
-                if (NotificationLite.isComplete(o) || NotificationLite.isError(o)) {
-                    return s - 1;
-                }
-                return s;
-            }
-            return 0;
+            return buffer.size();
         }
     }
 
@@ -13,6 +13,7 @@
 
 package io.reactivex;
 
+import java.io.*;
 import java.lang.reflect.*;
 import java.util.*;
 import java.util.concurrent.*;
@@ -108,6 +109,7 @@ public class ParamValidationCheckerTest {
         addOverride(new ParamOverride(Flowable.class, 0, ParamMode.ANY, "buffer", Long.TYPE, TimeUnit.class, Scheduler.class));
         addOverride(new ParamOverride(Flowable.class, 0, ParamMode.ANY, "buffer", Long.TYPE, TimeUnit.class, Scheduler.class, Integer.TYPE));
         addOverride(new ParamOverride(Flowable.class, 0, ParamMode.ANY, "buffer", Long.TYPE, TimeUnit.class, Scheduler.class, Integer.TYPE, Callable.class, Boolean.TYPE));
+        addOverride(new ParamOverride(Flowable.class, 0, ParamMode.ANY, "buffer", Long.TYPE, TimeUnit.class, Scheduler.class, Integer.TYPE, Boolean.TYPE));
 
         // negative time/skip is considered zero time/skip
         addOverride(new ParamOverride(Flowable.class, 0, ParamMode.ANY, "buffer", Long.TYPE, Long.TYPE, TimeUnit.class));
@@ -494,6 +496,11 @@ public class ParamValidationCheckerTest {
 
         addIgnore(new ParamIgnore(Flowable.class, "unsafeCreate", Publisher.class));
 
+        // needs special param validation due to maxBufferSize >= minBufferSize
+        addIgnore(new ParamIgnore(Flowable.class, "observeOn", Scheduler.class, Boolean.TYPE, Integer.TYPE, Integer.TYPE));
+        addIgnore(new ParamIgnore(Flowable.class, "flatMap", Function.class, Boolean.TYPE, Integer.TYPE, Integer.TYPE, Integer.TYPE));
+        addIgnore(new ParamIgnore(ParallelFlowable.class, "runOn", Scheduler.class, Integer.TYPE, Integer.TYPE));
+
         // needs special param validation due to (long)start + end - 1 <= Integer.MAX_VALUE
         addIgnore(new ParamIgnore(Observable.class, "range", Integer.TYPE, Integer.TYPE));
         addIgnore(new ParamIgnore(Observable.class, "rangeLong", Long.TYPE, Long.TYPE));
@@ -561,6 +568,19 @@ public class ParamValidationCheckerTest {
         defaultValues.put(Subscriber[].class, new Subscriber[] { new AllFunctionals() });
 
         defaultValues.put(ParallelFailureHandling.class, ParallelFailureHandling.ERROR);
+        defaultValues.put(ParallelPlacement.class, ParallelPlacement.STRIPED);
+
+        defaultValues.put(SpillSerializer.class, new SpillSerializer<Object>() {
+            @Override
+            public void serialize(Object value, DataOutput output) throws Exception {
+            }
+
+            @Override
+            public Object deserialize(DataInput input) throws Exception {
+                return 1;
+            }
+        });
+        defaultValues.put(File.class, new File(System.getProperty("java.io.tmpdir")));
 
         @SuppressWarnings("rawtypes")
         class MixedConverters implements FlowableConverter, ObservableConverter, SingleConverter,
@@ -0,0 +1,341 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowables;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+
+import io.reactivex.*;
+import io.reactivex.exceptions.TestException;
+import io.reactivex.functions.*;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.subscribers.TestSubscriber;
+
+public class FlowableIntTest {
+
+    static final IntUnaryOperator PLUS_ONE = new IntUnaryOperator() {
+        @Override
+        public int apply(int t) throws Exception {
+            return t + 1;
+        }
+    };
+
+    static final IntPredicate EVEN = new IntPredicate() {
+        @Override
+        public boolean test(int t) throws Exception {
+            return t % 2 == 0;
+        }
+    };
+
+    @Test
+    public void range() {
+        FlowableInt.range(1, 5).boxed()
+        .test()
+        .assertResult(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void rangeEmpty() {
+        FlowableInt.range(1, 0).boxed()
+        .test()
+        .assertResult();
+    }
+
+    @Test
+    public void rangeMaxValue() {
+        FlowableInt.range(Integer.MAX_VALUE - 1, 2).boxed()
+        .test()
+        .assertResult(Integer.MAX_VALUE - 1, Integer.MAX_VALUE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rangeNegativeCount() {
+        FlowableInt.range(1, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rangeOverflow() {
+        FlowableInt.range(Integer.MAX_VALUE, 2);
+    }
+
+    @Test
+    public void rangeBackpressured() {
+        TestSubscriber<Integer> ts = FlowableInt.range(1, 5).boxed()
+        .test(0L);
+
+        ts.assertEmpty();
+
+        ts.request(2);
+
+        ts.assertValues(1, 2).assertNotComplete();
+
+        ts.request(3);
+
+        ts.assertResult(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void rangeCancel() {
+        FlowableInt.range(1, 5).boxed()
+        .take(2)
+        .test()
+        .assertResult(1, 2);
+    }
+
+    @Test
+    public void fromArray() {
+        FlowableInt.fromArray(3, 1, 2).boxed()
+        .test()
+        .assertResult(3, 1, 2);
+    }
+
+    @Test
+    public void fromArrayBackpressured() {
+        TestSubscriber<Integer> ts = FlowableInt.fromArray(3, 1, 2).boxed()
+        .test(1L);
+
+        ts.assertValues(3).assertNotComplete();
+
+        ts.request(2);
+
+        ts.assertResult(3, 1, 2);
+    }
+
+    @Test
+    public void fromPublisher() {
+        FlowableInt.fromPublisher(Flowable.range(1, 5)).map(PLUS_ONE).boxed()
+        .test()
+        .assertResult(2, 3, 4, 5, 6);
+    }
+
+    @Test
+    public void fromPublisherError() {
+        FlowableInt.fromPublisher(Flowable.<Integer>error(new TestException())).boxed()
+        .test()
+        .assertFailure(TestException.class);
+    }
+
+    @Test
+    public void mapFilter() {
+        FlowableInt.range(1, 10)
+        .map(PLUS_ONE)
+        .filter(EVEN)
+        .boxed()
+        .test()
+        .assertResult(2, 4, 6, 8, 10);
+    }
+
+    @Test
+    public void filterBackpressured() {
+        TestSubscriber<Integer> ts = FlowableInt.range(1, 10)
+        .filter(EVEN)
+        .boxed()
+        .test(2L);
+
+        ts.assertValues(2, 4).assertNotComplete();
+
+        ts.request(10);
+
+        ts.assertResult(2, 4, 6, 8, 10);
+    }
+
+    @Test
+    public void mapThrows() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = FlowableInt.fromPublisher(pp)
+        .map(new IntUnaryOperator() {
+            @Override
+            public int apply(int t) throws Exception {
+                throw new TestException();
+            }
+        })
+        .boxed()
+        .test();
+
+        pp.onNext(1);
+
+        assertFalse(pp.hasSubscribers());
+        ts.assertFailure(TestException.class);
+    }
+
+    @Test
+    public void filterThrows() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = FlowableInt.fromPublisher(pp)
+        .filter(new IntPredicate() {
+            @Override
+            public boolean test(int t) throws Exception {
+                throw new TestException();
+            }
+        })
+        .boxed()
+        .test();
+
+        pp.onNext(1);
+
+        assertFalse(pp.hasSubscribers());
+        ts.assertFailure(TestException.class);
+    }
+
+    @Test
+    public void mapToObj() {
+        FlowableInt.range(1, 3)
+        .mapToObj(new IntFunction<String>() {
+            @Override
+            public String apply(int i) throws Exception {
+                return "" + i;
+            }
+        })
+        .test()
+        .assertResult("1", "2", "3");
+    }
+
+    @Test
+    public void mapToObjNull() {
+        FlowableInt.range(1, 3)
+        .mapToObj(new IntFunction<String>() {
+            @Override
+            public String apply(int i) throws Exception {
+                return null;
+            }
+        })
+        .test()
+        .assertFailure(NullPointerException.class);
+    }
+
+    @Test
+    public void reduce() {
+        FlowableInt.range(1, 5)
+        .reduce(1, new IntBinaryOperator() {
+            @Override
+            public int apply(int t1, int t2) throws Exception {
+                return t1 * t2;
+            }
+        })
+        .test()
+        .assertResult(120);
+    }
+
+    @Test
+    public void reduceThrows() {
+        FlowableInt.range(1, 5)
+        .reduce(1, new IntBinaryOperator() {
+            @Override
+            public int apply(int t1, int t2) throws Exception {
+                throw new TestException();
+            }
+        })
+        .test()
+        .assertFailure(TestException.class);
+    }
+
+    @Test
+    public void sum() {
+        FlowableInt.range(1, 100)
+        .sum()
+        .test()
+        .assertResult(5050);
+    }
+
+    @Test
+    public void sumEmpty() {
+        FlowableInt.range(1, 0)
+        .sum()
+        .test()
+        .assertResult(0);
+    }
+
+    @Test
+    public void sumError() {
+        FlowableInt.fromPublisher(Flowable.<Integer>error(new TestException()))
+        .sum()
+        .test()
+        .assertFailure(TestException.class);
+    }
+
+    @Test
+    public void sumDispose() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestObserver<Integer> to = FlowableInt.fromPublisher(pp).sum().test();
+
+        assertTrue(pp.hasSubscribers());
+
+        to.cancel();
+
+        assertFalse(pp.hasSubscribers());
+    }
+
+    @Test
+    public void collect() {
+        FlowableInt.range(1, 5)
+        .filter(EVEN)
+        .collect(new Callable<List<Integer>>() {
+            @Override
+            public List<Integer> call() throws Exception {
+                return new ArrayList<Integer>();
+            }
+        }, new ObjIntConsumer<List<Integer>>() {
+            @Override
+            public void accept(List<Integer> t, int value) throws Exception {
+                t.add(value);
+            }
+        })
+        .test()
+        .assertResult(Arrays.asList(2, 4));
+    }
+
+    @Test
+    public void collectSupplierThrows() {
+        FlowableInt.range(1, 5)
+        .collect(new Callable<List<Integer>>() {
+            @Override
+            public List<Integer> call() throws Exception {
+                throw new TestException();
+            }
+        }, new ObjIntConsumer<List<Integer>>() {
+            @Override
+            public void accept(List<Integer> t, int value) throws Exception {
+                t.add(value);
+            }
+        })
+        .test()
+        .assertFailure(TestException.class);
+    }
+
+    @Test
+    public void collectThrows() {
+        FlowableInt.range(1, 5)
+        .collect(new Callable<List<Integer>>() {
+            @Override
+            public List<Integer> call() throws Exception {
+                return new ArrayList<Integer>();
+            }
+        }, new ObjIntConsumer<List<Integer>>() {
+            @Override
+            public void accept(List<Integer> t, int value) throws Exception {
+                throw new TestException();
+            }
+        })
+        .test()
+        .assertFailure(TestException.class);
+    }
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.flowables;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+
+import io.reactivex.*;
+import io.reactivex.exceptions.TestException;
+import io.reactivex.functions.*;
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.subscribers.TestSubscriber;
+
+public class FlowableLongTest {
+
+    static final LongUnaryOperator PLUS_ONE = new LongUnaryOperator() {
+        @Override
+        public long apply(long t) throws Exception {
+            return t + 1;
+        }
+    };
+
+    static final LongPredicate EVEN = new LongPredicate() {
+        @Override
+        public boolean test(long t) throws Exception {
+            return t % 2 == 0;
+        }
+    };
+
+    @Test
+    public void range() {
+        FlowableLong.range(1, 5).boxed()
+        .test()
+        .assertResult(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    public void rangeMaxValue() {
+        FlowableLong.range(Long.MAX_VALUE - 1, 2).boxed()
+        .test()
+        .assertResult(Long.MAX_VALUE - 1, Long.MAX_VALUE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rangeNegativeCount() {
+        FlowableLong.range(1, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rangeOverflow() {
+        FlowableLong.range(Long.MAX_VALUE, 2);
+    }
+
+    @Test
+    public void rangeBackpressured() {
+        TestSubscriber<Long> ts = FlowableLong.range(1, 5).boxed()
+        .test(0L);
+
+        ts.request(2);
+
+        ts.assertValues(1L, 2L).assertNotComplete();
+
+        ts.request(3);
+
+        ts.assertResult(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    public void fromArray() {
+        FlowableLong.fromArray(3, 1, 2).boxed()
+        .test(2L)
+        .assertValues(3L, 1L)
+        .requestMore(1)
+        .assertResult(3L, 1L, 2L);
+    }
+
+    @Test
+    public void mapFilterFromPublisher() {
+        FlowableLong.fromPublisher(Flowable.rangeLong(1, 10))
+        .map(PLUS_ONE)
+        .filter(EVEN)
+        .boxed()
+        .test()
+        .assertResult(2L, 4L, 6L, 8L, 10L);
+    }
+
+    @Test
+    public void mapThrows() {
+        PublishProcessor<Long> pp = PublishProcessor.create();
+
+        TestSubscriber<Long> ts = FlowableLong.fromPublisher(pp)
+        .map(new LongUnaryOperator() {
+            @Override
+            public long apply(long t) throws Exception {
+                throw new TestException();
+            }
+        })
+        .boxed()
+        .test();
+
+        pp.onNext(1L);
+
+        assertFalse(pp.hasSubscribers());
+        ts.assertFailure(TestException.class);
+    }
+
+    @Test
+    public void mapToObj() {
+        FlowableLong.range(1, 3)
+        .mapToObj(new LongFunction<String>() {
+            @Override
+            public String apply(long t) throws Exception {
+                return "" + t;
+            }
+        })
+        .test()
+        .assertResult("1", "2", "3");
+    }
+
+    @Test
+    public void reduceSum() {
+        FlowableLong.range(1, 5)
+        .reduce(1, new LongBinaryOperator() {
+            @Override
+            public long apply(long t1, long t2) throws Exception {
+                return t1 * t2;
+            }
+        })
+        .test()
+        .assertResult(120L);
+
+        FlowableLong.range(Integer.MAX_VALUE, 2)
+        .sum()
+        .test()
+        .assertResult(2L * Integer.MAX_VALUE + 1);
+    }
+
+    @Test
+    public void collect() {
+        FlowableLong.range(1, 5)
+        .filter(EVEN)
+        .collect(new Callable<List<Long>>() {
+            @Override
+            public List<Long> call() throws Exception {
+                return new ArrayList<Long>();
+            }
+        }, new ObjLongConsumer<List<Long>>() {
+            @Override
+            public void accept(List<Long> t, long value) throws Exception {
+                t.add(value);
+            }
+        })
+        .test()
+        .assertResult(Arrays.asList(2L, 4L));
+    }
+}
@@ -2643,7 +2643,7 @@ public class FlowableBufferTest {
         TestSubscriber<List<Integer>> ts = new TestSubscriber<List<Integer>>();
 
         BufferExactUnboundedSubscriber<Integer, List<Integer>> sub = new BufferExactUnboundedSubscriber<Integer, List<Integer>>(
-                ts, Functions.justCallable((List<Integer>)new ArrayList<Integer>()), 1, TimeUnit.SECONDS, sch);
+                ts, Functions.justCallable((List<Integer>)new ArrayList<Integer>()), 1, TimeUnit.SECONDS, sch, false);
 
         sub.onSubscribe(new BooleanSubscription());
 
@@ -2739,7 +2739,7 @@ public class FlowableBufferTest {
         BufferExactBoundedSubscriber<Integer, List<Integer>> sub =
                 new BufferExactBoundedSubscriber<Integer, List<Integer>>(
                         ts, Functions.justCallable((List<Integer>)new ArrayList<Integer>()),
-                        1, TimeUnit.SECONDS, 1, false, sch.createWorker())
+                        1, TimeUnit.SECONDS, 1, false, false, sch.createWorker())
         ;
 
         BooleanSubscription bs = new BooleanSubscription();
@@ -2759,4 +2759,173 @@ public class FlowableBufferTest {
 
         sub.run();
     }
+
+    @Test
+    public void reuseBuffer() {
+        final List<List<Integer>> seen = new ArrayList<List<Integer>>();
+        final List<List<Integer>> copies = new ArrayList<List<Integer>>();
+
+        Flowable.range(1, 7)
+        .buffer(3, true)
+        .subscribe(new Consumer<List<Integer>>() {
+            @Override
+            public void accept(List<Integer> v) throws Exception {
+                seen.add(v);
+                copies.add(new ArrayList<Integer>(v));
+            }
+        });
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6), Arrays.asList(7)), copies);
+        assertSame(seen.get(0), seen.get(1));
+        assertSame(seen.get(1), seen.get(2));
+    }
+
+    @Test
+    public void reuseBufferDisabled() {
+        List<List<Integer>> lists = Flowable.range(1, 6)
+        .buffer(3, false)
+        .toList()
+        .blockingGet();
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6)), lists);
+        assertNotSame(lists.get(0), lists.get(1));
+    }
+
+    @Test
+    public void reuseBufferBackpressured() {
+        final List<List<Integer>> copies = new ArrayList<List<Integer>>();
+
+        TestSubscriber<List<Integer>> ts = new TestSubscriber<List<Integer>>(1L) {
+            @Override
+            public void onNext(List<Integer> t) {
+                copies.add(new ArrayList<Integer>(t));
+                super.onNext(t);
+            }
+        };
+
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        pp.buffer(2, true).subscribe(ts);
+
+        pp.onNext(1);
+        pp.onNext(2);
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 2)), copies);
+
+        ts.request(2);
+
+        pp.onNext(3);
+        pp.onNext(4);
+        pp.onNext(5);
+        pp.onComplete();
+
+        ts.request(1);
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5)), copies);
+        ts.assertNoErrors();
+        ts.assertComplete();
+    }
+
+    @Test
+    public void reuseBufferEmptyNotEmittedOnComplete() {
+        final List<List<Integer>> copies = new ArrayList<List<Integer>>();
+
+        Flowable.range(1, 4)
+        .buffer(2, true)
+        .subscribe(new Consumer<List<Integer>>() {
+            @Override
+            public void accept(List<Integer> v) throws Exception {
+                copies.add(new ArrayList<Integer>(v));
+            }
+        });
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4)), copies);
+    }
+
+    @Test
+    public void reuseBufferTimed() {
+        TestScheduler sch = new TestScheduler();
+        final List<List<Integer>> seen = new ArrayList<List<Integer>>();
+        final List<List<Integer>> copies = new ArrayList<List<Integer>>();
+
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        pp.buffer(1, TimeUnit.SECONDS, sch, Integer.MAX_VALUE, true)
+        .subscribe(new Consumer<List<Integer>>() {
+            @Override
+            public void accept(List<Integer> v) throws Exception {
+                seen.add(v);
+                copies.add(new ArrayList<Integer>(v));
+            }
+        });
+
+        pp.onNext(1);
+        pp.onNext(2);
+        sch.advanceTimeBy(1, TimeUnit.SECONDS);
+        pp.onNext(3);
+        sch.advanceTimeBy(1, TimeUnit.SECONDS);
+        sch.advanceTimeBy(1, TimeUnit.SECONDS);
+        pp.onNext(4);
+        pp.onComplete();
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3), Collections.<Integer>emptyList(), Arrays.asList(4)), copies);
+        assertSame(seen.get(0), seen.get(2));
+        assertSame(seen.get(1), seen.get(3));
+    }
+
+    @Test
+    public void reuseBufferTimedAndSize() {
+        TestScheduler sch = new TestScheduler();
+        final List<List<Integer>> seen = new ArrayList<List<Integer>>();
+        final List<List<Integer>> copies = new ArrayList<List<Integer>>();
+
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        pp.buffer(1, TimeUnit.SECONDS, sch, 2, true)
+        .subscribe(new Consumer<List<Integer>>() {
+            @Override
+            public void accept(List<Integer> v) throws Exception {
+                seen.add(v);
+                copies.add(new ArrayList<Integer>(v));
+            }
+        });
+
+        pp.onNext(1);
+        pp.onNext(2);
+        pp.onNext(3);
+        pp.onNext(4);
+        pp.onNext(5);
+        sch.advanceTimeBy(1, TimeUnit.SECONDS);
+        pp.onComplete();
+
+        assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5), Collections.<Integer>emptyList()), copies);
+        assertSame(seen.get(0), seen.get(1));
+    }
+
+    @Test
+    public void reuseBufferTimedAsync() {
+        for (int i = 0; i < 50; i++) {
+            final AtomicLong sum = new AtomicLong();
+
+            Flowable.range(1, 10000)
+            .subscribeOn(Schedulers.computation())
+            .buffer(1, TimeUnit.MILLISECONDS, Schedulers.single(), 64, true)
+            .doOnNext(new Consumer<List<Integer>>() {
+                @Override
+                public void accept(List<Integer> v) throws Exception {
+                    long s = 0;
+                    for (Integer e : v) {
+                        s += e;
+                    }
+                    sum.addAndGet(s);
+                }
+            })
+            .test()
+            .awaitDone(5, TimeUnit.SECONDS)
+            .assertNoErrors()
+            .assertComplete();
+
+            assertEquals(50005000L, sum.get());
+        }
+    }
 }
@@ -16,6 +16,7 @@ package io.reactivex.internal.operators.flowable;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.io.*;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -27,6 +28,8 @@ import io.reactivex.*;
 import io.reactivex.exceptions.TestException;
 import io.reactivex.functions.*;
 import io.reactivex.internal.subscriptions.BooleanSubscription;
+import io.reactivex.internal.util.SegmentSpiller;
+import io.reactivex.plugins.RxJavaPlugins;
 import io.reactivex.processors.PublishProcessor;
 import io.reactivex.schedulers.Schedulers;
 import io.reactivex.subscribers.TestSubscriber;
@@ -539,4 +542,223 @@ public class FlowableCacheTest {
         .requestMore(3)
         .assertResult(1, 2, 3, 4, 5);
     }
+
+    static final SpillSerializer<Integer> INT_SERIALIZER = new SpillSerializer<Integer>() {
+        @Override
+        public void serialize(Integer value, DataOutput output) throws Exception {
+            output.writeInt(value);
+        }
+
+        @Override
+        public Integer deserialize(DataInput input) throws Exception {
+            return input.readInt();
+        }
+    };
+
+    static final File TMP = new File(System.getProperty("java.io.tmpdir"));
+
+    static File newDirectory() throws IOException {
+        File dir = File.createTempFile("rxjava-spill-test-", "");
+        assertTrue(dir.delete());
+        assertTrue(dir.mkdir());
+        return dir;
+    }
+
+    static void deleteDirectory(File dir) {
+        for (File f : dir.listFiles()) {
+            f.delete();
+        }
+        dir.delete();
+    }
+
+    static Integer[] range(int start, int count) {
+        Integer[] a = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            a[i] = start + i;
+        }
+        return a;
+    }
+
+    @Test
+    public void spill() {
+        SegmentSpiller spiller = new SegmentSpiller(INT_SERIALIZER, TMP, 2);
+        Flowable<Integer> f = new FlowableCache<Integer>(Flowable.range(0, 1000), 16, spiller);
+
+        f.test().assertResult(range(0, 1000));
+
+        // 1000 items and the completion fill 63 segments, 2 of them stay in memory
+        assertEquals(61, spiller.spilled());
+
+        f.test().assertResult(range(0, 1000));
+
+        f.rebatchRequests(7).test().assertResult(range(0, 1000));
+    }
+
+    @Test
+    public void spillLaggingSubscriber() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        SegmentSpiller spiller = new SegmentSpiller(INT_SERIALIZER, TMP, 2);
+        Flowable<Integer> f = new FlowableCache<Integer>(pp, 4, spiller);
+
+        TestSubscriber<Integer> ts = f.test(3);
+
+        for (int i = 0; i < 20; i++) {
+            pp.onNext(i);
+        }
+
+        ts.assertValuesOnly(0, 1, 2);
+
+        assertEquals(3, spiller.spilled());
+
+        ts.request(6);
+
+        ts.assertValuesOnly(0, 1, 2, 3, 4, 5, 6, 7, 8);
+
+        TestSubscriber<Integer> ts2 = f.test(5);
+
+        ts2.assertValuesOnly(0, 1, 2, 3, 4);
+
+        pp.onNext(20);
+        pp.onComplete();
+
+        ts.request(Long.MAX_VALUE);
+        ts2.request(Long.MAX_VALUE);
+
+        ts.assertResult(range(0, 21));
+        ts2.assertResult(range(0, 21));
+    }
+
+    @Test
+    public void spillError() {
+        Flowable<Integer> f = Flowable.range(0, 10).concatWith(Flowable.<Integer>error(new TestException()))
+                .cacheWithSpill(2, 1, INT_SERIALIZER, TMP);
+
+        f.test().assertFailure(TestException.class, range(0, 10));
+
+        f.test().assertFailure(TestException.class, range(0, 10));
+    }
+
+    @Test
+    public void spillWriteFails() {
+        List<Throwable> errors = TestHelper.trackPluginErrors();
+        try {
+            SpillSerializer<Integer> serializer = new SpillSerializer<Integer>() {
+                @Override
+                public void serialize(Integer value, DataOutput output) throws Exception {
+                    throw new TestException();
+                }
+
+                @Override
+                public Integer deserialize(DataInput input) throws Exception {
+                    return input.readInt();
+                }
+            };
+
+            Flowable<Integer> f = Flowable.range(0, 100).cacheWithSpill(4, 2, serializer, TMP);
+
+            f.test().assertResult(range(0, 100));
+
+            f.test().assertResult(range(0, 100));
+
+            assertEquals(1, errors.size());
+            TestHelper.assertUndeliverable(errors, 0, TestException.class);
+        } finally {
+            RxJavaPlugins.reset();
+        }
+    }
+
+    @Test
+    public void spillReadFails() {
+        SpillSerializer<Integer> serializer = new SpillSerializer<Integer>() {
+            @Override
+            public void serialize(Integer value, DataOutput output) throws Exception {
+                output.writeInt(value);
+            }
+
+            @Override
+            public Integer deserialize(DataInput input) throws Exception {
+                throw new TestException();
+            }
+        };
+
+        Flowable<Integer> f = Flowable.range(0, 100).cacheWithSpill(4, 2, serializer, TMP);
+
+        f.test().assertResult(range(0, 100));
+
+        f.test().assertFailure(TestException.class);
+
+        f.test(2).assertFailure(TestException.class);
+    }
+
+    @Test
+    public void spillAsync() {
+        Flowable<Integer> f = Flowable.range(0, 10000)
+                .subscribeOn(Schedulers.computation())
+                .cacheWithSpill(16, 4, INT_SERIALIZER, TMP);
+
+        TestSubscriber<Integer> ts1 = f.observeOn(Schedulers.single()).test();
+        TestSubscriber<Integer> ts2 = f.rebatchRequests(3).observeOn(Schedulers.computation()).test();
+
+        ts1.awaitDone(5, TimeUnit.SECONDS).assertResult(range(0, 10000));
+        ts2.awaitDone(5, TimeUnit.SECONDS).assertResult(range(0, 10000));
+
+        f.test().assertResult(range(0, 10000));
+    }
+
+    @Test
+    public void spillBadArguments() {
+        try {
+            Flowable.just(1).cacheWithSpill(0, 1, INT_SERIALIZER, TMP);
+            fail("Should have thrown");
+        } catch (IllegalArgumentException ex) {
+            assertEquals("segmentSize > 0 required but it was 0", ex.getMessage());
+        }
+        try {
+            Flowable.just(1).cacheWithSpill(1, 0, INT_SERIALIZER, TMP);
+            fail("Should have thrown");
+        } catch (IllegalArgumentException ex) {
+            assertEquals("maxSegments > 0 required but it was 0", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void spillReleaseClosesFile() throws Exception {
+        File dir = newDirectory();
+        try {
+            SegmentSpiller spiller = new SegmentSpiller(INT_SERIALIZER, dir, 2);
+            Flowable<Integer> f = new FlowableCache<Integer>(Flowable.range(0, 100), 4, spiller);
+
+            TestSubscriber<Integer> ts = f.test(3);
+
+            assertTrue(spiller.isOpen());
+
+            spiller.release();
+
+            assertFalse(spiller.isOpen());
+            assertEquals(0, dir.listFiles().length);
+
+            ts.request(Long.MAX_VALUE);
+
+            ts.assertFailure(IllegalStateException.class, 0, 1, 2, 3);
+        } finally {
+            deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void spillReadInterrupted() {
+        Flowable<Integer> f = Flowable.range(0, 100).cacheWithSpill(4, 2, INT_SERIALIZER, TMP);
+
+        f.test().assertResult(range(0, 100));
+
+        Thread.currentThread().interrupt();
+        try {
+            f.test().assertResult(range(0, 100));
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+
+        f.test().assertResult(range(0, 100));
+    }
 }
@@ -0,0 +1,268 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.reactivex.internal.operators.flowable;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.*;
+import io.reactivex.exceptions.TestException;
+import io.reactivex.functions.*;
+import io.reactivex.processors.*;
+import io.reactivex.schedulers.*;
+import io.reactivex.subscribers.TestSubscriber;
+
+public class FlowableCoalesceTest {
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void sizeBound() {
+        Flowable.range(1, 10)
+        .coalesce(3, 1, TimeUnit.DAYS, new TestScheduler())
+        .test()
+        .assertResult(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6), Arrays.asList(7, 8, 9), Arrays.asList(10));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void sizeBoundHidden() {
+        Flowable.range(1, 10).hide()
+        .coalesce(5, 1, TimeUnit.DAYS, new TestScheduler())
+        .test()
+        .assertResult(Arrays.asList(1, 2, 3, 4, 5), Arrays.asList(6, 7, 8, 9, 10));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void latencyBound() {
+        TestScheduler sch = new TestScheduler();
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<List<Integer>> ts = pp.coalesce(3, 1, TimeUnit.SECONDS, sch).test();
+
+        pp.onNext(1);
+        pp.onNext(2);
+
+        ts.assertEmpty();
+
+        sch.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        ts.assertValuesOnly(Arrays.asList(1, 2));
+
+        sch.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        ts.assertValuesOnly(Arrays.asList(1, 2));
+
+        pp.onNext(3);
+        pp.onNext(4);
+        pp.onNext(5);
+
+        ts.assertValuesOnly(Arrays.asList(1, 2), Arrays.asList(3, 4, 5));
+
+        pp.onNext(6);
+        pp.onComplete();
+
+        ts.assertResult(Arrays.asList(1, 2), Arrays.asList(3, 4, 5), Arrays.asList(6));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void latencyBoundFused() {
+        TestScheduler sch = new TestScheduler();
+        UnicastProcessor<Integer> up = UnicastProcessor.create();
+
+        TestSubscriber<List<Integer>> ts = up.coalesce(3, 1, TimeUnit.SECONDS, sch).test();
+
+        up.onNext(1);
+
+        ts.assertEmpty();
+
+        sch.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        ts.assertValuesOnly(Arrays.asList(1));
+
+        up.onNext(2);
+        up.onNext(3);
+        up.onNext(4);
+        up.onNext(5);
+        up.onComplete();
+
+        ts.assertResult(Arrays.asList(1), Arrays.asList(2, 3, 4), Arrays.asList(5));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void backpressure() {
+        TestScheduler sch = new TestScheduler();
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<List<Integer>> ts = pp.coalesce(2, 1, TimeUnit.SECONDS, sch).test(0L);
+
+        pp.onNext(1);
+        pp.onNext(2);
+        pp.onNext(3);
+
+        sch.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        ts.assertEmpty();
+
+        ts.request(1);
+
+        ts.assertValuesOnly(Arrays.asList(1, 2));
+
+        ts.request(1);
+
+        // the timer has ticked while there was no demand
+        ts.assertValuesOnly(Arrays.asList(1, 2), Arrays.asList(3));
+
+        pp.onNext(4);
+        pp.onComplete();
+
+        ts.assertValuesOnly(Arrays.asList(1, 2), Arrays.asList(3));
+
+        ts.request(1);
+
+        ts.assertResult(Arrays.asList(1, 2), Arrays.asList(3), Arrays.asList(4));
+    }
+
+    @Test
+    public void emptyCompletesWithoutDemand() {
+        Flowable.<Integer>empty()
+        .coalesce(2, 1, TimeUnit.SECONDS, new TestScheduler())
+        .test(0L)
+        .assertResult();
+    }
+
+    @Test
+    public void error() {
+        TestScheduler sch = new TestScheduler();
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<List<Integer>> ts = pp.coalesce(2, 1, TimeUnit.SECONDS, sch).test();
+
+        pp.onNext(1);
+        pp.onError(new TestException());
+
+        ts.assertFailure(TestException.class);
+
+        sch.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        ts.assertFailure(TestException.class);
+    }
+
+    @Test
+    public void fusedPollCrash() {
+        Flowable.range(1, 5)
+        .map(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer v) throws Exception {
+                if (v == 3) {
+                    throw new TestException();
+                }
+                return v;
+            }
+        })
+        .coalesce(2, 1, TimeUnit.SECONDS, new TestScheduler())
+        .test()
+        .assertFailure(TestException.class, Arrays.asList(1, 2));
+    }
+
+    @Test
+    public void cancel() {
+        TestScheduler sch = new TestScheduler();
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<List<Integer>> ts = pp.coalesce(2, 1, TimeUnit.SECONDS, sch).test();
+
+        pp.onNext(1);
+
+        ts.cancel();
+
+        assertFalse(pp.hasSubscribers());
+
+        sch.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        ts.assertEmpty();
+    }
+
+    @Test
+    public void replenish() {
+        int n = Flowable.bufferSize() * 10;
+        Flowable.range(1, n).hide()
+        .coalesce(7, 1, TimeUnit.DAYS, new TestScheduler())
+        .concatMapIterable(new Function<List<Integer>, Iterable<Integer>>() {
+            @Override
+            public Iterable<Integer> apply(List<Integer> v) throws Exception {
+                assertTrue(v.size() <= 7);
+                return v;
+            }
+        })
+        .test()
+        .assertValueCount(n)
+        .assertNoErrors()
+        .assertComplete();
+    }
+
+    @Test
+    public void async() {
+        for (int i = 0; i < 50; i++) {
+            final AtomicLong sum = new AtomicLong();
+
+            Flowable.range(1, 10000)
+            .subscribeOn(Schedulers.computation())
+            .coalesce(64, 100, TimeUnit.MICROSECONDS)
+            .doOnNext(new Consumer<List<Integer>>() {
+                @Override
+                public void accept(List<Integer> v) throws Exception {
+                    assertFalse(v.isEmpty());
+                    assertTrue(v.size() <= 64);
+                    long s = 0;
+                    for (Integer e : v) {
+                        s += e;
+                    }
+                    sum.addAndGet(s);
+                }
+            })
+            .test()
+            .awaitDone(5, TimeUnit.SECONDS)
+            .assertNoErrors()
+            .assertComplete();
+
+            assertEquals(50005000L, sum.get());
+        }
+    }
+
+    @Test
+    public void doubleOnSubscribe() {
+        TestHelper.checkDoubleOnSubscribeFlowable(new Function<Flowable<Object>, Publisher<List<Object>>>() {
+            @Override
+            public Publisher<List<Object>> apply(Flowable<Object> f) throws Exception {
+                return f.coalesce(2, 1, TimeUnit.SECONDS, new TestScheduler());
+            }
+        });
+    }
+
+    @Test
+    public void badRequest() {
+        TestHelper.assertBadRequestReported(Flowable.never().coalesce(2, 1, TimeUnit.SECONDS, new TestScheduler()));
+    }
+}
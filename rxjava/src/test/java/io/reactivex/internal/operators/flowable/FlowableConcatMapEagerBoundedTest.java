@@ -0,0 +1,378 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.reactivex.internal.operators.flowable;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.reactivestreams.*;
+
+import io.reactivex.*;
+import io.reactivex.exceptions.*;
+import io.reactivex.functions.*;
+import io.reactivex.internal.functions.Functions;
+import io.reactivex.internal.subscriptions.BooleanSubscription;
+import io.reactivex.internal.util.ErrorMode;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.processors.*;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+
+public class FlowableConcatMapEagerBoundedTest {
+
+    static Function<Integer, Publisher<Integer>> rangeOf(final int count) {
+        return new Function<Integer, Publisher<Integer>>() {
+            @Override
+            public Publisher<Integer> apply(Integer v) throws Exception {
+                return Flowable.range(v * 100, count);
+            }
+        };
+    }
+
+    @Test
+    public void normal() {
+        Flowable.range(1, 3)
+        .concatMapEagerBounded(rangeOf(3), 4, 8, 16)
+        .test()
+        .assertResult(100, 101, 102, 200, 201, 202, 300, 301, 302);
+    }
+
+    @Test
+    public void normalHidden() {
+        Flowable.range(1, 3)
+        .concatMapEagerBounded(new Function<Integer, Publisher<Integer>>() {
+            @Override
+            public Publisher<Integer> apply(Integer v) throws Exception {
+                return Flowable.range(v * 100, 3).hide();
+            }
+        }, 4, 2, 1)
+        .test()
+        .assertResult(100, 101, 102, 200, 201, 202, 300, 301, 302);
+    }
+
+    @Test
+    public void empty() {
+        Flowable.<Integer>empty()
+        .concatMapEagerBounded(rangeOf(3), 4, 8, 16)
+        .test()
+        .assertResult();
+    }
+
+    @Test
+    public void backpressured() {
+        TestSubscriber<Integer> ts = Flowable.range(1, 3)
+        .concatMapEagerBounded(rangeOf(3), 4, 8, 16)
+        .test(0L);
+
+        ts.assertEmpty();
+
+        ts.request(4);
+
+        ts.assertValues(100, 101, 102, 200)
+        .assertNotComplete();
+
+        ts.request(5);
+
+        ts.assertResult(100, 101, 102, 200, 201, 202, 300, 301, 302);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void budgetSharedInOrder() {
+        final PublishProcessor<Integer>[] pps = new PublishProcessor[3];
+        final List<Long>[] requests = new List[3];
+        for (int i = 0; i < 3; i++) {
+            pps[i] = PublishProcessor.create();
+            requests[i] = new ArrayList<Long>();
+        }
+
+        TestSubscriber<Integer> ts = Flowable.range(0, 3)
+        .concatMapEagerBounded(new Function<Integer, Publisher<Integer>>() {
+            @Override
+            public Publisher<Integer> apply(final Integer v) throws Exception {
+                return pps[v].doOnRequest(new LongConsumer() {
+                    @Override
+                    public void accept(long n) throws Exception {
+                        requests[v].add(n);
+                    }
+                });
+            }
+        }, 4, 8, 10)
+        .test(0L);
+
+        // the head is outside of the budget, the next one takes 8 of it, 2 is not enough for the last one
+        assertEquals(Arrays.asList(8L), requests[0]);
+        assertEquals(Arrays.asList(8L), requests[1]);
+        assertEquals(Collections.<Long>emptyList(), requests[2]);
+
+        pps[0].onComplete();
+
+        // the new head still holds its budget until it is consumed
+        assertEquals(Arrays.asList(8L), requests[1]);
+        assertEquals(Collections.<Long>emptyList(), requests[2]);
+
+        for (int i = 0; i < 8; i++) {
+            pps[1].onNext(i);
+        }
+
+        assertEquals(Collections.<Long>emptyList(), requests[2]);
+
+        ts.request(8);
+
+        ts.assertValues(0, 1, 2, 3, 4, 5, 6, 7);
+
+        assertEquals(Arrays.asList(8L, 8L), requests[1]);
+        assertEquals(Arrays.asList(8L), requests[2]);
+
+        pps[1].onComplete();
+        pps[2].onNext(8);
+        pps[2].onComplete();
+
+        ts.assertNotComplete();
+
+        ts.request(1);
+
+        ts.assertResult(0, 1, 2, 3, 4, 5, 6, 7, 8);
+    }
+
+    @Test
+    public void headNotStarvedByTinyBudget() {
+        final List<Long> requests = new ArrayList<Long>();
+
+        Flowable.range(0, 2)
+        .concatMapEagerBounded(new Function<Integer, Publisher<Integer>>() {
+            @Override
+            public Publisher<Integer> apply(Integer v) throws Exception {
+                Flowable<Integer> f = Flowable.range(v * 100, 50).hide();
+                if (v == 0) {
+                    return f.doOnRequest(new LongConsumer() {
+                        @Override
+                        public void accept(long n) throws Exception {
+                            requests.add(n);
+                        }
+                    });
+                }
+                return f;
+            }
+        }, 2, 16, 1)
+        .test()
+        .assertValueCount(100)
+        .assertNoErrors()
+        .assertComplete();
+
+        assertEquals(16L, requests.get(0).longValue());
+        for (Long n : requests) {
+            assertTrue(requests.toString(), n >= 12L);
+        }
+    }
+
+    @Test
+    public void asyncFusedInner() {
+        final UnicastProcessor<Integer> up = UnicastProcessor.create();
+
+        TestSubscriber<Integer> ts = Flowable.range(0, 2)
+        .concatMapEagerBounded(new Function<Integer, Publisher<Integer>>() {
+            @Override
+            public Publisher<Integer> apply(Integer v) throws Exception {
+                return v == 0 ? up : Flowable.just(100);
+            }
+        }, 2, 8, 8)
+        .test();
+
+        up.onNext(1);
+        up.onNext(2);
+
+        ts.assertValues(1, 2);
+
+        up.onComplete();
+
+        ts.assertResult(1, 2, 100);
+    }
+
+    @Test
+    public void async() {
+        for (int i = 0; i < 10; i++) {
+            Flowable.range(0, 20)
+            .concatMapEagerBounded(new Function<Integer, Publisher<Integer>>() {
+                @Override
+                public Publisher<Integer> apply(Integer v) throws Exception {
+                    return Flowable.range(v * 1000, 1000).subscribeOn(Schedulers.computation());
+                }
+            }, 8, 32, 64)
+            .test()
+            .awaitDone(5, TimeUnit.SECONDS)
+            .assertValueCount(20000)
+            .assertNoErrors()
+            .assertComplete()
+            .assertValueSequence(Flowable.range(0, 20000).blockingIterable());
+        }
+    }
+
+    @Test
+    public void mapperThrows() {
+        Flowable.range(1, 3)
+        .concatMapEagerBounded(new Function<Integer, Publisher<Integer>>() {
+            @Override
+            public Publisher<Integer> apply(Integer v) throws Exception {
+                throw new TestException();
+            }
+        }, 4, 8, 16)
+        .test()
+        .assertFailure(TestException.class);
+    }
+
+    @Test
+    public void innerErrorImmediate() {
+        PublishProcessor<Integer> pp0 = PublishProcessor.create();
+        PublishProcessor<Integer> pp1 = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = Flowable.fromArray(pp0, pp1)
+        .concatMapEagerBounded(Functions.<Publisher<Integer>>identity(), 4, 8, 16)
+        .test();
+
+        pp0.onNext(1);
+        pp1.onError(new TestException());
+
+        ts.assertFailure(TestException.class, 1);
+
+        assertFalse(pp0.hasSubscribers());
+    }
+
+    @Test
+    public void outerError() {
+        PublishProcessor<Integer> main = PublishProcessor.create();
+        PublishProcessor<Integer> inner = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = main
+        .concatMapEagerBounded(Functions.justFunction(inner), 4, 8, 16)
+        .test();
+
+        main.onNext(1);
+        inner.onNext(1);
+        main.onError(new TestException());
+
+        ts.assertFailure(TestException.class, 1);
+
+        assertFalse(inner.hasSubscribers());
+    }
+
+    @Test
+    public void innerErrorBoundary() {
+        PublishProcessor<Integer> pp0 = PublishProcessor.create();
+        PublishProcessor<Integer> pp1 = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = new FlowableConcatMapEagerBounded<Publisher<Integer>, Integer>(
+                Flowable.<Publisher<Integer>>fromArray(pp0, pp1), Functions.<Publisher<Integer>>identity(), 4, 8, 16, ErrorMode.BOUNDARY)
+        .test();
+
+        pp0.onNext(1);
+        pp1.onError(new TestException());
+
+        ts.assertValues(1)
+        .assertNoErrors();
+
+        pp0.onNext(2);
+        pp0.onComplete();
+
+        ts.assertFailure(TestException.class, 1, 2);
+    }
+
+    @Test
+    public void innerErrorEnd() {
+        PublishProcessor<Integer> pp0 = PublishProcessor.create();
+        PublishProcessor<Integer> pp1 = PublishProcessor.create();
+        PublishProcessor<Integer> pp2 = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = new FlowableConcatMapEagerBounded<Publisher<Integer>, Integer>(
+                Flowable.<Publisher<Integer>>fromArray(pp0, pp1, pp2), Functions.<Publisher<Integer>>identity(), 4, 8, 16, ErrorMode.END)
+        .test();
+
+        pp1.onNext(2);
+        pp1.onError(new TestException());
+
+        pp0.onNext(1);
+        pp0.onComplete();
+        pp2.onNext(3);
+
+        ts.assertValues(1, 2, 3)
+        .assertNoErrors();
+
+        pp2.onComplete();
+
+        ts.assertFailure(TestException.class, 1, 2, 3);
+    }
+
+    @Test
+    public void innerOverflow() {
+        List<Throwable> errors = TestHelper.trackPluginErrors();
+        try {
+            Flowable.just(1)
+            .concatMapEagerBounded(Functions.justFunction(new Flowable<Integer>() {
+                @Override
+                protected void subscribeActual(Subscriber<? super Integer> s) {
+                    s.onSubscribe(new BooleanSubscription());
+                    for (int i = 0; i < 10; i++) {
+                        s.onNext(i);
+                    }
+                }
+            }), 4, 8, 16)
+            .test(0L)
+            .assertFailure(MissingBackpressureException.class);
+
+            TestHelper.assertError(errors, 0, MissingBackpressureException.class);
+        } finally {
+            RxJavaPlugins.reset();
+        }
+    }
+
+    @Test
+    public void cancel() {
+        PublishProcessor<Integer> main = PublishProcessor.create();
+        PublishProcessor<Integer> inner = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = main
+        .concatMapEagerBounded(Functions.justFunction(inner), 4, 8, 16)
+        .test();
+
+        main.onNext(1);
+
+        assertTrue(main.hasSubscribers());
+        assertTrue(inner.hasSubscribers());
+
+        ts.cancel();
+
+        assertFalse(main.hasSubscribers());
+        assertFalse(inner.hasSubscribers());
+    }
+
+    @Test
+    public void disposed() {
+        TestHelper.checkDisposed(Flowable.just(1).hide().concatMapEagerBounded(Functions.justFunction(Flowable.never()), 4, 8, 16));
+    }
+
+    @Test
+    public void doubleOnSubscribe() {
+        TestHelper.checkDoubleOnSubscribeFlowable(new Function<Flowable<Object>, Publisher<Object>>() {
+            @Override
+            public Publisher<Object> apply(Flowable<Object> f) throws Exception {
+                return f.concatMapEagerBounded(Functions.justFunction(Flowable.<Object>just(1)), 4, 8, 16);
+            }
+        });
+    }
+}
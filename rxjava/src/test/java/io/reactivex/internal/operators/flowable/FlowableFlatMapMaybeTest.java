@@ -604,4 +604,70 @@ public class FlowableFlatMapMaybeTest {
             TestHelper.race(r1, r2);
         }
     }
+
+    @Test
+    public void scalarJustAndEmpty() {
+        Flowable.range(1, 10)
+        .flatMapMaybe(new Function<Integer, MaybeSource<Integer>>() {
+            @Override
+            public MaybeSource<Integer> apply(Integer v) throws Exception {
+                return v % 2 == 0 ? Maybe.just(v) : Maybe.<Integer>empty();
+            }
+        })
+        .test()
+        .assertResult(2, 4, 6, 8, 10);
+    }
+
+    @Test
+    public void scalarBackpressured() {
+        TestSubscriber<Integer> ts = Flowable.range(1, 10)
+        .flatMapMaybe(new Function<Integer, MaybeSource<Integer>>() {
+            @Override
+            public MaybeSource<Integer> apply(Integer v) throws Exception {
+                return v % 2 == 0 ? Maybe.just(v) : Maybe.<Integer>empty();
+            }
+        }, false, 1)
+        .test(0L);
+
+        ts.assertEmpty();
+
+        ts.request(2);
+
+        ts.assertValues(2, 4)
+        .assertNotComplete();
+
+        ts.request(3);
+
+        ts.assertResult(2, 4, 6, 8, 10);
+    }
+
+    @Test
+    public void scalarAllEmpty() {
+        Flowable.range(1, 10)
+        .flatMapMaybe(Functions.justFunction(Maybe.<Integer>empty()), false, 1)
+        .test(0L)
+        .assertResult();
+    }
+
+    @Test
+    public void scalarMixedWithAsync() {
+        Flowable.range(1, 1000)
+        .flatMapMaybe(new Function<Integer, MaybeSource<Integer>>() {
+            @Override
+            public MaybeSource<Integer> apply(Integer v) throws Exception {
+                if (v % 3 == 0) {
+                    return Maybe.just(v);
+                }
+                if (v % 3 == 1) {
+                    return Maybe.empty();
+                }
+                return Maybe.just(v).subscribeOn(Schedulers.computation());
+            }
+        })
+        .test()
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertValueCount(666)
+        .assertNoErrors()
+        .assertComplete();
+    }
 }
@@ -505,4 +505,89 @@ public class FlowableFlatMapSingleTest {
         .awaitDone(5, TimeUnit.SECONDS)
         .assertFailure(CompositeException.class);
     }
+
+    @Test
+    public void scalarBackpressured() {
+        TestSubscriber<Integer> ts = Flowable.range(1, 5)
+        .flatMapSingle(new Function<Integer, SingleSource<Integer>>() {
+            @Override
+            public SingleSource<Integer> apply(Integer v) throws Exception {
+                return Single.just(v);
+            }
+        })
+        .test(0L);
+
+        ts.assertEmpty();
+
+        ts.request(2);
+
+        ts.assertValues(1, 2)
+        .assertNotComplete();
+
+        ts.request(3);
+
+        ts.assertResult(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void scalarMaxConcurrency() {
+        TestSubscriber<Integer> ts = Flowable.range(1, 5)
+        .flatMapSingle(new Function<Integer, SingleSource<Integer>>() {
+            @Override
+            public SingleSource<Integer> apply(Integer v) throws Exception {
+                return Single.just(v);
+            }
+        }, false, 1)
+        .test(0L);
+
+        ts.request(1);
+
+        ts.assertValues(1)
+        .assertNotComplete();
+
+        ts.request(4);
+
+        ts.assertResult(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void scalarMixedWithAsync() {
+        Flowable.range(1, 1000)
+        .flatMapSingle(new Function<Integer, SingleSource<Integer>>() {
+            @Override
+            public SingleSource<Integer> apply(Integer v) throws Exception {
+                if (v % 2 == 0) {
+                    return Single.just(v);
+                }
+                return Single.just(v).subscribeOn(Schedulers.computation());
+            }
+        })
+        .test()
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertValueCount(1000)
+        .assertNoErrors()
+        .assertComplete();
+    }
+
+    @Test
+    public void scalarAfterCancel() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp
+        .flatMapSingle(new Function<Integer, SingleSource<Integer>>() {
+            @Override
+            public SingleSource<Integer> apply(Integer v) throws Exception {
+                return Single.just(v);
+            }
+        })
+        .test();
+
+        pp.onNext(1);
+
+        ts.cancel();
+
+        pp.onNext(2);
+
+        ts.assertValues(1);
+    }
 }
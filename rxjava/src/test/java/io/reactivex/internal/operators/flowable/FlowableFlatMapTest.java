@@ -1076,4 +1076,88 @@ public class FlowableFlatMapTest {
 
         assertEquals(1, counter.get());
     }
+
+    @Test
+    public void adaptiveInnerPrefetchGrowsForFastConsumer() {
+        final List<Long> requests = new ArrayList<Long>();
+
+        Flowable.range(0, 10)
+        .flatMap(new Function<Integer, Publisher<Integer>>() {
+            @Override
+            public Publisher<Integer> apply(Integer v) throws Exception {
+                return Flowable.range(v * 1000, 1000)
+                .doOnRequest(new LongConsumer() {
+                    @Override
+                    public void accept(long n) throws Exception {
+                        requests.add(n);
+                    }
+                });
+            }
+        }, false, 4, 8, 128)
+        .test()
+        .assertValueCount(10000)
+        .assertNoErrors()
+        .assertComplete();
+
+        assertEquals(8L, requests.get(0).longValue());
+        assertTrue(requests.toString(), requests.contains(96L));
+        for (Long n : requests) {
+            assertTrue(requests.toString(), n <= 128L);
+        }
+    }
+
+    @Test
+    public void adaptiveInnerPrefetchStaysSmallForSlowConsumer() {
+        final List<Long> requests = new ArrayList<Long>();
+
+        TestSubscriber<Integer> ts = Flowable.range(0, 10)
+        .flatMap(new Function<Integer, Publisher<Integer>>() {
+            @Override
+            public Publisher<Integer> apply(Integer v) throws Exception {
+                return Flowable.range(v * 1000, 1000)
+                .doOnRequest(new LongConsumer() {
+                    @Override
+                    public void accept(long n) throws Exception {
+                        requests.add(n);
+                    }
+                });
+            }
+        }, false, 1, 8, 128)
+        .test(0L);
+
+        for (int i = 0; i < 100; i++) {
+            ts.request(1);
+        }
+
+        ts.assertValueCount(100)
+        .assertNoErrors()
+        .assertNotComplete();
+
+        for (Long n : requests) {
+            assertTrue(requests.toString(), n <= 8L);
+        }
+    }
+
+    @Test
+    public void adaptiveInnerPrefetchAsync() {
+        for (int i = 0; i < 10; i++) {
+            Flowable.range(0, 10)
+            .flatMap(new Function<Integer, Publisher<Integer>>() {
+                @Override
+                public Publisher<Integer> apply(Integer v) throws Exception {
+                    return Flowable.range(v * 10000, 10000).subscribeOn(Schedulers.computation());
+                }
+            }, false, 4, 16, 1024)
+            .test()
+            .awaitDone(5, TimeUnit.SECONDS)
+            .assertValueCount(100000)
+            .assertNoErrors()
+            .assertComplete();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void adaptiveInnerPrefetchMaxLessThanMin() {
+        Flowable.never().flatMap(Functions.justFunction(Flowable.never()), false, 4, 16, 8);
+    }
 }
@@ -36,7 +36,7 @@ import io.reactivex.internal.functions.Functions;
 import io.reactivex.internal.fuseable.QueueFuseable;
 import io.reactivex.internal.subscriptions.BooleanSubscription;
 import io.reactivex.processors.PublishProcessor;
-import io.reactivex.schedulers.Schedulers;
+import io.reactivex.schedulers.*;
 import io.reactivex.subjects.PublishSubject;
 import io.reactivex.subscribers.*;
 
@@ -1933,6 +1933,272 @@ public class FlowableGroupByTest {
           .assertError(ex);
     }
 
+    @Test
+    public void bounded() {
+        final List<Integer> keys = new ArrayList<Integer>();
+        Flowable.range(1, 1000)
+        .groupBy(mod5, Functions.<Integer>identity(), false, 16, 10)
+        .flatMap(new Function<GroupedFlowable<Integer, Integer>, Publisher<Integer>>() {
+            @Override
+            public Publisher<Integer> apply(GroupedFlowable<Integer, Integer> g) throws Exception {
+                keys.add(g.getKey());
+                return g;
+            }
+        })
+        .test()
+        .assertValueCount(1000)
+        .assertNoErrors()
+        .assertComplete();
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 0), keys);
+    }
+
+    @Test
+    public void boundedBuffersUntilSubscribed() {
+        TestSubscriber<GroupedFlowable<Integer, Integer>> ts = Flowable.range(1, 10)
+        .groupBy(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer v) throws Exception {
+                return v % 2;
+            }
+        }, Functions.<Integer>identity(), false, 16, 10)
+        .test();
+
+        ts.assertValueCount(2)
+        .assertNoErrors()
+        .assertComplete();
+
+        ts.values().get(1).test().assertResult(2, 4, 6, 8, 10);
+        ts.values().get(0).test().assertResult(1, 3, 5, 7, 9);
+    }
+
+    @Test
+    public void boundedBackpressuredGroup() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        final TestSubscriber<Integer> ts = new TestSubscriber<Integer>(1L);
+
+        pp.groupBy(Functions.<Integer>identity(), Functions.<Integer>identity(), false, 16, 10)
+        .subscribe(new Consumer<GroupedFlowable<Integer, Integer>>() {
+            @Override
+            public void accept(GroupedFlowable<Integer, Integer> g) throws Exception {
+                g.subscribe(ts);
+            }
+        });
+
+        pp.onNext(1);
+        pp.onNext(1);
+        pp.onNext(1);
+
+        ts.assertValues(1);
+
+        ts.request(1);
+
+        ts.assertValues(1, 1);
+
+        pp.onComplete();
+
+        ts.assertNotComplete();
+
+        ts.request(1);
+
+        ts.assertResult(1, 1, 1);
+    }
+
+    @Test
+    public void boundedLeastRecentlyUsedEvicted() {
+        final List<Integer> completed = new CopyOnWriteArrayList<Integer>();
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp
+        .groupBy(Functions.<Integer>identity(), Functions.<Integer>identity(), false, 16, 2)
+        .flatMap(addCompletedKey(completed))
+        .test();
+
+        pp.onNext(1);
+        pp.onNext(2);
+        pp.onNext(1);
+        pp.onNext(3);
+
+        assertEquals(Arrays.asList(2), completed);
+
+        pp.onNext(2);
+
+        assertEquals(Arrays.asList(2, 1), completed);
+
+        pp.onComplete();
+
+        ts.assertResult(1, 2, 1, 3, 2);
+
+        assertEquals(Arrays.asList(2, 1, 3, 2), completed);
+    }
+
+    @Test
+    public void boundedIdleEvicted() {
+        final List<Integer> completed = new CopyOnWriteArrayList<Integer>();
+        TestScheduler scheduler = new TestScheduler();
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp
+        .groupBy(Functions.<Integer>identity(), Functions.<Integer>identity(), false, 16, 100, 10, TimeUnit.MILLISECONDS, scheduler)
+        .flatMap(addCompletedKey(completed))
+        .test();
+
+        pp.onNext(1);
+
+        scheduler.advanceTimeBy(5, TimeUnit.MILLISECONDS);
+
+        pp.onNext(2);
+
+        scheduler.advanceTimeBy(5, TimeUnit.MILLISECONDS);
+
+        pp.onNext(2);
+
+        assertEquals(Arrays.asList(1), completed);
+
+        scheduler.advanceTimeBy(100, TimeUnit.MILLISECONDS);
+
+        // eviction happens only when the upstream emits
+        assertEquals(Arrays.asList(1), completed);
+
+        pp.onNext(1);
+
+        assertEquals(Arrays.asList(1, 2), completed);
+
+        ts.assertValues(1, 2, 2, 1)
+        .assertNotComplete();
+    }
+
+    @Test
+    public void boundedCancelledGroupRecreated() {
+        Flowable.just(1, 1, 1)
+        .groupBy(Functions.<Integer>identity(), Functions.<Integer>identity(), false, 16, 10)
+        .flatMap(new Function<GroupedFlowable<Integer, Integer>, Publisher<Integer>>() {
+            @Override
+            public Publisher<Integer> apply(GroupedFlowable<Integer, Integer> g) throws Exception {
+                return g.take(1);
+            }
+        })
+        .test()
+        .assertResult(1, 1, 1);
+    }
+
+    @Test
+    public void boundedEvictedGroupReleased() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<GroupedFlowable<Integer, Integer>> ts = pp
+        .groupBy(Functions.<Integer>identity(), Functions.<Integer>identity(), false, 16, 1)
+        .test();
+
+        pp.onNext(1);
+        pp.onNext(2);
+
+        ts.assertValueCount(2);
+
+        ts.cancel();
+
+        assertTrue(pp.hasSubscribers());
+
+        ts.values().get(0).test().assertResult(1);
+
+        assertTrue(pp.hasSubscribers());
+
+        TestSubscriber<Integer> ts2 = ts.values().get(1).test();
+
+        ts2.assertValues(2);
+
+        ts2.cancel();
+
+        assertFalse(pp.hasSubscribers());
+    }
+
+    @Test
+    public void boundedError() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp
+        .groupBy(mod5, Functions.<Integer>identity(), false, 16, 10)
+        .flatMap(Functions.<Publisher<Integer>>identity())
+        .test();
+
+        pp.onNext(1);
+        pp.onNext(2);
+        pp.onError(new TestException());
+
+        ts.assertFailure(TestException.class, 1, 2);
+    }
+
+    @Test
+    public void boundedValueSelectorCrash() {
+        Flowable.range(1, 5)
+        .groupBy(Functions.<Integer>identity(), new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer v) throws Exception {
+                if (v == 3) {
+                    throw new TestException();
+                }
+                return v;
+            }
+        }, false, 16, 10)
+        .flatMap(Functions.<Publisher<Integer>>identity())
+        .test()
+        .assertFailure(TestException.class, 1, 2);
+    }
+
+    @Test
+    public void boundedFusedGroups() {
+        Flowable.range(1, 1000)
+        .groupBy(mod5, Functions.<Integer>identity(), false, 16, 3)
+        .flatMap(new Function<GroupedFlowable<Integer, Integer>, Publisher<Integer>>() {
+            @Override
+            public Publisher<Integer> apply(GroupedFlowable<Integer, Integer> g) throws Exception {
+                return g.observeOn(Schedulers.computation());
+            }
+        })
+        .test()
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertValueCount(1000)
+        .assertNoErrors()
+        .assertComplete();
+    }
+
+    @Test
+    public void boundedManyKeys() {
+        Flowable.range(0, 100000)
+        .groupBy(Functions.<Integer>identity(), Functions.<Integer>identity(), false, 16, 1000)
+        // at most maxGroups groups are active at a time
+        .flatMap(Functions.<Publisher<Integer>>identity(), 1000)
+        .test()
+        .assertValueCount(100000)
+        .assertNoErrors()
+        .assertComplete();
+    }
+
+    @Test
+    public void boundedAsyncConsumers() {
+        for (int i = 0; i < 20; i++) {
+            Flowable.range(0, 10000)
+            .subscribeOn(Schedulers.computation())
+            .groupBy(new Function<Integer, Integer>() {
+                @Override
+                public Integer apply(Integer v) throws Exception {
+                    return v % 100;
+                }
+            }, Functions.<Integer>identity(), false, 16, 20)
+            .flatMap(new Function<GroupedFlowable<Integer, Integer>, Publisher<Integer>>() {
+                @Override
+                public Publisher<Integer> apply(GroupedFlowable<Integer, Integer> g) throws Exception {
+                    return g.observeOn(Schedulers.single(), false, 4).take(50);
+                }
+            })
+            .test()
+            .awaitDone(5, TimeUnit.SECONDS)
+            .assertNoErrors()
+            .assertComplete();
+        }
+    }
+
     private static Function<GroupedFlowable<Integer, Integer>, Publisher<? extends Integer>> addCompletedKey(
             final List<Integer> completed) {
         return new Function<GroupedFlowable<Integer, Integer>, Publisher<? extends Integer>>() {
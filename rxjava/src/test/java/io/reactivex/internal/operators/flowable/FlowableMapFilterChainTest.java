@@ -0,0 +1,311 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.operators.flowable;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.reactivex.*;
+import io.reactivex.exceptions.TestException;
+import io.reactivex.functions.*;
+import io.reactivex.internal.functions.Functions;
+import io.reactivex.internal.fuseable.QueueFuseable;
+import io.reactivex.processors.UnicastProcessor;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.*;
+
+public class FlowableMapFilterChainTest {
+
+    static final Function<Integer, Integer> PLUS_ONE = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer v) throws Exception {
+            return v + 1;
+        }
+    };
+
+    static final Predicate<Integer> EVEN = new Predicate<Integer>() {
+        @Override
+        public boolean test(Integer v) throws Exception {
+            return v % 2 == 0;
+        }
+    };
+
+    @Test
+    public void singleStageIsNotChained() {
+        assertTrue(Flowable.range(1, 5).map(PLUS_ONE) instanceof FlowableMap);
+        assertTrue(Flowable.range(1, 5).filter(EVEN) instanceof FlowableFilter);
+        assertTrue(Flowable.range(1, 5).doOnNext(Functions.emptyConsumer()) instanceof FlowableDoOnEach);
+    }
+
+    @Test
+    public void adjacentStagesCollapse() {
+        Flowable<Integer> source = Flowable.range(1, 5);
+        Flowable<Integer> f = source
+                .map(PLUS_ONE)
+                .filter(EVEN)
+                .doOnNext(Functions.emptyConsumer())
+                .map(PLUS_ONE);
+
+        assertTrue(f instanceof FlowableMapFilterChain);
+        FlowableMapFilterChain<?, ?> chain = (FlowableMapFilterChain<?, ?>)f;
+        assertSame(source, chain.source());
+        assertEquals(4, chain.stages.size());
+    }
+
+    @Test
+    public void doOnEachIsNotChained() {
+        Flowable<Integer> f = Flowable.range(1, 5)
+                .doOnComplete(new Action() {
+                    @Override
+                    public void run() throws Exception {
+                    }
+                })
+                .map(PLUS_ONE);
+
+        assertTrue(f instanceof FlowableMap);
+    }
+
+    @Test
+    public void intermediateStageStaysUsable() {
+        Flowable<Integer> m = Flowable.range(1, 5).map(PLUS_ONE);
+        Flowable<Integer> f = m.filter(EVEN);
+
+        m.test().assertResult(2, 3, 4, 5, 6);
+        f.test().assertResult(2, 4, 6);
+        f.test().assertResult(2, 4, 6);
+    }
+
+    @Test
+    public void mixedStages() {
+        final List<Integer> peeked = new ArrayList<Integer>();
+
+        Flowable.range(1, 10)
+        .filter(EVEN)
+        .doOnNext(new Consumer<Integer>() {
+            @Override
+            public void accept(Integer v) throws Exception {
+                peeked.add(v);
+            }
+        })
+        .map(PLUS_ONE)
+        .map(new Function<Integer, String>() {
+            @Override
+            public String apply(Integer v) throws Exception {
+                return "" + v;
+            }
+        })
+        .test()
+        .assertResult("3", "5", "7", "9", "11");
+
+        assertEquals(Arrays.asList(2, 4, 6, 8, 10), peeked);
+    }
+
+    @Test
+    public void backpressure() {
+        TestSubscriber<Integer> ts = Flowable.range(1, 10)
+        .map(PLUS_ONE)
+        .filter(EVEN)
+        .test(0L);
+
+        ts.assertEmpty();
+
+        ts.request(2);
+
+        ts.assertValues(2, 4).assertNotComplete();
+
+        ts.request(10);
+
+        ts.assertResult(2, 4, 6, 8, 10);
+    }
+
+    @Test
+    public void backpressureHidden() {
+        TestSubscriber<Integer> ts = Flowable.range(1, 10)
+        .hide()
+        .map(PLUS_ONE)
+        .filter(EVEN)
+        .test(0L);
+
+        ts.request(2);
+
+        ts.assertValues(2, 4).assertNotComplete();
+
+        ts.request(10);
+
+        ts.assertResult(2, 4, 6, 8, 10);
+    }
+
+    @Test
+    public void conditionalDownstream() {
+        Flowable<Integer> chain = Flowable.range(1, 10)
+                .map(PLUS_ONE)
+                .filter(EVEN);
+
+        new FlowableFilter<Integer>(chain, Functions.alwaysTrue())
+        .test()
+        .assertResult(2, 4, 6, 8, 10);
+
+        new FlowableFilter<Integer>(Flowable.range(1, 10).hide().map(PLUS_ONE).filter(EVEN), Functions.alwaysTrue())
+        .rebatchRequests(1)
+        .test()
+        .assertResult(2, 4, 6, 8, 10);
+    }
+
+    @Test
+    public void conditionalDownstreamRejects() {
+        new FlowableFilter<Integer>(Flowable.range(1, 10).hide().map(PLUS_ONE).filter(EVEN), EVEN)
+        .filter(new Predicate<Integer>() {
+            @Override
+            public boolean test(Integer v) throws Exception {
+                return v > 4;
+            }
+        })
+        .rebatchRequests(1)
+        .test()
+        .assertResult(6, 8, 10);
+    }
+
+    @Test
+    public void mapperThrows() {
+        Flowable.range(1, 5)
+        .filter(Functions.alwaysTrue())
+        .map(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer v) throws Exception {
+                if (v == 3) {
+                    throw new TestException();
+                }
+                return v;
+            }
+        })
+        .test()
+        .assertFailure(TestException.class, 1, 2);
+    }
+
+    @Test
+    public void mapperReturnsNull() {
+        Flowable.range(1, 5)
+        .filter(Functions.alwaysTrue())
+        .map(new Function<Integer, Object>() {
+            @Override
+            public Object apply(Integer v) throws Exception {
+                return null;
+            }
+        })
+        .test()
+        .assertFailure(NullPointerException.class);
+    }
+
+    @Test
+    public void peekThrows() {
+        Flowable.range(1, 5)
+        .map(PLUS_ONE)
+        .doOnNext(new Consumer<Integer>() {
+            @Override
+            public void accept(Integer v) throws Exception {
+                throw new TestException();
+            }
+        })
+        .test()
+        .assertFailure(TestException.class);
+    }
+
+    @Test
+    public void fusedSync() {
+        TestSubscriber<Integer> ts = SubscriberFusion.newTest(QueueFuseable.ANY);
+
+        Flowable.range(1, 10)
+        .map(PLUS_ONE)
+        .filter(EVEN)
+        .subscribe(ts);
+
+        ts.assertOf(SubscriberFusion.<Integer>assertFuseable())
+        .assertOf(SubscriberFusion.<Integer>assertFusionMode(QueueFuseable.SYNC))
+        .assertResult(2, 4, 6, 8, 10);
+    }
+
+    @Test
+    public void fusedAsync() {
+        TestSubscriber<Integer> ts = SubscriberFusion.newTest(QueueFuseable.ANY);
+
+        UnicastProcessor<Integer> up = UnicastProcessor.create();
+
+        up
+        .map(PLUS_ONE)
+        .filter(EVEN)
+        .subscribe(ts);
+
+        for (int i = 1; i <= 10; i++) {
+            up.onNext(i);
+        }
+        up.onComplete();
+
+        ts.assertOf(SubscriberFusion.<Integer>assertFuseable())
+        .assertOf(SubscriberFusion.<Integer>assertFusionMode(QueueFuseable.ASYNC))
+        .assertResult(2, 4, 6, 8, 10);
+    }
+
+    @Test
+    public void fusedBoundaryRejected() {
+        TestSubscriber<Integer> ts = SubscriberFusion.newTest(QueueFuseable.ANY | QueueFuseable.BOUNDARY);
+
+        Flowable.range(1, 10)
+        .map(PLUS_ONE)
+        .filter(EVEN)
+        .subscribe(ts);
+
+        ts.assertOf(SubscriberFusion.<Integer>assertFuseable())
+        .assertOf(SubscriberFusion.<Integer>assertFusionMode(QueueFuseable.NONE))
+        .assertResult(2, 4, 6, 8, 10);
+    }
+
+    @Test
+    public void observeOn() {
+        Flowable.range(1, 1000)
+        .map(PLUS_ONE)
+        .filter(EVEN)
+        .observeOn(Schedulers.single())
+        .map(PLUS_ONE)
+        .filter(Functions.alwaysTrue())
+        .test()
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertValueCount(500)
+        .assertNoErrors()
+        .assertComplete();
+    }
+
+    @Test
+    public void doubleOnSubscribe() {
+        TestHelper.checkDoubleOnSubscribeFlowable(new Function<Flowable<Object>, Flowable<Object>>() {
+            @Override
+            public Flowable<Object> apply(Flowable<Object> f) throws Exception {
+                return f.map(Functions.identity()).filter(Functions.alwaysTrue());
+            }
+        });
+    }
+
+    @Test
+    public void badSource() {
+        TestHelper.checkBadSourceFlowable(new Function<Flowable<Integer>, Object>() {
+            @Override
+            public Object apply(Flowable<Integer> f) throws Exception {
+                return f.map(PLUS_ONE).filter(Functions.alwaysTrue());
+            }
+        }, false, 1, 1, 2);
+    }
+}
@@ -31,10 +31,11 @@ import io.reactivex.Scheduler.Worker;
 import io.reactivex.exceptions.TestException;
 import io.reactivex.functions.*;
 import io.reactivex.internal.functions.Functions;
+import io.reactivex.internal.fuseable.SimpleQueue;
 import io.reactivex.internal.subscriptions.*;
 import io.reactivex.internal.util.*;
 import io.reactivex.plugins.RxJavaPlugins;
-import io.reactivex.processors.PublishProcessor;
+import io.reactivex.processors.*;
 import io.reactivex.schedulers.*;
 import io.reactivex.subscribers.*;
 
@@ -1647,4 +1648,87 @@ public class FlowableMergeTest {
             RxJavaPlugins.reset();
         }
     }
+
+    @Test
+    public void completedInnerQueueReused() {
+        TestSubscriber<Integer> ts = TestSubscriber.create(0);
+        FlowableFlatMap.MergeSubscriber<Publisher<Integer>, Integer> ms =
+                new FlowableFlatMap.MergeSubscriber<Publisher<Integer>, Integer>(ts, Functions.<Publisher<Integer>>identity(), false, 128, 128);
+        ms.onSubscribe(new BooleanSubscription());
+
+        PublishProcessor<Integer> pp1 = PublishProcessor.create();
+
+        ms.onNext(pp1);
+
+        pp1.onNext(1);
+
+        SimpleQueue<?> q = ms.subscribers.get()[0].queue;
+        assertNotNull(q);
+
+        pp1.onComplete();
+
+        assertNull(ms.spareQueue.get());
+
+        ts.request(1);
+
+        ts.assertValues(1);
+
+        assertSame(q, ms.spareQueue.get());
+
+        PublishProcessor<Integer> pp2 = PublishProcessor.create();
+
+        ms.onNext(pp2);
+
+        pp2.onNext(2);
+
+        assertNull(ms.spareQueue.get());
+        assertSame(q, ms.subscribers.get()[0].queue);
+
+        pp2.onComplete();
+        ms.onComplete();
+
+        ts.request(1);
+
+        ts.assertResult(1, 2);
+    }
+
+    @Test
+    public void fusedInnerQueueNotReused() {
+        TestSubscriber<Integer> ts = TestSubscriber.create(0);
+        FlowableFlatMap.MergeSubscriber<Publisher<Integer>, Integer> ms =
+                new FlowableFlatMap.MergeSubscriber<Publisher<Integer>, Integer>(ts, Functions.<Publisher<Integer>>identity(), false, 128, 128);
+        ms.onSubscribe(new BooleanSubscription());
+
+        UnicastProcessor<Integer> up = UnicastProcessor.create();
+
+        ms.onNext(up);
+
+        up.onNext(1);
+        up.onComplete();
+
+        ts.request(1);
+
+        ts.assertValues(1);
+
+        assertNull(ms.spareQueue.get());
+    }
+
+    @Test
+    public void innerQueueReuseAsync() {
+        for (int i = 0; i < 10; i++) {
+            Flowable.range(0, 100)
+            .flatMap(new Function<Integer, Publisher<Integer>>() {
+                @Override
+                public Publisher<Integer> apply(Integer v) throws Exception {
+                    return Flowable.range(v * 100, 100).subscribeOn(Schedulers.computation());
+                }
+            }, 4)
+            .observeOn(Schedulers.single(), false, 16)
+            .test()
+            .awaitDone(5, TimeUnit.SECONDS)
+            .assertValueCount(10000)
+            .assertNoErrors()
+            .assertComplete();
+        }
+    }
 }
@@ -1783,4 +1783,120 @@ public class FlowableObserveOnTest {
         .test()
         .assertResult(1, 2, 3, 4, 5);
     }
+
+    @Test
+    public void adaptivePrefetchGrowsForFastConsumer() {
+        final List<Long> requests = new ArrayList<Long>();
+
+        Flowable.range(1, 1000)
+        .doOnRequest(new LongConsumer() {
+            @Override
+            public void accept(long n) throws Exception {
+                requests.add(n);
+            }
+        })
+        .observeOn(ImmediateThinScheduler.INSTANCE, false, 4, 64)
+        .test()
+        .assertValueCount(1000)
+        .assertNoErrors()
+        .assertComplete();
+
+        assertEquals(4L, requests.get(0).longValue());
+        assertTrue(requests.toString(), requests.contains(48L));
+        for (Long n : requests) {
+            assertTrue(requests.toString(), n <= 64L);
+        }
+    }
+
+    @Test
+    public void adaptivePrefetchStaysSmallForSlowConsumer() {
+        final List<Long> requests = new ArrayList<Long>();
+
+        TestSubscriber<Integer> ts = Flowable.range(1, 1000)
+        .doOnRequest(new LongConsumer() {
+            @Override
+            public void accept(long n) throws Exception {
+                requests.add(n);
+            }
+        })
+        .observeOn(ImmediateThinScheduler.INSTANCE, false, 4, 64)
+        .test(0L);
+
+        for (int i = 0; i < 100; i++) {
+            ts.request(1);
+        }
+
+        ts.assertValueCount(100)
+        .assertNoErrors()
+        .assertNotComplete();
+
+        for (Long n : requests) {
+            assertTrue(requests.toString(), n <= 4L);
+        }
+    }
+
+    @Test
+    public void adaptivePrefetchAsync() {
+        for (int i = 0; i < 10; i++) {
+            Flowable.range(1, 100000)
+            .hide()
+            .observeOn(Schedulers.single(), false, 16, 1024)
+            .test()
+            .awaitDone(5, TimeUnit.SECONDS)
+            .assertValueCount(100000)
+            .assertNoErrors()
+            .assertComplete();
+        }
+    }
+
+    @Test
+    public void adaptivePrefetchConditional() {
+        Flowable.range(1, 1000)
+        .hide()
+        .observeOn(ImmediateThinScheduler.INSTANCE, false, 4, 64)
+        .filter(new Predicate<Integer>() {
+            @Override
+            public boolean test(Integer v) throws Exception {
+                return v % 2 == 0;
+            }
+        })
+        .test()
+        .assertValueCount(500)
+        .assertNoErrors()
+        .assertComplete();
+    }
+
+    @Test
+    public void adaptivePrefetchAsyncFused() {
+        UnicastProcessor<Integer> up = UnicastProcessor.create();
+
+        TestSubscriber<Integer> ts = up
+        .observeOn(ImmediateThinScheduler.INSTANCE, false, 4, 64)
+        .test();
+
+        for (int i = 0; i < 1000; i++) {
+            up.onNext(i);
+        }
+        up.onComplete();
+
+        ts.assertValueCount(1000)
+        .assertNoErrors()
+        .assertComplete();
+    }
+
+    @Test
+    public void adaptivePrefetchDelayError() {
+        Flowable.range(1, 100)
+        .concatWith(Flowable.<Integer>error(new TestException()))
+        .observeOn(ImmediateThinScheduler.INSTANCE, true, 4, 64)
+        .test()
+        .assertValueCount(100)
+        .assertError(TestException.class)
+        .assertNotComplete();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void adaptivePrefetchMaxLessThanMin() {
+        Flowable.never().observeOn(ImmediateThinScheduler.INSTANCE, false, 16, 8);
+    }
 }
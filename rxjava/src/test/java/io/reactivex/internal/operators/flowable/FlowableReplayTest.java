@@ -17,6 +17,7 @@ import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.io.*;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.*;
@@ -36,6 +37,7 @@ import io.reactivex.internal.functions.Functions;
 import io.reactivex.internal.fuseable.HasUpstreamPublisher;
 import io.reactivex.internal.operators.flowable.FlowableReplay.*;
 import io.reactivex.internal.subscriptions.BooleanSubscription;
+import io.reactivex.internal.util.SegmentSpiller;
 import io.reactivex.plugins.RxJavaPlugins;
 import io.reactivex.processors.PublishProcessor;
 import io.reactivex.schedulers.*;
@@ -1979,4 +1981,235 @@ public class FlowableReplayTest {
 
         assertFalse(fr.current.get().isDisposed());
     }
+
+    @Test
+    public void unboundedSegmentBoundary() {
+        ConnectableFlowable<Integer> cf = Flowable.range(0, 40).replay();
+
+        cf.connect();
+
+        TestSubscriber<Integer> ts = cf.test(15);
+
+        ts.assertValueCount(15);
+
+        ts.request(2);
+
+        ts.assertValueCount(17);
+
+        ts.request(23);
+
+        ts.assertValueCount(40)
+        .assertNoErrors();
+
+        cf.test().assertValueCount(40).assertComplete();
+    }
+
+    @Test
+    public void spill() {
+        ConnectableFlowable<Integer> cf = Flowable.range(0, 1000)
+                .replayWithSpill(16, 2, FlowableCacheTest.INT_SERIALIZER, FlowableCacheTest.TMP);
+
+        TestSubscriber<Integer> ts = cf.test();
+
+        cf.connect();
+
+        ts.assertResult(FlowableCacheTest.range(0, 1000));
+
+        cf.test().assertResult(FlowableCacheTest.range(0, 1000));
+
+        cf.rebatchRequests(7).test().assertResult(FlowableCacheTest.range(0, 1000));
+    }
+
+    @Test
+    public void spillLaggingSubscriber() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        ConnectableFlowable<Integer> cf = pp.replayWithSpill(4, 2, FlowableCacheTest.INT_SERIALIZER, FlowableCacheTest.TMP);
+
+        TestSubscriber<Integer> ts1 = cf.test(3);
+        TestSubscriber<Integer> ts2 = cf.test();
+
+        cf.connect();
+
+        for (int i = 0; i < 20; i++) {
+            pp.onNext(i);
+        }
+
+        ts1.assertValuesOnly(0, 1, 2);
+        ts2.assertValuesOnly(FlowableCacheTest.range(0, 20));
+
+        ts1.request(6);
+
+        ts1.assertValuesOnly(0, 1, 2, 3, 4, 5, 6, 7, 8);
+
+        pp.onError(new TestException());
+
+        ts1.request(Long.MAX_VALUE);
+
+        ts1.assertFailure(TestException.class, FlowableCacheTest.range(0, 20));
+        ts2.assertFailure(TestException.class, FlowableCacheTest.range(0, 20));
+
+        cf.test().assertFailure(TestException.class, FlowableCacheTest.range(0, 20));
+    }
+
+    @Test
+    public void spillReadFails() {
+        SpillSerializer<Integer> serializer = new SpillSerializer<Integer>() {
+            @Override
+            public void serialize(Integer value, DataOutput output) throws Exception {
+                output.writeInt(value);
+            }
+
+            @Override
+            public Integer deserialize(DataInput input) throws Exception {
+                throw new TestException();
+            }
+        };
+
+        ConnectableFlowable<Integer> cf = Flowable.range(0, 100).replayWithSpill(4, 2, serializer, FlowableCacheTest.TMP);
+
+        TestSubscriber<Integer> ts = cf.test();
+
+        cf.connect();
+
+        ts.assertResult(FlowableCacheTest.range(0, 100));
+
+        cf.test().assertFailure(TestException.class);
+    }
+
+    static SegmentSpiller spiller(ConnectableFlowable<Integer> cf) {
+        return ((UnboundedReplayBuffer<?>)((FlowableReplay<Integer>)cf).current.get().buffer).spiller();
+    }
+
+    @Test
+    public void spillFileKeptForLateSubscribersAfterDispose() throws Exception {
+        File dir = FlowableCacheTest.newDirectory();
+        try {
+            ConnectableFlowable<Integer> cf = Flowable.range(0, 1000)
+                    .replayWithSpill(16, 2, FlowableCacheTest.INT_SERIALIZER, dir);
+
+            TestSubscriber<Integer> ts = cf.test();
+
+            Disposable d = cf.connect();
+
+            ts.assertResult(FlowableCacheTest.range(0, 1000));
+
+            SegmentSpiller spiller = spiller(cf);
+
+            d.dispose();
+
+            assertTrue(spiller.isOpen());
+
+            cf.test().assertResult(FlowableCacheTest.range(0, 1000));
+
+            cf.connect();
+
+            assertFalse(spiller.isOpen());
+            assertEquals(0, dir.listFiles().length);
+        } finally {
+            FlowableCacheTest.deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void spillFileClosedAfterRefCountDisconnects() throws Exception {
+        File dir = FlowableCacheTest.newDirectory();
+        try {
+            PublishProcessor<Integer> pp = PublishProcessor.create();
+
+            ConnectableFlowable<Integer> cf = pp.replayWithSpill(4, 2, FlowableCacheTest.INT_SERIALIZER, dir);
+
+            TestSubscriber<Integer> ts = cf.refCount().test();
+
+            SegmentSpiller spiller = spiller(cf);
+
+            for (int i = 0; i < 20; i++) {
+                pp.onNext(i);
+            }
+
+            ts.assertValuesOnly(FlowableCacheTest.range(0, 20));
+
+            assertTrue(spiller.isOpen());
+
+            ts.cancel();
+
+            assertFalse(pp.hasSubscribers());
+            assertFalse(spiller.isOpen());
+            assertEquals(0, dir.listFiles().length);
+        } finally {
+            FlowableCacheTest.deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void spillLaggingSubscriberAfterReconnect() throws Exception {
+        File dir = FlowableCacheTest.newDirectory();
+        try {
+            PublishProcessor<Integer> pp = PublishProcessor.create();
+
+            ConnectableFlowable<Integer> cf = pp.replayWithSpill(4, 2, FlowableCacheTest.INT_SERIALIZER, dir);
+
+            TestSubscriber<Integer> ts1 = cf.test(3);
+            TestSubscriber<Integer> ts2 = cf.test();
+
+            Disposable d = cf.connect();
+
+            SegmentSpiller spiller = spiller(cf);
+
+            for (int i = 0; i < 20; i++) {
+                pp.onNext(i);
+            }
+
+            pp.onComplete();
+
+            ts2.assertResult(FlowableCacheTest.range(0, 20));
+
+            d.dispose();
+
+            cf.connect();
+
+            // ts1 still replays the old connection
+            assertTrue(spiller.isOpen());
+
+            ts1.request(5);
+
+            ts1.assertValuesOnly(0, 1, 2, 3, 4, 5, 6, 7);
+
+            ts1.request(Long.MAX_VALUE);
+
+            ts1.assertResult(FlowableCacheTest.range(0, 20));
+
+            assertFalse(spiller.isOpen());
+        } finally {
+            FlowableCacheTest.deleteDirectory(dir);
+        }
+    }
+
+    @Test
+    public void spillReaderCancelClosesReleasedFile() throws Exception {
+        File dir = FlowableCacheTest.newDirectory();
+        try {
+            ConnectableFlowable<Integer> cf = Flowable.range(0, 100)
+                    .replayWithSpill(4, 2, FlowableCacheTest.INT_SERIALIZER, dir);
+
+            TestSubscriber<Integer> ts1 = cf.test(3);
+            TestSubscriber<Integer> ts2 = cf.test();
+
+            cf.connect();
+
+            SegmentSpiller spiller = spiller(cf);
+
+            ts2.assertResult(FlowableCacheTest.range(0, 100));
+
+            cf.connect();
+
+            assertTrue(spiller.isOpen());
+
+            ts1.cancel();
+
+            assertFalse(spiller.isOpen());
+        } finally {
+            FlowableCacheTest.deleteDirectory(dir);
+        }
+    }
 }
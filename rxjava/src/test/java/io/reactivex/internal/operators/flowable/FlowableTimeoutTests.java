@@ -26,6 +26,7 @@ import org.mockito.InOrder;
 import org.reactivestreams.*;
 
 import io.reactivex.*;
+import io.reactivex.disposables.Disposable;
 import io.reactivex.exceptions.TestException;
 import io.reactivex.internal.subscriptions.BooleanSubscription;
 import io.reactivex.plugins.RxJavaPlugins;
@@ -596,4 +597,130 @@ public class FlowableTimeoutTests {
             }
         }
     }
+
+    @Test
+    public void timeoutRearmsForRemainingTime() {
+        TestScheduler sch = new TestScheduler();
+
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp.timeout(1, TimeUnit.SECONDS, sch).test();
+
+        sch.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+
+        pp.onNext(1);
+
+        sch.advanceTimeBy(999, TimeUnit.MILLISECONDS);
+
+        ts.assertValuesOnly(1);
+
+        sch.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+
+        ts.assertFailure(TimeoutException.class, 1);
+
+        assertFalse(pp.hasSubscribers());
+    }
+
+    @Test
+    public void timeoutRearmsForRemainingTimeFallback() {
+        TestScheduler sch = new TestScheduler();
+
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp.timeout(1, TimeUnit.SECONDS, sch, Flowable.just(2)).test();
+
+        pp.onNext(1);
+
+        sch.advanceTimeBy(700, TimeUnit.MILLISECONDS);
+
+        pp.onNext(2);
+
+        sch.advanceTimeBy(700, TimeUnit.MILLISECONDS);
+
+        pp.onNext(3);
+
+        sch.advanceTimeBy(999, TimeUnit.MILLISECONDS);
+
+        ts.assertValuesOnly(1, 2, 3);
+
+        sch.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+
+        ts.assertResult(1, 2, 3, 2);
+
+        assertFalse(pp.hasSubscribers());
+    }
+
+    /** Keeps its own virtual time by delegating to a TestScheduler. */
+    static final class WrappingScheduler extends Scheduler {
+
+        final TestScheduler actual = new TestScheduler();
+
+        @Override
+        public Worker createWorker() {
+            final Worker w = actual.createWorker();
+            return new Worker() {
+                @Override
+                public Disposable schedule(Runnable run, long delay, TimeUnit unit) {
+                    return w.schedule(run, delay, unit);
+                }
+
+                @Override
+                public long now(TimeUnit unit) {
+                    return w.now(unit);
+                }
+
+                @Override
+                public void dispose() {
+                    w.dispose();
+                }
+
+                @Override
+                public boolean isDisposed() {
+                    return w.isDisposed();
+                }
+            };
+        }
+    }
+
+    @Test
+    public void timeoutWithWrappedVirtualTime() {
+        WrappingScheduler sch = new WrappingScheduler();
+
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp.timeout(1, TimeUnit.SECONDS, sch).test();
+
+        sch.actual.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+
+        pp.onNext(1);
+
+        sch.actual.advanceTimeBy(999, TimeUnit.MILLISECONDS);
+
+        ts.assertValuesOnly(1);
+
+        sch.actual.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+
+        ts.assertFailure(TimeoutException.class, 1);
+    }
+
+    @Test
+    public void timeoutWithWrappedVirtualTimeFallback() {
+        WrappingScheduler sch = new WrappingScheduler();
+
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        TestSubscriber<Integer> ts = pp.timeout(1, TimeUnit.SECONDS, sch, Flowable.just(2)).test();
+
+        sch.actual.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+
+        pp.onNext(1);
+
+        sch.actual.advanceTimeBy(999, TimeUnit.MILLISECONDS);
+
+        ts.assertValuesOnly(1);
+
+        sch.actual.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+
+        ts.assertResult(1, 2);
+    }
 }
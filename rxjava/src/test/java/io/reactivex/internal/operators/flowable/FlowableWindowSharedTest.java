@@ -0,0 +1,324 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.reactivex.internal.operators.flowable;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+
+import io.reactivex.*;
+import io.reactivex.exceptions.TestException;
+import io.reactivex.functions.*;
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+
+public class FlowableWindowSharedTest {
+
+    static final Function<Flowable<Integer>, Publisher<List<Integer>>> TO_LIST =
+            new Function<Flowable<Integer>, Publisher<List<Integer>>>() {
+        @Override
+        public Publisher<List<Integer>> apply(Flowable<Integer> w) throws Exception {
+            return w.toList().toFlowable();
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void exact() {
+        Flowable.range(1, 7)
+        .windowShared(3)
+        .concatMap(TO_LIST)
+        .test()
+        .assertResult(Arrays.asList(1, 2, 3), Arrays.asList(4, 5, 6), Arrays.asList(7));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void windowsBufferedUntilSubscribed() {
+        TestSubscriber<Flowable<Integer>> ts = Flowable.range(1, 5)
+        .windowShared(2, 2)
+        .test();
+
+        ts.assertValueCount(3)
+        .assertComplete();
+
+        ts.values().get(2).test().assertResult(5);
+        ts.values().get(0).test().assertResult(1, 2);
+        ts.values().get(1).test().assertResult(3, 4);
+    }
+
+    @Test
+    public void manySegments() {
+        for (int segment : new int[] { 1, 2, 3, 16 }) {
+            for (int size : new int[] { 1, 2, 5, 16, 100 }) {
+                List<Integer> expected = new ArrayList<Integer>();
+                for (int i = 0; i < 1000; i++) {
+                    expected.add(i);
+                }
+
+                Flowable.range(0, 1000)
+                .windowShared(size, segment)
+                .concatMap(new Function<Flowable<Integer>, Publisher<Integer>>() {
+                    @Override
+                    public Publisher<Integer> apply(Flowable<Integer> w) throws Exception {
+                        return w;
+                    }
+                }, 1)
+                .toList()
+                .test()
+                .assertResult(expected);
+            }
+        }
+    }
+
+    @Test
+    public void backpressuredWindow() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        final TestSubscriber<Integer> ts = new TestSubscriber<Integer>(1L);
+
+        pp.windowShared(5, 2)
+        .subscribe(new Consumer<Flowable<Integer>>() {
+            @Override
+            public void accept(Flowable<Integer> w) throws Exception {
+                w.subscribe(ts);
+            }
+        });
+
+        pp.onNext(1);
+        pp.onNext(2);
+        pp.onNext(3);
+
+        ts.assertValues(1);
+
+        ts.request(1);
+
+        ts.assertValues(1, 2);
+
+        pp.onNext(4);
+        pp.onNext(5);
+
+        ts.assertValues(1, 2)
+        .assertNotComplete();
+
+        ts.request(2);
+
+        ts.assertValues(1, 2, 3, 4)
+        .assertNotComplete();
+
+        ts.request(1);
+
+        ts.assertResult(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    public void outerBackpressure() {
+        TestSubscriber<Flowable<Integer>> ts = Flowable.range(1, 10)
+        .windowShared(3)
+        .test(0L);
+
+        ts.assertEmpty();
+
+        ts.request(2);
+
+        ts.assertValueCount(2)
+        .assertNotComplete();
+
+        ts.request(2);
+
+        ts.assertValueCount(4)
+        .assertComplete();
+    }
+
+    @Test
+    public void onlySingleSubscriber() {
+        TestSubscriber<Flowable<Integer>> ts = Flowable.range(1, 2)
+        .windowShared(2)
+        .test();
+
+        Flowable<Integer> w = ts.values().get(0);
+
+        w.test().assertResult(1, 2);
+
+        w.test().assertFailure(IllegalStateException.class);
+    }
+
+    @Test
+    public void error() {
+        final List<TestSubscriber<Integer>> windows = new ArrayList<TestSubscriber<Integer>>();
+
+        Flowable.range(1, 3).concatWith(Flowable.<Integer>error(new TestException()))
+        .windowShared(2)
+        .doOnNext(new Consumer<Flowable<Integer>>() {
+            @Override
+            public void accept(Flowable<Integer> w) throws Exception {
+                windows.add(w.test());
+            }
+        })
+        .test()
+        .assertValueCount(2)
+        .assertError(TestException.class)
+        .assertNotComplete();
+
+        windows.get(0).assertResult(1, 2);
+        windows.get(1).assertFailure(TestException.class, 3);
+    }
+
+    @Test
+    public void errorDelayedAfterBufferedItems() {
+        TestSubscriber<Flowable<Integer>> ts = Flowable.range(1, 3).concatWith(Flowable.<Integer>error(new TestException()))
+        .windowShared(5)
+        .test();
+
+        ts.assertValueCount(1)
+        .assertError(TestException.class)
+        .assertNotComplete();
+
+        ts.values().get(0).test().assertFailure(TestException.class, 1, 2, 3);
+    }
+
+    @Test
+    public void cancelWindowAndMainCancelsUpstream() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        final List<TestSubscriber<Integer>> windows = new ArrayList<TestSubscriber<Integer>>();
+
+        TestSubscriber<Flowable<Integer>> ts = pp.windowShared(3)
+        .doOnNext(new Consumer<Flowable<Integer>>() {
+            @Override
+            public void accept(Flowable<Integer> w) throws Exception {
+                windows.add(w.test());
+            }
+        })
+        .test();
+
+        pp.onNext(1);
+
+        ts.cancel();
+
+        assertTrue(pp.hasSubscribers());
+
+        pp.onNext(2);
+
+        windows.get(0).assertValues(1, 2);
+
+        windows.get(0).cancel();
+
+        assertFalse(pp.hasSubscribers());
+    }
+
+    @Test
+    public void cancelledWindowDropsItems() {
+        PublishProcessor<Integer> pp = PublishProcessor.create();
+
+        final List<TestSubscriber<Integer>> windows = new ArrayList<TestSubscriber<Integer>>();
+
+        pp.windowShared(3)
+        .doOnNext(new Consumer<Flowable<Integer>>() {
+            @Override
+            public void accept(Flowable<Integer> w) throws Exception {
+                windows.add(w.test());
+            }
+        })
+        .test();
+
+        pp.onNext(1);
+
+        windows.get(0).cancel();
+
+        pp.onNext(2);
+        pp.onNext(3);
+        pp.onNext(4);
+
+        windows.get(0).assertValues(1);
+        windows.get(1).assertValues(4);
+    }
+
+    @Test
+    public void take() {
+        Flowable.range(1, 10)
+        .windowShared(3)
+        .take(2)
+        .flatMap(new Function<Flowable<Integer>, Publisher<Integer>>() {
+            @Override
+            public Publisher<Integer> apply(Flowable<Integer> w) throws Exception {
+                return w;
+            }
+        })
+        .test()
+        .assertResult(1, 2, 3, 4, 5, 6);
+    }
+
+    @Test
+    public void fusedAsyncWindows() {
+        for (int i = 0; i < 20; i++) {
+            Flowable.range(0, 10000)
+            .windowShared(100, 16)
+            .flatMap(new Function<Flowable<Integer>, Publisher<Integer>>() {
+                @Override
+                public Publisher<Integer> apply(Flowable<Integer> w) throws Exception {
+                    return w.observeOn(Schedulers.computation());
+                }
+            })
+            .test()
+            .awaitDone(5, TimeUnit.SECONDS)
+            .assertValueCount(10000)
+            .assertNoErrors()
+            .assertComplete();
+        }
+    }
+
+    @Test
+    public void asyncSourceSyncConsumers() {
+        for (int i = 0; i < 20; i++) {
+            Flowable.range(0, 10000)
+            .subscribeOn(Schedulers.computation())
+            .windowShared(64, 16)
+            .concatMap(new Function<Flowable<Integer>, Publisher<Integer>>() {
+                @Override
+                public Publisher<Integer> apply(Flowable<Integer> w) throws Exception {
+                    return w.rebatchRequests(7);
+                }
+            })
+            .observeOn(Schedulers.single())
+            .test()
+            .awaitDone(5, TimeUnit.SECONDS)
+            .assertValueCount(10000)
+            .assertNoErrors()
+            .assertComplete();
+        }
+    }
+
+    @Test
+    public void dispose() {
+        TestHelper.checkDisposed(PublishProcessor.create().windowShared(1));
+    }
+
+    @Test
+    public void doubleOnSubscribe() {
+        TestHelper.checkDoubleOnSubscribeFlowable(new Function<Flowable<Object>, Flowable<Flowable<Object>>>() {
+            @Override
+            public Flowable<Flowable<Object>> apply(Flowable<Object> f) throws Exception {
+                return f.windowShared(2);
+            }
+        });
+    }
+}
@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.operators.observable;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.reactivex.*;
+import io.reactivex.exceptions.TestException;
+import io.reactivex.functions.*;
+import io.reactivex.internal.functions.Functions;
+import io.reactivex.internal.fuseable.QueueFuseable;
+import io.reactivex.observers.*;
+import io.reactivex.subjects.UnicastSubject;
+
+public class ObservableMapFilterChainTest {
+
+    static final Function<Integer, Integer> PLUS_ONE = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer v) throws Exception {
+            return v + 1;
+        }
+    };
+
+    static final Predicate<Integer> EVEN = new Predicate<Integer>() {
+        @Override
+        public boolean test(Integer v) throws Exception {
+            return v % 2 == 0;
+        }
+    };
+
+    @Test
+    public void singleStageIsNotChained() {
+        assertTrue(Observable.range(1, 5).map(PLUS_ONE) instanceof ObservableMap);
+        assertTrue(Observable.range(1, 5).filter(EVEN) instanceof ObservableFilter);
+        assertTrue(Observable.range(1, 5).doOnNext(Functions.emptyConsumer()) instanceof ObservableDoOnEach);
+    }
+
+    @Test
+    public void adjacentStagesCollapse() {
+        Observable<Integer> source = Observable.range(1, 5);
+        Observable<Integer> o = source
+                .map(PLUS_ONE)
+                .filter(EVEN)
+                .doOnNext(Functions.emptyConsumer())
+                .map(PLUS_ONE);
+
+        assertTrue(o instanceof ObservableMapFilterChain);
+        ObservableMapFilterChain<?, ?> chain = (ObservableMapFilterChain<?, ?>)o;
+        assertSame(source, chain.source());
+        assertEquals(4, chain.stages.size());
+    }
+
+    @Test
+    public void doOnEachIsNotChained() {
+        Observable<Integer> o = Observable.range(1, 5)
+                .doOnComplete(new Action() {
+                    @Override
+                    public void run() throws Exception {
+                    }
+                })
+                .map(PLUS_ONE);
+
+        assertTrue(o instanceof ObservableMap);
+    }
+
+    @Test
+    public void mixedStages() {
+        final List<Integer> peeked = new ArrayList<Integer>();
+
+        Observable.range(1, 10)
+        .filter(EVEN)
+        .doOnNext(new Consumer<Integer>() {
+            @Override
+            public void accept(Integer v) throws Exception {
+                peeked.add(v);
+            }
+        })
+        .map(PLUS_ONE)
+        .map(new Function<Integer, String>() {
+            @Override
+            public String apply(Integer v) throws Exception {
+                return "" + v;
+            }
+        })
+        .test()
+        .assertResult("3", "5", "7", "9", "11");
+
+        assertEquals(Arrays.asList(2, 4, 6, 8, 10), peeked);
+    }
+
+    @Test
+    public void mapperThrows() {
+        Observable.range(1, 5)
+        .hide()
+        .filter(Functions.alwaysTrue())
+        .map(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer v) throws Exception {
+                if (v == 3) {
+                    throw new TestException();
+                }
+                return v;
+            }
+        })
+        .test()
+        .assertFailure(TestException.class, 1, 2);
+    }
+
+    @Test
+    public void mapperReturnsNull() {
+        Observable.range(1, 5)
+        .filter(Functions.alwaysTrue())
+        .map(new Function<Integer, Object>() {
+            @Override
+            public Object apply(Integer v) throws Exception {
+                return null;
+            }
+        })
+        .test()
+        .assertFailure(NullPointerException.class);
+    }
+
+    @Test
+    public void fusedSync() {
+        TestObserver<Integer> to = ObserverFusion.newTest(QueueFuseable.ANY);
+
+        Observable.range(1, 10)
+        .map(PLUS_ONE)
+        .filter(EVEN)
+        .subscribe(to);
+
+        ObserverFusion.assertFusion(to, QueueFuseable.SYNC)
+        .assertResult(2, 4, 6, 8, 10);
+    }
+
+    @Test
+    public void fusedAsync() {
+        TestObserver<Integer> to = ObserverFusion.newTest(QueueFuseable.ANY);
+
+        UnicastSubject<Integer> us = UnicastSubject.create();
+
+        us
+        .map(PLUS_ONE)
+        .filter(EVEN)
+        .subscribe(to);
+
+        for (int i = 1; i <= 10; i++) {
+            us.onNext(i);
+        }
+        us.onComplete();
+
+        ObserverFusion.assertFusion(to, QueueFuseable.ASYNC)
+        .assertResult(2, 4, 6, 8, 10);
+    }
+
+    @Test
+    public void fusedBoundaryRejected() {
+        TestObserver<Integer> to = ObserverFusion.newTest(QueueFuseable.ANY | QueueFuseable.BOUNDARY);
+
+        Observable.range(1, 10)
+        .map(PLUS_ONE)
+        .filter(EVEN)
+        .subscribe(to);
+
+        ObserverFusion.assertFusion(to, QueueFuseable.NONE)
+        .assertResult(2, 4, 6, 8, 10);
+    }
+
+    @Test
+    public void doubleOnSubscribe() {
+        TestHelper.checkDoubleOnSubscribeObservable(new Function<Observable<Object>, Observable<Object>>() {
+            @Override
+            public Observable<Object> apply(Observable<Object> o) throws Exception {
+                return o.map(Functions.identity()).filter(Functions.alwaysTrue());
+            }
+        });
+    }
+
+    @Test
+    public void badSource() {
+        TestHelper.checkBadSourceObservable(new Function<Observable<Integer>, Object>() {
+            @Override
+            public Object apply(Observable<Integer> o) throws Exception {
+                return o.map(PLUS_ONE).filter(Functions.alwaysTrue());
+            }
+        }, false, 1, 1, 2);
+    }
+}
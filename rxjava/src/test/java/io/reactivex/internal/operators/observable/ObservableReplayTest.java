@@ -1716,4 +1716,19 @@ public class ObservableReplayTest {
 
         assertSame(o, buf.get());
     }
+
+    @Test
+    public void unboundedSegmentBoundary() {
+        ConnectableObservable<Integer> co = Observable.range(0, 40).replay();
+
+        TestObserver<Integer> to = co.test();
+
+        co.connect();
+
+        to.assertValueCount(40)
+        .assertNoErrors()
+        .assertComplete();
+
+        co.test().assertValueCount(40).assertComplete();
+    }
 }
@@ -20,10 +20,13 @@ package io.reactivex.internal.queue;
 
 import static org.junit.Assert.*;
 
+import java.util.*;
 import java.util.concurrent.atomic.*;
 
 import org.junit.Test;
 
+import io.reactivex.internal.fuseable.SimpleBatchQueue;
+
 public class SimpleQueueTest {
 
     @Test(expected = NullPointerException.class)
@@ -174,4 +177,242 @@ public class SimpleQueueTest {
 
         assertNull(ara.get(16));
     }
+
+    @Test(expected = NullPointerException.class)
+    public void mpscLinkedArrayQueueNull() {
+        MpscLinkedArrayQueue<Object> q = new MpscLinkedArrayQueue<Object>();
+        q.offer(null);
+    }
+
+    @Test
+    public void mpscLinkedArrayQueueBiOffer() {
+        MpscLinkedArrayQueue<Object> q = new MpscLinkedArrayQueue<Object>();
+        q.offer(1, 2);
+
+        assertEquals(1, q.poll());
+        assertEquals(2, q.poll());
+        assertNull(q.poll());
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    public void mpscLinkedArrayQueueManyChunks() {
+        MpscLinkedArrayQueue<Integer> q = new MpscLinkedArrayQueue<Integer>(4);
+
+        for (int i = 0; i < 100; i++) {
+            q.offer(i);
+        }
+
+        assertFalse(q.isEmpty());
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, q.poll().intValue());
+        }
+
+        assertNull(q.poll());
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    public void mpscLinkedArrayQueueRecyclesChunk() {
+        MpscLinkedArrayQueue<Integer> q = new MpscLinkedArrayQueue<Integer>(4);
+
+        Set<Object> chunks = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
+        for (int i = 0; i < 100; i++) {
+            q.offer(i);
+            q.offer(i);
+            chunks.add(q.producerChunk.get());
+            assertEquals(i, q.poll().intValue());
+            assertEquals(i, q.poll().intValue());
+        }
+
+        assertEquals(2, chunks.size());
+    }
+
+    @Test
+    public void mpscLinkedArrayQueueClear() {
+        MpscLinkedArrayQueue<Integer> q = new MpscLinkedArrayQueue<Integer>(4);
+
+        for (int i = 0; i < 10; i++) {
+            q.offer(i);
+        }
+
+        q.clear();
+
+        assertTrue(q.isEmpty());
+        assertNull(q.poll());
+
+        q.offer(10);
+
+        assertEquals(10, q.poll().intValue());
+    }
+
+    @Test
+    public void mpscLinkedArrayQueueOfferPollRace() throws Exception {
+        final MpscLinkedArrayQueue<Integer> q = new MpscLinkedArrayQueue<Integer>(8);
+
+        final int n = 100000;
+        final AtomicInteger c = new AtomicInteger(3);
+
+        Thread t1 = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                c.decrementAndGet();
+                while (c.get() != 0) { }
+
+                for (int i = 0; i < n; i++) {
+                    q.offer(i);
+                }
+            }
+        });
+        t1.start();
+
+        Thread t2 = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                c.decrementAndGet();
+                while (c.get() != 0) { }
+
+                for (int i = n; i < 2 * n; i++) {
+                    q.offer(i);
+                }
+            }
+        });
+        t2.start();
+
+        c.decrementAndGet();
+        while (c.get() != 0) { }
+
+        int last1 = -1;
+        int last2 = n - 1;
+        int received = 0;
+        while (received < 2 * n) {
+            Integer v = q.poll();
+            if (v != null) {
+                if (v < n) {
+                    assertEquals(last1 + 1, v.intValue());
+                    last1 = v;
+                } else {
+                    assertEquals(last2 + 1, v.intValue());
+                    last2 = v;
+                }
+                received++;
+            }
+        }
+
+        t1.join();
+        t2.join();
+
+        assertTrue(q.isEmpty());
+        assertNull(q.poll());
+    }
+
+    static final class ListConsumer implements SimpleBatchQueue.ElementConsumer<Integer> {
+        final List<Integer> list = new ArrayList<Integer>();
+        final int stopAt;
+
+        ListConsumer(int stopAt) {
+            this.stopAt = stopAt;
+        }
+
+        @Override
+        public boolean accept(Integer element) {
+            list.add(element);
+            return element != stopAt;
+        }
+    }
+
+    static final class RangeSupplier implements SimpleBatchQueue.ElementSupplier<Integer> {
+        int next;
+
+        @Override
+        public Integer get() {
+            return next++;
+        }
+    }
+
+    void checkDrainFill(SimpleBatchQueue<Integer> q, int expectedFill) {
+        RangeSupplier supplier = new RangeSupplier();
+
+        assertEquals(expectedFill, q.fill(supplier, 20));
+        assertFalse(q.isEmpty());
+
+        ListConsumer consumer = new ListConsumer(-1);
+        assertEquals(5, q.drain(consumer, 5));
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), consumer.list);
+
+        consumer = new ListConsumer(7);
+        assertEquals(3, q.drain(consumer, 100));
+        assertEquals(Arrays.asList(5, 6, 7), consumer.list);
+
+        assertEquals(8, q.poll().intValue());
+
+        consumer = new ListConsumer(-1);
+        assertEquals(expectedFill - 9, q.drain(consumer, 100));
+        assertTrue(q.isEmpty());
+        assertNull(q.poll());
+        assertEquals(0, q.drain(consumer, 100));
+
+        q.offer(100);
+        assertEquals(1, q.fill(supplier, 1));
+        assertEquals(100, q.poll().intValue());
+        assertEquals(expectedFill, q.poll().intValue());
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    public void spscArrayQueueDrainFill() {
+        checkDrainFill(new SpscArrayQueue<Integer>(16), 16);
+    }
+
+    @Test
+    public void spscLinkedArrayQueueDrainFill() {
+        checkDrainFill(new SpscLinkedArrayQueue<Integer>(8), 20);
+    }
+
+    @Test
+    public void spscArrayQueueDrainWraps() {
+        SpscArrayQueue<Integer> q = new SpscArrayQueue<Integer>(8);
+        RangeSupplier supplier = new RangeSupplier();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(6, q.fill(supplier, 6));
+            ListConsumer consumer = new ListConsumer(-1);
+            assertEquals(6, q.drain(consumer, 10));
+            assertEquals(i * 6 + 5, consumer.list.get(5).intValue());
+        }
+    }
+
+    @Test
+    public void spscArrayQueueDrainFillRace() throws Exception {
+        final SpscArrayQueue<Integer> q = new SpscArrayQueue<Integer>(64);
+        final int n = 100000;
+
+        Thread t = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                RangeSupplier supplier = new RangeSupplier();
+                while (supplier.next < n) {
+                    q.fill(supplier, Math.min(16, n - supplier.next));
+                }
+            }
+        });
+        t.start();
+
+        final int[] expected = { 0 };
+        SimpleBatchQueue.ElementConsumer<Integer> consumer = new SimpleBatchQueue.ElementConsumer<Integer>() {
+            @Override
+            public boolean accept(Integer element) {
+                assertEquals(expected[0]++, element.intValue());
+                return true;
+            }
+        };
+        while (expected[0] < n) {
+            q.drain(consumer, 32);
+        }
+
+        t.join();
+        assertTrue(q.isEmpty());
+    }
 }
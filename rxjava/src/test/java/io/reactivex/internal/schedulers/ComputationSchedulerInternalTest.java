@@ -16,8 +16,17 @@
 package io.reactivex.internal.schedulers;
 
 import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
 import org.junit.Test;
 
+import io.reactivex.Scheduler.Worker;
+import io.reactivex.TestHelper;
+import io.reactivex.internal.functions.Functions;
+import io.reactivex.internal.schedulers.ComputationScheduler.*;
+
 public class ComputationSchedulerInternalTest {
 
     @Test
@@ -29,4 +38,239 @@ public class ComputationSchedulerInternalTest {
         assertEquals(8, ComputationScheduler.cap(8, 9));
         assertEquals(8, ComputationScheduler.cap(8, 16));
     }
+
+    @Test
+    public void workStealingPicksLeastLoaded() {
+        FixedSchedulerPool pool = new FixedSchedulerPool(3, new RxThreadFactory("RxWorkStealingTest"), true, false);
+        try {
+            pool.eventLoops[0].load.set(5);
+            pool.eventLoops[1].load.set(2);
+            pool.eventLoops[2].load.set(7);
+
+            for (int i = 0; i < 6; i++) {
+                assertSame(pool.eventLoops[1], pool.getEventLoop());
+            }
+
+            pool.eventLoops[2].load.set(0);
+
+            assertSame(pool.eventLoops[2], pool.getEventLoop());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void roundRobinWithoutWorkStealing() {
+        FixedSchedulerPool pool = new FixedSchedulerPool(2, new RxThreadFactory("RxWorkStealingTest"), false, false);
+        try {
+            pool.eventLoops[0].load.set(5);
+
+            assertSame(pool.eventLoops[0], pool.getEventLoop());
+            assertSame(pool.eventLoops[1], pool.getEventLoop());
+            assertSame(pool.eventLoops[0], pool.getEventLoop());
+
+            assertTrue(pool.createWorker(pool.eventLoops[0]) instanceof EventLoopWorker);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void idleThreadStealsFromBusyThread() throws Exception {
+        FixedSchedulerPool pool = new FixedSchedulerPool(2, new RxThreadFactory("RxWorkStealingTest"), true, false);
+        try {
+            PoolWorker home = pool.eventLoops[0];
+            Worker w1 = pool.createWorker(home);
+            Worker w2 = pool.createWorker(home);
+
+            final CountDownLatch blocking = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final CountDownLatch stolen = new CountDownLatch(1);
+
+            w1.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    blocking.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        // ignored
+                    }
+                }
+            });
+
+            assertTrue(blocking.await(5, TimeUnit.SECONDS));
+
+            w2.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    stolen.countDown();
+                }
+            });
+
+            assertTrue(stolen.await(5, TimeUnit.SECONDS));
+
+            release.countDown();
+
+            w1.dispose();
+            w2.dispose();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void workStealingKeepsWorkerOrder() throws Exception {
+        FixedSchedulerPool pool = new FixedSchedulerPool(2, new RxThreadFactory("RxWorkStealingTest"), true, false);
+        try {
+            final int n = 10000;
+            final List<Integer> list = new ArrayList<Integer>();
+            final CountDownLatch done = new CountDownLatch(1);
+
+            final Worker w = pool.createWorker(pool.eventLoops[0]);
+            Worker other = pool.createWorker(pool.eventLoops[0]);
+
+            for (int i = 0; i < n; i++) {
+                final int j = i;
+                w.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        list.add(j);
+                        if (j == n - 1) {
+                            done.countDown();
+                        }
+                    }
+                });
+                if (i % 100 == 0) {
+                    other.schedule(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                Thread.sleep(1);
+                            } catch (InterruptedException ex) {
+                                // ignored
+                            }
+                        }
+                    });
+                }
+            }
+
+            final CountDownLatch otherDone = new CountDownLatch(1);
+            other.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    otherDone.countDown();
+                }
+            });
+
+            assertTrue(done.await(15, TimeUnit.SECONDS));
+            assertTrue(otherDone.await(15, TimeUnit.SECONDS));
+
+            assertEquals(n, list.size());
+            for (int i = 0; i < n; i++) {
+                assertEquals(i, list.get(i).intValue());
+            }
+
+            w.dispose();
+            other.dispose();
+
+            assertEquals(0, pool.eventLoops[0].load.get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void workStealingDelayedAndDispose() throws Exception {
+        FixedSchedulerPool pool = new FixedSchedulerPool(2, new RxThreadFactory("RxWorkStealingTest"), true, false);
+        try {
+            Worker w = pool.createWorker(pool.eventLoops[1]);
+
+            final CountDownLatch delayed = new CountDownLatch(1);
+
+            w.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    delayed.countDown();
+                }
+            }, 50, TimeUnit.MILLISECONDS);
+
+            assertTrue(delayed.await(5, TimeUnit.SECONDS));
+
+            final int[] calls = { 0 };
+
+            w.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    calls[0]++;
+                }
+            }, 100, TimeUnit.MILLISECONDS);
+
+            w.dispose();
+
+            assertTrue(w.isDisposed());
+
+            Thread.sleep(200);
+
+            assertEquals(0, calls[0]);
+            assertEquals(0, pool.eventLoops[1].load.get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(timeout = 60000)
+    public void workStealingDisposeScheduleRaceRestoresLoad() throws Exception {
+        FixedSchedulerPool pool = new FixedSchedulerPool(2, new RxThreadFactory("RxWorkStealingTest"), true, false);
+        try {
+            final PoolWorker home = pool.eventLoops[0];
+            for (int i = 0; i < TestHelper.RACE_DEFAULT_LOOPS; i++) {
+                final Worker w = pool.createWorker(home);
+
+                Runnable r1 = new Runnable() {
+                    @Override
+                    public void run() {
+                        w.dispose();
+                    }
+                };
+
+                Runnable r2 = new Runnable() {
+                    @Override
+                    public void run() {
+                        w.schedule(Functions.EMPTY_RUNNABLE);
+                    }
+                };
+
+                TestHelper.race(r1, r2);
+
+                // a task that won the race may still be running on the event loop
+                for (int j = 0; j < 1000 && home.load.get() != 0; j++) {
+                    Thread.sleep(1);
+                }
+
+                assertEquals(0, home.load.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void workStealingEnqueueAfterDisposeRestoresLoad() {
+        FixedSchedulerPool pool = new FixedSchedulerPool(2, new RxThreadFactory("RxWorkStealingTest"), true, false);
+        try {
+            PoolWorker home = pool.eventLoops[0];
+            WorkStealingWorker w = (WorkStealingWorker)pool.createWorker(home);
+
+            w.dispose();
+
+            // a schedule() call that passed the disposed check right before the dispose()
+            w.enqueue(Functions.EMPTY_RUNNABLE);
+
+            assertEquals(0, home.load.get());
+            assertTrue(w.queue.isEmpty());
+        } finally {
+            pool.shutdown();
+        }
+    }
 }
@@ -0,0 +1,305 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.schedulers;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.junit.*;
+
+import io.reactivex.*;
+import io.reactivex.Scheduler.Worker;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.exceptions.TestException;
+import io.reactivex.functions.Function;
+import io.reactivex.internal.functions.Functions;
+import io.reactivex.plugins.RxJavaPlugins;
+import io.reactivex.schedulers.*;
+
+public class SchedulerMetricsTest {
+
+    static final class Sample {
+        final long waitNanos;
+        final long runNanos;
+        final int queueDepth;
+        final String thread;
+
+        Sample(long waitNanos, long runNanos, int queueDepth) {
+            this.waitNanos = waitNanos;
+            this.runNanos = runNanos;
+            this.queueDepth = queueDepth;
+            this.thread = Thread.currentThread().getName();
+        }
+    }
+
+    final BlockingQueue<Sample> samples = new LinkedBlockingQueue<Sample>();
+
+    @Before
+    public void before() {
+        RxJavaPlugins.setSchedulerMetricsListener(new SchedulerMetricsListener() {
+            @Override
+            public void onTaskRun(long waitNanos, long runNanos, int queueDepth) {
+                samples.offer(new Sample(waitNanos, runNanos, queueDepth));
+            }
+        });
+    }
+
+    @After
+    public void after() {
+        RxJavaPlugins.reset();
+    }
+
+    Sample take() throws InterruptedException {
+        Sample s = samples.poll(5, TimeUnit.SECONDS);
+        assertNotNull("No sample", s);
+        return s;
+    }
+
+    static Runnable sleeper(final long millis) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(millis);
+                } catch (InterruptedException ex) {
+                    throw new RuntimeException(ex);
+                }
+            }
+        };
+    }
+
+    void checkWorker(Scheduler scheduler, String threadPrefix) throws Exception {
+        Worker w = scheduler.createWorker();
+        try {
+            w.schedule(sleeper(50));
+            w.schedule(Functions.EMPTY_RUNNABLE);
+
+            Sample first = take();
+            Sample second = take();
+
+            assertTrue(first.thread, first.thread.startsWith(threadPrefix));
+            assertTrue(first.runNanos >= TimeUnit.MILLISECONDS.toNanos(40));
+            // the second task waited while the first one ran
+            assertTrue(second.waitNanos >= TimeUnit.MILLISECONDS.toNanos(40));
+            assertTrue(String.valueOf(first.queueDepth), first.queueDepth >= 0);
+        } finally {
+            w.dispose();
+        }
+    }
+
+    void checkDelayed(Scheduler scheduler) throws Exception {
+        Worker w = scheduler.createWorker();
+        try {
+            w.schedule(Functions.EMPTY_RUNNABLE, 100, TimeUnit.MILLISECONDS);
+
+            // the delay doesn't count as waiting
+            assertTrue(take().waitNanos < TimeUnit.MILLISECONDS.toNanos(90));
+        } finally {
+            w.dispose();
+        }
+
+        Disposable d = scheduler.scheduleDirect(Functions.EMPTY_RUNNABLE, 100, TimeUnit.MILLISECONDS);
+        try {
+            assertTrue(take().waitNanos < TimeUnit.MILLISECONDS.toNanos(90));
+        } finally {
+            d.dispose();
+        }
+    }
+
+    void checkPeriodic(Scheduler scheduler) throws Exception {
+        Disposable d = scheduler.schedulePeriodicallyDirect(Functions.EMPTY_RUNNABLE, 10, 50, TimeUnit.MILLISECONDS);
+        try {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(take().waitNanos < TimeUnit.MILLISECONDS.toNanos(45));
+            }
+        } finally {
+            d.dispose();
+        }
+    }
+
+    @Test
+    public void computation() throws Exception {
+        checkWorker(Schedulers.computation(), "RxComputationThreadPool");
+        checkDelayed(Schedulers.computation());
+        checkPeriodic(Schedulers.computation());
+    }
+
+    @Test
+    public void computationWorkStealing() throws Exception {
+        Scheduler s = new ComputationScheduler(new RxThreadFactory("RxComputationMetrics"), true);
+        try {
+            checkWorker(s, "RxComputationMetrics");
+            checkDelayed(s);
+        } finally {
+            s.shutdown();
+        }
+    }
+
+    @Test
+    public void io() throws Exception {
+        checkWorker(Schedulers.io(), "RxCachedThreadScheduler");
+        checkDelayed(Schedulers.io());
+    }
+
+    @Test
+    public void single() throws Exception {
+        checkWorker(Schedulers.single(), "RxSingleScheduler");
+        checkDelayed(Schedulers.single());
+        checkPeriodic(Schedulers.single());
+    }
+
+    @Test
+    public void newThread() throws Exception {
+        checkWorker(Schedulers.newThread(), "RxNewThreadScheduler");
+        checkDelayed(Schedulers.newThread());
+    }
+
+    @Test
+    public void executor() throws Exception {
+        ExecutorService exec = Executors.newSingleThreadExecutor();
+        try {
+            checkWorker(Schedulers.from(exec), "pool-");
+            checkDelayed(Schedulers.from(exec));
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test
+    public void scheduledExecutor() throws Exception {
+        ScheduledExecutorService exec = Executors.newScheduledThreadPool(1);
+        try {
+            checkWorker(Schedulers.from(exec), "pool-");
+            checkDelayed(Schedulers.from(exec));
+            checkPeriodic(Schedulers.from(exec));
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    @Test
+    public void queueDepthOfBacklog() throws Exception {
+        Worker w = Schedulers.single().createWorker();
+        try {
+            final CountDownLatch cdl = new CountDownLatch(1);
+            w.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        cdl.await();
+                    } catch (InterruptedException ex) {
+                        throw new RuntimeException(ex);
+                    }
+                }
+            });
+            for (int i = 0; i < 5; i++) {
+                w.schedule(Functions.EMPTY_RUNNABLE);
+            }
+            cdl.countDown();
+
+            List<Integer> depths = new ArrayList<Integer>();
+            for (int i = 0; i < 6; i++) {
+                depths.add(take().queueDepth);
+            }
+            assertEquals(Arrays.asList(4, 3, 2, 1, 0), depths.subList(1, 6));
+        } finally {
+            w.dispose();
+        }
+    }
+
+    @Test
+    public void taskThrows() throws Exception {
+        List<Throwable> errors = TestHelper.trackPluginErrors();
+        Worker w = Schedulers.single().createWorker();
+        try {
+            w.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    throw new TestException();
+                }
+            });
+
+            take();
+
+            // the error is reported after the listener has been called
+            for (int i = 0; i < 50 && errors.isEmpty(); i++) {
+                Thread.sleep(10);
+            }
+
+            TestHelper.assertUndeliverable(errors, 0, TestException.class);
+        } finally {
+            w.dispose();
+            RxJavaPlugins.reset();
+        }
+    }
+
+    @Test
+    public void listenerThrows() throws Exception {
+        List<Throwable> errors = TestHelper.trackPluginErrors();
+        try {
+            RxJavaPlugins.setSchedulerMetricsListener(new SchedulerMetricsListener() {
+                @Override
+                public void onTaskRun(long waitNanos, long runNanos, int queueDepth) {
+                    throw new TestException();
+                }
+            });
+
+            assertEquals(1, Flowable.just(1).observeOn(Schedulers.single()).blockingSingle().intValue());
+
+            for (int i = 0; i < 50 && errors.isEmpty(); i++) {
+                Thread.sleep(10);
+            }
+
+            TestHelper.assertUndeliverable(errors, 0, TestException.class);
+        } finally {
+            RxJavaPlugins.reset();
+        }
+    }
+
+    @Test
+    public void noListenerNoWrapper() {
+        RxJavaPlugins.reset();
+
+        Runnable r = Functions.EMPTY_RUNNABLE;
+        assertSame(r, MeasuredRunnable.wrap(r, null, 0L, TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void introspection() {
+        Runnable r = Functions.EMPTY_RUNNABLE;
+        Runnable m = MeasuredRunnable.wrap(r, null, 0L, TimeUnit.NANOSECONDS);
+
+        assertTrue(m instanceof SchedulerRunnableIntrospection);
+        assertSame(r, ((SchedulerRunnableIntrospection)m).getWrappedRunnable());
+
+        m.run();
+        assertEquals(-1, samples.poll().queueDepth);
+    }
+
+    @Test
+    public void hookIsMeasured() throws Exception {
+        RxJavaPlugins.setScheduleHandler(new Function<Runnable, Runnable>() {
+            @Override
+            public Runnable apply(Runnable r) throws Exception {
+                return sleeper(50);
+            }
+        });
+
+        Schedulers.single().scheduleDirect(Functions.EMPTY_RUNNABLE);
+
+        assertTrue(take().runNanos >= TimeUnit.MILLISECONDS.toNanos(40));
+    }
+}
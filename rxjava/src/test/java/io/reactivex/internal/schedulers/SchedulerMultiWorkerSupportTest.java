@@ -23,6 +23,7 @@ import org.junit.Test;
 import io.reactivex.Scheduler.Worker;
 import io.reactivex.TestHelper;
 import io.reactivex.disposables.CompositeDisposable;
+import io.reactivex.internal.schedulers.ComputationScheduler.FixedSchedulerPool;
 import io.reactivex.internal.schedulers.SchedulerMultiWorkerSupport.WorkerCallback;
 import io.reactivex.schedulers.Schedulers;
 
@@ -146,4 +147,114 @@ public class SchedulerMultiWorkerSupportTest {
             }
         }
     }
+
+    static List<Worker> createStriped(SchedulerStripedWorkerSupport support, int number) {
+        final List<Worker> list = new ArrayList<Worker>();
+
+        support.createStripedWorkers(number, new WorkerCallback() {
+            @Override
+            public void onWorker(int i, Worker w) {
+                list.add(w);
+            }
+        });
+
+        return list;
+    }
+
+    static void assertRails(FixedSchedulerPool pool, int... expected) {
+        int[] rails = new int[pool.eventLoops.length];
+        for (int i = 0; i < rails.length; i++) {
+            rails[i] = pool.eventLoops[i].rails.get();
+        }
+        Arrays.sort(rails);
+        assertEquals(Arrays.toString(expected), Arrays.toString(rails));
+    }
+
+    void checkStripedWorkers(boolean workStealing) {
+        FixedSchedulerPool pool = new FixedSchedulerPool(4, ComputationScheduler.THREAD_FACTORY, workStealing, false);
+        try {
+            List<Worker> first = createStriped(pool, 2);
+            assertRails(pool, 0, 0, 1, 1);
+
+            // the second call takes the two idle event loops
+            List<Worker> second = createStriped(pool, 2);
+            assertRails(pool, 1, 1, 1, 1);
+
+            List<Worker> third = createStriped(pool, 6);
+            assertRails(pool, 2, 2, 3, 3);
+
+            for (Worker w : third) {
+                w.dispose();
+                // disposing twice releases the event loop once
+                w.dispose();
+            }
+            assertRails(pool, 1, 1, 1, 1);
+
+            for (Worker w : first) {
+                w.dispose();
+            }
+            assertRails(pool, 0, 0, 1, 1);
+
+            // the freed event loops are preferred
+            List<Worker> fourth = createStriped(pool, 2);
+            assertRails(pool, 1, 1, 1, 1);
+
+            for (Worker w : second) {
+                w.dispose();
+            }
+            for (Worker w : fourth) {
+                w.dispose();
+            }
+            assertRails(pool, 0, 0, 0, 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void stripedWorkers() {
+        checkStripedWorkers(false);
+    }
+
+    @Test
+    public void stripedWorkersWorkStealing() {
+        checkStripedWorkers(true);
+    }
+
+    @Test
+    public void stripedShutdownWorkers() {
+        List<Worker> list = createStriped(ComputationScheduler.NONE, 3);
+
+        assertEquals(3, list.size());
+
+        for (Worker w : list) {
+            assertEquals(ComputationScheduler.SHUTDOWN_WORKER, w);
+        }
+    }
+
+    @Test
+    public void stripedWorkersRun() throws Exception {
+        List<Worker> list = createStriped((SchedulerStripedWorkerSupport)Schedulers.computation(), max * 2);
+
+        final CountDownLatch cdl = new CountDownLatch(max * 2);
+
+        Runnable run = new Runnable() {
+            @Override
+            public void run() {
+                cdl.countDown();
+            }
+        };
+
+        try {
+            for (Worker w : list) {
+                w.schedule(run);
+            }
+
+            assertTrue(cdl.await(5, TimeUnit.SECONDS));
+        } finally {
+            for (Worker w : list) {
+                w.dispose();
+            }
+        }
+    }
 }
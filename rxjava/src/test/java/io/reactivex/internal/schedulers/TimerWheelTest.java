@@ -0,0 +1,298 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.internal.schedulers;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.reactivex.Scheduler.Worker;
+import io.reactivex.TestHelper;
+
+public class TimerWheelTest {
+
+    static final class LatchTimeout extends TimerWheel.Timeout {
+
+        private static final long serialVersionUID = -5223566447519939548L;
+
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        volatile long firedAt;
+
+        @Override
+        public void run() {
+            firedAt = System.nanoTime();
+            latch.countDown();
+        }
+    }
+
+    static void awaitEmpty(TimerWheel wheel) throws InterruptedException {
+        for (int i = 0; i < 500 && wheel.size() != 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test(timeout = 5000)
+    public void firesAfterDelay() throws Exception {
+        TimerWheel wheel = new TimerWheel(new RxThreadFactory("RxTimerWheelTest"), 1, TimeUnit.MILLISECONDS, 8);
+
+        LatchTimeout t = new LatchTimeout();
+        long start = System.nanoTime();
+        wheel.schedule(t, 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(t.latch.await(3, TimeUnit.SECONDS));
+        assertTrue(t.firedAt - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(t.isDisposed());
+
+        awaitEmpty(wheel);
+    }
+
+    @Test(timeout = 5000)
+    public void cancelBeforeExpiry() throws Exception {
+        TimerWheel wheel = new TimerWheel(new RxThreadFactory("RxTimerWheelTest"), 1, TimeUnit.MILLISECONDS, 8);
+
+        LatchTimeout t = new LatchTimeout();
+        wheel.schedule(t, 100, TimeUnit.MILLISECONDS);
+
+        assertEquals(1, wheel.size());
+
+        t.dispose();
+
+        awaitEmpty(wheel);
+
+        assertFalse(t.latch.await(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void disposedTimeoutNotArmed() {
+        TimerWheel wheel = new TimerWheel(new RxThreadFactory("RxTimerWheelTest"), 1, TimeUnit.MILLISECONDS, 8);
+
+        LatchTimeout t = new LatchTimeout();
+        t.dispose();
+
+        wheel.schedule(t, 1, TimeUnit.MILLISECONDS);
+
+        assertEquals(0, wheel.size());
+    }
+
+    @Test(timeout = 10000)
+    public void multipleRoundsInOrder() throws Exception {
+        TimerWheel wheel = new TimerWheel(new RxThreadFactory("RxTimerWheelTest"), 1, TimeUnit.MILLISECONDS, 4);
+
+        final List<Integer> list = Collections.synchronizedList(new ArrayList<Integer>());
+        final CountDownLatch latch = new CountDownLatch(10);
+
+        for (int i = 9; i >= 0; i--) {
+            final int j = i;
+            wheel.schedule(new TimerWheel.Timeout() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                public void run() {
+                    list.add(j);
+                    latch.countDown();
+                }
+            }, 10 + j * 10, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), list);
+
+        awaitEmpty(wheel);
+    }
+
+    @Test(timeout = 10000)
+    public void manyCancelled() throws Exception {
+        TimerWheel wheel = new TimerWheel(new RxThreadFactory("RxTimerWheelTest"), 1, TimeUnit.MILLISECONDS, 64);
+
+        LatchTimeout[] timeouts = new LatchTimeout[10000];
+        for (int i = 0; i < timeouts.length; i++) {
+            timeouts[i] = new LatchTimeout();
+            wheel.schedule(timeouts[i], 1000 + i, TimeUnit.MILLISECONDS);
+        }
+
+        for (LatchTimeout t : timeouts) {
+            t.dispose();
+        }
+
+        awaitEmpty(wheel);
+
+        for (LatchTimeout t : timeouts) {
+            assertEquals(1, t.latch.getCount());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void scheduleCancelRace() throws Exception {
+        TimerWheel wheel = new TimerWheel(new RxThreadFactory("RxTimerWheelTest"), 1, TimeUnit.MILLISECONDS, 8);
+
+        for (int i = 0; i < TestHelper.RACE_DEFAULT_LOOPS; i++) {
+            final LatchTimeout t = new LatchTimeout();
+            wheel.schedule(t, 1, TimeUnit.MILLISECONDS);
+
+            TestHelper.race(new Runnable() {
+                @Override
+                public void run() {
+                    t.dispose();
+                }
+            }, new Runnable() {
+                @Override
+                public void run() {
+                    t.dispose();
+                }
+            });
+        }
+
+        awaitEmpty(wheel);
+    }
+
+    static final class CountingThreadFactory implements ThreadFactory {
+
+        final ThreadFactory actual = new RxThreadFactory(TimerWheel.THREAD_NAME_PREFIX);
+
+        final AtomicInteger count = new AtomicInteger();
+
+        final List<Thread> threads = Collections.synchronizedList(new ArrayList<Thread>());
+
+        @Override
+        public Thread newThread(Runnable r) {
+            count.getAndIncrement();
+            Thread t = actual.newThread(r);
+            threads.add(t);
+            return t;
+        }
+    }
+
+    @Test(timeout = 30000)
+    public void sequentialTimeoutsReuseThread() throws Exception {
+        CountingThreadFactory factory = new CountingThreadFactory();
+        TimerWheel wheel = new TimerWheel(factory, 1, TimeUnit.MILLISECONDS, 512);
+
+        for (int i = 0; i < 1000; i++) {
+            LatchTimeout t = new LatchTimeout();
+            wheel.schedule(t, 1, TimeUnit.MILLISECONDS);
+            assertTrue(t.latch.await(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, factory.count.get());
+
+        awaitEmpty(wheel);
+
+        for (Thread t : factory.threads) {
+            assertTrue(t.getName(), t.getName().startsWith(TimerWheel.THREAD_NAME_PREFIX + "-"));
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void idleThreadStops() throws Exception {
+        CountingThreadFactory factory = new CountingThreadFactory();
+        TimerWheel wheel = new TimerWheel(factory, 1, TimeUnit.MILLISECONDS, 8, 0, TimeUnit.MILLISECONDS);
+
+        LatchTimeout t = new LatchTimeout();
+        wheel.schedule(t, 1, TimeUnit.MILLISECONDS);
+        assertTrue(t.latch.await(5, TimeUnit.SECONDS));
+
+        Thread thread = factory.threads.get(0);
+        thread.join(5000);
+        assertFalse(thread.isAlive());
+        assertEquals(0, wheel.active.get());
+
+        t = new LatchTimeout();
+        wheel.schedule(t, 1, TimeUnit.MILLISECONDS);
+        assertTrue(t.latch.await(5, TimeUnit.SECONDS));
+
+        assertEquals(2, factory.count.get());
+    }
+
+    @Test(timeout = 10000)
+    public void workerDelayedTaskViaTimerWheel() throws Exception {
+        NewThreadWorker w = new NewThreadWorker(new RxThreadFactory("RxTimerWheelTest"), true);
+        try {
+            final CountDownLatch latch = new CountDownLatch(1);
+            final Thread[] thread = { null };
+
+            w.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    thread[0] = Thread.currentThread();
+                    latch.countDown();
+                }
+            }, 20, TimeUnit.MILLISECONDS);
+
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+            assertTrue(thread[0].getName(), thread[0].getName().startsWith("RxTimerWheelTest"));
+        } finally {
+            w.dispose();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void workerDisposeCancelsTimerWheelTasks() throws Exception {
+        NewThreadWorker w = new NewThreadWorker(new RxThreadFactory("RxTimerWheelTest"), true);
+
+        final int[] calls = { 0 };
+
+        w.schedule(new Runnable() {
+            @Override
+            public void run() {
+                calls[0]++;
+            }
+        }, 100, TimeUnit.MILLISECONDS);
+
+        w.scheduleDirect(new Runnable() {
+            @Override
+            public void run() {
+                calls[0]++;
+            }
+        }, 100, TimeUnit.MILLISECONDS);
+
+        assertEquals(2, w.timerWheelTasks.size());
+
+        w.dispose();
+
+        assertEquals(0, w.timerWheelTasks.size());
+
+        Thread.sleep(300);
+
+        assertEquals(0, calls[0]);
+    }
+
+    @Test(timeout = 10000)
+    public void parentTrackedTaskDisposed() throws Exception {
+        Worker w = new ComputationScheduler(new RxThreadFactory("RxTimerWheelTest"), false, true).createWorker();
+        try {
+            final int[] calls = { 0 };
+
+            w.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    calls[0]++;
+                }
+            }, 100, TimeUnit.MILLISECONDS).dispose();
+
+            Thread.sleep(300);
+
+            assertEquals(0, calls[0]);
+        } finally {
+            w.dispose();
+        }
+    }
+}
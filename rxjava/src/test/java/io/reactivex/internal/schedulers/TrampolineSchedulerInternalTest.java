@@ -18,11 +18,13 @@ package io.reactivex.internal.schedulers;
 
 import static org.junit.Assert.*;
 
-import java.util.concurrent.TimeUnit;
+import java.util.*;
+import java.util.concurrent.*;
 
 import org.junit.Test;
 
 import io.reactivex.Scheduler.Worker;
+import io.reactivex.disposables.Disposable;
 import io.reactivex.internal.disposables.EmptyDisposable;
 import io.reactivex.internal.functions.Functions;
 import io.reactivex.internal.schedulers.TrampolineScheduler.*;
@@ -208,4 +210,126 @@ public class TrampolineSchedulerInternalTest {
 
         verify(r, never()).run();
     }
+
+    static Runnable add(final List<Integer> list, final int value) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                list.add(value);
+            }
+        };
+    }
+
+    @Test
+    public void delayedAndNonDelayedOrder() {
+        final TrampolineWorker w = new TrampolineWorker();
+        final List<Integer> list = new ArrayList<Integer>();
+
+        w.schedule(new Runnable() {
+            @Override
+            public void run() {
+                w.schedule(add(list, 1));
+                w.schedule(add(list, 5), 50, TimeUnit.MILLISECONDS);
+                w.schedule(add(list, 2));
+                w.schedule(add(list, 3), 0, TimeUnit.MILLISECONDS);
+                // a negative delay doesn't jump the queue
+                w.schedule(add(list, 4), -1, TimeUnit.DAYS);
+            }
+        });
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), list);
+
+        w.schedule(add(list, 6));
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6), list);
+        assertEquals(0, w.delayedCount.get());
+    }
+
+    @Test
+    public void disposeQueuedTasks() {
+        final TrampolineWorker w = new TrampolineWorker();
+        final List<Integer> list = new ArrayList<Integer>();
+
+        w.schedule(new Runnable() {
+            @Override
+            public void run() {
+                w.schedule(add(list, 1));
+                w.schedule(add(list, 2)).dispose();
+                w.schedule(add(list, 3), 10, TimeUnit.MILLISECONDS).dispose();
+                w.schedule(add(list, 4), 10, TimeUnit.MILLISECONDS);
+                w.schedule(add(list, 5));
+            }
+        });
+
+        assertEquals(Arrays.asList(1, 5, 4), list);
+        assertEquals(0, w.delayedCount.get());
+    }
+
+    @Test
+    public void disposeWorkerClearsQueues() {
+        final TrampolineWorker w = new TrampolineWorker();
+        final List<Integer> list = new ArrayList<Integer>();
+
+        w.schedule(new Runnable() {
+            @Override
+            public void run() {
+                w.schedule(add(list, 1));
+                w.schedule(add(list, 2), 10, TimeUnit.MILLISECONDS);
+                w.dispose();
+            }
+        });
+
+        assertTrue(list.isEmpty());
+        assertNull(w.poll());
+        assertEquals(0, w.delayedQueue.size());
+    }
+
+    @Test
+    public void scheduleFromOtherThreadWhileDraining() throws Exception {
+        final TrampolineWorker w = new TrampolineWorker();
+        final List<Integer> list = Collections.synchronizedList(new ArrayList<Integer>());
+        final int n = 10000;
+
+        w.schedule(new Runnable() {
+            @Override
+            public void run() {
+                Future<?> f = Executors.newSingleThreadExecutor().submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int i = 0; i < n; i++) {
+                            w.schedule(add(list, i));
+                        }
+                    }
+                });
+                try {
+                    f.get();
+                } catch (Exception ex) {
+                    throw new RuntimeException(ex);
+                }
+            }
+        });
+
+        assertEquals(n, list.size());
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, list.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void scheduleReturnsDisposableWhenQueued() {
+        final TrampolineWorker w = new TrampolineWorker();
+        final Disposable[] ds = { null, null };
+
+        w.schedule(new Runnable() {
+            @Override
+            public void run() {
+                ds[0] = w.schedule(Functions.EMPTY_RUNNABLE);
+                ds[1] = w.schedule(Functions.EMPTY_RUNNABLE, 1, TimeUnit.MILLISECONDS);
+            }
+        });
+
+        assertNotSame(EmptyDisposable.INSTANCE, ds[0]);
+        assertNotSame(EmptyDisposable.INSTANCE, ds[1]);
+        assertSame(EmptyDisposable.INSTANCE, w.schedule(Functions.EMPTY_RUNNABLE));
+    }
 }
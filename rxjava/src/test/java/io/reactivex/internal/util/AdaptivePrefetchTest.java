@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package io.reactivex.internal.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class AdaptivePrefetchTest {
+
+    @Test
+    public void startsAtMinimum() {
+        AdaptivePrefetch ap = new AdaptivePrefetch(16, 256);
+
+        assertEquals(16, ap.prefetch());
+        assertEquals(12, ap.limit());
+    }
+
+    @Test
+    public void growsWhenStarved() {
+        AdaptivePrefetch ap = new AdaptivePrefetch(16, 64);
+
+        ap.starved();
+        assertEquals(12 + 16, ap.replenish(12));
+        assertEquals(32, ap.prefetch());
+        assertEquals(24, ap.limit());
+
+        ap.starved();
+        assertEquals(24 + 32, ap.replenish(24));
+        assertEquals(64, ap.prefetch());
+
+        ap.starved();
+        assertEquals(48, ap.replenish(48));
+        assertEquals(64, ap.prefetch());
+    }
+
+    @Test
+    public void shrinksWhenNotStarved() {
+        AdaptivePrefetch ap = new AdaptivePrefetch(16, 64);
+
+        ap.starved();
+        ap.replenish(12);
+        ap.starved();
+        ap.replenish(24);
+        assertEquals(64, ap.prefetch());
+
+        assertEquals(48 - 32, ap.replenish(48));
+        assertEquals(32, ap.prefetch());
+        assertEquals(24, ap.limit());
+
+        assertEquals(24 - 16, ap.replenish(24));
+        assertEquals(16, ap.prefetch());
+
+        assertEquals(12, ap.replenish(12));
+        assertEquals(16, ap.prefetch());
+    }
+
+    @Test
+    public void starvedIsReset() {
+        AdaptivePrefetch ap = new AdaptivePrefetch(16, 64);
+
+        ap.starved();
+        ap.replenish(12);
+        assertEquals(32, ap.prefetch());
+
+        ap.replenish(24);
+        assertEquals(16, ap.prefetch());
+    }
+
+    @Test
+    public void requestNeverNegative() {
+        AdaptivePrefetch ap = new AdaptivePrefetch(1, Integer.MAX_VALUE);
+
+        for (int i = 0; i < 40; i++) {
+            ap.starved();
+            long n = ap.replenish(ap.limit());
+            assertTrue(n >= 0L);
+        }
+        assertEquals(Integer.MAX_VALUE, ap.prefetch());
+
+        for (int i = 0; i < 40; i++) {
+            long n = ap.replenish(ap.limit());
+            assertTrue(n >= 0L);
+        }
+        assertEquals(1, ap.prefetch());
+    }
+}
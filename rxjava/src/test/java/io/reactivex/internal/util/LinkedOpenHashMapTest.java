@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.reactivex.internal.util;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.junit.Test;
+
+public class LinkedOpenHashMapTest {
+
+    static class Value {
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o;
+        }
+    }
+
+    static List<Integer> accessOrder(LinkedOpenHashMap<Integer, Integer> map) {
+        List<Integer> list = new ArrayList<Integer>();
+        for (int e = map.eldest(); e >= 0; e = map.newer(e)) {
+            list.add(map.valueAt(e));
+        }
+        return list;
+    }
+
+    @Test
+    public void putIndexOfRemoveCollision() {
+        Value v1 = new Value();
+        Value v2 = new Value();
+        Value v3 = new Value();
+
+        LinkedOpenHashMap<Value, Integer> map = new LinkedOpenHashMap<Value, Integer>();
+
+        assertEquals(-1, map.indexOf(v1));
+
+        int i1 = map.put(v1, 1, 0L);
+        int i2 = map.put(v2, 2, 0L);
+        int i3 = map.put(v3, 3, 0L);
+
+        assertEquals(i1, map.indexOf(v1));
+        assertEquals(i2, map.indexOf(v2));
+        assertEquals(i3, map.indexOf(v3));
+
+        assertEquals(1, map.removeAt(i1).intValue());
+
+        assertEquals(-1, map.indexOf(v1));
+        assertEquals(i2, map.indexOf(v2));
+        assertEquals(i3, map.indexOf(v3));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void removeOnlyMatchingValue() {
+        LinkedOpenHashMap<Integer, Integer> map = new LinkedOpenHashMap<Integer, Integer>();
+
+        Integer v = 1000;
+        map.put(1, v, 0L);
+
+        assertFalse(map.remove(1, new Integer(1000)));
+        assertFalse(map.remove(2, v));
+        assertTrue(map.remove(1, v));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void accessOrder() {
+        LinkedOpenHashMap<Integer, Integer> map = new LinkedOpenHashMap<Integer, Integer>();
+
+        for (int i = 1; i <= 5; i++) {
+            map.put(i, i, i);
+        }
+
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), accessOrder(map));
+
+        map.touch(map.indexOf(1), 10L);
+        map.touch(map.indexOf(3), 11L);
+        map.touch(map.indexOf(3), 12L);
+
+        assertEquals(Arrays.asList(2, 4, 5, 1, 3), accessOrder(map));
+        assertEquals(12L, map.timeAt(map.indexOf(3)));
+
+        map.removeAt(map.eldest());
+        map.removeAt(map.indexOf(5));
+
+        assertEquals(Arrays.asList(4, 1, 3), accessOrder(map));
+
+        map.put(6, 6, 13L);
+
+        assertEquals(Arrays.asList(4, 1, 3, 6), accessOrder(map));
+
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertEquals(-1, map.eldest());
+        assertEquals(-1, map.indexOf(4));
+    }
+
+    @Test
+    public void entryIndexReused() {
+        LinkedOpenHashMap<Integer, Integer> map = new LinkedOpenHashMap<Integer, Integer>();
+
+        int i1 = map.put(1, 1, 0L);
+        map.put(2, 2, 0L);
+
+        map.removeAt(i1);
+
+        assertEquals(i1, map.put(3, 3, 0L));
+    }
+
+    @Test
+    public void randomAgainstLinkedHashMap() {
+        Random random = new Random(12345);
+
+        LinkedOpenHashMap<Integer, Integer> map = new LinkedOpenHashMap<Integer, Integer>(4, 0.75f);
+        LinkedHashMap<Integer, Integer> expected = new LinkedHashMap<Integer, Integer>(16, 0.75f, true);
+
+        for (int i = 0; i < 100000; i++) {
+            Integer key = random.nextInt(2000);
+            int e = map.indexOf(key);
+            assertEquals(expected.containsKey(key), e >= 0);
+
+            switch (random.nextInt(3)) {
+            case 0:
+                if (e < 0) {
+                    map.put(key, i, 0L);
+                    expected.put(key, i);
+                }
+                break;
+            case 1:
+                if (e >= 0) {
+                    assertEquals(expected.get(key), map.valueAt(e));
+                    map.touch(e, 0L);
+                }
+                break;
+            default:
+                if (e >= 0) {
+                    assertEquals(expected.remove(key), map.removeAt(e));
+                }
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        assertEquals(new ArrayList<Integer>(expected.values()), accessOrder(map));
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+package io.reactivex.internal.util;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+
+import org.junit.Test;
+
+import io.reactivex.SpillSerializer;
+
+public class SegmentSpillerTest {
+
+    static final SpillSerializer<Integer> INT_SERIALIZER = new SpillSerializer<Integer>() {
+        @Override
+        public void serialize(Integer value, DataOutput output) throws Exception {
+            output.writeInt(value);
+        }
+
+        @Override
+        public Integer deserialize(DataInput input) throws Exception {
+            return input.readInt();
+        }
+    };
+
+    static final File TMP = new File(System.getProperty("java.io.tmpdir"));
+
+    static LinkedArrayList fill(SegmentSpiller spiller) {
+        LinkedArrayList list = new LinkedArrayList(4, spiller);
+        for (int i = 0; i < 20; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Test
+    public void readBack() {
+        SegmentSpiller spiller = new SegmentSpiller(INT_SERIALIZER, TMP, 2);
+        LinkedArrayList list = fill(spiller);
+
+        assertEquals(3, spiller.spilled());
+
+        Object[] a = list.head();
+        for (int i = 0; i < 20; i++) {
+            if (i != 0 && i % 4 == 0) {
+                a = list.next(a, i / 4);
+            }
+            assertEquals(i, a[i % 4]);
+        }
+
+        spiller.release();
+
+        assertFalse(spiller.isOpen());
+    }
+
+    @Test
+    public void interruptedReadKeepsFileOpen() {
+        SegmentSpiller spiller = new SegmentSpiller(INT_SERIALIZER, TMP, 2);
+        fill(spiller);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertEquals(4, spiller.segment(1)[0]);
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+
+        assertTrue(spiller.isOpen());
+        assertEquals(8, spiller.segment(2)[0]);
+
+        spiller.release();
+    }
+
+    @Test
+    public void readersKeepFileOpen() {
+        SegmentSpiller spiller = new SegmentSpiller(INT_SERIALIZER, TMP, 2);
+        fill(spiller);
+
+        assertTrue(spiller.acquire());
+        assertTrue(spiller.acquire());
+
+        spiller.release();
+        assertTrue(spiller.isOpen());
+
+        spiller.release();
+        assertTrue(spiller.isOpen());
+        assertEquals(0, spiller.segment(0)[0]);
+
+        spiller.release();
+        assertFalse(spiller.isOpen());
+
+        assertFalse(spiller.acquire());
+    }
+
+    @Test
+    public void purgeClosesDroppedFile() throws Exception {
+        SegmentSpiller spiller = new SegmentSpiller(INT_SERIALIZER, TMP, 2);
+        fill(spiller);
+
+        SegmentSpiller.SpillFile f = spiller.file;
+        assertTrue(f.isOpen());
+        assertTrue(SegmentSpiller.FILES.contains(f));
+
+        spiller = null;
+
+        for (int i = 0; i < 100 && f.isOpen(); i++) {
+            System.gc();
+            Thread.sleep(50);
+            SegmentSpiller.purge();
+        }
+
+        assertFalse(f.isOpen());
+        assertFalse(SegmentSpiller.FILES.contains(f));
+    }
+}
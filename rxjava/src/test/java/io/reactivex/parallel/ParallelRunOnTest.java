@@ -15,7 +15,7 @@ package io.reactivex.parallel;
 
 import static org.junit.Assert.*;
 
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
@@ -23,7 +23,7 @@ import org.reactivestreams.Subscriber;
 
 import io.reactivex.*;
 import io.reactivex.exceptions.*;
-import io.reactivex.functions.Predicate;
+import io.reactivex.functions.*;
 import io.reactivex.internal.functions.Functions;
 import io.reactivex.internal.schedulers.ImmediateThinScheduler;
 import io.reactivex.internal.subscriptions.BooleanSubscription;
@@ -321,4 +321,90 @@ public class ParallelRunOnTest {
 
         ts.assertResult(1);
     }
+
+    @Test
+    public void stripedPlacement() {
+        for (int i = 0; i < 10; i++) {
+            Flowable.range(1, 1000)
+            .parallel(4)
+            .runOn(Schedulers.computation(), Flowable.bufferSize(), ParallelPlacement.STRIPED)
+            .filter(new Predicate<Integer>() {
+                @Override
+                public boolean test(Integer v) throws Exception {
+                    return v % 2 == 0;
+                }
+            })
+            .sequential()
+            .test()
+            .awaitDone(5, TimeUnit.SECONDS)
+            .assertValueCount(500)
+            .assertNoErrors()
+            .assertComplete();
+        }
+    }
+
+    @Test
+    public void stripedPlacementUnsupportedScheduler() {
+        Flowable.range(1, 1000)
+        .parallel(2)
+        .runOn(Schedulers.single(), 16, ParallelPlacement.STRIPED)
+        .sequential()
+        .test()
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertValueCount(1000)
+        .assertNoErrors()
+        .assertComplete();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void adaptivePrefetchGrowsForFastRail() {
+        final List<Long> requests = new ArrayList<Long>();
+
+        ParallelFlowable.fromArray(Flowable.range(1, 1000)
+        .doOnRequest(new LongConsumer() {
+            @Override
+            public void accept(long n) throws Exception {
+                requests.add(n);
+            }
+        }))
+        .runOn(ImmediateThinScheduler.INSTANCE, 4, 64)
+        .sequential()
+        .test()
+        .assertValueCount(1000)
+        .assertNoErrors()
+        .assertComplete();
+
+        assertEquals(4L, requests.get(0).longValue());
+        assertTrue(requests.toString(), requests.contains(48L));
+        for (Long n : requests) {
+            assertTrue(requests.toString(), n <= 64L);
+        }
+    }
+
+    @Test
+    public void adaptivePrefetchAsync() {
+        for (int i = 0; i < 10; i++) {
+            Flowable.range(1, 100000)
+            .parallel(2)
+            .runOn(Schedulers.computation(), 16, 1024)
+            .filter(new Predicate<Integer>() {
+                @Override
+                public boolean test(Integer v) throws Exception {
+                    return v % 2 == 0;
+                }
+            })
+            .sequential()
+            .test()
+            .awaitDone(5, TimeUnit.SECONDS)
+            .assertValueCount(50000)
+            .assertNoErrors()
+            .assertComplete();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void adaptivePrefetchMaxLessThanMin() {
+        Flowable.never().parallel().runOn(ImmediateThinScheduler.INSTANCE, 16, 8);
+    }
 }
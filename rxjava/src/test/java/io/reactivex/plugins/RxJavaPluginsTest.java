@@ -47,7 +47,7 @@ import io.reactivex.internal.schedulers.ImmediateThinScheduler;
 import io.reactivex.internal.subscriptions.ScalarSubscription;
 import io.reactivex.observables.ConnectableObservable;
 import io.reactivex.parallel.ParallelFlowable;
-import io.reactivex.schedulers.Schedulers;
+import io.reactivex.schedulers.*;
 
 public class RxJavaPluginsTest {
 
@@ -233,6 +233,12 @@ public class RxJavaPluginsTest {
                 }
             };
 
+            SchedulerMetricsListener ml = new SchedulerMetricsListener() {
+                @Override
+                public void onTaskRun(long waitNanos, long runNanos, int queueDepth) {
+                }
+            };
+
             for (Method m : RxJavaPlugins.class.getMethods()) {
                 if (m.getName().startsWith("set")) {
 
@@ -263,6 +269,9 @@ public class RxJavaPluginsTest {
                         } else
                         if (paramType.isAssignableFrom(BooleanSupplier.class)) {
                             m.invoke(null, bs);
+                        } else
+                        if (paramType.isAssignableFrom(SchedulerMetricsListener.class)) {
+                            m.invoke(null, ml);
                         } else {
                             m.invoke(null, f2);
                         }
@@ -364,6 +373,19 @@ public class RxJavaPluginsTest {
         assertNotSame(ImmediateThinScheduler.INSTANCE, Schedulers.newThread());
     }
 
+    @Test
+    public void overrideVirtualScheduler() {
+        try {
+            RxJavaPlugins.setVirtualSchedulerHandler(replaceWithImmediate);
+
+            assertSame(ImmediateThinScheduler.INSTANCE, Schedulers.virtual());
+        } finally {
+            RxJavaPlugins.reset();
+        }
+        // make sure the reset worked
+        assertNotSame(ImmediateThinScheduler.INSTANCE, Schedulers.virtual());
+    }
+
     Function<Callable<Scheduler>, Scheduler> initReplaceWithImmediate = new Function<Callable<Scheduler>, Scheduler>() {
         @Override
         public Scheduler apply(Callable<Scheduler> t) {
@@ -451,6 +473,26 @@ public class RxJavaPluginsTest {
         assertSame(s, RxJavaPlugins.initNewThreadScheduler(c));
     }
 
+    @Test
+    public void overrideInitVirtualScheduler() {
+        final Scheduler s = Schedulers.virtual(); // make sure the Schedulers is initialized;
+        Callable<Scheduler> c = new Callable<Scheduler>() {
+            @Override
+            public Scheduler call() throws Exception {
+                return s;
+            }
+        };
+        try {
+            RxJavaPlugins.setInitVirtualSchedulerHandler(initReplaceWithImmediate);
+
+            assertSame(ImmediateThinScheduler.INSTANCE, RxJavaPlugins.initVirtualScheduler(c));
+        } finally {
+            RxJavaPlugins.reset();
+        }
+        // make sure the reset worked
+        assertSame(s, RxJavaPlugins.initVirtualScheduler(c));
+    }
+
     Callable<Scheduler> nullResultCallable = new Callable<Scheduler>() {
         @Override
         public Scheduler call() throws Exception {
@@ -535,6 +577,26 @@ public class RxJavaPluginsTest {
         }
     }
 
+    @Test
+    public void overrideInitVirtualSchedulerCrashes() {
+        // fail when Callable is null
+        try {
+            RxJavaPlugins.initVirtualScheduler(null);
+            fail("Should have thrown NullPointerException");
+        } catch (NullPointerException npe) {
+            // expected
+            assertEquals("Scheduler Callable can't be null", npe.getMessage());
+        }
+
+        // fail when Callable result is null
+        try {
+            RxJavaPlugins.initVirtualScheduler(nullResultCallable);
+            fail("Should have thrown NullPointerException");
+        } catch (NullPointerException npe) {
+            assertEquals("Scheduler Callable result can't be null", npe.getMessage());
+        }
+    }
+
     Callable<Scheduler> unsafeDefault = new Callable<Scheduler>() {
         @Override
         public Scheduler call() throws Exception {
@@ -1308,6 +1370,8 @@ public class RxJavaPluginsTest {
             RxJavaPlugins.setInitSingleSchedulerHandler(callable2scheduler);
             RxJavaPlugins.setInitNewThreadSchedulerHandler(callable2scheduler);
             RxJavaPlugins.setInitIoSchedulerHandler(callable2scheduler);
+            RxJavaPlugins.setInitVirtualSchedulerHandler(callable2scheduler);
+            RxJavaPlugins.setVirtualSchedulerHandler(scheduler2scheduler);
         } finally {
             RxJavaPlugins.reset();
         }
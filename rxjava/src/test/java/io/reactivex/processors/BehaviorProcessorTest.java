@@ -965,4 +965,38 @@ public class BehaviorProcessorTest extends FlowableProcessorTest<Object> {
         }
     }
 
+
+    @Test
+    public void emitSubscribeRaceValuesInOrder() {
+        for (int i = 0; i < TestHelper.RACE_DEFAULT_LOOPS; i++) {
+            final BehaviorProcessor<Integer> p = BehaviorProcessor.createDefault(0);
+
+            final TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+
+            Runnable r1 = new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 1; j <= 10; j++) {
+                        p.onNext(j);
+                    }
+                }
+            };
+
+            Runnable r2 = new Runnable() {
+                @Override
+                public void run() {
+                    p.subscribe(ts);
+                }
+            };
+
+            TestHelper.race(r1, r2);
+
+            List<Integer> values = ts.values();
+            assertFalse(values.isEmpty());
+            for (int j = 1; j < values.size(); j++) {
+                assertTrue(values.toString(), values.get(j - 1) < values.get(j));
+            }
+            assertEquals(10, values.get(values.size() - 1).intValue());
+        }
+    }
 }
@@ -0,0 +1,380 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.reactivex.processors;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.reactivex.*;
+import io.reactivex.exceptions.TestException;
+import io.reactivex.processors.ReplayProcessor.ChunkedReplayBuffer;
+import io.reactivex.schedulers.*;
+import io.reactivex.subscribers.TestSubscriber;
+
+public class ReplayProcessorChunkedTest {
+
+    static List<Integer> range(int start, int count) {
+        List<Integer> list = new ArrayList<Integer>();
+        for (int i = start; i < start + count; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Test
+    public void sizeBound() {
+        ReplayProcessor<Integer> rp = ReplayProcessor.createWithSizeChunked(2);
+
+        rp.onNext(1);
+        rp.onNext(2);
+        rp.onNext(3);
+
+        rp.test().assertValuesOnly(2, 3);
+
+        rp.onComplete();
+
+        rp.test().assertResult(2, 3);
+    }
+
+    @Test
+    public void sizeBoundAcrossChunks() {
+        ReplayProcessor<Integer> rp = ReplayProcessor.createWithSizeChunked(100);
+
+        for (int i = 0; i < 1000; i++) {
+            rp.onNext(i);
+        }
+
+        rp.test().assertValueSequence(range(900, 100)).assertNoErrors().assertNotComplete();
+
+        assertEquals(100, rp.size());
+        assertEquals(999, rp.getValue().intValue());
+        assertEquals(range(900, 100), Arrays.asList(rp.getValues(new Integer[0])));
+    }
+
+    @Test
+    public void sizeBoundChunkBoundary() {
+        for (int n = 0; n < 200; n++) {
+            ReplayProcessor<Integer> rp = ReplayProcessor.createWithSizeChunked(64);
+
+            for (int i = 0; i < n; i++) {
+                rp.onNext(i);
+            }
+            int s = Math.min(n, 64);
+
+            rp.test().assertValueSequence(range(n - s, s));
+            assertEquals(s, rp.size());
+            assertEquals(s != 0, rp.hasValue());
+        }
+    }
+
+    @Test
+    public void laggingSubscriberReceivesEvictedItems() {
+        ReplayProcessor<Integer> rp = ReplayProcessor.createWithSizeChunked(10);
+
+        TestSubscriber<Integer> ts = rp.test(5);
+
+        for (int i = 0; i < 500; i++) {
+            rp.onNext(i);
+        }
+        rp.onComplete();
+
+        ts.assertValueSequence(range(0, 5));
+
+        ts.request(Long.MAX_VALUE);
+
+        ts.assertValueSequence(range(0, 500)).assertNoErrors().assertComplete();
+
+        rp.test().assertValueSequence(range(490, 10)).assertComplete();
+    }
+
+    @Test
+    public void backpressure() {
+        ReplayProcessor<Integer> rp = ReplayProcessor.createWithSizeChunked(5);
+
+        for (int i = 0; i < 10; i++) {
+            rp.onNext(i);
+        }
+
+        TestSubscriber<Integer> ts = rp.test(0L);
+
+        ts.assertEmpty();
+
+        ts.request(2);
+
+        ts.assertValuesOnly(5, 6);
+
+        rp.onNext(10);
+        rp.onComplete();
+
+        ts.request(3);
+
+        ts.assertValuesOnly(5, 6, 7, 8, 9);
+
+        ts.request(1);
+
+        ts.assertResult(5, 6, 7, 8, 9, 10);
+    }
+
+    @Test
+    public void sizeBoundError() {
+        ReplayProcessor<Integer> rp = ReplayProcessor.createWithSizeChunked(1);
+
+        rp.onNext(1);
+        rp.onNext(2);
+        rp.onError(new TestException());
+
+        rp.test().assertFailure(TestException.class, 2);
+
+        assertTrue(rp.hasThrowable());
+        assertTrue(rp.getThrowable() instanceof TestException);
+    }
+
+    @Test
+    public void empty() {
+        ReplayProcessor<Integer> rp = ReplayProcessor.createWithSizeChunked(10);
+
+        assertNull(rp.getValue());
+        assertFalse(rp.hasValue());
+        assertEquals(0, rp.size());
+        assertEquals(0, rp.getValues().length);
+
+        rp.onComplete();
+
+        rp.test(0L).assertResult();
+    }
+
+    @Test
+    public void timeBound() {
+        TestScheduler scheduler = new TestScheduler();
+        ReplayProcessor<Integer> rp = ReplayProcessor.createWithTimeChunked(1000, TimeUnit.MILLISECONDS, scheduler);
+
+        rp.onNext(1);
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        rp.onNext(2);
+
+        rp.test().assertValuesOnly(2);
+
+        scheduler.advanceTimeBy(500, TimeUnit.MILLISECONDS);
+
+        rp.onNext(3);
+
+        rp.test().assertValuesOnly(2, 3);
+
+        scheduler.advanceTimeBy(600, TimeUnit.MILLISECONDS);
+
+        // no new items trimmed the buffer, but the expired items are skipped
+        rp.test().assertValuesOnly(3);
+        assertEquals(1, rp.size());
+        assertEquals(3, rp.getValue().intValue());
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        assertNull(rp.getValue());
+        assertEquals(0, rp.size());
+        rp.test().assertEmpty();
+    }
+
+    @Test
+    public void timeBoundTerminalTrims() {
+        TestScheduler scheduler = new TestScheduler();
+        ReplayProcessor<Integer> rp = ReplayProcessor.createWithTimeChunked(1, TimeUnit.SECONDS, scheduler);
+
+        rp.onNext(1);
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        rp.onNext(2);
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        rp.onNext(3);
+        rp.onComplete();
+
+        rp.test().assertResult(3);
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        rp.test().assertResult();
+    }
+
+    @Test
+    public void timeBoundManyChunks() {
+        TestScheduler scheduler = new TestScheduler();
+        ReplayProcessor<Integer> rp = ReplayProcessor.createWithTimeChunked(100, TimeUnit.MILLISECONDS, scheduler);
+
+        for (int i = 0; i < 1000; i++) {
+            rp.onNext(i);
+            scheduler.advanceTimeBy(1, TimeUnit.MILLISECONDS);
+        }
+
+        // the items stamped at 901..999 ms are younger than 100 ms at 1000 ms
+        rp.test().assertValueSequence(range(901, 99));
+
+        ChunkedReplayBuffer<Integer> buf = (ChunkedReplayBuffer<Integer>)rp.buffer;
+        assertTrue(buf.headChunk.base > 800);
+    }
+
+    @Test
+    public void timeAndSizeBound() {
+        TestScheduler scheduler = new TestScheduler();
+        ReplayProcessor<Integer> rp = ReplayProcessor.createWithTimeAndSizeChunked(1, TimeUnit.SECONDS, scheduler, 2);
+
+        rp.onNext(1);
+        rp.onNext(2);
+        rp.onNext(3);
+
+        rp.test().assertValuesOnly(2, 3);
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        rp.onNext(4);
+
+        rp.test().assertValuesOnly(4);
+
+        rp.onError(new TestException());
+
+        rp.test().assertFailure(TestException.class, 4);
+    }
+
+    @Test
+    public void timeAndSizeBoundBackpressure() {
+        TestScheduler scheduler = new TestScheduler();
+        ReplayProcessor<Integer> rp = ReplayProcessor.createWithTimeAndSizeChunked(1, TimeUnit.DAYS, scheduler, 3);
+
+        TestSubscriber<Integer> ts = rp.test(1);
+
+        for (int i = 0; i < 200; i++) {
+            rp.onNext(i);
+        }
+
+        ts.assertValuesOnly(0);
+
+        ts.request(199);
+
+        ts.assertValueSequence(range(0, 200));
+    }
+
+    @Test
+    public void cancelAfterOne() {
+        ReplayProcessor<Integer> rp = ReplayProcessor.createWithSizeChunked(5);
+        rp.onNext(1);
+        rp.onNext(2);
+
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>(1L) {
+            @Override
+            public void onNext(Integer t) {
+                super.onNext(t);
+                cancel();
+            }
+        };
+        rp.subscribe(ts);
+
+        ts.request(1);
+
+        ts.assertValuesOnly(1);
+        assertFalse(rp.hasSubscribers());
+    }
+
+    @Test
+    public void cleanupBufferKeepsItems() {
+        ReplayProcessor<Integer> rp = ReplayProcessor.createWithSizeChunked(2);
+        rp.onNext(1);
+        rp.onNext(2);
+        rp.onNext(3);
+
+        rp.cleanupBuffer();
+
+        rp.test().assertValuesOnly(2, 3);
+    }
+
+    @Test
+    public void badArguments() {
+        try {
+            ReplayProcessor.createWithSizeChunked(0);
+            fail("Should have thrown");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+        try {
+            ReplayProcessor.createWithTimeAndSizeChunked(0, TimeUnit.SECONDS, Schedulers.single(), 1);
+            fail("Should have thrown");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+        try {
+            ReplayProcessor.createWithTimeChunked(1, TimeUnit.SECONDS, null);
+            fail("Should have thrown");
+        } catch (NullPointerException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void emitSubscribeRace() {
+        for (int i = 0; i < TestHelper.RACE_DEFAULT_LOOPS; i++) {
+            final ReplayProcessor<Integer> rp = ReplayProcessor.createWithSizeChunked(16);
+
+            final TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+
+            Runnable r1 = new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 100; j++) {
+                        rp.onNext(j);
+                    }
+                    rp.onComplete();
+                }
+            };
+
+            Runnable r2 = new Runnable() {
+                @Override
+                public void run() {
+                    rp.subscribe(ts);
+                }
+            };
+
+            TestHelper.race(r1, r2);
+
+            ts.assertNoErrors().assertComplete();
+
+            List<Integer> values = ts.values();
+            assertFalse(values.isEmpty());
+            int first = values.get(0);
+            assertEquals(range(first, 100 - first), values);
+            assertTrue(String.valueOf(first), first <= 84);
+        }
+    }
+
+    @Test
+    public void async() {
+        final ReplayProcessor<Integer> rp = ReplayProcessor.createWithSizeChunked(50);
+
+        TestSubscriber<Integer> ts = rp.observeOn(Schedulers.single()).test();
+
+        Flowable.range(0, 100000).subscribeOn(Schedulers.computation()).subscribe(rp);
+
+        ts.awaitDone(5, TimeUnit.SECONDS)
+        .assertValueCount(100000)
+        .assertNoErrors()
+        .assertComplete();
+    }
+}
@@ -1683,4 +1683,101 @@ public class ReplayProcessorTest extends FlowableProcessorTest<Object> {
     public void invalidRequest() {
         TestHelper.assertBadRequestReported(ReplayProcessor.create());
     }
+
+    @Test
+    public void unboundedSegmentBoundary() {
+        ReplayProcessor<Integer> rp = ReplayProcessor.create(4);
+
+        Integer[] expected = new Integer[40];
+        for (int i = 0; i < 40; i++) {
+            expected[i] = i;
+        }
+
+        for (int i = 0; i < 36; i++) {
+            rp.onNext(i);
+        }
+
+        assertArrayEquals(Arrays.copyOf(expected, 36), rp.getValues(new Integer[0]));
+        assertEquals(35, rp.getValue().intValue());
+
+        TestSubscriber<Integer> ts = rp.test(15);
+
+        ts.assertValueCount(15);
+
+        ts.request(2);
+
+        ts.assertValues(Arrays.copyOf(expected, 17));
+
+        for (int i = 36; i < 40; i++) {
+            rp.onNext(i);
+        }
+        rp.onComplete();
+
+        ts.request(15);
+
+        ts.assertValues(Arrays.copyOf(expected, 32))
+        .assertNotComplete();
+
+        ts.request(8);
+
+        ts.assertResult(expected);
+
+        rp.test().assertResult(expected);
+    }
+
+    @Test
+    public void unboundedLargeCapacityHint() {
+        ReplayProcessor<Integer> rp = ReplayProcessor.create(2000);
+
+        Integer[] expected = new Integer[3100];
+        for (int i = 0; i < expected.length; i++) {
+            rp.onNext(i);
+            expected[i] = i;
+        }
+        rp.onComplete();
+
+        assertArrayEquals(expected, rp.getValues(new Integer[0]));
+        assertEquals(3099, rp.getValue().intValue());
+
+        TestSubscriber<Integer> ts = rp.test(2000);
+
+        ts.assertValueCount(2000);
+
+        ts.request(1100);
+
+        ts.assertResult(expected);
+    }
+
+    @Test
+    public void unboundedLateSubscribersRace() {
+        for (int i = 0; i < TestHelper.RACE_DEFAULT_LOOPS; i++) {
+            final ReplayProcessor<Integer> rp = ReplayProcessor.create(4);
+
+            final TestSubscriber<Integer> ts1 = new TestSubscriber<Integer>();
+            final TestSubscriber<Integer> ts2 = new TestSubscriber<Integer>();
+
+            Runnable r1 = new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 40; j++) {
+                        rp.onNext(j);
+                    }
+                    rp.onComplete();
+                }
+            };
+
+            Runnable r2 = new Runnable() {
+                @Override
+                public void run() {
+                    rp.subscribe(ts1);
+                    rp.subscribe(ts2);
+                }
+            };
+
+            TestHelper.race(r1, r2);
+
+            ts1.assertValueCount(40).assertNoErrors().assertComplete();
+            ts2.assertValueCount(40).assertNoErrors().assertComplete();
+        }
+    }
 }
@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.schedulers;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.junit.*;
+
+import io.reactivex.*;
+import io.reactivex.Scheduler.Worker;
+import io.reactivex.internal.schedulers.*;
+
+public class CachedThreadSchedulerBoundedTest extends AbstractSchedulerConcurrencyTests {
+
+    static final IoScheduler SCHEDULER = new IoScheduler(new RxThreadFactory("RxCachedThreadSchedulerBounded"), false, 2);
+
+    @AfterClass
+    public static void afterClass() {
+        SCHEDULER.shutdown();
+    }
+
+    @Override
+    protected Scheduler getScheduler() {
+        return SCHEDULER;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroMaxThreads() {
+        new IoScheduler(new RxThreadFactory("RxCachedThreadSchedulerBounded"), false, 0);
+    }
+
+    @Test
+    public void threadsCapped() throws Exception {
+        IoScheduler s = new IoScheduler(new RxThreadFactory("RxCachedThreadSchedulerBounded"), false, 2);
+        try {
+            List<Worker> workers = new ArrayList<Worker>();
+            for (int i = 0; i < 5; i++) {
+                workers.add(s.createWorker());
+            }
+
+            assertEquals(2, s.size());
+            assertEquals(2, s.activeCount());
+            assertEquals(0, s.idleCount());
+            assertEquals(3, s.queuedCount());
+
+            final Set<String> threads = Collections.synchronizedSet(new HashSet<String>());
+            final CountDownLatch cdl = new CountDownLatch(5);
+            for (Worker w : workers) {
+                w.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        threads.add(Thread.currentThread().getName());
+                        cdl.countDown();
+                    }
+                });
+            }
+
+            assertTrue(cdl.await(5, TimeUnit.SECONDS));
+            assertEquals(2, threads.size());
+
+            for (Worker w : workers) {
+                w.dispose();
+            }
+
+            assertEquals(2, s.size());
+            assertEquals(0, s.activeCount());
+            assertEquals(2, s.idleCount());
+            assertEquals(0, s.queuedCount());
+            assertEquals(0, s.evictedCount());
+
+            Worker w = s.createWorker();
+            try {
+                assertEquals(2, s.size());
+                assertEquals(1, s.activeCount());
+                assertEquals(1, s.idleCount());
+            } finally {
+                w.dispose();
+            }
+        } finally {
+            s.shutdown();
+        }
+    }
+
+    @Test
+    public void sharedThreadTakesTurns() throws Exception {
+        IoScheduler s = new IoScheduler(new RxThreadFactory("RxCachedThreadSchedulerBounded"), false, 1);
+        try {
+            Worker w1 = s.createWorker();
+            Worker w2 = s.createWorker();
+
+            assertEquals(1, s.queuedCount());
+
+            final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+            final CountDownLatch cdl = new CountDownLatch(1);
+            final CountDownLatch done = new CountDownLatch(101);
+
+            w1.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        cdl.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        // ignored
+                    }
+                    done.countDown();
+                }
+            });
+
+            for (int i = 1; i < 100; i++) {
+                final int j = i;
+                w1.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        order.add(j);
+                        done.countDown();
+                    }
+                });
+            }
+
+            w2.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    order.add(-1);
+                    done.countDown();
+                }
+            });
+
+            cdl.countDown();
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+
+            int idx = order.indexOf(-1);
+            assertTrue("" + idx, idx >= 0 && idx < 99);
+
+            w1.dispose();
+            w2.dispose();
+
+            assertEquals(0, s.queuedCount());
+            assertEquals(0, s.activeCount());
+            assertEquals(1, s.idleCount());
+        } finally {
+            s.shutdown();
+        }
+    }
+
+    @Test
+    public void delayedTaskOnSharedThread() {
+        IoScheduler s = new IoScheduler(new RxThreadFactory("RxCachedThreadSchedulerBounded"), false, 1);
+        try {
+            Flowable.range(1, 5)
+            .delay(10, TimeUnit.MILLISECONDS, s)
+            .mergeWith(Flowable.range(6, 5).delay(10, TimeUnit.MILLISECONDS, s))
+            .sorted()
+            .test()
+            .awaitDone(5, TimeUnit.SECONDS)
+            .assertResult(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+            assertEquals(1, s.size());
+        } finally {
+            s.shutdown();
+        }
+    }
+
+    @Test
+    public void disposedWorkerDropsTasks() throws Exception {
+        IoScheduler s = new IoScheduler(new RxThreadFactory("RxCachedThreadSchedulerBounded"), false, 1);
+        try {
+            Worker w = s.createWorker();
+
+            final CountDownLatch cdl = new CountDownLatch(1);
+            final int[] calls = { 0 };
+
+            w.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        cdl.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException ex) {
+                        // ignored
+                    }
+                }
+            });
+
+            w.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    calls[0]++;
+                }
+            });
+
+            w.dispose();
+
+            cdl.countDown();
+
+            Thread.sleep(100);
+
+            assertEquals(0, calls[0]);
+        } finally {
+            s.shutdown();
+        }
+    }
+}
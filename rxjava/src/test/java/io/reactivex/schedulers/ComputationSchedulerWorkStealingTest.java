@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.schedulers;
+
+import static org.junit.Assert.*;
+
+import org.junit.*;
+
+import io.reactivex.*;
+import io.reactivex.functions.Function;
+import io.reactivex.internal.schedulers.*;
+
+public class ComputationSchedulerWorkStealingTest extends AbstractSchedulerConcurrencyTests {
+
+    static final Scheduler SCHEDULER = new ComputationScheduler(new RxThreadFactory("RxComputationThreadPool"), true);
+
+    @Override
+    protected Scheduler getScheduler() {
+        return SCHEDULER;
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        SCHEDULER.shutdown();
+    }
+
+    @Test
+    public void observeOnKeepsOrder() {
+        Flowable.range(1, 100000)
+        .observeOn(SCHEDULER)
+        .map(new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(Integer v) throws Exception {
+                assertTrue(Thread.currentThread().getName().startsWith("RxComputationThreadPool"));
+                return v;
+            }
+        })
+        .test()
+        .awaitDone(5, java.util.concurrent.TimeUnit.SECONDS)
+        .assertValueCount(100000)
+        .assertNoErrors()
+        .assertComplete();
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.schedulers;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import io.reactivex.*;
+import io.reactivex.internal.schedulers.*;
+
+public class NewThreadSchedulerTimerWheelTest extends AbstractSchedulerConcurrencyTests {
+
+    static final Scheduler SCHEDULER = new NewThreadScheduler(new RxThreadFactory("RxNewThreadScheduler"), true);
+
+    @Override
+    protected Scheduler getScheduler() {
+        return SCHEDULER;
+    }
+
+    @Test
+    public void timeoutOnTimerWheel() {
+        Flowable.never()
+        .timeout(50, TimeUnit.MILLISECONDS, SCHEDULER)
+        .test()
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertFailure(java.util.concurrent.TimeoutException.class);
+    }
+
+    @Test
+    public void delayOnTimerWheel() {
+        Flowable.range(1, 5)
+        .delay(20, TimeUnit.MILLISECONDS, SCHEDULER)
+        .test()
+        .awaitDone(5, TimeUnit.SECONDS)
+        .assertResult(1, 2, 3, 4, 5);
+    }
+}
@@ -16,6 +16,7 @@ package io.reactivex.schedulers;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -27,8 +28,10 @@ import io.reactivex.*;
 import io.reactivex.Scheduler.Worker;
 import io.reactivex.disposables.Disposable;
 import io.reactivex.functions.Function;
+import io.reactivex.internal.functions.Functions;
 import io.reactivex.internal.subscriptions.BooleanSubscription;
 import io.reactivex.internal.util.ExceptionHelper;
+import io.reactivex.subscribers.TestSubscriber;
 import io.reactivex.schedulers.TestScheduler.*;
 
 public class TestSchedulerTest {
@@ -259,4 +262,152 @@ public class TestSchedulerTest {
         assertEquals(5, ts.now(TimeUnit.SECONDS));
         assertEquals(5000, ts.now(TimeUnit.MILLISECONDS));
     }
+
+    static Runnable add(final List<Integer> list, final int value) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                list.add(value);
+            }
+        };
+    }
+
+    @Test
+    public void order() {
+        final TestScheduler scheduler = new TestScheduler();
+        final Worker w = scheduler.createWorker();
+        final List<Integer> list = new ArrayList<Integer>();
+
+        w.schedule(add(list, 4), 2, TimeUnit.SECONDS);
+        w.schedule(add(list, 2), 1, TimeUnit.SECONDS);
+        w.schedule(new Runnable() {
+            @Override
+            public void run() {
+                list.add(3);
+                // runs before the remaining tasks of this time
+                w.schedule(add(list, 31));
+                // runs after them
+                w.schedule(add(list, 33), 0, TimeUnit.SECONDS);
+            }
+        }, 1, TimeUnit.SECONDS);
+        w.schedule(add(list, 32), 1, TimeUnit.SECONDS);
+        w.schedule(add(list, 1));
+        w.schedule(add(list, 5), 2, TimeUnit.SECONDS);
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        assertEquals(Arrays.asList(1, 2, 3, 31, 32, 33), list);
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        assertEquals(Arrays.asList(1, 2, 3, 31, 32, 33, 4, 5), list);
+        assertEquals(0, scheduler.size);
+        assertTrue(scheduler.buckets.isEmpty());
+        assertTrue(scheduler.bucketsByTime.isEmpty());
+    }
+
+    @Test
+    public void cancel() {
+        TestScheduler scheduler = new TestScheduler();
+        Worker w = scheduler.createWorker();
+        List<Integer> list = new ArrayList<Integer>();
+
+        w.schedule(add(list, 1), 1, TimeUnit.SECONDS);
+        Disposable d = w.schedule(add(list, 2), 1, TimeUnit.SECONDS);
+        w.schedule(add(list, 3), 1, TimeUnit.SECONDS);
+
+        d.dispose();
+        d.dispose();
+        assertEquals(1, scheduler.cancelled);
+
+        scheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        assertEquals(Arrays.asList(1, 3), list);
+        assertEquals(0, scheduler.size);
+        assertEquals(0, scheduler.cancelled);
+
+        // disposing after the run has no effect
+        d = w.schedule(add(list, 4));
+        scheduler.triggerActions();
+        d.dispose();
+
+        assertEquals(Arrays.asList(1, 3, 4), list);
+        assertEquals(0, scheduler.cancelled);
+    }
+
+    @Test
+    public void cancelManyPurges() {
+        TestScheduler scheduler = new TestScheduler();
+        Worker w = scheduler.createWorker();
+        List<Integer> list = new ArrayList<Integer>();
+        List<Disposable> ds = new ArrayList<Disposable>();
+
+        int n = TestScheduler.PURGE_THRESHOLD * 4;
+        for (int i = 0; i < n; i++) {
+            ds.add(w.schedule(add(list, i), i % 3, TimeUnit.SECONDS));
+        }
+        for (int i = 0; i < n; i++) {
+            if (i % 3 != 1) {
+                ds.get(i).dispose();
+            }
+        }
+
+        assertTrue(scheduler.cancelled <= TestScheduler.PURGE_THRESHOLD + 1);
+        assertTrue(scheduler.size < n);
+        // only the 1 second bucket may be left after purging besides not yet purged cancelled tasks
+        assertEquals(scheduler.bucketsByTime.size(), scheduler.buckets.size());
+
+        scheduler.advanceTimeBy(2, TimeUnit.SECONDS);
+
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 1; i < n; i += 3) {
+            expected.add(i);
+        }
+        assertEquals(expected, list);
+        assertEquals(0, scheduler.size);
+        assertEquals(0, scheduler.cancelled);
+    }
+
+    @Test
+    public void cancelAllPurgesBuckets() {
+        TestScheduler scheduler = new TestScheduler();
+        Worker w = scheduler.createWorker();
+        List<Disposable> ds = new ArrayList<Disposable>();
+
+        int n = TestScheduler.PURGE_THRESHOLD * 2;
+        for (int i = 0; i < n; i++) {
+            ds.add(w.schedule(Functions.EMPTY_RUNNABLE, i, TimeUnit.SECONDS));
+        }
+        for (Disposable d : ds) {
+            d.dispose();
+        }
+
+        assertTrue(scheduler.buckets.size() <= TestScheduler.PURGE_THRESHOLD);
+
+        w.schedule(Functions.EMPTY_RUNNABLE, 1, TimeUnit.SECONDS);
+        scheduler.advanceTimeBy(n, TimeUnit.SECONDS);
+
+        assertEquals(0, scheduler.size);
+        assertEquals(0, scheduler.cancelled);
+        assertTrue(scheduler.buckets.isEmpty());
+    }
+
+    @Test
+    public void manyIntervals() {
+        TestScheduler scheduler = new TestScheduler();
+
+        List<TestSubscriber<Long>> list = new ArrayList<TestSubscriber<Long>>();
+        for (int i = 0; i < 10000; i++) {
+            list.add(Flowable.interval(1, TimeUnit.SECONDS, scheduler)
+                    .timeout(2, TimeUnit.SECONDS, scheduler)
+                    .take(100)
+                    .test());
+        }
+
+        scheduler.advanceTimeBy(100, TimeUnit.SECONDS);
+
+        for (TestSubscriber<Long> ts : list) {
+            ts.assertValueCount(100).assertNoErrors().assertComplete();
+        }
+    }
 }
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2016-present, RxJava Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in
+ * compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is
+ * distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See
+ * the License for the specific language governing permissions and limitations under the License.
+ */
+
+package io.reactivex.schedulers;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.junit.Test;
+
+import io.reactivex.*;
+import io.reactivex.Scheduler.Worker;
+import io.reactivex.functions.Function;
+import io.reactivex.internal.schedulers.VirtualThreadExecutor;
+
+public class VirtualSchedulerTest extends AbstractSchedulerConcurrencyTests {
+
+    @Override
+    protected Scheduler getScheduler() {
+        return Schedulers.virtual();
+    }
+
+    static boolean isVirtual(Thread t) throws Exception {
+        return (Boolean)Thread.class.getMethod("isVirtual").invoke(t);
+    }
+
+    @Test
+    public void fallsBackToIo() {
+        if (VirtualThreadExecutor.INSTANCE == null) {
+            assertSame(Schedulers.io(), Schedulers.virtual());
+        } else {
+            assertNotSame(Schedulers.io(), Schedulers.virtual());
+        }
+    }
+
+    @Test
+    public void runsOnVirtualThread() throws Exception {
+        Thread t = Flowable.fromCallable(new Callable<Thread>() {
+            @Override
+            public Thread call() throws Exception {
+                return Thread.currentThread();
+            }
+        })
+        .subscribeOn(Schedulers.virtual())
+        .blockingSingle();
+
+        if (VirtualThreadExecutor.INSTANCE != null) {
+            assertTrue(t.getName(), t.getName().startsWith("RxVirtualThreadScheduler-"));
+            assertTrue(isVirtual(t));
+        } else {
+            assertTrue(t.getName(), t.getName().startsWith("RxCachedThreadScheduler"));
+        }
+    }
+
+    @Test
+    public void workerKeepsOrderWhileBlocking() throws Exception {
+        Worker w = Schedulers.virtual().createWorker();
+        try {
+            final List<Integer> list = Collections.synchronizedList(new ArrayList<Integer>());
+            final CountDownLatch cdl = new CountDownLatch(1);
+
+            for (int i = 0; i < 100; i++) {
+                final int j = i;
+                w.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (j % 10 == 0) {
+                            try {
+                                Thread.sleep(1);
+                            } catch (InterruptedException ex) {
+                                // ignored
+                            }
+                        }
+                        list.add(j);
+                        if (j == 99) {
+                            cdl.countDown();
+                        }
+                    }
+                });
+            }
+
+            assertTrue(cdl.await(5, TimeUnit.SECONDS));
+
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, list.get(i).intValue());
+            }
+        } finally {
+            w.dispose();
+        }
+    }
+
+    @Test
+    public void manyConcurrentBlockingCalls() {
+        final Scheduler s = Schedulers.virtual();
+
+        Flowable.range(1, 1000)
+        .flatMap(new Function<Integer, Flowable<Integer>>() {
+            @Override
+            public Flowable<Integer> apply(final Integer v) throws Exception {
+                return Flowable.fromCallable(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws Exception {
+                        Thread.sleep(10);
+                        return v;
+                    }
+                })
+                .subscribeOn(s);
+            }
+        }, 1000)
+        .count()
+        .test()
+        .awaitDone(30, TimeUnit.SECONDS)
+        .assertResult(1000L);
+    }
+}
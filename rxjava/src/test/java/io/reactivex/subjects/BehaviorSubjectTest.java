@@ -876,4 +876,38 @@ public class BehaviorSubjectTest extends SubjectTest<Integer> {
 
         assertNotNull(bd.queue);
     }
+
+    @Test
+    public void emitSubscribeRaceValuesInOrder() {
+        for (int i = 0; i < TestHelper.RACE_DEFAULT_LOOPS; i++) {
+            final BehaviorSubject<Integer> p = BehaviorSubject.createDefault(0);
+
+            final TestObserver<Integer> ts = new TestObserver<Integer>();
+
+            Runnable r1 = new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 1; j <= 10; j++) {
+                        p.onNext(j);
+                    }
+                }
+            };
+
+            Runnable r2 = new Runnable() {
+                @Override
+                public void run() {
+                    p.subscribe(ts);
+                }
+            };
+
+            TestHelper.race(r1, r2);
+
+            List<Integer> values = ts.values();
+            assertFalse(values.isEmpty());
+            for (int j = 1; j < values.size(); j++) {
+                assertTrue(values.toString(), values.get(j - 1) < values.get(j));
+            }
+            assertEquals(10, values.get(values.size() - 1).intValue());
+        }
+    }
 }
@@ -1273,4 +1273,82 @@ public class ReplaySubjectTest extends SubjectTest<Integer> {
 
         assertSame(o, buf.head);
     }
+
+    @Test
+    public void unboundedSegmentBoundary() {
+        ReplaySubject<Integer> rs = ReplaySubject.create(4);
+
+        TestObserver<Integer> to = rs.test();
+
+        Integer[] expected = new Integer[40];
+        for (int i = 0; i < 40; i++) {
+            rs.onNext(i);
+            expected[i] = i;
+        }
+
+        assertArrayEquals(expected, rs.getValues(new Integer[0]));
+        assertEquals(39, rs.getValue().intValue());
+        assertEquals(40, rs.size());
+
+        rs.test().assertValues(expected).assertNotComplete();
+
+        rs.onComplete();
+
+        assertEquals(40, rs.size());
+        assertEquals(39, rs.getValue().intValue());
+
+        to.assertResult(expected);
+
+        rs.test().assertResult(expected);
+    }
+
+    @Test
+    public void unboundedLargeCapacityHint() {
+        ReplaySubject<Integer> rs = ReplaySubject.create(2000);
+
+        Integer[] expected = new Integer[3100];
+        for (int i = 0; i < expected.length; i++) {
+            rs.onNext(i);
+            expected[i] = i;
+        }
+        rs.onComplete();
+
+        assertArrayEquals(expected, rs.getValues(new Integer[0]));
+        assertEquals(3099, rs.getValue().intValue());
+
+        rs.test().assertResult(expected);
+    }
+
+    @Test
+    public void unboundedLateObserversRace() {
+        for (int i = 0; i < TestHelper.RACE_DEFAULT_LOOPS; i++) {
+            final ReplaySubject<Integer> rs = ReplaySubject.create(4);
+
+            final TestObserver<Integer> to1 = new TestObserver<Integer>();
+            final TestObserver<Integer> to2 = new TestObserver<Integer>();
+
+            Runnable r1 = new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 40; j++) {
+                        rs.onNext(j);
+                    }
+                    rs.onError(new TestException());
+                }
+            };
+
+            Runnable r2 = new Runnable() {
+                @Override
+                public void run() {
+                    rs.subscribe(to1);
+                    rs.subscribe(to2);
+                }
+            };
+
+            TestHelper.race(r1, r2);
+
+            to1.assertError(TestException.class).assertValueCount(40);
+            to2.assertError(TestException.class).assertValueCount(40);
+        }
+    }
 }